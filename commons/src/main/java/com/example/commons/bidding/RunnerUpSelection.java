@@ -0,0 +1,50 @@
+package com.example.commons.bidding;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the second and third eligible bidders of a sold auction for the AuctionEndedEvent, from either the
+ * bidder standings (one row per bidder) or, for an auction without standings, its full bid history.
+ */
+public final class RunnerUpSelection {
+
+    @Getter
+    @AllArgsConstructor
+    public static class EligibleBidderInfo {
+        private final String bidderId;
+        private final String usernameSnapshot;
+        private final BigDecimal maxBidAmount;
+    }
+
+    private RunnerUpSelection() {
+    }
+
+    /** Max bid per bidder, from bids given as one entry each; only for auctions without standings. */
+    public static Collection<EligibleBidderInfo> maxBidPerBidder(List<EligibleBidderInfo> allBids) {
+        Map<String, EligibleBidderInfo> maxByBidder = new HashMap<>();
+        for (EligibleBidderInfo bid : allBids) {
+            maxByBidder.merge(bid.getBidderId(), bid,
+                    (current, b) -> b.getMaxBidAmount().compareTo(current.getMaxBidAmount()) > 0 ? b : current);
+        }
+        return maxByBidder.values();
+    }
+
+    /** Drops the winner, filters by reserve (if any) and takes the top 2, highest first. */
+    public static List<EligibleBidderInfo> eligibleAfterWinner(Collection<EligibleBidderInfo> candidates,
+                                                               String winnerId, BigDecimal reservePrice) {
+        return candidates.stream()
+                .filter(info -> !info.getBidderId().equals(winnerId))
+                .filter(info -> reservePrice == null || info.getMaxBidAmount().compareTo(reservePrice) >= 0)
+                .sorted((a, b) -> b.getMaxBidAmount().compareTo(a.getMaxBidAmount()))
+                .limit(2)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Local near-cache of product details for the auction details page, which used to call ProductsService on every
+ * view. Entries are dropped by ProductUpdatedEvent through {@link #onProductUpdated}; the TTL only bounds
+ * staleness if an event is missed. Failed lookups are never cached.
+ * Hit ratio: cache.gets{cache=auction.details.product, result=hit|miss}.
+ * <p>
+ * A service subclasses this with its own product DTO {@code P} and client call.
+ */
+@Slf4j
+public abstract class AbstractProductInfoCache<P> {
+
+    private final Cache<Long, P> products;
+
+    protected AbstractProductInfoCache(long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "auction.details.product");
+    }
+
+    /** Loads the product from ProductsService; throws if it cannot, so nothing is cached. */
+    protected abstract P fetch(Long productId);
+
+    public P getProduct(Long productId) {
+        return products.get(productId, this::fetch);
+    }
+
+    public void onProductUpdated(Long productId) {
+        products.invalidate(productId);
+        log.debug("Product cache entry dropped for product {}", productId);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.commons.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The last N visible bids of each auction, kept in a bounded Redis list shared by all nodes, so the details
+ * endpoint no longer pages the bids table on every view.
+ * <p>
+ * Bids are pushed once they are written, but only onto a buffer that already exists; a missing buffer is warmed
+ * from the table on the next read. Every push also bumps a per-auction version, and a warm-up only caches what it
+ * read if the version is unchanged, so a bid written between the table read and the warm-up is never left out.
+ * A marker entry at the tail tells a warmed auction without bids apart from a missing buffer, and falls off once
+ * the buffer is full. Redis trouble falls back to the table.
+ * <p>
+ * A service subclasses this for its own bid entity {@code B} and bid DTO {@code D}, which is what is stored.
+ */
+@Slf4j
+public abstract class AbstractRecentBidsBuffer<B, D> {
+
+    private static final String MARKER = "-";
+
+    // KEYS[1] buffer, KEYS[2] version; ARGV[1] bid json, ARGV[2] capacity, ARGV[3] ttl ms
+    private static final String PUSH = """
+            redis.call('incr', KEYS[2])
+            redis.call('pexpire', KEYS[2], ARGV[3])
+            if redis.call('exists', KEYS[1]) == 1 then
+              redis.call('lpush', KEYS[1], ARGV[1])
+              redis.call('ltrim', KEYS[1], 0, tonumber(ARGV[2]) - 1)
+              redis.call('pexpire', KEYS[1], ARGV[3])
+            end
+            return 0
+            """;
+
+    // KEYS[1] buffer, KEYS[2] version; ARGV[1] ttl ms, ARGV[2] version before the table read, ARGV[3..] newest bid
+    // first, marker last. A concurrent warm-up wins as is; a push since the read leaves nothing cached (empty reply).
+    private static final String WARM = """
+            if redis.call('exists', KEYS[1]) == 0 then
+              if (redis.call('get', KEYS[2]) or '0') ~= ARGV[2] then
+                return {}
+              end
+              redis.call('rpush', KEYS[1], unpack(ARGV, 3))
+              redis.call('pexpire', KEYS[1], ARGV[1])
+            end
+            return redis.call('lrange', KEYS[1], 0, -1)
+            """;
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Class<D> dtoType;
+    private final int capacity;
+    private final long ttlMs;
+    private final Counter hitCount;
+    private final Counter missCount;
+
+    protected AbstractRecentBidsBuffer(RedissonClient redissonClient, ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry, String keyPrefix, Class<D> dtoType,
+                                       int capacity, Duration ttl) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.dtoType = dtoType;
+        this.capacity = capacity;
+        this.ttlMs = ttl.toMillis();
+        this.hitCount = reads(meterRegistry, "hit");
+        this.missCount = reads(meterRegistry, "miss");
+    }
+
+    protected abstract UUID auctionIdOf(B bid);
+
+    protected abstract D toDto(B bid);
+
+    protected abstract LocalDateTime bidTimeOf(D bid);
+
+    /** The auction's newest {@code limit} bids from the table, newest first. */
+    protected abstract List<D> loadNewest(UUID auctionId, int limit);
+
+    /** Called once the bid has been written. */
+    public void push(B bid) {
+        UUID auctionId = auctionIdOf(bid);
+        try {
+            script().eval(key(auctionId), RScript.Mode.READ_WRITE, PUSH, RScript.ReturnType.INTEGER,
+                    List.of(key(auctionId), versionKey(auctionId)),
+                    objectMapper.writeValueAsString(toDto(bid)),
+                    String.valueOf(capacity), String.valueOf(ttlMs));
+        } catch (Exception e) {
+            // The buffer now lacks this bid until it expires; drop it so the next read re-warms from the table
+            log.warn("Could not push bid onto recent-bids buffer of auction {}: {}", auctionId, e.getMessage());
+            redissonClient.getBucket(key(auctionId)).deleteAsync();
+        }
+    }
+
+    /** Newest first. */
+    public List<D> recent(UUID auctionId) {
+        try {
+            List<Object> raw = redissonClient.getList(key(auctionId), StringCodec.INSTANCE).readAll();
+            if (!raw.isEmpty()) {
+                hitCount.increment();
+                return decode(raw);
+            }
+            missCount.increment();
+            // Read before the table, so any bid pushed after this point is seen as a change by WARM
+            String version = redissonClient.<String>getBucket(versionKey(auctionId), StringCodec.INSTANCE).get();
+            List<D> fromDb = loadNewest(auctionId, capacity);
+            List<Object> args = new ArrayList<>(fromDb.size() + 3);
+            args.add(String.valueOf(ttlMs));
+            args.add(version != null ? version : "0");
+            for (D bid : fromDb) {
+                args.add(objectMapper.writeValueAsString(bid));
+            }
+            args.add(MARKER);
+            List<Object> warmed = script().eval(key(auctionId), RScript.Mode.READ_WRITE, WARM, RScript.ReturnType.MULTI,
+                    List.of(key(auctionId), versionKey(auctionId)), args.toArray());
+            if (warmed.isEmpty()) {
+                // A bid was written meanwhile; it is in the table now, and the next read warms the buffer
+                return loadNewest(auctionId, capacity);
+            }
+            return decode(warmed);
+        } catch (Exception e) {
+            log.warn("Recent-bids buffer unavailable for auction {}, reading the bids table: {}", auctionId, e.getMessage());
+            return loadNewest(auctionId, capacity);
+        }
+    }
+
+    private List<D> decode(List<Object> raw) throws JsonProcessingException {
+        List<D> bids = new ArrayList<>(raw.size());
+        for (Object entry : raw) {
+            if (!MARKER.equals(entry)) {
+                bids.add(objectMapper.readValue((String) entry, dtoType));
+            }
+        }
+        // Pushes from concurrent writers can land slightly out of order
+        bids.sort(Comparator.comparing(this::bidTimeOf, Comparator.nullsLast(Comparator.reverseOrder())));
+        return bids;
+    }
+
+    private RScript script() {
+        return redissonClient.getScript(StringCodec.INSTANCE);
+    }
+
+    // Hash-tagged so the buffer and its version share a cluster slot, as the scripts need
+    private String key(UUID auctionId) {
+        return keyPrefix + "{" + auctionId + "}";
+    }
+
+    private String versionKey(UUID auctionId) {
+        return key(auctionId) + ":version";
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auction.details.recent_bids")
+                .description("Details reads served from the recent-bids buffer (hit) or warmed from the bids table (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.commons.migration;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Turns on {@link OneOffMigrations} for a service, with its {@code one_off_migrations} marker table.
+ * Needs JDBC and Redisson on the service's classpath.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(OneOffMigrationConfiguration.class)
+public @interface EnableOneOffMigrations {
+}
@@ -0,0 +1,21 @@
+package com.example.commons.migration;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** Imported by {@link EnableOneOffMigrations}. */
+@Configuration(proxyBeanMethods = false)
+class OneOffMigrationConfiguration {
+
+    @Bean
+    OneOffMigrations oneOffMigrations(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      RedissonClient redissonClient,
+                                      @Value("${spring.application.name}") String applicationName) {
+        return new OneOffMigrations(jdbcTemplate, transactionManager, redissonClient, applicationName);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.commons.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Runs data migrations that must happen once per service database, not on every start of every node.
+ * <p>
+ * A row in {@code one_off_migrations} marks a finished migration, so later starts only read that row. A Redisson
+ * lock keeps nodes starting together from doing the same work at once; a node that finds it held skips the
+ * migration. Each migration commits with its marker in a transaction of its own, never the caller's, and a
+ * failure is logged and retried on the next start instead of failing this one.
+ * <p>
+ * Registered by {@link EnableOneOffMigrations}.
+ */
+@Slf4j
+public class OneOffMigrations {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS one_off_migrations " +
+            "(name VARCHAR(100) NOT NULL PRIMARY KEY, completed_at DATETIME(6) NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final String applicationName;
+
+    public OneOffMigrations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            RedissonClient redissonClient, String applicationName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.redissonClient = redissonClient;
+        this.applicationName = applicationName;
+    }
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    /** Runs {@code migration} unless a run under {@code name} has already completed. */
+    public void runOnce(String name, Runnable migration) {
+        if (isDone(name)) {
+            return;
+        }
+        RLock lock = redissonClient.getLock("migrations:" + applicationName + ":" + name);
+        if (!lock.tryLock()) {
+            log.info("[Migrations] {} is running on another node", name);
+            return;
+        }
+        try {
+            if (isDone(name)) {
+                return; // finished by the node that held the lock before us
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                migration.run();
+                jdbcTemplate.update("INSERT INTO one_off_migrations (name, completed_at) VALUES (?, ?)",
+                        name, LocalDateTime.now());
+            });
+            log.info("[Migrations] {} completed", name);
+        } catch (Exception e) {
+            log.warn("[Migrations] {} failed, it runs again on the next start: {}", name, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isDone(String name) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM one_off_migrations WHERE name = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.commons.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor; // Pass back to get the next page; null on the last one
+    private Long total; // Exact COUNT(*), only on a first page requested withTotal; rows added while paging are not reflected
+}
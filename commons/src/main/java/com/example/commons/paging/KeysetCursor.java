@@ -0,0 +1,59 @@
+package com.example.commons.paging;
+
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination: the (sort key, id) of the last row a client has seen.
+ * The next page starts strictly after it, so its cost does not grow with depth the way OFFSET does.
+ * The id is whatever the entity uses; the caller says how to parse it back, e.g. {@code UUID::fromString}.
+ */
+public final class KeysetCursor {
+
+    public record Position<I>(LocalDateTime sortKey, I id) {}
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(LocalDateTime sortKey, Object id) {
+        String raw = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <I> Position<I> decode(String cursor, Function<String, I> parseId) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Position<>(LocalDateTime.parse(raw.substring(0, sep)), parseId.apply(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static int pageSize(int requested, int max) {
+        return Math.min(Math.max(requested, 1), max);
+    }
+
+    /**
+     * Maps a slice to its DTO page, with the cursor of its last row when more rows follow.
+     */
+    public static <E, T> CursorPageDto<T> toPage(Slice<E> slice, Function<E, T> mapper,
+                                                 Function<E, LocalDateTime> sortKey, Function<E, ?> id, Long total) {
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            E last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = encode(sortKey.apply(last), id.apply(last));
+        }
+        List<T> content = slice.getContent().stream().map(mapper).toList();
+        return new CursorPageDto<>(content, nextCursor, total);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.commons.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps one end timer per auction, keyed {@code <prefix><auctionId>}, and moves it on every soft-close extension.
+ * <p>
+ * A reschedule is a single upsert of that row, so a bidding war moves one timer instead of queueing one per bid,
+ * and only the current deadline ever fires. Call {@link #arm} inside the transaction that writes the new end time
+ * (or once it is written), so the timer row is never ahead of or behind the auction row.
+ * Extensions that moved a pending timer are counted as auction.end.reschedule{outcome=coalesced}.
+ * <p>
+ * A service subclasses this with the end command its listener expects.
+ */
+@Slf4j
+public abstract class AbstractEndTimerRegistry {
+
+    private final DurableTimerScheduler timerScheduler;
+    private final String keyPrefix;
+    private final String exchange;
+    private final String routingKey;
+    private final Counter armedCount;
+    private final Counter coalescedCount;
+
+    protected AbstractEndTimerRegistry(DurableTimerScheduler timerScheduler, MeterRegistry meterRegistry,
+                                       String keyPrefix, String exchange, String routingKey) {
+        this.timerScheduler = timerScheduler;
+        this.keyPrefix = keyPrefix;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.armedCount = reschedules(meterRegistry, "armed");
+        this.coalescedCount = reschedules(meterRegistry, "coalesced");
+    }
+
+    /** The message the timer publishes when the auction's end is due. */
+    protected abstract Object endCommand(UUID auctionId, LocalDateTime endTime);
+
+    /** Arms the end timer for {@code endTime}, moving the pending one if there is one. */
+    public void arm(UUID auctionId, LocalDateTime endTime) {
+        boolean moved = timerScheduler.schedule(keyPrefix + auctionId, endTime, exchange, routingKey,
+                endCommand(auctionId, endTime));
+        if (moved) {
+            coalescedCount.increment();
+            log.debug("[EndTimers] End timer of auction {} moved to {}", auctionId, endTime);
+        } else {
+            armedCount.increment();
+        }
+    }
+
+    /** The auction ended some other way (hammer, cancel); drop its pending end timer. */
+    public void disarm(UUID auctionId) {
+        timerScheduler.cancel(keyPrefix + auctionId);
+    }
+
+    private static Counter reschedules(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auction.end.reschedule")
+                .description("End timer schedules, by whether they armed a new timer or moved a pending one")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.commons.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Imported by {@link EnableDurableTimers}. Registering this package as an auto-configuration package adds
+ * {@link ScheduledTimer} and {@link ScheduledTimerRepository} to the service's own entity and repository scan
+ * without replacing it, as an explicit {@code @EntityScan} would.
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigurationPackage
+@EnableConfigurationProperties(TimerProperties.class)
+class DurableTimerConfiguration {
+
+    @Bean
+    DurableTimerScheduler durableTimerScheduler(JdbcTemplate jdbcTemplate,
+                                                ScheduledTimerRepository timerRepository,
+                                                RabbitTemplate rabbitTemplate,
+                                                RedissonClient redissonClient,
+                                                TimerProperties properties,
+                                                MeterRegistry meterRegistry,
+                                                @Value("${spring.application.name}") String applicationName) {
+        return new DurableTimerScheduler(jdbcTemplate, timerRepository, rabbitTemplate, redissonClient,
+                properties, meterRegistry, applicationName);
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.commons.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable one-shot timers that publish a RabbitMQ message when they come due, replacing per-message
+ * {@code x-delay} scheduling.
+ * <p>
+ * {@link #schedule} upserts one row per key in {@code scheduled_timers}, so moving a deadline is an in-place
+ * update instead of another message parked in the delay exchange. One node (holder of a Redisson lock) is the
+ * leader: it loads timers due within the horizon into a {@link HierarchicalTimingWheel}, hears about changes
+ * over a Redis topic, and on expiry publishes the stored message through the normal exchange and deletes the
+ * row. A failed publish leaves the row in place, so delivery is at-least-once; the existing listeners already
+ * tolerate duplicates through their status checks.
+ * <p>
+ * Registered by {@link EnableDurableTimers}; each service keeps its own table and leader lock.
+ */
+@Slf4j
+public class DurableTimerScheduler {
+
+    private static final String CANCELLED = "-";
+
+    private static final String UPSERT_SQL = "INSERT INTO scheduled_timers " +
+            "(timer_key, exchange_name, routing_key, payload_type, payload, fire_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE exchange_name = VALUES(exchange_name), " +
+            "routing_key = VALUES(routing_key), payload_type = VALUES(payload_type), payload = VALUES(payload), " +
+            "fire_at = VALUES(fire_at), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledTimerRepository timerRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final RedissonClient redissonClient;
+    private final TimerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String applicationName;
+
+    private HierarchicalTimingWheel wheel;
+    private RTopic changes;
+    private int changeListenerId;
+    private RLock leaderLock;
+    private ScheduledExecutorService ticker;
+    private ExecutorService firePool;
+
+    private volatile boolean leader;
+    private long nextElectionMs;
+    private long nextRefillMs;
+
+    private Counter firedCounter;
+    private Counter staleCounter;
+    private Counter failedCounter;
+    private Timer lateness;
+
+    public DurableTimerScheduler(JdbcTemplate jdbcTemplate,
+                                 ScheduledTimerRepository timerRepository,
+                                 RabbitTemplate rabbitTemplate,
+                                 RedissonClient redissonClient,
+                                 TimerProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 String applicationName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timerRepository = timerRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.applicationName = applicationName;
+    }
+
+    @PostConstruct
+    void start() {
+        wheel = new HierarchicalTimingWheel(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        leaderLock = redissonClient.getLock("scheduling:timers:leader:" + applicationName);
+        changes = redissonClient.getTopic("scheduling:timers:" + applicationName, StringCodec.INSTANCE);
+        changeListenerId = changes.addListener(String.class, (channel, msg) -> onChange(msg));
+
+        firedCounter = meterRegistry.counter("scheduling.timer.fired");
+        staleCounter = meterRegistry.counter("scheduling.timer.stale");
+        failedCounter = meterRegistry.counter("scheduling.timer.failed");
+        lateness = Timer.builder("scheduling.timer.lateness")
+                .description("Time between a timer's due time and its publish")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("scheduling.timer.wheel.size", this, s -> s.wheelSize());
+        meterRegistry.gauge("scheduling.timer.leader", this, s -> s.leader ? 1 : 0);
+
+        AtomicInteger fireThreadIds = new AtomicInteger();
+        firePool = Executors.newFixedThreadPool(properties.getFireThreads(), r -> {
+            Thread t = new Thread(r, "timer-fire-" + fireThreadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "timer-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, properties.getTickMs(), properties.getTickMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the timer or moves it to {@code fireAt}. Joins the caller's transaction, and the leader is
+     * only told after commit, so a rolled-back change never fires. A time in the past fires on the next tick.
+     * Do not call it from an {@code afterCommit} callback: the finished transaction's connection is still bound
+     * there, so the upsert would never be committed. Call it inside the transaction instead.
+     *
+     * @return true if a pending timer with this key was moved, false if a new one was created
+     */
+    public boolean schedule(String key, LocalDateTime fireAt, String exchange, String routingKey, Object command) {
+        LocalDateTime due = fireAt.truncatedTo(ChronoUnit.MICROS);
+        Message message = rabbitTemplate.getMessageConverter().toMessage(command, new MessageProperties());
+        Object typeId = message.getMessageProperties().getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        // ON DUPLICATE KEY UPDATE reports 1 for an insert and 2 for an update (updated_at always changes)
+        int affected = jdbcTemplate.update(UPSERT_SQL, key, exchange, routingKey, typeId == null ? null : typeId.toString(),
+                new String(message.getBody(), StandardCharsets.UTF_8), due, LocalDateTime.now());
+        notifyAfterCommit(toEpochMs(due) + " " + key);
+        return affected > 1;
+    }
+
+    public void cancel(String key) {
+        jdbcTemplate.update("DELETE FROM scheduled_timers WHERE timer_key = ?", key);
+        notifyAfterCommit(CANCELLED + " " + key);
+    }
+
+    private void notifyAfterCommit(String change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(change);
+                }
+            });
+        } else {
+            publishChange(change);
+        }
+    }
+
+    private void publishChange(String change) {
+        try {
+            changes.publish(change);
+        } catch (Exception e) {
+            // The row is committed; the leader's next refill picks it up
+            log.warn("[Timers] Could not announce timer change '{}': {}", change, e.getMessage());
+        }
+    }
+
+    private void onChange(String msg) {
+        if (!leader) return;
+        int space = msg.indexOf(' ');
+        String key = msg.substring(space + 1);
+        synchronized (wheel) {
+            if (msg.startsWith(CANCELLED)) {
+                wheel.cancel(key);
+            } else {
+                wheel.schedule(key, Long.parseLong(msg.substring(0, space)));
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now >= nextElectionMs) {
+                elect(now);
+                nextElectionMs = now + properties.getElectionIntervalMs();
+            }
+            if (!leader) return;
+            if (now >= nextRefillMs) {
+                firePool.execute(this::refill);
+                nextRefillMs = now + properties.getRefillIntervalMs();
+            }
+            List<HierarchicalTimingWheel.Expired> expired;
+            synchronized (wheel) {
+                expired = wheel.advance(now);
+            }
+            expired.forEach(e -> firePool.execute(() -> fire(e)));
+        } catch (Exception e) {
+            log.error("[Timers] Tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Runs on the ticker thread only: Redisson locks belong to the thread that took them. */
+    private void elect(long now) {
+        boolean held;
+        try {
+            held = leaderLock.isHeldByCurrentThread() || leaderLock.tryLock();
+        } catch (Exception e) {
+            log.warn("[Timers] Leader check failed, stepping down: {}", e.getMessage());
+            held = false;
+        }
+        if (held != leader) {
+            synchronized (wheel) {
+                wheel.clear(now);
+            }
+            leader = held;
+            nextRefillMs = 0;
+            log.info("[Timers] {} timer leadership for {}", held ? "Acquired" : "Lost", applicationName);
+        }
+    }
+
+    /** Loads everything due within the horizon; also recovers timers whose change notification was lost. */
+    private void refill() {
+        try {
+            LocalDateTime until = LocalDateTime.now().plusSeconds(properties.getHorizonSeconds());
+            List<ScheduledTimerRepository.Due> due = timerRepository.findDueBefore(until);
+            synchronized (wheel) {
+                if (!leader) return;
+                due.forEach(d -> wheel.schedule(d.getTimerKey(), toEpochMs(d.getFireAt())));
+            }
+            log.debug("[Timers] Refilled {} timers due before {}", due.size(), until);
+        } catch (Exception e) {
+            log.warn("[Timers] Refill failed: {}", e.getMessage());
+        }
+    }
+
+    private void fire(HierarchicalTimingWheel.Expired expired) {
+        String key = expired.key();
+        try {
+            ScheduledTimer timer = timerRepository.findById(key).orElse(null);
+            if (timer == null) {
+                staleCounter.increment(); // cancelled, or already fired by a previous leader
+                return;
+            }
+            long rowMs = toEpochMs(timer.getFireAt());
+            if (rowMs > expired.dueMs()) {
+                // Moved later and the wheel has not heard yet
+                staleCounter.increment();
+                requeue(key, rowMs);
+                return;
+            }
+            MessageProperties props = new MessageProperties();
+            props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            props.setContentEncoding(StandardCharsets.UTF_8.name());
+            if (timer.getPayloadType() != null) {
+                props.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, timer.getPayloadType());
+            }
+            rabbitTemplate.send(timer.getExchangeName(), timer.getRoutingKey(),
+                    new Message(timer.getPayload().getBytes(StandardCharsets.UTF_8), props));
+            timerRepository.deleteFired(key, timer.getFireAt());
+            firedCounter.increment();
+            lateness.record(Math.max(0, System.currentTimeMillis() - rowMs), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("[Timers] Firing timer {} failed, retrying in {} ms: {}", key, properties.getRetryDelayMs(), e.getMessage());
+            requeue(key, System.currentTimeMillis() + properties.getRetryDelayMs());
+        }
+    }
+
+    private void requeue(String key, long dueMs) {
+        synchronized (wheel) {
+            // A newer notification may already have placed it; keep that one
+            if (leader && wheel.dueMs(key) < 0) {
+                wheel.schedule(key, dueMs);
+            }
+        }
+    }
+
+    private int wheelSize() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        changes.removeListener(changeListenerId);
+        try {
+            // Release on the thread that owns the lock so another node can take over immediately
+            ticker.submit(() -> {
+                if (leaderLock.isHeldByCurrentThread()) leaderLock.unlock();
+            }).get(2, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("[Timers] Could not release timer leadership cleanly: {}", e.getMessage());
+        }
+        ticker.shutdownNow();
+        firePool.shutdown();
+        firePool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.commons.scheduling;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Turns on the {@link DurableTimerScheduler} for a service: the {@code scheduled_timers} entity and repository,
+ * {@link TimerProperties} under {@code scheduling.timers}, and the scheduler itself. Needs JPA, RabbitMQ,
+ * Redisson and Micrometer on the service's classpath.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(DurableTimerConfiguration.class)
+public @interface EnableDurableTimers {
+}
@@ -0,0 +1,176 @@
+package com.example.commons.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical hashed timing wheel keyed by timer name.
+ * <p>
+ * Time is counted in ticks of {@code tickMs}. Level {@code i} has {@code 2^bits} buckets of {@code 2^(bits*i)} ticks
+ * each; a timer sits on the lowest level where its due tick shares all higher digits with the current tick, and
+ * drops one level each time the wheel reaches its bucket. Schedule, reschedule and cancel are O(1): every entry
+ * is an intrusive list node that unlinks itself from its bucket.
+ * <p>
+ * Not thread-safe; callers synchronise on the instance.
+ */
+class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] levels;
+    private final Map<String, Entry> entries = new HashMap<>();
+    /** Timers scheduled at or before the current tick; handed out by the next advance */
+    private final Bucket overdue = new Bucket();
+
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[(63 + bits - 1) / bits][];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /** Adds the timer, or moves it in place if it is already on the wheel. */
+    void schedule(String key, long dueMs) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key);
+            entries.put(key, entry);
+        } else {
+            entry.unlink();
+        }
+        entry.dueMs = dueMs;
+        place(entry);
+    }
+
+    boolean cancel(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) return false;
+        entry.unlink();
+        return true;
+    }
+
+    /** Due time of a pending timer, or -1 */
+    long dueMs(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? -1 : entry.dueMs;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear(long nowMs) {
+        entries.values().forEach(Entry::unlink);
+        entries.clear();
+        currentTick = nowMs / tickMs;
+    }
+
+    /** Moves the wheel up to {@code nowMs} and removes every timer that came due on the way. */
+    List<Expired> advance(long nowMs) {
+        List<Expired> expired = new ArrayList<>();
+        drain(overdue, expired);
+        long targetTick = nowMs / tickMs;
+        if (entries.isEmpty()) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Bucket[] level0 = levels[0];
+            if (level0 != null) {
+                drain(level0[(int) (currentTick & mask)], expired);
+            }
+            drain(overdue, expired);
+        }
+        return expired;
+    }
+
+    private void cascade() {
+        // Higher levels first so a timer can fall through several levels in the same tick
+        for (int level = levels.length - 1; level > 0; level--) {
+            long lowerDigits = currentTick & ((1L << (bits * level)) - 1);
+            if (lowerDigits != 0 || levels[level] == null) continue;
+            Bucket bucket = levels[level][(int) ((currentTick >>> (bits * level)) & mask)];
+            Entry entry;
+            while ((entry = bucket.poll()) != null) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        // Round up so a timer never fires before its due time
+        long dueTick = Math.floorDiv(entry.dueMs + tickMs - 1, tickMs);
+        if (dueTick <= currentTick) {
+            overdue.add(entry);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(dueTick ^ currentTick)) / bits;
+        Bucket[] wheel = levels[level];
+        if (wheel == null) {
+            wheel = new Bucket[mask + 1];
+            for (int i = 0; i < wheel.length; i++) wheel[i] = new Bucket();
+            levels[level] = wheel;
+        }
+        wheel[(int) ((dueTick >>> (bits * level)) & mask)].add(entry);
+    }
+
+    private void drain(Bucket bucket, List<Expired> expired) {
+        Entry entry;
+        while ((entry = bucket.poll()) != null) {
+            entries.remove(entry.key);
+            expired.add(new Expired(entry.key, entry.dueMs));
+        }
+    }
+
+    record Expired(String key, long dueMs) {}
+
+    private static final class Entry {
+        private final String key;
+        private long dueMs;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        private void unlink() {
+            if (bucket == null) return;
+            if (prev != null) prev.next = next; else bucket.head = next;
+            if (next != null) next.prev = prev; else bucket.tail = prev;
+            prev = next = null;
+            bucket = null;
+        }
+    }
+
+    private static final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        private void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail != null) tail.next = entry; else head = entry;
+            tail = entry;
+        }
+
+        private Entry poll() {
+            Entry entry = head;
+            if (entry != null) entry.unlink();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.commons.scheduling;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending timer: the message to publish and when. One row per key, so rescheduling updates it in place.
+ * The table is the source of truth; the leader's timing wheel only holds what is due within its horizon.
+ */
+@Entity
+@Table(name = "scheduled_timers", indexes = {
+        @Index(name = "idx_timer_fire_at", columnList = "fireAt")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ScheduledTimer {
+
+    @Id
+    @Column(length = 120)
+    private String timerKey;
+
+    @Column(nullable = false, length = 100)
+    private String exchangeName;
+
+    @Column(nullable = false, length = 150)
+    private String routingKey;
+
+    /** Type id header written by the message converter, so listeners deserialize exactly as before */
+    @Column(length = 255)
+    private String payloadType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime fireAt;
+
+    @Column(nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.commons.scheduling;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledTimerRepository extends JpaRepository<ScheduledTimer, String> {
+
+    interface Due {
+        String getTimerKey();
+        LocalDateTime getFireAt();
+    }
+
+    @Query("SELECT t.timerKey AS timerKey, t.fireAt AS fireAt FROM ScheduledTimer t WHERE t.fireAt <= :until")
+    List<Due> findDueBefore(@Param("until") LocalDateTime until);
+
+    /** Deletes the row only if it was not rescheduled since it was read */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledTimer t WHERE t.timerKey = :key AND t.fireAt = :fireAt")
+    int deleteFired(@Param("key") String key, @Param("fireAt") LocalDateTime fireAt);
+}
@@ -0,0 +1,30 @@
+package com.example.commons.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "scheduling.timers")
+public class TimerProperties {
+
+    /** Wheel resolution; timers fire at most one tick late */
+    private long tickMs = 10;
+
+    /** Buckets per wheel level (power of two) */
+    private int wheelSize = 512;
+
+    /** How far ahead the leader loads timers from the table on each refill */
+    private long horizonSeconds = 120;
+
+    /** Refill cadence; also bounds how late a timer can be if its change notification was lost */
+    private long refillIntervalMs = 10_000;
+
+    /** How often a node tries to become (or checks it still is) the timer leader */
+    private long electionIntervalMs = 2_000;
+
+    /** Threads that publish fired timers, so a slow publish never holds up the tick */
+    private int fireThreads = 4;
+
+    /** Delay before retrying a timer whose publish failed */
+    private long retryDelayMs = 1_000;
+}
@@ -0,0 +1,258 @@
+package com.example.commons.search;
+
+import com.example.commons.paging.InvalidCursorException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Full-text search over one service's auctions, backed by its search table and the FULLTEXT index
+ * {@link FullTextSearch#ensureIndex} adds to it.
+ * <p>
+ * Rows are written as auctions are created and change state, and reconciled against the auction table at
+ * startup. Queries run as one MATCH ... AGAINST in boolean mode plus the status/start filters, ranked by
+ * relevance (or start time without text), and page with a (score or start time, id) cursor. Only ids come back;
+ * the caller loads the page of auctions by primary key.
+ * <p>
+ * Relevance pages are best-effort. The score is recomputed on every request and shifts as rows are added or
+ * change (term frequencies are table-wide), so an auction can move across the cursor between pages and be
+ * skipped or shown twice. Start-time pages are exact.
+ * <p>
+ * A service subclasses this with its auction entity {@code A}; the search table itself is a JPA entity there.
+ */
+@Slf4j
+public abstract class AbstractAuctionSearchIndex<A> {
+
+    private static final String TERMINAL_STATUSES = "'SOLD', 'RESERVE_NOT_MET', 'CANCELLED'";
+    private static final char CURSOR_BY_SCORE = 's';
+    private static final char CURSOR_BY_START = 't';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final SearchIndexSettings settings;
+    private final String schema;
+    private final String table;
+    private final String auctionTable;
+    private final String categoryTable;
+    private final Cache<UUID, IndexedState> indexed;
+    private final Counter insertedCount;
+    private final Counter updatedCount;
+    private final Counter skippedCount;
+    private final Counter failedCount;
+
+    /**
+     * @param schema        schema of the search table, also used to find its FULLTEXT index
+     * @param table         the search table: auction_id, title, category_tokens, status, start_time
+     * @param auctionTable  the auctions it indexes, schema-qualified
+     * @param categoryTable the auctions' (auction_id, category_id) rows, as the service's own queries name it
+     */
+    protected AbstractAuctionSearchIndex(JdbcTemplate jdbcTemplate,
+                                         NamedParameterJdbcTemplate namedJdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         SearchIndexSettings settings,
+                                         MeterRegistry meterRegistry,
+                                         String schema, String table, String auctionTable, String categoryTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        // Callers may be inside the auction's own transaction; a failed index write must not roll that back
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settings = settings;
+        this.schema = schema;
+        this.table = table;
+        this.auctionTable = auctionTable;
+        this.categoryTable = categoryTable;
+        this.indexed = Caffeine.newBuilder()
+                .maximumSize(settings.getIndexedStateCacheSize())
+                .build();
+        this.insertedCount = writes(meterRegistry, "inserted");
+        this.updatedCount = writes(meterRegistry, "updated");
+        this.skippedCount = writes(meterRegistry, "skipped");
+        this.failedCount = writes(meterRegistry, "failed");
+    }
+
+    /** What the index stores about an auction besides its title and categories. */
+    protected record IndexedState(UUID id, String status, LocalDateTime startTime) {}
+
+    /** One page of matching auction ids, best match (or latest start) first. */
+    public record Hits(List<UUID> ids, String nextCursor) {}
+
+    protected abstract IndexedState stateOf(A auction);
+
+    protected abstract String titleOf(A auction);
+
+    /** Only read when the auction is first indexed. */
+    protected abstract Set<Long> categoryIdsOf(A auction);
+
+    // --- Startup ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        try {
+            FullTextSearch.ensureIndex(jdbcTemplate, schema, table);
+            int added = jdbcTemplate.update("""
+                INSERT IGNORE INTO %1$s.%2$s (auction_id, title, category_tokens, status, start_time)
+                SELECT a.id, a.product_title_snapshot,
+                       COALESCE((SELECT GROUP_CONCAT(CONCAT('%4$s', c.category_id) SEPARATOR ' ')
+                                   FROM %3$s c
+                                  WHERE c.auction_id = a.id), ''),
+                       a.status, a.start_time
+                  FROM %5$s a
+                 WHERE NOT EXISTS (SELECT 1 FROM %1$s.%2$s d WHERE d.auction_id = a.id)
+                """.formatted(schema, table, categoryTable, FullTextSearch.CATEGORY_TOKEN_PREFIX, auctionTable));
+            // Catches state changes whose index write failed or happened while this service was down
+            int corrected = jdbcTemplate.update("""
+                UPDATE %1$s.%2$s d
+                  JOIN %3$s a ON a.id = d.auction_id
+                   SET d.status = a.status, d.start_time = a.start_time
+                 WHERE d.status <> a.status OR d.start_time <> a.start_time
+                """.formatted(schema, table, auctionTable));
+            log.info("[Search] Index {} ready: {} auctions added, {} corrected.", table, added, corrected);
+        } catch (DataAccessException e) {
+            log.error("[Search] Could not prepare the search index {}: {}", table, e.getMessage(), e);
+        }
+    }
+
+    // --- Writes ---
+
+    /**
+     * Brings the auction's search row up to date. Bids do not change anything searchable, so repeated calls for
+     * the same status and start time are answered from memory without touching the table.
+     */
+    public void index(A auction) {
+        if (auction == null) return;
+        IndexedState state = stateOf(auction);
+        if (state.id() == null) return;
+        if (state.equals(indexed.getIfPresent(state.id()))) {
+            skippedCount.increment();
+            return;
+        }
+        try {
+            boolean inserted = Boolean.TRUE.equals(writeTransaction.execute(tx -> write(auction, state)));
+            indexed.put(state.id(), state);
+            (inserted ? insertedCount : updatedCount).increment();
+        } catch (Exception e) {
+            // The startup reconcile picks it up if no later state change does
+            failedCount.increment();
+            log.warn("[Search] Could not index auction {}: {}", state.id(), e.getMessage());
+        }
+    }
+
+    private boolean write(A auction, IndexedState state) {
+        byte[] id = FullTextSearch.toBytes(state.id());
+        Timestamp startTime = Timestamp.valueOf(state.startTime());
+        // A terminal row is never moved back, so a late publish from the bid path cannot reopen an auction the
+        // closer already finished
+        int updated = jdbcTemplate.update("UPDATE " + schema + "." + table
+                + " SET status = ?, start_time = ? WHERE auction_id = ? AND status NOT IN (" + TERMINAL_STATUSES + ")",
+                state.status(), startTime, id);
+        if (updated > 0) return false;
+        // Nothing inserted means the row exists and is already terminal
+        return jdbcTemplate.update("INSERT IGNORE INTO " + schema + "." + table
+                + " (auction_id, title, category_tokens, status, start_time) VALUES (?, ?, ?, ?, ?)",
+                id, titleOf(auction), FullTextSearch.categoryTokens(categoryIdsOf(auction)), state.status(),
+                startTime) > 0;
+    }
+
+    // --- Reads ---
+
+    public Hits search(String queryText, Set<Long> categoryIds, Collection<String> statuses,
+                       LocalDateTime from, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, settings.getMaxPageSize()));
+        List<String> terms = FullTextSearch.terms(queryText, settings.getMinTermLength(), settings.getMaxTerms());
+        boolean byScore = !terms.isEmpty();
+        String against = FullTextSearch.against(terms, categoryIds);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> where = new ArrayList<>();
+        String match = "MATCH(d.title, d.category_tokens) AGAINST (:against IN BOOLEAN MODE)";
+        if (!against.isEmpty()) {
+            params.addValue("against", against);
+            where.add(match);
+        }
+        if (!byScore && queryText != null && !queryText.isBlank()) {
+            // Only words below the index's minimum token size; nothing to MATCH on, so scan the title
+            params.addValue("like", "%" + FullTextSearch.escapeLike(queryText.trim()) + "%");
+            where.add("d.title LIKE :like");
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            params.addValue("statuses", statuses);
+            where.add("d.status IN (:statuses)");
+        }
+        if (from != null) {
+            params.addValue("from", from);
+            where.add("d.start_time >= :from");
+        }
+        // Rounded to a fixed scale so a cursor compares equal to what the next query computes for an unchanged index
+        String sortKey = byScore ? "CAST(" + match + " AS DECIMAL(16,6))" : "d.start_time";
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPosition after = CursorPosition.decode(cursor, byScore ? CURSOR_BY_SCORE : CURSOR_BY_START);
+            params.addValue("afterKey", after.key());
+            params.addValue("afterId", FullTextSearch.toBytes(after.id()));
+            where.add("(" + sortKey + " < :afterKey OR (" + sortKey + " = :afterKey AND d.auction_id < :afterId))");
+        }
+        params.addValue("limit", limit + 1);
+
+        String sql = "SELECT d.auction_id, " + sortKey + " AS sort_key FROM " + schema + "." + table + " d"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY sort_key DESC, d.auction_id DESC LIMIT :limit";
+
+        List<CursorPosition> rows = namedJdbcTemplate.query(sql, params, (rs, i) -> new CursorPosition(
+                byScore ? rs.getBigDecimal("sort_key") : rs.getTimestamp("sort_key").toLocalDateTime(),
+                FullTextSearch.fromBytes(rs.getBytes("auction_id"))));
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = rows.get(limit - 1).encode(byScore ? CURSOR_BY_SCORE : CURSOR_BY_START);
+        }
+        return new Hits(rows.stream().map(CursorPosition::id).toList(), nextCursor);
+    }
+
+    /** Sort key of the last row a client has seen (a relevance score or a start time) and its auction id. */
+    private record CursorPosition(Object key, UUID id) {
+
+        String encode(char kind) {
+            String raw = kind + "|" + key + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CursorPosition decode(String cursor, char expectedKind) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 3 || parts[0].charAt(0) != expectedKind) {
+                    throw new IllegalArgumentException("cursor belongs to a different query");
+                }
+                Object key = expectedKind == CURSOR_BY_SCORE ? new BigDecimal(parts[1]) : LocalDateTime.parse(parts[1]);
+                return new CursorPosition(key, UUID.fromString(parts[2]));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+        }
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auction.search.index")
+                .description("Search index writes for auction state changes, by what was done")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.commons.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Statement;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL FULLTEXT building blocks shared by the auction search indexes and the products catalog.
+ * <p>
+ * A search table is matched with one MATCH ... AGAINST in boolean mode over (title, category_tokens). Every query
+ * word is required and prefix-matched, and categories are stored as words ("cat12 cat40") so the same MATCH
+ * covers the category filter. The index is named ft_{table} and is built against an empty stopword table,
+ * {table}_stopwords, because with the built-in list a required word like "+the*" would match nothing.
+ */
+@Slf4j
+public final class FullTextSearch {
+
+    public static final String CATEGORY_TOKEN_PREFIX = "cat";
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FullTextSearch() {
+    }
+
+    /**
+     * Adds the FULLTEXT index on (title, category_tokens) if it is missing. JPA cannot declare it, so each owner
+     * calls this at startup. Throws if the index could not be added and no other node added it meanwhile.
+     */
+    public static void ensureIndex(JdbcTemplate jdbcTemplate, String schema, String table) {
+        String index = "ft_" + table;
+        String stopwords = table + "_stopwords";
+        if (hasIndex(jdbcTemplate, schema, table, index)) return;
+        log.info("[Search] Creating FULLTEXT index {} on {}.{}", index, schema, table);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + schema + "." + stopwords
+                + " (value VARCHAR(30)) ENGINE = InnoDB");
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                try (Statement st = con.createStatement()) {
+                    st.execute("SET SESSION innodb_ft_user_stopword_table = '" + schema + "/" + stopwords + "'");
+                    try {
+                        st.execute("ALTER TABLE " + schema + "." + table + " ADD FULLTEXT INDEX "
+                                + index + " (title, category_tokens)");
+                    } finally {
+                        st.execute("SET SESSION innodb_ft_user_stopword_table = NULL");
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            if (!hasIndex(jdbcTemplate, schema, table, index)) throw e;
+            log.info("[Search] FULLTEXT index {} was created by another node.", index);
+        }
+    }
+
+    private static boolean hasIndex(JdbcTemplate jdbcTemplate, String schema, String table, String index) {
+        Integer present = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                 WHERE table_schema = ? AND table_name = ? AND index_name = ?
+                """, Integer.class, schema, table, index);
+        return present != null && present > 0;
+    }
+
+    /** Lower-cased words long enough to be in the index, without boolean-mode operators. */
+    public static List<String> terms(String query, int minTermLength, int maxTerms) {
+        if (query == null || query.isBlank()) return List.of();
+        return Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+                .filter(t -> t.length() >= minTermLength)
+                .distinct()
+                .limit(maxTerms)
+                .toList();
+    }
+
+    /** The AGAINST operand: every term required and prefix-matched, plus any of the categories; empty for neither. */
+    public static String against(List<String> terms, Collection<Long> categoryIds) {
+        StringBuilder against = new StringBuilder();
+        terms.forEach(t -> against.append(" +").append(t).append('*'));
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            against.append(" +(").append(categoryTokens(categoryIds)).append(')');
+        }
+        return against.toString().trim();
+    }
+
+    public static String categoryTokens(Collection<Long> categoryIds) {
+        if (categoryIds == null) return "";
+        return categoryIds.stream().sorted().map(id -> CATEGORY_TOKEN_PREFIX + id).collect(Collectors.joining(" "));
+    }
+
+    public static Set<Long> categoryIds(String categoryTokens) {
+        if (categoryTokens == null || categoryTokens.isBlank()) return Set.of();
+        return Arrays.stream(categoryTokens.split(" "))
+                .map(t -> Long.valueOf(t.substring(CATEGORY_TOKEN_PREFIX.length())))
+                .collect(Collectors.toSet());
+    }
+
+    /** For queries made only of words below the index's minimum token size, which fall back to LIKE. */
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // UUIDs are stored as BINARY(16), most significant half first
+    public static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.commons.search;
+
+/** Limits of an {@link AbstractAuctionSearchIndex}; a service's search properties implement it. */
+public interface SearchIndexSettings {
+
+    /** Keep at innodb_ft_min_token_size; shorter words are not in the index */
+    int getMinTermLength();
+
+    /** Extra words in a query are dropped */
+    int getMaxTerms();
+
+    int getMaxPageSize();
+
+    /** Auctions whose last indexed state this node remembers */
+    long getIndexedStateCacheSize();
+}
@@ -0,0 +1,65 @@
+package com.example.commons.bidding;
+
+import com.example.commons.bidding.RunnerUpSelection.EligibleBidderInfo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunnerUpSelectionTest {
+
+    @Test
+    void runnersUpAreTheTwoHighestStandingsAfterTheWinner() {
+        // findTop3 returns the winner plus two more, highest first
+        List<EligibleBidderInfo> top3 = List.of(
+                standing("winner", "500"), standing("alice", "450"), standing("bob", "300"));
+
+        List<EligibleBidderInfo> next = RunnerUpSelection.eligibleAfterWinner(top3, "winner", null);
+
+        assertThat(next).extracting(EligibleBidderInfo::getBidderId).containsExactly("alice", "bob");
+        assertThat(next).extracting(EligibleBidderInfo::getMaxBidAmount)
+                .containsExactly(new BigDecimal("450"), new BigDecimal("300"));
+    }
+
+    @Test
+    void runnersUpBelowTheReserveAreSkipped() {
+        List<EligibleBidderInfo> top3 = List.of(
+                standing("winner", "500"), standing("alice", "450"), standing("bob", "300"));
+
+        List<EligibleBidderInfo> next = RunnerUpSelection.eligibleAfterWinner(top3, "winner", new BigDecimal("400"));
+
+        assertThat(next).extracting(EligibleBidderInfo::getBidderId).containsExactly("alice");
+    }
+
+    @Test
+    void winnerIsDroppedWhereverItSitsInTheCandidates() {
+        // A tie on the max can put the winner after another bidder in the index order
+        List<EligibleBidderInfo> top3 = List.of(
+                standing("alice", "500"), standing("winner", "500"), standing("bob", "200"));
+
+        List<EligibleBidderInfo> next = RunnerUpSelection.eligibleAfterWinner(top3, "winner", null);
+
+        assertThat(next).extracting(EligibleBidderInfo::getBidderId).containsExactly("alice", "bob");
+    }
+
+    @Test
+    void historyScanKeepsEachBiddersHighestBid() {
+        // Older, higher bids must win over a bidder's later, lower ones
+        List<EligibleBidderInfo> history = List.of(
+                standing("carol", "350"), standing("alice", "200"), standing("carol", "100"),
+                standing("alice", "420"), standing("winner", "500"), standing("dave", "150"));
+
+        List<EligibleBidderInfo> next = RunnerUpSelection.eligibleAfterWinner(
+                RunnerUpSelection.maxBidPerBidder(history), "winner", null);
+
+        assertThat(next).extracting(EligibleBidderInfo::getBidderId).containsExactly("alice", "carol");
+        assertThat(next).extracting(EligibleBidderInfo::getMaxBidAmount)
+                .containsExactly(new BigDecimal("420"), new BigDecimal("350"));
+    }
+
+    private static EligibleBidderInfo standing(String bidderId, String maxBid) {
+        return new EligibleBidderInfo(bidderId, bidderId + "-name", new BigDecimal(maxBid));
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.deliveries;
 
+import com.example.commons.scheduling.EnableDurableTimers;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @SpringBootApplication
+@EnableDurableTimers
 @EnableFeignClients
 public class DeliveriesApplication {
 
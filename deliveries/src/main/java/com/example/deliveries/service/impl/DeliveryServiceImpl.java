@@ -1,6 +1,7 @@
 // File: com.example.deliveries.service.impl.DeliveryServiceImpl.java
 package com.example.deliveries.service.impl;
 
+import com.example.commons.scheduling.DurableTimerScheduler;
 import com.example.deliveries.commands.DeliveryWorkflowCommands;
 import com.example.deliveries.config.RabbitMqConfig;
 import com.example.deliveries.dto.event.*;
@@ -35,8 +36,10 @@ public class DeliveryServiceImpl implements DeliveryService {
     private final DeliveryRepository deliveryRepository;
     private final RabbitTemplate rabbitTemplate;
     private final ObjectMapper objectMapper;
+    private final DurableTimerScheduler timerScheduler;
 
     private static final Duration BUYER_CONFIRMATION_WINDOW = Duration.ofDays(7);
+    private static final String AUTO_COMPLETE_TIMER_PREFIX = "delivery:auto-complete:";
 
     @Override
     @Transactional
@@ -430,32 +433,15 @@ public class DeliveryServiceImpl implements DeliveryService {
         }
         LocalDateTime roundedConfirmationDeadline = DateTimeUtil.roundToMicrosecond(confirmationDeadline);
 
-        long delayMillis = Duration.between(roundedNow, roundedConfirmationDeadline).toMillis();
+        DeliveryWorkflowCommands.AutoCompleteDeliveryCommand command =
+                new DeliveryWorkflowCommands.AutoCompleteDeliveryCommand(delivery.getDeliveryId(), roundedConfirmationDeadline);
 
-        if (delayMillis > 0) {
-            DeliveryWorkflowCommands.AutoCompleteDeliveryCommand command =
-                    new DeliveryWorkflowCommands.AutoCompleteDeliveryCommand(delivery.getDeliveryId(), roundedConfirmationDeadline);
-
-            log.info("Scheduling auto-completion check for delivery {} in {} ms (Deadline: {})",
-                    delivery.getDeliveryId(), delayMillis, confirmationDeadline);
-
-            try {
-                rabbitTemplate.convertAndSend(
-                        RabbitMqConfig.DELIVERIES_SCHEDULE_EXCHANGE,
-                        RabbitMqConfig.DELIVERY_AUTO_COMPLETE_SCHEDULE_ROUTING_KEY,
-                        command,
-                        message -> {
-                            message.getMessageProperties().setHeader("x-delay", (int) Math.min(delayMillis, Integer.MAX_VALUE));
-                            return message;
-                        }
-                );
-            } catch (Exception e) {
-                log.error("Error scheduling auto-completion check for delivery {}: {}", delivery.getDeliveryId(), e.getMessage(), e);
-            }
-        } else {
-            log.warn("Auto-completion check delay for delivery {} was not positive ({}ms). Consider immediate check or error.",
-                    delivery.getDeliveryId(), delayMillis);
-        }
+        log.info("Scheduling auto-completion check for delivery {} at {}", delivery.getDeliveryId(), roundedConfirmationDeadline);
+        // Durable timer instead of x-delay: no 24.8-day cap, and rescheduling replaces the delivery's timer in place
+        timerScheduler.schedule(AUTO_COMPLETE_TIMER_PREFIX + delivery.getDeliveryId(), roundedConfirmationDeadline,
+                RabbitMqConfig.DELIVERIES_SCHEDULE_EXCHANGE,
+                RabbitMqConfig.DELIVERY_AUTO_COMPLETE_SCHEDULE_ROUTING_KEY,
+                command);
     }
 
     private void publishDeliveryReceiptConfirmedByBuyerEvent(Delivery delivery) {
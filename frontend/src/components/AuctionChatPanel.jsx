@@ -11,6 +11,11 @@ const AuctionChatPanel = ({ auctionId }) => {
   const [input, setInput] = useState("");
   const bottomRef = useRef(null);
   const stompRef = useRef(null);
+  const msgsRef = useRef([]); // latest messages, for the reconnect catch-up
+
+  useEffect(() => {
+    msgsRef.current = msgs;
+  }, [msgs]);
 
   // Preload chat history
   useEffect(() => {
@@ -51,10 +56,29 @@ const AuctionChatPanel = ({ auctionId }) => {
     client.onConnect = (frame) => {
       console.log("STOMP Connected:", frame);
       stompRef.current = client; // Set stompRef here after successful connection
+      // After a reconnect, fetch only what was missed while disconnected
+      const lastId = [...msgsRef.current].reverse().find((m) => m.id)?.id;
+      if (lastId) {
+        apiClient
+          .get(`/liveauctions/${auctionId}/chat`, { params: { after: lastId, limit: 200 } })
+          .then((res) => {
+            const missed = res.data || [];
+            if (missed.length === 0) return;
+            setMsgs((current) => {
+              const seen = new Set(current.map((m) => m.id).filter(Boolean));
+              return [...current, ...missed.filter((m) => !seen.has(m.id))];
+            });
+          })
+          .catch((err) => console.error("Failed to catch up on chat:", err));
+      }
       client.subscribe(`/topic/chat.${auctionId}`, (m) => {
         try {
-          const newMsg = JSON.parse(m.body);
-          setMsgs((prevMsgs) => [...prevMsgs, newMsg]);
+          const body = JSON.parse(m.body); // messages arrive in per-room batches (array)
+          const newMsgs = Array.isArray(body) ? body : [body];
+          setMsgs((prevMsgs) => {
+            const seen = new Set(prevMsgs.map((m) => m.id).filter(Boolean));
+            return [...prevMsgs, ...newMsgs.filter((m) => !m.id || !seen.has(m.id))];
+          });
         } catch (e) {
           console.error("Error parsing incoming STOMP message:", e, m.body);
         }
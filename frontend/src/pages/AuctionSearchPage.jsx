@@ -1,12 +1,11 @@
 // src/pages/AuctionSearchPage.jsx
-import React, { useState, useEffect, useCallback, useMemo } from 'react';
-import { useSearchParams, useNavigate, Link } from 'react-router-dom';
+import React, { useState, useEffect, useCallback, useMemo, useRef } from 'react';
+import { useSearchParams, Link } from 'react-router-dom';
 import apiClient from '../api/apiClient';
 
 import CategorySelector from '../components/CategorySelector';
 import AuctionFilters from '../components/seller/tab/listing/AuctionFilters'; // Reusable
-import LiveAuctionList from '../components/seller/tab/listing/SellerLiveAuctions';
-import TimedAuctionList from '../components/seller/tab/listing/SellerTimedAuctions';
+import InteractiveAuctionCard from '../components/InteractiveAuctionCard';
 
 const STATUS_TABS = [
   { key: "ALL", label: "All Statuses" }, // "All Auctions" label might be confusing with type filter
@@ -22,8 +21,46 @@ const TIME_FILTERS = [
   { key: "30D", label: "Last 30 days" },
 ];
 
+// Orders served by the auction catalog; RELEVANCE falls back to newest when there is no query
+const SORT_OPTIONS = [
+  { key: "RELEVANCE", label: "Best match" },
+  { key: "NEWEST", label: "Newest" },
+  { key: "STARTING_SOONEST", label: "Starting soonest" },
+  { key: "ENDING_SOONEST", label: "Ending soonest" },
+  { key: "PRICE_LOW", label: "Price: low to high" },
+  { key: "PRICE_HIGH", label: "Price: high to low" },
+  { key: "MOST_BIDS", label: "Most bids" },
+];
+
+// Sort values from links made for the per-service search pages ("field,direction")
+const LEGACY_SORTS = {
+  "STARTTIME,ASC": "STARTING_SOONEST",
+  "STARTTIME,DESC": "NEWEST",
+  "ENDTIME,ASC": "ENDING_SOONEST",
+};
+
+// A sort the catalog does not know would fail the whole search, so it falls back to the default
+const parseSort = (value) => {
+  const sort = value?.toUpperCase();
+  if (!sort) return 'RELEVANCE';
+  if (LEGACY_SORTS[sort]) return LEGACY_SORTS[sort];
+  return SORT_OPTIONS.some(option => option.key === sort) ? sort : 'RELEVANCE';
+};
+
 const LISTING_PAGE_SIZE = 12;
 
+const LoadMoreButton = ({ isLoading, onClick }) => (
+  <div className="text-center mt-4 mb-6">
+    <button
+      onClick={onClick}
+      disabled={isLoading}
+      className="px-4 py-2 text-sm font-medium text-indigo-700 bg-white border border-indigo-300 rounded-md hover:bg-indigo-50 disabled:opacity-50"
+    >
+      {isLoading ? 'Loading...' : 'Load more auctions'}
+    </button>
+  </div>
+);
+
 // Helper function to calculate 'from' date for backend (can be imported or defined here)
 const calcFromDateParam = (timeKey) => {
   if (timeKey === "ALL") return undefined;
@@ -42,9 +79,29 @@ const calcFromDateParam = (timeKey) => {
 };
 
 
+// Query parameters of a search; "Load more" repeats them with the cursor added
+const buildSearchParams = (currentQuery, currentTypeFilter, currentCategories, currentStatusFilter, currentTimeFilter, currentSort) => {
+  const params = {
+    query: currentQuery || undefined,
+    type: currentTypeFilter !== 'ALL' ? currentTypeFilter : undefined, // Live and timed together unless narrowed
+    categoryIds: currentCategories.size > 0 ? Array.from(currentCategories).join(',') : undefined,
+    from: calcFromDateParam(currentTimeFilter), // Use the calcFromDateParam function
+    sort: currentSort,
+    size: LISTING_PAGE_SIZE,
+  };
+
+  // Set 'status' and 'ended' based on auctionStatusFilter
+  if (currentStatusFilter === 'ENDED') {
+    params.ended = true;
+  } else if (currentStatusFilter !== 'ALL') {
+    params.status = currentStatusFilter; // e.g., ACTIVE, SCHEDULED
+  }
+  // If currentStatusFilter is 'ALL' (and not 'ENDED'), no status filter is sent
+  return params;
+};
+
 function AuctionSearchPage() {
   const [searchParams, setSearchParams] = useSearchParams();
-  const navigate = useNavigate();
 
   // --- Parse initial state from URL ---
   const query = useMemo(() => searchParams.get('query') || '', [searchParams]);
@@ -57,19 +114,19 @@ function AuctionSearchPage() {
 
   const initialStatusFilter = useMemo(() => searchParams.get('status')?.toUpperCase() || 'ALL', [searchParams]);
   const initialTimeFilter = useMemo(() => searchParams.get('timePeriod') || 'ALL', [searchParams]);
-  const initialLivePage = useMemo(() => parseInt(searchParams.get('livePage') || '0', 10), [searchParams]);
-  const initialTimedPage = useMemo(() => parseInt(searchParams.get('timedPage') || '0', 10), [searchParams]);
+  const initialSort = useMemo(() => parseSort(searchParams.get('sort')), [searchParams]);
 
   // --- Component State ---
-  const [liveAuctions, setLiveAuctions] = useState([]);
-  const [timedAuctions, setTimedAuctions] = useState([]);
-  const [livePagination, setLivePagination] = useState({ page: initialLivePage, totalPages: 0, totalElements: 0 });
-  const [timedPagination, setTimedPagination] = useState({ page: initialTimedPage, totalPages: 0, totalElements: 0 });
+  // One merged list of live and timed auctions, served by the catalog in ProductsService
+  const [auctions, setAuctions] = useState([]);
+  // nextCursor of the last page loaded, null once there is nothing more
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+  // Parameters of the first page; cursors are only valid for the query that produced them
+  const lastSearchParamsRef = useRef(null);
 
-  const [isLoadingLive, setIsLoadingLive] = useState(false);
-  const [isLoadingTimed, setIsLoadingTimed] = useState(false);
-  const [errorLive, setErrorLive] = useState('');
-  const [errorTimed, setErrorTimed] = useState('');
+  const [isLoading, setIsLoading] = useState(false);
+  const [error, setError] = useState('');
 
   const [allCategories, setAllCategories] = useState([]);
   const [categoryLoading, setCategoryLoading] = useState(false);
@@ -78,6 +135,7 @@ function AuctionSearchPage() {
   const [selectedCategoryIds, setSelectedCategoryIds] = useState(initialCategoryIds);
   const [auctionStatusFilter, setAuctionStatusFilter] = useState(initialStatusFilter);
   const [auctionTimeFilter, setAuctionTimeFilter] = useState(initialTimeFilter);
+  const [sortOrder, setSortOrder] = useState(initialSort);
 
   // --- Fetch All Categories for Sidebar ---
   const fetchAllCategories = useCallback(async () => {
@@ -99,128 +157,62 @@ function AuctionSearchPage() {
   }, [fetchAllCategories]);
 
 
-  // --- Fetch Search Results ---
+  // --- Fetch Search Results (first page) ---
   const fetchSearchResults = useCallback(async (
-    currentQuery, currentTypeFilter, currentCategories, currentStatusFilter, currentTimeFilter,
-    currentPageLive, currentPageTimed
+    currentQuery, currentTypeFilter, currentCategories, currentStatusFilter, currentTimeFilter, currentSort
   ) => {
     // Avoid fetching if no query and all filters are effectively "ALL"
     if (!currentQuery && currentTypeFilter === 'ALL' && currentCategories.size === 0 && currentStatusFilter === 'ALL' && currentTimeFilter === 'ALL') {
-      setLiveAuctions([]);
-      setTimedAuctions([]);
-      setLivePagination(prev => ({ ...prev, page: 0, totalPages: 0, totalElements: 0 }));
-      setTimedPagination(prev => ({ ...prev, page: 0, totalPages: 0, totalElements: 0 }));
-      setErrorLive('');
-      setErrorTimed('');
-      setIsLoadingLive(false); // Ensure loading states are reset
-      setIsLoadingTimed(false);
+      setAuctions([]);
+      setNextCursor(null);
+      setError('');
+      setIsLoading(false);
       return;
     }
 
-    const commonParams = {
-      query: currentQuery || undefined,
-      categoryIds: currentCategories.size > 0 ? Array.from(currentCategories).join(',') : undefined,
-      from: calcFromDateParam(currentTimeFilter), // Use the calcFromDateParam function
-      size: LISTING_PAGE_SIZE,
-    };
-
-    // Set 'status' and 'ended' based on auctionStatusFilter
-    if (currentStatusFilter === 'ENDED') {
-      commonParams.ended = true;
-      // commonParams.status = undefined; // Explicitly undefined or just don't set
-    } else if (currentStatusFilter !== 'ALL') {
-      commonParams.status = currentStatusFilter; // e.g., ACTIVE, SCHEDULED
-      // commonParams.ended = false; // Or let backend default if ended is not true
-    }
-    // If currentStatusFilter is 'ALL' (and not 'ENDED'), backend defaults to non-ended (ACTIVE, SCHEDULED)
-
-    const promises = [];
-
-    if (currentTypeFilter === 'LIVE' || currentTypeFilter === 'ALL') {
-      setIsLoadingLive(true);
-      setErrorLive('');
-      promises.push(
-        apiClient.get('/liveauctions/search', { params: { ...commonParams, page: currentPageLive } })
-          .then(res => ({ type: 'live', data: res.data }))
-          .catch(err => ({ type: 'live', error: err, message: err.response?.data?.message || 'Could not load live auctions.' }))
-      );
-    } else {
-      setLiveAuctions([]);
-      setLivePagination({ page: 0, totalPages: 0, totalElements: 0 });
-    }
-
-    if (currentTypeFilter === 'TIMED' || currentTypeFilter === 'ALL') {
-      setIsLoadingTimed(true);
-      setErrorTimed('');
-      promises.push(
-        apiClient.get('/timedauctions/search', { params: { ...commonParams, page: currentPageTimed } })
-          .then(res => ({ type: 'timed', data: res.data }))
-          .catch(err => ({ type: 'timed', error: err, message: err.response?.data?.message || 'Could not load timed auctions.' }))
-      );
-    } else {
-      setTimedAuctions([]);
-      setTimedPagination({ page: 0, totalPages: 0, totalElements: 0 });
-    }
+    const params = buildSearchParams(currentQuery, currentTypeFilter, currentCategories, currentStatusFilter, currentTimeFilter, currentSort);
+    lastSearchParamsRef.current = params;
 
-    if (promises.length === 0) {
-        setIsLoadingLive(false);
-        setIsLoadingTimed(false);
-        return;
+    setIsLoading(true);
+    setError('');
+    try {
+      const res = await apiClient.get('/products/auctions/search', { params });
+      if (lastSearchParamsRef.current !== params) return; // A newer search started meanwhile
+      setAuctions(res.data.content || []);
+      setNextCursor(res.data.nextCursor || null);
+    } catch (err) {
+      console.error('Failed to fetch auction search results:', err);
+      if (lastSearchParamsRef.current !== params) return;
+      setError(err.response?.data?.message || 'Could not load auctions.');
+      setAuctions([]);
+      setNextCursor(null);
+    } finally {
+      if (lastSearchParamsRef.current === params) setIsLoading(false);
     }
+  }, []);
 
-    const results = await Promise.all(promises);
-
-    results.forEach(result => {
-      if (result.type === 'live') {
-        if (result.error) {
-          console.error('Failed to fetch live auction search results:', result.error);
-          setErrorLive(result.message);
-          setLiveAuctions([]);
-        } else {
-          setLiveAuctions(result.data.content || []);
-          setLivePagination({ page: result.data.number, totalPages: result.data.totalPages || 0, totalElements: result.data.totalElements || 0 });
-        }
-        setIsLoadingLive(false);
-      } else if (result.type === 'timed') {
-        if (result.error) {
-          console.error('Failed to fetch timed auction search results:', result.error);
-          setErrorTimed(result.message);
-          setTimedAuctions([]);
-        } else {
-          setTimedAuctions(result.data.content || []);
-          setTimedPagination({ page: result.data.number, totalPages: result.data.totalPages || 0, totalElements: result.data.totalElements || 0 });
-        }
-        setIsLoadingTimed(false);
-      }
-    });
-  }, [LISTING_PAGE_SIZE]);
-
-  // --- useEffect to Sync URL with State and Fetch Data ---
+  // --- useEffect to Fetch Data whenever the query, a filter or the order changes ---
   useEffect(() => {
-    // Update pagination states from URL first if they changed
-    const urlLivePage = parseInt(searchParams.get('livePage') || '0', 10);
-    const urlTimedPage = parseInt(searchParams.get('timedPage') || '0', 10);
-
-    let livePageChanged = false;
-    let timedPageChanged = false;
-
-    if (urlLivePage !== livePagination.page) {
-        setLivePagination(p => ({...p, page: urlLivePage}));
-        livePageChanged = true;
-    }
-    if (urlTimedPage !== timedPagination.page) {
-        setTimedPagination(p => ({...p, page: urlTimedPage}));
-        timedPageChanged = true;
+    fetchSearchResults(query, typeFilter, selectedCategoryIds, auctionStatusFilter, auctionTimeFilter, sortOrder);
+  }, [query, typeFilter, selectedCategoryIds, auctionStatusFilter, auctionTimeFilter, sortOrder, fetchSearchResults]);
+
+  // --- Load the next page and append it ---
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) return;
+    const baseParams = lastSearchParamsRef.current;
+    setIsLoadingMore(true);
+    try {
+      const res = await apiClient.get('/products/auctions/search', { params: { ...baseParams, cursor: nextCursor } });
+      if (lastSearchParamsRef.current !== baseParams) return; // Filters changed while this page was loading
+      setAuctions(prev => [...prev, ...(res.data.content || [])]);
+      setNextCursor(res.data.nextCursor || null);
+    } catch (err) {
+      console.error('Failed to load more auctions:', err);
+      setError(err.response?.data?.message || 'Could not load more auctions.');
+    } finally {
+      setIsLoadingMore(false);
     }
-    
-
-    fetchSearchResults(
-      query, typeFilter, selectedCategoryIds, auctionStatusFilter, auctionTimeFilter,
-      urlLivePage, // Use page numbers directly from URL for the fetch call
-      urlTimedPage
-    );
-
-  }, [query, typeFilter, selectedCategoryIds, auctionStatusFilter, auctionTimeFilter, searchParams, fetchSearchResults]);
+  }, [nextCursor]);
 
 
   // --- Handlers to Update URL and State (which then triggers fetch via useEffect) ---
@@ -242,7 +234,7 @@ function AuctionSearchPage() {
       if (key === 'status' && newValueStr === 'ALL') newValueStr = undefined;
       if (key === 'timePeriod' && newValueStr === 'ALL') newValueStr = undefined;
       if (key === 'type' && newValueStr === 'ALL') newValueStr = undefined;
-      if ((key === 'livePage' || key === 'timedPage') && (newValueStr === 0 || newValueStr === '0')) newValueStr = undefined;
+      if (key === 'sort' && newValueStr === 'RELEVANCE') newValueStr = undefined;
 
 
       if (newValueStr === undefined || newValueStr === null || newValueStr === '') {
@@ -264,40 +256,24 @@ function AuctionSearchPage() {
 
   const handleCategoryFilterChange = useCallback((newSelectedIds) => {
     setSelectedCategoryIds(newSelectedIds);
-    setLivePagination(p => ({ ...p, page: 0 })); // Reset page state
-    setTimedPagination(p => ({ ...p, page: 0 }));
-    updateUrlParams({ categories: newSelectedIds, livePage: undefined, timedPage: undefined });
+    updateUrlParams({ categories: newSelectedIds });
   }, [updateUrlParams, setSearchParams]); // Added setSearchParams to dependencies of updateUrlParams
 
   const handleAuctionStatusFilterChange = useCallback((newStatus) => {
     setAuctionStatusFilter(newStatus);
-    setLivePagination(p => ({ ...p, page: 0 }));
-    setTimedPagination(p => ({ ...p, page: 0 }));
-    updateUrlParams({ status: newStatus, livePage: undefined, timedPage: undefined });
+    updateUrlParams({ status: newStatus });
   }, [updateUrlParams, setSearchParams]);
 
   const handleAuctionTimeFilterChange = useCallback((newTime) => {
     setAuctionTimeFilter(newTime);
-    setLivePagination(p => ({ ...p, page: 0 }));
-    setTimedPagination(p => ({ ...p, page: 0 }));
-    updateUrlParams({ timePeriod: newTime, livePage: undefined, timedPage: undefined });
-  }, [updateUrlParams, setSearchParams]);
-
-  const handleLivePageChange = useCallback((newPage) => {
-    setLivePagination(p => ({ ...p, page: newPage })); // Update local state for pagination component
-    updateUrlParams({ livePage: newPage });
+    updateUrlParams({ timePeriod: newTime });
   }, [updateUrlParams, setSearchParams]);
 
-  const handleTimedPageChange = useCallback((newPage) => {
-    setTimedPagination(p => ({ ...p, page: newPage })); // Update local state
-    updateUrlParams({ timedPage: newPage });
+  const handleSortChange = useCallback((event) => {
+    setSortOrder(event.target.value);
+    updateUrlParams({ sort: event.target.value });
   }, [updateUrlParams, setSearchParams]);
 
-  const handleAuctionCardClick = useCallback((id, auctionTypeClicked) => {
-      const path = auctionTypeClicked === "LIVE" ? `/live-auctions/${id}` : `/timed-auctions/${id}`;
-      navigate(path);
-  }, [navigate]);
-
   const displayQuery = searchParams.get('query') || ''; // Get fresh query from URL for display
 
   return (
@@ -338,43 +314,40 @@ function AuctionSearchPage() {
           onFilterChange={() => { /* Logic now in individual handlers to reset pagination */ }}
         />
 
-        {(isLoadingLive || isLoadingTimed) && <div className="text-center p-10 text-gray-600">Loading results...</div>}
-        {errorLive && <div className="text-center p-4 my-4 text-red-600 bg-red-50 rounded-md border border-red-200">{errorLive}</div>}
-        {errorTimed && <div className="text-center p-4 my-4 text-red-600 bg-red-50 rounded-md border border-red-200">{errorTimed}</div>}
-
-        {!(isLoadingLive || isLoadingTimed) && (
+        <div className="flex justify-end items-center mb-4">
+          <label htmlFor="auction-sort" className="text-sm text-gray-600 mr-2">Sort by</label>
+          <select
+            id="auction-sort"
+            value={sortOrder}
+            onChange={handleSortChange}
+            className="text-sm border border-gray-300 rounded-md px-2 py-1 bg-white focus:outline-none focus:ring-1 focus:ring-indigo-500"
+          >
+            {SORT_OPTIONS.map(option => (
+              <option key={option.key} value={option.key}>{option.label}</option>
+            ))}
+          </select>
+        </div>
+
+        {isLoading && <div className="text-center p-10 text-gray-600">Loading results...</div>}
+        {error && <div className="text-center p-4 my-4 text-red-600 bg-red-50 rounded-md border border-red-200">{error}</div>}
+
+        {!isLoading && (
           <>
-            {/* Live Auctions Section */}
-            {(typeFilter === 'LIVE' || typeFilter === 'ALL') && liveAuctions.length > 0 && (
-              <LiveAuctionList
-                liveAuctions={liveAuctions}
-                isLoadingLiveAuctions={isLoadingLive}
-                errorLiveAuctions={errorLive} // Pass specific error
-                livePagination={livePagination}
-                listingPageSize={LISTING_PAGE_SIZE}
-                onLiveAuctionPageChange={handleLivePageChange}
-                onAuctionCardClick={handleAuctionCardClick}
-                isOwner={false}
-              />
-            )}
-
-            {/* Timed Auctions Section */}
-            {(typeFilter === 'TIMED' || typeFilter === 'ALL') && timedAuctions.length > 0 && (
-              <TimedAuctionList
-                timedAuctions={timedAuctions}
-                isLoadingTimedAuctions={isLoadingTimed}
-                errorTimedAuctions={errorTimed} // Pass specific error
-                timedPagination={timedPagination}
-                listingPageSize={LISTING_PAGE_SIZE}
-                onTimedAuctionPageChange={handleTimedPageChange}
-                onAuctionCardClick={handleAuctionCardClick}
-                isOwner={false}
-              />
+            {auctions.length > 0 && (
+              <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-4">
+                {auctions.map((auction) => (
+                  <InteractiveAuctionCard
+                    key={auction.id}
+                    auction={auction}
+                    type={auction.auctionType}
+                  />
+                ))}
+              </div>
             )}
+            {nextCursor && <LoadMoreButton isLoading={isLoadingMore} onClick={loadMore} />}
 
             {/* No Results Message */}
-            {!isLoadingLive && !isLoadingTimed && !errorLive && !errorTimed &&
-             liveAuctions.length === 0 && timedAuctions.length === 0 &&
+            {!isLoading && !error && auctions.length === 0 &&
              (query || selectedCategoryIds.size > 0 || auctionStatusFilter !== 'ALL' || auctionTimeFilter !== 'ALL' || typeFilter !== 'ALL') &&
              (
                  <div className="text-center p-10 border rounded bg-white shadow-sm mt-6">
@@ -383,8 +356,7 @@ function AuctionSearchPage() {
                 </div>
             )}
             {/* Initial state prompt if no query and no filters active */}
-             {!isLoadingLive && !isLoadingTimed && !errorLive && !errorTimed &&
-             liveAuctions.length === 0 && timedAuctions.length === 0 &&
+             {!isLoading && !error && auctions.length === 0 &&
              !query && selectedCategoryIds.size === 0 && auctionStatusFilter === 'ALL' && auctionTimeFilter === 'ALL' && typeFilter === 'ALL' &&
              (
                  <div className="text-center p-10 border rounded bg-white shadow-sm mt-6">
@@ -706,7 +706,7 @@ function HomePage() {
               Starting Soon
             </h2>
             <Link
-              to="/search?status=SCHEDULED&sort=startTime,asc"
+              to="/search?status=SCHEDULED&sort=STARTING_SOONEST"
               className="text-sm font-medium text-indigo-600 hover:text-indigo-800 transition-colors"
             >
               View All &rarr;
@@ -750,7 +750,7 @@ function HomePage() {
               Ending Soon / Hot Right Now
             </h2>
             <Link
-              to="/search?status=ACTIVE&sort=endTime,asc"
+              to="/search?status=ACTIVE&sort=ENDING_SOONEST"
               className="text-sm font-medium text-indigo-600 hover:text-indigo-800 transition-colors"
             >
               View All &rarr;
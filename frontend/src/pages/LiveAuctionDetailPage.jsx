@@ -18,6 +18,19 @@ import {
 import SockJS from "sockjs-client/dist/sockjs";
 import { Client } from "@stomp/stompjs";
 
+// Short keys used by the live auction state frames
+const STATE_FIELDS = {
+  s: "status",
+  p: "currentBid",
+  h: "highestBidderId",
+  u: "highestBidderUsernameSnapshot",
+  n: "nextBidAmount",
+  e: "endTime",
+  r: "reserveMet",
+  w: "winnerId",
+  wb: "winningBid",
+};
+
 function LiveAuctionDetailPage() {
   const { auctionId } = useParams();
   const { keycloak, initialized } = useKeycloak();
@@ -57,6 +70,21 @@ function LiveAuctionDetailPage() {
   // Ref to hold the subscription object to allow unsubscribing
   const subscriptionRef = useRef(null);
   const viewersSubRef = useRef(null);
+  const bidsSubRef = useRef(null);
+  const stateSeqRef = useRef(null); // last applied state frame sequence, null until a snapshot arrives
+  const stateEpochRef = useRef(null); // epoch of the node producing the frames; a new one means resync
+
+  // Merges a state frame (snapshot or delta) into auctionDetails; keys must match AuctionStateDeltaEncoder
+  const applyStateFrame = useCallback((frame) => {
+    setAuctionDetails((prev) => {
+      if (!prev) return prev;
+      const next = { ...prev };
+      for (const [key, field] of Object.entries(STATE_FIELDS)) {
+        if (key in frame) next[field] = frame[key];
+      }
+      return next;
+    });
+  }, []);
 
   // --- State for Image Carousel ---
   const [currentImageIndex, setCurrentImageIndex] = useState(0);
@@ -188,47 +216,71 @@ function LiveAuctionDetailPage() {
       setViewerError(false);
 
       // Define the destination topic to subscribe to
-      const destination = `/topic/auctions/${auctionId}`;
+      const destination = `/topic/auctions.${auctionId}`;
       console.log(`Subscribing to STOMP destination: ${destination}`);
 
+      // Delta protocol: snapshot from /app/.../state, then sequence-numbered diffs on the topic
+      const requestSnapshot = () => {
+        stateSeqRef.current = null; // drop deltas until the snapshot is in
+        const snapshotSub = client.subscribe(
+          `/app/auctions/${auctionId}/state`,
+          (message) => {
+            try {
+              const frame = JSON.parse(message.body);
+              stateSeqRef.current = frame.q;
+              stateEpochRef.current = frame.g ?? null; // null: adopt the epoch of the next frame
+              applyStateFrame(frame);
+            } catch (e) {
+              console.error("Failed to parse state snapshot:", message.body, e);
+            } finally {
+              snapshotSub.unsubscribe();
+            }
+          }
+        );
+      };
+
       // Subscribe and store the subscription reference
       subscriptionRef.current = client.subscribe(destination, (message) => {
         try {
-          const stateUpdate = JSON.parse(message.body); // LiveAuctionStateDto
-          console.log("STOMP message received:", stateUpdate);
-
-          /* 1️⃣  Merge the aggregate auction fields  */
-          setAuctionDetails((prev) => {
-            if (!prev || prev.id !== stateUpdate.auctionId) return prev; // ignore stray msgs
-
-            return {
-              ...prev,
-              status: stateUpdate.status,
-              currentBid: stateUpdate.currentBid,
-              highestBidderId: stateUpdate.highestBidderId,
-              highestBidderUsernameSnapshot: stateUpdate.highestBidderUsername,
-              nextBidAmount: stateUpdate.nextBidAmount,
-              timeLeftMs: stateUpdate.timeLeftMs,
-              endTime: stateUpdate.endTime ?? prev.endTime,
-              reserveMet: stateUpdate.reserveMet,
-
-              // NEW winner info (populated when status === "SOLD")
-              winnerId: stateUpdate.winnerId ?? prev.winnerId,
-              winningBid: stateUpdate.winningBid ?? prev.winningBid,
-            };
-          });
-
-          /* 2️⃣  Append the new bid (if the event carried one) */
-          if (stateUpdate.newBid) {
-            setBidHistory((prev) => [stateUpdate.newBid, ...prev].slice(0, 20));
+          const frame = JSON.parse(message.body); // { t, q, g, ...changed fields }
+          const last = stateSeqRef.current;
+          if (last === null) return; // snapshot pending
+          const epoch = stateEpochRef.current;
+          if (epoch !== null && frame.g !== epoch) {
+            console.warn(`State producer changed (${epoch} -> ${frame.g}), resyncing`);
+            requestSnapshot();
+            return;
           }
+          if (frame.q <= last) return; // already covered by the snapshot
+          if (frame.q !== last + 1) {
+            console.warn(`State frame gap (${last} -> ${frame.q}), resyncing`);
+            requestSnapshot();
+            return;
+          }
+          stateSeqRef.current = frame.q;
+          stateEpochRef.current = frame.g;
+          applyStateFrame(frame);
         } catch (e) {
           console.error("Failed to parse STOMP message body:", message.body, e);
         }
       });
+      requestSnapshot();
+
+      // State frames above are rate-limited; every individual bid arrives here
+      bidsSubRef.current = client.subscribe(
+        `/topic/auctions.${auctionId}.bids`,
+        (msg) => {
+          try {
+            const bid = JSON.parse(msg.body); // BidDto
+            setBidHistory((prev) => [bid, ...prev].slice(0, 20));
+          } catch (e) {
+            console.error("Failed to parse bid message body:", msg.body, e);
+          }
+        }
+      );
 
       viewersSubRef.current = client.subscribe(
-        `/topic/auctions/${auctionId}/viewers`,
+        `/topic/auctions.${auctionId}.viewers`,
         (msg) => {
           try {
             const { count } = JSON.parse(msg.body);
@@ -262,6 +314,7 @@ function LiveAuctionDetailPage() {
       setViewerError(true);
       subscriptionRef.current = null;
       viewersSubRef.current = null;
+      bidsSubRef.current = null;
       stompClientRef.current = null; // Clear client ref on close? Or let reconnect handle? Let's clear.
     };
 
@@ -291,6 +344,11 @@ function LiveAuctionDetailPage() {
         viewersSubRef.current = null;
       }
 
+      if (bidsSubRef.current) {
+        bidsSubRef.current.unsubscribe();
+        bidsSubRef.current = null;
+      }
+
       if (stompClientRef.current?.active) {
         console.log("Deactivating STOMP client...");
         try {
@@ -9,9 +9,19 @@ import {
 import apiClient from "../api/apiClient";
 import { useKeycloak } from "@react-keycloak/web";
 
+const ORDERS_PAGE_SIZE = 10;
+
+const ordersFilterParams = (filter) => ({
+  size: ORDERS_PAGE_SIZE,
+  status: filter === "ALL" ? undefined : filter,
+});
+
 function MyOrdersPage() {
   const [activeFilter, setActiveFilter] = useState("ALL"); // e.g., 'ALL', 'PENDING_PAYMENT'
   const [orders, setOrders] = useState([]);
+  // nextCursor of the last page loaded, null once there is nothing more
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState(null);
   const { keycloak, initialized } = useKeycloak();
@@ -23,18 +33,19 @@ function MyOrdersPage() {
         setError(null);
         try {
           // Backend needs to map 'PENDING_PAYMENT' or 'CANCELLED' to multiple statuses
-          const statusParamForApi =
-            activeFilter === "ALL" ? "" : `&status=${activeFilter}`;
-          const response = await apiClient.get(
-            `/orders/my?page=0&size=10${statusParamForApi}`
-          );
+          // An empty cursor asks for the first keyset page
+          const response = await apiClient.get("/orders/my", {
+            params: { ...ordersFilterParams(activeFilter), cursor: "" },
+          });
           setOrders(response.data.content || []);
+          setNextCursor(response.data.nextCursor || null);
         } catch (err) {
           console.error("Failed to fetch orders:", err);
           setError(
             err.response?.data?.message || "Could not load your orders."
           );
           setOrders([]);
+          setNextCursor(null);
         } finally {
           setIsLoading(false);
         }
@@ -44,6 +55,23 @@ function MyOrdersPage() {
     }
   }, [activeFilter, initialized, keycloak.authenticated]);
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await apiClient.get("/orders/my", {
+        params: { ...ordersFilterParams(activeFilter), cursor: nextCursor },
+      });
+      setOrders((prev) => [...prev, ...(response.data.content || [])]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (err) {
+      console.error("Failed to load more orders:", err);
+      setError(err.response?.data?.message || "Could not load more orders.");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   if (!initialized) {
     return <div className="text-center p-10">Initializing...</div>;
   }
@@ -216,6 +244,17 @@ function MyOrdersPage() {
           )}
         </div>
       )}
+      {!isLoading && !error && nextCursor && (
+        <div className="text-center mt-6">
+          <button
+            onClick={handleLoadMore}
+            disabled={isLoadingMore}
+            className="px-4 py-2 text-sm font-medium text-red-600 bg-white border border-red-300 rounded-md hover:bg-red-50 disabled:opacity-50"
+          >
+            {isLoadingMore ? "Loading..." : "Load more orders"}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
@@ -3,6 +3,8 @@ import React, { useState, useEffect, useRef, useCallback } from "react";
 import { useParams, useNavigate, Link } from "react-router-dom";
 import { useKeycloak } from "@react-keycloak/web";
 import apiClient from "../api/apiClient";
+import SockJS from "sockjs-client/dist/sockjs";
+import { Client } from "@stomp/stompjs";
 import CountdownTimer from "../components/CountdownTimer";
 import ConfirmationModal from "../components/ConfirmationModal";
 import CollapsibleSection from "../components/CollapsibleSection";
@@ -47,11 +49,52 @@ const generateBidOptions = (startAmount, numOptions = 20) => {
   return options;
 };
 
-function CommentDisplay({ comment, onReply, currentUserId, onEdit, onDelete }) {
+const COMMENTS_PAGE_SIZE = 20; // first page is cached server-side at this size
+const REPLIES_PAGE_SIZE = 10;
+
+function CommentDisplay({
+  comment,
+  auctionId,
+  refreshToken,
+  onReply,
+  currentUserId,
+  onEdit,
+  onDelete,
+}) {
   const canReply = onReply !== null; // Check if reply function is provided
 
   const isOwner = currentUserId && currentUserId === comment.userId;
 
+  // Replies are fetched lazily, a page at a time, once the thread is expanded
+  const [replies, setReplies] = useState([]);
+  const [repliesCursor, setRepliesCursor] = useState(null);
+  const [showReplies, setShowReplies] = useState(false);
+  const [isLoadingReplies, setIsLoadingReplies] = useState(false);
+
+  const loadReplies = useCallback(
+    async (cursor) => {
+      setIsLoadingReplies(true);
+      try {
+        const response = await apiClient.get(
+          `/timedauctions/${auctionId}/comments/${comment.id}/replies`,
+          { params: { cursor: cursor || undefined, size: REPLIES_PAGE_SIZE } }
+        );
+        const page = response.data?.content || [];
+        setReplies((prev) => (cursor ? [...prev, ...page] : page));
+        setRepliesCursor(response.data?.nextCursor || null);
+      } catch (err) {
+        console.error("Failed to load replies:", err);
+      } finally {
+        setIsLoadingReplies(false);
+      }
+    },
+    [auctionId, comment.id]
+  );
+
+  useEffect(() => {
+    if (showReplies) loadReplies(null);
+  }, [showReplies, refreshToken, loadReplies]);
+
   return (
     <div
       className={`p-3 rounded-lg ${
@@ -99,18 +142,41 @@ function CommentDisplay({ comment, onReply, currentUserId, onEdit, onDelete }) {
           )}
       </div>
       {/* Render Replies (one level deep) */}
-      {comment.replies && comment.replies.length > 0 && (
+      {comment.replyCount > 0 && (
+        <button
+          onClick={() => setShowReplies((v) => !v)}
+          className="mt-1 text-xs text-indigo-600 hover:underline"
+        >
+          {showReplies
+            ? "Hide replies"
+            : `View ${comment.replyCount} ${
+                comment.replyCount === 1 ? "reply" : "replies"
+              }`}
+        </button>
+      )}
+      {showReplies && replies.length > 0 && (
         <div className="mt-2 space-y-2 border-l-2 border-indigo-200 pl-4">
-          {comment.replies.map((reply) => (
+          {replies.map((reply) => (
             <CommentDisplay
               key={reply.id}
               comment={reply}
+              auctionId={auctionId}
+              refreshToken={refreshToken}
               onReply={onReply}
               currentUserId={currentUserId}
               onEdit={onEdit}
               onDelete={onDelete}
             /> // Allow replying to replies
           ))}
+          {repliesCursor && (
+            <button
+              onClick={() => loadReplies(repliesCursor)}
+              disabled={isLoadingReplies}
+              className="text-xs text-indigo-600 hover:underline disabled:opacity-50"
+            >
+              {isLoadingReplies ? "Loading..." : "More replies"}
+            </button>
+          )}
         </div>
       )}
     </div>
@@ -141,7 +207,11 @@ function TimedAuctionDetailPage() {
 
   const [auctionDetails, setAuctionDetails] = useState(null);
   const [bidHistory, setBidHistory] = useState([]); // Visible bid history
-  const [comments, setComments] = useState([]); // Comments with nested replies
+  const [comments, setComments] = useState([]); // Top-level comments, one page at a time
+  const [commentsCursor, setCommentsCursor] = useState(null); // null once the last page is loaded
+  const [isLoadingMoreComments, setIsLoadingMoreComments] = useState(false);
+  const [commentsVersion, setCommentsVersion] = useState(0); // bumps so expanded threads reload
+  const loadedMoreCommentsRef = useRef(false);
   const [isLoadingDetails, setIsLoadingDetails] = useState(true);
   const [isLoadingComments, setIsLoadingComments] = useState(true);
   const [errorDetails, setErrorDetails] = useState("");
@@ -187,8 +257,8 @@ function TimedAuctionDetailPage() {
   const [isEditingComment, setIsEditingComment] = useState(false);
   const [editCommentError, setEditCommentError] = useState("");
 
-  const detailsIntervalRef = useRef(null);
   const commentsIntervalRef = useRef(null);
+  const stompClientRef = useRef(null);
 
   const loggedInUserId = initialized ? keycloak.subject : null;
   const isUserHighestBidder =
@@ -327,9 +397,19 @@ function TimedAuctionDetailPage() {
         } comments for auction ${auctionId}...`
       );
       const response = await apiClient.get(
-        `/timedauctions/${auctionId}/comments`
+        `/timedauctions/${auctionId}/comments`,
+        { params: { size: COMMENTS_PAGE_SIZE } }
       );
-      setComments(response.data || []);
+      const firstPage = response.data?.content || [];
+      if (loadedMoreCommentsRef.current) {
+        // Keep the later pages the user loaded; refresh first-page comments in place
+        const fresh = new Map(firstPage.map((c) => [c.id, c]));
+        setComments((prev) => prev.map((c) => fresh.get(c.id) || c));
+      } else {
+        setComments(firstPage);
+        setCommentsCursor(response.data?.nextCursor || null);
+      }
+      setCommentsVersion((v) => v + 1);
       setCommentError(""); // Clear error on success
     } catch (err) {
       console.error("Failed to fetch comments:", err);
@@ -344,12 +424,36 @@ function TimedAuctionDetailPage() {
     }
   }, [auctionId, initialized]); // Depends only on auctionId
 
+  const loadMoreComments = async () => {
+    if (!commentsCursor || isLoadingMoreComments) return;
+    setIsLoadingMoreComments(true);
+    try {
+      const response = await apiClient.get(
+        `/timedauctions/${auctionId}/comments`,
+        { params: { cursor: commentsCursor, size: COMMENTS_PAGE_SIZE } }
+      );
+      const page = response.data?.content || [];
+      loadedMoreCommentsRef.current = true;
+      setComments((prev) => {
+        const seen = new Set(prev.map((c) => c.id));
+        return [...prev, ...page.filter((c) => !seen.has(c.id))];
+      });
+      setCommentsCursor(response.data?.nextCursor || null);
+    } catch (err) {
+      console.error("Failed to load more comments:", err);
+      setCommentError(
+        err.response?.data?.message || "Could not load more comments."
+      );
+    } finally {
+      setIsLoadingMoreComments(false);
+    }
+  };
+
   useEffect(() => {
     const prevAuctionId = prevAuctionIdRef.current;
     const auctionIdChanged = prevAuctionId !== auctionId;
     prevAuctionIdRef.current = auctionId;
 
-    clearInterval(detailsIntervalRef.current);
     clearInterval(commentsIntervalRef.current);
 
     if (auctionId && initialized) {
@@ -360,12 +464,14 @@ function TimedAuctionDetailPage() {
         setCommentError("");
         setAuctionDetails(null);
         setComments([]);
+        setCommentsCursor(null);
+        loadedMoreCommentsRef.current = false;
       }
 
       fetchAuctionDetails();
       fetchComments();
 
-      detailsIntervalRef.current = setInterval(fetchAuctionDetails, 15 * 1000);
+      // Price/leader/end-time changes are pushed over STOMP (see below); only comments are still polled
       commentsIntervalRef.current = setInterval(fetchComments, 30 * 1000);
 
       if (keycloak.authenticated) {
@@ -385,7 +491,6 @@ function TimedAuctionDetailPage() {
     }
 
     return () => {
-      clearInterval(detailsIntervalRef.current);
       clearInterval(commentsIntervalRef.current);
     };
   }, [
@@ -398,6 +503,56 @@ function TimedAuctionDetailPage() {
     fetchMyMaxBid,
   ]);
 
+  // --- Live state updates (replaces polling the details endpoint) ---
+  useEffect(() => {
+    if (!auctionId || !initialized) return;
+
+    const client = new Client({
+      webSocketFactory: () => {
+        const gatewayHost = "localhost:8072"; // Your Gateway host/port
+        return new SockJS(
+          `${window.location.protocol}//${gatewayHost}/ws/timedauctions`
+        );
+      },
+      reconnectDelay: 5000,
+      heartbeatIncoming: 10000,
+      heartbeatOutgoing: 10000,
+    });
+
+    client.onConnect = () => {
+      client.subscribe(`/topic/timed-auctions/${auctionId}`, (message) => {
+        try {
+          const { newBid, ...state } = JSON.parse(message.body); // TimedAuctionStateDto
+          setAuctionDetails((prev) =>
+            prev && prev.id === state.id ? { ...prev, ...state } : prev
+          );
+          if (newBid) {
+            setBidHistory((prev) => [newBid, ...prev]);
+          }
+          if (state.status !== "ACTIVE" && state.status !== "SCHEDULED") {
+            fetchAuctionDetails(); // Final state: pick up everything the push does not carry
+          }
+        } catch (e) {
+          console.error("Failed to parse timed auction update:", message.body, e);
+        }
+      });
+      // Catch up on anything missed while (re)connecting
+      fetchAuctionDetails();
+    };
+
+    client.onStompError = (frame) => {
+      console.error("STOMP error: " + frame.headers["message"], frame.body);
+    };
+
+    client.activate();
+    stompClientRef.current = client;
+
+    return () => {
+      stompClientRef.current = null;
+      client.deactivate();
+    };
+  }, [auctionId, initialized, fetchAuctionDetails]);
+
   useEffect(() => {
     if (auctionDetails?.nextBidAmount != null) {
       // Use != null to include 0
@@ -521,7 +676,14 @@ function TimedAuctionDetailPage() {
     };
 
     try {
-      await apiClient.post(`/timedauctions/${auctionId}/comments`, payload);
+      const response = await apiClient.post(
+        `/timedauctions/${auctionId}/comments`,
+        payload
+      );
+      if (!payload.parentId && loadedMoreCommentsRef.current && !commentsCursor) {
+        // New comments sort last; past the first page the refresh won't show it, so append it here
+        setComments((prev) => [...prev, { ...response.data, replyCount: 0 }]);
+      }
       setCommentInput(""); // Clear input
       setReplyingTo(null); // Clear reply state
       fetchComments(); // Refresh comments immediately
@@ -646,7 +808,9 @@ function TimedAuctionDetailPage() {
       await apiClient.delete(
         `/timedauctions/${auctionId}/comments/${commentToDelete.id}`
       );
+      const deletedId = commentToDelete.id;
       handleCloseDeleteConfirm();
+      setComments((prev) => prev.filter((c) => c.id !== deletedId));
       fetchComments(); // Tải lại bình luận sau khi xóa
     } catch (err) {
       setDeleteCommentError(
@@ -1308,12 +1472,25 @@ function TimedAuctionDetailPage() {
               <CommentDisplay
                 key={comment.id}
                 comment={comment}
+                auctionId={auctionId}
+                refreshToken={commentsVersion}
                 onReply={keycloak.authenticated ? handleSetReply : null}
                 currentUserId={loggedInUserId}
                 onEdit={handleInitiateEdit}
                 onDelete={handleInitiateDelete}
               />
             ))}
+          {!isLoadingComments && !errorComments && commentsCursor && (
+            <div className="text-center">
+              <button
+                onClick={loadMoreComments}
+                disabled={isLoadingMoreComments}
+                className="text-sm text-indigo-600 hover:underline disabled:opacity-50"
+              >
+                {isLoadingMoreComments ? "Loading..." : "Load more comments"}
+              </button>
+            </div>
+          )}
         </div>
       </section>
       {/* --- End Comments Section --- */}
@@ -85,6 +85,10 @@ public class GatewayserverApplication {
 						.path("/ws/notifications/**")
 						.uri("lb://NOTIFICATIONS"))
 
+				.route("timedauctions_ws_route", p -> p
+						.path("/ws/timedauctions/**")
+						.uri("lb://TIMEDAUCTIONS"))
+
 				.route("liveauctions_ws_route", p -> p // ID for the WebSocket route
 						.path("/ws/**")
 						.uri("lb://LIVEAUCTIONS"))
@@ -1,11 +1,15 @@
 package com.example.liveauctions;
 
+import com.example.commons.migration.EnableOneOffMigrations;
+import com.example.commons.scheduling.EnableDurableTimers;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableDurableTimers
+@EnableOneOffMigrations
 @EnableFeignClients
 @EnableScheduling
 public class LiveAuctionsApplication {
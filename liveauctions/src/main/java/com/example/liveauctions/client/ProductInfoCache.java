@@ -0,0 +1,36 @@
+package com.example.liveauctions.client;
+
+import com.example.commons.cache.AbstractProductInfoCache;
+import com.example.liveauctions.client.dto.ProductDto;
+import com.example.liveauctions.config.DetailsCacheProperties;
+import com.example.liveauctions.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/** Near-cache in front of {@link ProductServiceClient}; see {@link AbstractProductInfoCache}. */
+@Component
+@Slf4j
+public class ProductInfoCache extends AbstractProductInfoCache<ProductDto> {
+
+    private final ProductServiceClient productServiceClient;
+
+    public ProductInfoCache(ProductServiceClient productServiceClient, DetailsCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        super(properties.getProductMaxSize(), Duration.ofSeconds(properties.getProductTtlSeconds()), meterRegistry);
+        this.productServiceClient = productServiceClient;
+    }
+
+    @Override
+    protected ProductDto fetch(Long productId) {
+        try {
+            log.debug("Fetching product details for ID: {}", productId);
+            return productServiceClient.getProductById(productId);
+        } catch (Exception e) {
+            log.error("Failed to fetch product details for ID: {}", productId, e);
+            throw new ProductNotFoundException("Product not found with ID: " + productId);
+        }
+    }
+}
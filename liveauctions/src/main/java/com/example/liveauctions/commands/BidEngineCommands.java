@@ -0,0 +1,34 @@
+package com.example.liveauctions.commands;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface BidEngineCommands {
+
+    /** Sent by the node that received the HTTP bid to the node owning the auction's shard. */
+    record PlaceBidCommand(
+            UUID auctionId, String bidderId, String bidderUsername, BigDecimal amount
+    ) {}
+
+    /** Sent by the closer to every shard; answered once the bids that shard accepted before it are persisted. */
+    record AwaitJournalCommand() {}
+
+    /** Sent by the owning node to its own shard once an auction it had to load from the DB is ready. */
+    record AuctionLoadedCommand(UUID auctionId) {}
+
+    /** Sent by the journal when a write for the auction failed: the shard reloads it and re-broadcasts the DB state. */
+    record ReloadAuctionCommand(UUID auctionId) {}
+
+    enum BidRejection { AUCTION_NOT_FOUND, INVALID_STATE, INVALID_BID, ERROR }
+
+    record PlaceBidReply(boolean accepted, BidRejection rejection, String message) {
+
+        public static PlaceBidReply ok() {
+            return new PlaceBidReply(true, null, null);
+        }
+
+        public static PlaceBidReply rejected(BidRejection rejection, String message) {
+            return new PlaceBidReply(false, rejection, message);
+        }
+    }
+}
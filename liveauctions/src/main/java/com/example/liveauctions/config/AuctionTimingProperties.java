@@ -17,4 +17,16 @@ public class AuctionTimingProperties {
         private long thresholdSeconds = 60;
         private long extensionSeconds = 20;
     }
+
+    /** Auctions whose end time has passed are closed in batches rather than one per end command */
+    private Closing closing = new Closing();
+
+    @Data public static class Closing {
+        /** How long the closer waits after an end timer fires, so auctions ending together close together */
+        private long windowMs = 100;
+        /** Auctions claimed and finalized per transaction */
+        private int batchSize = 500;
+        /** Safety sweep for auctions whose end command was lost (node crash between ack and close) */
+        private long sweepIntervalMs = 5_000;
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** How concurrent bids are serialized when the bid engine is disabled. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.bid-concurrency")
+public class BidConcurrencyProperties {
+
+    public enum Mode {
+        /** Redisson lock per auction around read-validate-write */
+        LOCK,
+        /** No lock; versioned conditional UPDATE, re-read and retry on conflict */
+        OPTIMISTIC
+    }
+
+    private Mode mode = Mode.LOCK;
+
+    /** Optimistic mode: attempts before the bid is rejected with "please retry" */
+    private int maxAttempts = 5;
+
+    /** Optimistic mode: base backoff between attempts, multiplied by the attempt number */
+    private long retryBackoffMs = 5;
+}
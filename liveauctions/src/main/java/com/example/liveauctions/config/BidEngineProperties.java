@@ -0,0 +1,20 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.bid-engine")
+public class BidEngineProperties {
+
+    /** Route bids through the in-memory sequenced engine instead of the Redisson lock path */
+    private boolean enabled = true;
+
+    /** Number of shard queues; each shard has exactly one active consumer across the cluster */
+    private int shards = 16;
+
+    /** Unclaimed bid commands older than this are dropped by the broker (caller has already timed out) */
+    private long commandTtlMs = 5000;
+}
@@ -0,0 +1,27 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.bid-journal")
+public class BidJournalProperties {
+
+    /** Bounded queue size; producers block (backpressure) once it is full */
+    private int capacity = 10_000;
+
+    /** Flush as soon as this many bids are waiting */
+    private int batchSize = 200;
+
+    /** ...or once the oldest waiting bid is this old */
+    private long flushIntervalMs = 20;
+
+    /**
+     * If true a bid is acknowledged to the bidder only after its batch has committed. If false it is acked and
+     * broadcast on acceptance; should its write then fail, viewers get the DB state re-broadcast, but the bidder
+     * has already been told it was accepted.
+     */
+    private boolean durable = false;
+}
@@ -0,0 +1,17 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.broadcast")
+public class BroadcastProperties {
+
+    /** Upper bound on state frames per auction topic; bids in between are coalesced into the latest state */
+    private int maxFramesPerSecond = 4;
+
+    /** How long a node stays bound to an auction's updates after its last local subscriber left (absorbs page reloads) */
+    private long unbindDelaySeconds = 30;
+}
@@ -0,0 +1,53 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.chat")
+public class ChatProperties {
+
+    /**
+     * Approximate length the archiver trims each auction's Redis stream to; older messages are read from the
+     * MySQL archive. Messages not yet archived are never trimmed, so a burst can keep a stream longer until the next run.
+     */
+    private int historySize = 1000;
+
+    /** How often active streams are copied to MySQL, and how many entries go into one batch insert */
+    private long archiveIntervalMs = 30_000;
+    private int archiveBatchSize = 500;
+
+    /** A stream with no new message for this long is fully archived and left to expire after streamRetentionHours */
+    private long archiveIdleMinutes = 10;
+    private long streamRetentionHours = 24;
+
+    /** Messages are collected for this long, then written to Redis and broadcast per auction in one go */
+    private long batchIntervalMs = 50;
+
+    /** Upper bound on messages per auction per flush; the rest wait for the next one */
+    private int maxBatchSize = 500;
+
+    private RateLimit rateLimit = new RateLimit();
+
+    public enum OverflowPolicy { DROP, QUEUE }
+
+    @Data
+    public static class RateLimit {
+        /** Sustained messages per second per sender (user, or session when anonymous) and burst on top */
+        private double userRatePerSecond = 1;
+        private int userBurst = 5;
+
+        /** Sustained messages per second per room across all nodes, and burst */
+        private double auctionRatePerSecond = 50;
+        private int auctionBurst = 100;
+
+        /** DROP rejects over-limit messages; QUEUE delays them until a token frees up (within maxQueueDelayMs) */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.QUEUE;
+        private long maxQueueDelayMs = 2000;
+
+        /** How often each node reports its per-room usage to Redis and rescales its share of the room rate */
+        private long syncIntervalMs = 1000;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.details-cache")
+public class DetailsCacheProperties {
+
+    private long productMaxSize = 10_000;
+
+    /** Safety net only; product edits and deletes are pushed to us via ProductUpdatedEvent */
+    private long productTtlSeconds = 3600;
+
+    /** Ring buffer length per auction */
+    private int recentBids = 20;
+
+    /** Idle buffers are dropped and re-warmed from the DB on the next read */
+    private long recentBidsTtlMinutes = 60;
+}
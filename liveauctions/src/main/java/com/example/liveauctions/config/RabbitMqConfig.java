@@ -5,10 +5,13 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -33,8 +36,37 @@ public class RabbitMqConfig {
 
 
     public static final String UPDATE_ROUTING_KEY_PREFIX = "auction.update."; // e.g., auction.update.uuid
+    // Appended for non-ACTIVE states (auction.update.uuid.lifecycle): every node needs those to reset its bid engine
+    public static final String UPDATE_LIFECYCLE_SUFFIX = ".lifecycle";
     public static final String AUCTION_ROUTING_KEY_PREFIX = "auction.";
 
+    // --- Relay mode only: state updates sharded by auction over single-active-consumer queues, so exactly one
+    // node turns each auction's updates into STOMP frames and the work spreads across nodes ---
+    public static final String AUCTION_STATE_RELAY_EXCHANGE = "live_auction_state_relay_exchange";
+    public static final String AUCTION_STATE_RELAY_QUEUE_PREFIX = "live_auction_state_relay_shard.";
+    public static final String AUCTION_STATE_RELAY_ROUTING_KEY_PREFIX = "relay.shard.";
+
+    // --- Bid engine shards (one single-active-consumer queue per shard) ---
+    public static final String LIVE_BID_ENGINE_EXCHANGE = "live_bid_engine_exchange";
+    public static final String LIVE_BID_ENGINE_QUEUE_PREFIX = "live_bid_engine_shard.";
+    public static final String LIVE_BID_ENGINE_ROUTING_KEY_PREFIX = "bid.shard.";
+
+    // --- User events (published by UsersService), consumed to keep the user info cache fresh ---
+    public static final String USER_EVENTS_EXCHANGE = "user_events_exchange";
+    public static final String USER_BANNED_ROUTING_KEY = "user.event.banned";
+    public static final String USER_UPDATED_ROUTING_KEY = "user.event.profile.updated";
+
+    // --- Product Events (published by ProductsService) ---
+    public static final String PRODUCT_EVENTS_EXCHANGE = "product_events_exchange";
+    public static final String PRODUCT_EVENTS_ROUTING_PATTERN = "product.event.*"; // updated and deleted
+
+    // --- Auction listing events (consumed by the cross-type auction catalog in ProductsService) ---
+    public static final String AUCTION_LISTING_EVENTS_EXCHANGE = "auction_listing_events_exchange";
+    public static final String LIVE_LISTING_ROUTING_KEY = "listing.live.updated";
+    // Sent by the catalog when it has no live listings yet; ProductsService declares the same queue
+    public static final String CATALOG_REPLAY_ROUTING_KEY = "catalog.replay.live";
+    public static final String CATALOG_REPLAY_QUEUE = "live_auction_catalog_replay_queue";
+
     // --- Dead Letter Exchange and Queue ---
     public static final String MAIN_DLX_EXCHANGE = "dlx.main_exchange"; // Dead Letter Exchange
     public static final String MAIN_DEAD_LETTER_QUEUE = "q.main_dead_letter_queue"; // General Dead Letter Queue
@@ -46,6 +78,8 @@ public class RabbitMqConfig {
     }
 
     // --- Configuration for Delayed Scheduling ---
+    // Start/end timers now live in DurableTimerScheduler, which publishes here without x-delay when they come due;
+    // the delayed exchange stays so commands already parked in it still get delivered.
 
     @Bean
     CustomExchange auctionScheduleExchange() {
@@ -145,6 +179,126 @@ public class RabbitMqConfig {
                 .with(CANCEL_ROUTING_KEY);
     }
 
+    @Bean
+    DirectExchange liveBidEngineExchange() {
+        return new DirectExchange(LIVE_BID_ENGINE_EXCHANGE);
+    }
+
+    /**
+     * One durable queue per bid-engine shard. x-single-active-consumer makes the broker
+     * hand each shard to exactly one node at a time and fail it over when that node goes away.
+     */
+    @Bean
+    Declarables liveBidEngineShards(DirectExchange liveBidEngineExchange, BidEngineProperties bidEngineProperties) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < bidEngineProperties.getShards(); shard++) {
+            Queue queue = QueueBuilder.durable(LIVE_BID_ENGINE_QUEUE_PREFIX + shard)
+                    .singleActiveConsumer()
+                    .ttl((int) bidEngineProperties.getCommandTtlMs())
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(liveBidEngineExchange).with(LIVE_BID_ENGINE_ROUTING_KEY_PREFIX + shard));
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Per-node update queue. Only lifecycle updates are bound statically; per-auction keys are bound while
+     * this node has local subscribers for the auction (see AuctionUpdateInterestRegistry).
+     */
+    @Bean
+    Queue auctionUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Binding auctionLifecycleUpdatesBinding(Queue auctionUpdatesQueue, TopicExchange auctionEventsExchange) {
+        return BindingBuilder.bind(auctionUpdatesQueue).to(auctionEventsExchange)
+                .with(UPDATE_ROUTING_KEY_PREFIX + "*" + UPDATE_LIFECYCLE_SUFFIX);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "relay")
+    DirectExchange auctionStateRelayExchange() {
+        return new DirectExchange(AUCTION_STATE_RELAY_EXCHANGE);
+    }
+
+    /**
+     * Relay mode: one durable queue per relay shard, laid out like the bid-engine shards. Each auction's updates
+     * always go to the same shard, and the broker gives each shard to one node at a time, so frames stay ordered
+     * and delta-encoded per auction while the shards spread over the cluster.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "relay")
+    Declarables auctionStateRelayShards(DirectExchange auctionStateRelayExchange, WebSocketBrokerProperties brokerProperties) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < brokerProperties.getRelayShards(); shard++) {
+            Queue queue = QueueBuilder.durable(AUCTION_STATE_RELAY_QUEUE_PREFIX + shard)
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(auctionStateRelayExchange).with(AUCTION_STATE_RELAY_ROUTING_KEY_PREFIX + shard));
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    TopicExchange productEventsExchange() {
+        return new TopicExchange(PRODUCT_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    TopicExchange auctionListingEventsExchange() {
+        return new TopicExchange(AUCTION_LISTING_EVENTS_EXCHANGE);
+    }
+
+    // Durable and shared by all nodes, so one node answers each replay request
+    @Bean
+    Queue catalogReplayQueue() {
+        return QueueBuilder.durable(CATALOG_REPLAY_QUEUE).build();
+    }
+
+    @Bean
+    Binding catalogReplayBinding(Queue catalogReplayQueue, TopicExchange auctionListingEventsExchange) {
+        return BindingBuilder.bind(catalogReplayQueue).to(auctionListingEventsExchange).with(CATALOG_REPLAY_ROUTING_KEY);
+    }
+
+    // Anonymous (per-node, auto-delete) queues: every instance must invalidate its own cache
+    @Bean
+    Queue userBannedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Queue userUpdatedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Queue productUpdatedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Binding userBannedCacheBinding(Queue userBannedCacheQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userBannedCacheQueue).to(userEventsExchange).with(USER_BANNED_ROUTING_KEY);
+    }
+
+    @Bean
+    Binding userUpdatedCacheBinding(Queue userUpdatedCacheQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userUpdatedCacheQueue).to(userEventsExchange).with(USER_UPDATED_ROUTING_KEY);
+    }
+
+    @Bean
+    Binding productUpdatedCacheBinding(Queue productUpdatedCacheQueue, TopicExchange productEventsExchange) {
+        return BindingBuilder.bind(productUpdatedCacheQueue).to(productEventsExchange).with(PRODUCT_EVENTS_ROUTING_PATTERN);
+    }
+
     @Bean
     public Binding mainDeadLetterBinding(Queue mainDeadLetterQueue, DirectExchange mainDlxExchange) {
         return BindingBuilder.bind(mainDeadLetterQueue)
@@ -0,0 +1,29 @@
+package com.example.liveauctions.config;
+
+import com.example.commons.search.SearchIndexSettings;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.search")
+public class SearchProperties implements SearchIndexSettings {
+
+    /** Keep at innodb_ft_min_token_size; shorter words are not in the index */
+    private int minTermLength = 3;
+
+    /** Extra words in a query are dropped */
+    private int maxTerms = 8;
+
+    private int maxPageSize = 60;
+
+    /** Auctions whose last indexed state this node remembers */
+    private long indexedStateCacheSize = 100_000;
+
+    /** Listing updates are coalesced per auction for this long before going to the catalog */
+    private long catalogFlushIntervalMs = 500;
+
+    /** Republish every auction once at startup; an empty catalog requests a replay without this */
+    private boolean catalogReplayOnStartup = false;
+}
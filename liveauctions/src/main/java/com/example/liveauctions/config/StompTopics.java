@@ -0,0 +1,35 @@
+package com.example.liveauctions.config;
+
+import java.util.UUID;
+
+/**
+ * Broadcast destinations. Segments are dot-separated because RabbitMQ's STOMP adapter maps
+ * /topic/{name} to a routing key on amq.topic and rejects names containing '/', so the same
+ * destinations work with both the simple broker and the broker relay.
+ */
+public final class StompTopics {
+
+    public static final String PREFIX = "/topic/";
+    public static final String UUID_REGEX = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+
+    private StompTopics() {
+    }
+
+    /** Rate-limited, delta-encoded auction state */
+    public static String auctionState(UUID auctionId) {
+        return PREFIX + "auctions." + auctionId;
+    }
+
+    /** Every accepted bid */
+    public static String auctionBids(UUID auctionId) {
+        return auctionState(auctionId) + ".bids";
+    }
+
+    public static String auctionViewers(UUID auctionId) {
+        return auctionState(auctionId) + ".viewers";
+    }
+
+    public static String chat(UUID auctionId) {
+        return PREFIX + "chat." + auctionId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.user-cache")
+public class UserCacheProperties {
+
+    private long maxSize = 50_000;
+
+    /** Safety net only; bans are pushed to us via UserBannedEvent */
+    private long banStatusTtlSeconds = 60;
+
+    /** Safety net only; profile changes are pushed to us via UserUpdatedEvent */
+    private long basicInfoTtlSeconds = 600;
+}
@@ -0,0 +1,17 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auction.viewers")
+public class ViewerCountProperties {
+
+    /** Cadence of the Redis merge and of viewer count broadcasts (joins/leaves in between are batched) */
+    private long syncIntervalMs = 1000;
+
+    /** A node that has not synced for this long is treated as gone and its counts are ignored */
+    private long nodeTtlSeconds = 10;
+}
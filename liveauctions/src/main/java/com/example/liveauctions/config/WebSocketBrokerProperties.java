@@ -0,0 +1,38 @@
+package com.example.liveauctions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "websocket.broker")
+public class WebSocketBrokerProperties {
+
+    public enum Mode { SIMPLE, RELAY }
+
+    /** SIMPLE = in-memory broker per node; RELAY = forward to RabbitMQ's STOMP plugin shared by all nodes */
+    private Mode mode = Mode.SIMPLE;
+
+    private String relayHost = "localhost";
+    private int relayPort = 61613;
+    private String virtualHost = "/";
+
+    /** Credentials for the per-session connections the relay opens on behalf of clients */
+    private String clientLogin = "guest";
+    private String clientPasscode = "guest";
+
+    /** Credentials for the shared "system" connection used for messages sent by the application */
+    private String systemLogin = "guest";
+    private String systemPasscode = "guest";
+
+    /** Relay mode: state updates are spread by auction over this many queues, each relayed by one node at a time */
+    private int relayShards = 16;
+
+    /** Relay mode: how long the latest state frame per auction stays in Redis for snapshot requests on any node */
+    private long snapshotTtlSeconds = 6 * 60 * 60;
+
+    public boolean isRelay() {
+        return mode == Mode.RELAY;
+    }
+}
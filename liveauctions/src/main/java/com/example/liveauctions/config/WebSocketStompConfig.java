@@ -1,5 +1,6 @@
 package com.example.liveauctions.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -9,8 +10,11 @@ import org.springframework.beans.factory.annotation.Value;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketBrokerProperties brokerProperties;
+
     @Value("${FRONTEND_ORIGIN_URL}")
     private String allowedOrigin;
 
@@ -26,7 +30,19 @@ public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
 
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (brokerProperties.isRelay()) {
+            // Subscriptions live in RabbitMQ; a frame sent by any node reaches every node's sessions once
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(brokerProperties.getRelayHost())
+                    .setRelayPort(brokerProperties.getRelayPort())
+                    .setVirtualHost(brokerProperties.getVirtualHost())
+                    .setClientLogin(brokerProperties.getClientLogin())
+                    .setClientPasscode(brokerProperties.getClientPasscode())
+                    .setSystemLogin(brokerProperties.getSystemLogin())
+                    .setSystemPasscode(brokerProperties.getSystemPasscode());
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
 
         registry.setApplicationDestinationPrefixes("/app");
     }
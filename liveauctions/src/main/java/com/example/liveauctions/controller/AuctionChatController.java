@@ -9,8 +9,11 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -33,14 +36,25 @@ public class AuctionChatController {
         String senderId = (String) accessor.getSessionAttributes()
                 .get("wsUserId");   // may be null
 
-        log.info("Received STOMP message for auction {}: {}, from {}", auctionId, msg, senderId);
-        chatService.processIncoming(auctionId, senderId, msg);
+        log.debug("Received STOMP message for auction {}: {}, from {}", auctionId, msg, senderId);
+        chatService.processIncoming(auctionId, accessor.getSessionId(), senderId, msg);
+    }
+
+    /* seller toggles slow mode (minimum seconds between messages per user, 0 = off) */
+    @PutMapping("/{auctionId}/chat/slow-mode")
+    public ResponseEntity<Void> setSlowMode(@RequestHeader("X-User-ID") String sellerId,
+                                            @PathVariable UUID auctionId,
+                                            @RequestParam int seconds) {
+        chatService.setSlowMode(auctionId, sellerId, seconds);
+        return ResponseEntity.ok().build();
     }
 
     /* preload history */
     @GetMapping("/{auctionId}/chat")
     public List<ChatMessageDto> history(@PathVariable UUID auctionId,
+                                        @RequestParam(required = false) String before, // page back from this message id
+                                        @RequestParam(required = false) String after,  // catch up after a reconnect
                                         @RequestParam(defaultValue="100") int limit) {
-        return chatService.loadHistory(auctionId, limit);
+        return chatService.loadHistory(auctionId, before, after, limit);
     }
 }
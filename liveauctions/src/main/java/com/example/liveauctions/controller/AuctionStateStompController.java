@@ -0,0 +1,33 @@
+package com.example.liveauctions.controller;
+
+import com.example.liveauctions.exception.AuctionNotFoundException;
+import com.example.liveauctions.mapper.AuctionMapper;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import com.example.liveauctions.service.impl.AuctionStateDeltaEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Controller
+@Slf4j
+@RequiredArgsConstructor
+public class AuctionStateStompController {
+
+    private final AuctionStateDeltaEncoder deltaEncoder;
+    private final LiveAuctionRepository liveAuctionRepository;
+    private final AuctionMapper auctionMapper;
+
+    /* SUBSCRIBE /app/auctions/{id}/state -> one snapshot frame back to this session only (initial load and resync) */
+    @SubscribeMapping("/auctions/{auctionId}/state")
+    public Map<String, Object> snapshot(@DestinationVariable UUID auctionId) {
+        log.debug("State snapshot requested for auction {}", auctionId);
+        return deltaEncoder.snapshot(auctionId, () -> liveAuctionRepository.findById(auctionId)
+                .map(auctionMapper::mapToLiveAuctionStateDto)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.liveauctions.controller;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.liveauctions.dto.*;
 import com.example.liveauctions.entity.AuctionStatus;
 import com.example.liveauctions.service.LiveAuctionService;
@@ -71,6 +72,16 @@ public class LiveAuctionController {
         return ResponseEntity.ok(auctionPage);
     }
 
+    // Keyset variant, picked when the request carries a cursor parameter (empty for the first page)
+    @GetMapping(value = "/live-auctions", params = "cursor")
+    public ResponseEntity<CursorPageDto<LiveAuctionSummaryDto>> getActiveAuctionsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "12") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.info("Received request for active auctions list by cursor (size={}, withTotal={})", size, withTotal);
+        return ResponseEntity.ok(liveAuctionService.getActiveAuctions(cursor, size, withTotal));
+    }
+
     @GetMapping("/my-auctions")
     public ResponseEntity<Page<LiveAuctionSummaryDto>> getSellerAuctions(
             @RequestHeader(USER_ID_HEADER) String sellerId,          // comes from Gateway filter
@@ -87,6 +98,22 @@ public class LiveAuctionController {
         return ResponseEntity.ok(page);
     }
 
+    @GetMapping(value = "/my-auctions", params = "cursor")
+    public ResponseEntity<CursorPageDto<LiveAuctionSummaryDto>> getSellerAuctionsByCursor(
+            @RequestHeader(USER_ID_HEADER) String sellerId,
+            @RequestParam(value = "status", required = false) AuctionStatus status,
+            @RequestParam(value = "categoryIds", required = false) Set<Long> categoryIds,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.info("Seller {} fetching their auctions by cursor (status={}, cats={}, from={})",
+                sellerId, status, categoryIds, from);
+        return ResponseEntity.ok(liveAuctionService.getSellerAuctions(
+                sellerId, status, categoryIds, from, cursor, size, withTotal));
+    }
+
     @GetMapping("/seller/{sellerId}/live-auctions")
     public ResponseEntity<Page<LiveAuctionSummaryDto>> getPublicLiveAuctionsBySeller(
             @PathVariable String sellerId,
@@ -115,21 +142,22 @@ public class LiveAuctionController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<LiveAuctionSummaryDto>> searchLiveAuctions(
+    public ResponseEntity<CursorPageDto<LiveAuctionSummaryDto>> searchLiveAuctions(
             @RequestParam(value = "query", required = false) String query,
             @RequestParam(value = "categoryIds", required = false) Set<Long> categoryIds,
             @RequestParam(value = "status", required = false) AuctionStatus status, // For ACTIVE, SCHEDULED
-            @RequestParam(value = "ended", required = false) Boolean ended,         // --- ADD THIS ---
+            @RequestParam(value = "ended", required = false) Boolean ended,
             @RequestParam(value = "from", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-            @PageableDefault(size = 12, sort = "startTime", direction = Sort.Direction.DESC) Pageable pageable) {
-        log.info("Searching live auctions with query='{}', categories={}, status={}, ended={}, from={}, page={}",
-                query, categoryIds, status, ended, from, pageable);
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "12") int size) {
+        log.info("Searching live auctions with query='{}', categories={}, status={}, ended={}, from={}, cursor={}, size={}",
+                query, categoryIds, status, ended, from, cursor, size);
 
-        Page<LiveAuctionSummaryDto> auctionPage = liveAuctionService.searchAuctions(
-                query, categoryIds, status, ended, from, pageable // Pass 'ended'
+        CursorPageDto<LiveAuctionSummaryDto> results = liveAuctionService.searchAuctions(
+                query, categoryIds, status, ended, from, cursor, size
         );
-        return ResponseEntity.ok(auctionPage);
+        return ResponseEntity.ok(results);
     }
 
     @PostMapping("/{auctionId}/hammer")
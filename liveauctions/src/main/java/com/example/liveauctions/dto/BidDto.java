@@ -2,6 +2,7 @@ package com.example.liveauctions.dto;
 
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,6 +10,7 @@ import java.util.UUID;
 
 @Value
 @Builder
+@Jacksonized // read back from the recent-bids buffer in Redis
 public class BidDto {
     String bidderId;
     String bidderUsernameSnapshot; // Use the snapshot stored in Bid entity
@@ -10,6 +10,7 @@ import java.util.UUID;
 @Data
 @AllArgsConstructor @NoArgsConstructor
 public class ChatMessageDto {
+    private String id;              // stream entry id ("ms-seq"), also the history cursor
     private UUID auctionId;
     private boolean seller;         // ← true if sent by seller
     private String text;
@@ -0,0 +1,36 @@
+package com.example.liveauctions.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+// Current listing of one auction, consumed by the cross-type auction catalog in ProductsService
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuctionListingEventDto {
+    @Builder.Default
+    private LocalDateTime eventTimestamp = LocalDateTime.now();
+
+    private UUID auctionId;
+    private String auctionType; // "LIVE"
+    private Long productId;
+    private String sellerId;
+    private String sellerUsername;
+    private String title;
+    private String imageUrl;
+    private Set<Long> categoryIds;
+    private String status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal startPrice;
+    private BigDecimal currentBid; // Null until the first bid
+    private int bidCount;
+}
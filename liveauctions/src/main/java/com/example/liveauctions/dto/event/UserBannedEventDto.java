@@ -0,0 +1,22 @@
+package com.example.liveauctions.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBannedEventDto { // Mirror of the DTO published by UsersService
+    private UUID eventId;
+    private LocalDateTime eventTimestamp;
+    private String userId;
+    private LocalDateTime banEndsAt;
+    private int banLevel;
+    private int totalDefaults;
+}
@@ -2,7 +2,6 @@ package com.example.liveauctions.entity; // Adjust package as needed
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,8 +14,13 @@ import java.util.UUID;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Bid {
 
+    // Pooled table generator (MySQL has no sequences): ids are handed out in blocks, so the
+    // journal's saveAll() can be sent as one JDBC batch instead of one INSERT per bid.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Simple sequence for bids is fine
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bid_id_gen")
+    @TableGenerator(name = "bid_id_gen", table = "bid_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "bids", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -31,7 +35,12 @@ public class Bid {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
-    @CreationTimestamp
+    // Set when the bid is accepted; with write-behind the row is inserted later, so the insert must not restamp it
     @Column(nullable = false, updatable = false)
     private LocalDateTime bidTime;
+
+    @PrePersist
+    void defaultBidTime() {
+        if (bidTime == null) bidTime = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.liveauctions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Highest bid of each distinct bidder in an auction, raised as bids are written.
+ * Closing reads the top rows through idx_standing_auction_max instead of scanning the auction's bid history.
+ */
+@Entity
+@Table(name = "bidder_standings", schema = "auction_schema", indexes = {
+        @Index(name = "idx_standing_auction_bidder", columnList = "liveAuctionId, bidderId", unique = true), // Upsert key
+        @Index(name = "idx_standing_auction_max", columnList = "liveAuctionId, maxBid DESC") // Top-K at close
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BidderStanding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID liveAuctionId;
+
+    @Column(nullable = false)
+    private String bidderId;
+
+    @Column(nullable = false)
+    private String bidderUsernameSnapshot; // As of the bidder's highest bid
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal maxBid;
+}
@@ -0,0 +1,47 @@
+package com.example.liveauctions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Archived chat message. Live history is a Redis stream per auction; the archiver copies it here in bulk
+ * so long auctions keep their full history. (streamMs, streamSeq) is the stream entry id, used as the cursor.
+ */
+@Entity
+@Table(name = "chat_messages", schema = "auction_schema", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_auction_entry", columnNames = {"liveAuctionId", "streamMs", "streamSeq"})
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChatMessage {
+
+    // Pooled table generator, same reason as Bid: the archiver's saveAll() goes out as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_id_gen")
+    @TableGenerator(name = "chat_message_id_gen", table = "chat_message_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "chat_messages", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID liveAuctionId;
+
+    @Column(nullable = false)
+    private long streamMs;
+
+    @Column(nullable = false)
+    private long streamSeq;
+
+    @Column(length = 2000)
+    private String text;
+
+    private String username;
+
+    private String avatarUrl;
+
+    private boolean seller;
+
+    private LocalDateTime sentAt;
+}
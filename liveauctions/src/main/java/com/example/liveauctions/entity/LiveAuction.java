@@ -13,8 +13,11 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "live_auctions", schema = "auction_schema") // Specify schema
-@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "live_auctions", schema = "auction_schema", indexes = { // Specify schema
+        @Index(name = "idx_live_auction_status_end", columnList = "status, endTime"), // batch closer sweep
+        @Index(name = "idx_live_auction_seller_end", columnList = "sellerId, endTime") // seller listings by cursor
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
 public class LiveAuction {
 
     @Id
@@ -94,4 +97,9 @@ public class LiveAuction {
     private LocalDateTime updatedAt;
 
     private boolean fastFinishOnReserve;
+
+    // Optimistic concurrency; the DEFAULT lets ddl-auto add the column to existing rows
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
@@ -0,0 +1,55 @@
+package com.example.liveauctions.listener;
+
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.config.WebSocketBrokerProperties;
+import com.example.liveauctions.dto.event.AuctionStateUpdateEvent;
+import com.example.liveauctions.mapper.AuctionMapper;
+import com.example.liveauctions.service.AuctionStateBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broker relay mode: auction updates arrive on the relay shard queues, each auction always on the same shard.
+ * Every shard has one active consumer in the cluster, so exactly one node encodes and publishes each frame and
+ * RabbitMQ fans it out to the subscribers of every node, while different shards are relayed by different nodes.
+ * (Bid-engine eviction still happens per node in {@link AuctionEventListener}.)
+ */
+@Component
+@ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "relay")
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionStateRelayListener implements RabbitListenerConfigurer {
+
+    private final AuctionStateBroadcaster auctionStateBroadcaster;
+    private final AuctionMapper auctionMapper;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final Jackson2JsonMessageConverter eventConverter = new Jackson2JsonMessageConverter("com.example.liveauctions.*");
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int shard = 0; shard < brokerProperties.getRelayShards(); shard++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("live-auction-state-relay-shard-" + shard);
+            endpoint.setQueueNames(RabbitMqConfig.AUCTION_STATE_RELAY_QUEUE_PREFIX + shard);
+            endpoint.setConcurrency("1"); // frames of an auction stay in order
+            endpoint.setMessageListener(this::onShardMessage);
+            registrar.registerEndpoint(endpoint);
+        }
+    }
+
+    private void onShardMessage(Message message) {
+        if (!(eventConverter.fromMessage(message) instanceof AuctionStateUpdateEvent event) || event.getAuctionId() == null) {
+            log.warn("Received invalid auction update event on a relay shard queue: {}", message);
+            return;
+        }
+        log.debug("Relaying auction update for auctionId: {}", event.getAuctionId());
+        auctionStateBroadcaster.broadcast(auctionMapper.mapToLiveAuctionStateDto(event));
+    }
+}
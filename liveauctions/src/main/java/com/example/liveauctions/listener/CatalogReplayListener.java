@@ -0,0 +1,34 @@
+package com.example.liveauctions.listener;
+
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.dto.event.CatalogReplayRequestDto;
+import com.example.liveauctions.service.impl.AuctionListingPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Republishes every live auction when the catalog asks for it. The request is acknowledged only once the
+ * replay has been published, so a node stopping halfway leaves it on the queue for another node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogReplayListener {
+
+    private final AuctionListingPublisher listingPublisher;
+
+    @RabbitListener(queues = RabbitMqConfig.CATALOG_REPLAY_QUEUE)
+    public void handleReplayRequest(CatalogReplayRequestDto request) throws ExecutionException {
+        log.info("Catalog requested a replay of all live auctions (requested at {})", request.getRequestedAt());
+        try {
+            listingPublisher.replayAll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying auctions to the catalog", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.liveauctions.listener;
+
+import com.example.liveauctions.config.StompTopics;
+import com.example.liveauctions.service.impl.ChatSenderRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Resolves the chat sender when a session joins an auction's chat, so sending is free of lookups. */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatSessionListener {
+
+    private static final Pattern CHAT_TOPIC_PATTERN =
+            Pattern.compile("^" + StompTopics.PREFIX + "chat\\.(" + StompTopics.UUID_REGEX + ")$");
+
+    private final ChatSenderRegistry senderRegistry;
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor sha = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = sha.getDestination();
+        if (destination == null || sha.getSessionId() == null) {
+            return;
+        }
+        Matcher matcher = CHAT_TOPIC_PATTERN.matcher(destination);
+        if (!matcher.matches()) {
+            return;
+        }
+        Map<String, Object> attributes = sha.getSessionAttributes();
+        String userId = attributes == null ? null : (String) attributes.get("wsUserId");
+        try {
+            senderRegistry.resolve(sha.getSessionId(), userId, UUID.fromString(matcher.group(1)));
+        } catch (Exception e) {
+            // Resolved again on the first message
+            log.warn("Could not resolve chat sender for session {}: {}", sha.getSessionId(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        if (event.getSessionId() != null) {
+            senderRegistry.forget(event.getSessionId());
+        }
+    }
+}
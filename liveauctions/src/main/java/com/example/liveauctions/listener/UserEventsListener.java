@@ -0,0 +1,41 @@
+package com.example.liveauctions.listener;
+
+import com.example.liveauctions.client.UserInfoCache;
+import com.example.liveauctions.dto.event.UserBannedEventDto;
+import com.example.liveauctions.dto.event.UserUpdatedEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this node's {@link UserInfoCache} in sync with UsersService.
+ * Each node listens on its own anonymous queue, so every instance sees every event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventsListener {
+
+    private final UserInfoCache userInfoCache;
+
+    @RabbitListener(queues = "#{userBannedCacheQueue.name}")
+    public void handleUserBannedEvent(UserBannedEventDto event) {
+        if (event == null || event.getUserId() == null) {
+            log.error("Received invalid UserBannedEventDto: {}", event);
+            return;
+        }
+        log.info("Received UserBannedEvent for userId={} (until {})", event.getUserId(), event.getBanEndsAt());
+        userInfoCache.onUserBanned(event.getUserId(), event.getBanEndsAt());
+    }
+
+    @RabbitListener(queues = "#{userUpdatedCacheQueue.name}")
+    public void handleUserUpdatedEvent(UserUpdatedEventDto event) {
+        if (event == null || event.getUpdatedUser() == null || event.getUpdatedUser().getId() == null) {
+            log.error("Received invalid UserUpdatedEventDto: {}", event);
+            return;
+        }
+        log.info("Received UserUpdatedEvent for userId={}", event.getUpdatedUser().getId());
+        userInfoCache.onUserUpdated(event.getUpdatedUser());
+    }
+}
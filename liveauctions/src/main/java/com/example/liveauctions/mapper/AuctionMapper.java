@@ -4,7 +4,10 @@ import com.example.liveauctions.client.dto.ProductDto; // DTO from Products serv
 import com.example.liveauctions.client.dto.CategoryDto; // Assuming this is the correct package
 import com.example.liveauctions.dto.BidDto;
 import com.example.liveauctions.dto.LiveAuctionDetailsDto;
+import com.example.liveauctions.dto.LiveAuctionStateDto;
 import com.example.liveauctions.dto.LiveAuctionSummaryDto;
+import com.example.liveauctions.dto.event.AuctionStateUpdateEvent;
+import com.example.liveauctions.entity.AuctionStatus;
 import com.example.liveauctions.entity.Bid;
 import com.example.liveauctions.entity.LiveAuction;
 import org.springframework.stereotype.Component;
@@ -119,4 +122,50 @@ public class AuctionMapper {
         return builder.build();
     }
 
-}
\ No newline at end of file
+    // --- Mapping for the STOMP state snapshot (same fields as the state update event) ---
+    public LiveAuctionStateDto mapToLiveAuctionStateDto(LiveAuction auction) {
+        if (auction == null) {
+            return null;
+        }
+        BigDecimal nextBidAmount = null;
+        if (auction.getStatus() == AuctionStatus.ACTIVE) {
+            BigDecimal currentBid = auction.getCurrentBid() == null ? BigDecimal.ZERO : auction.getCurrentBid();
+            nextBidAmount = auction.getHighestBidderId() == null ? auction.getStartPrice()
+                    : auction.getCurrentBidIncrement() == null ? currentBid
+                    : currentBid.add(auction.getCurrentBidIncrement());
+        }
+        return LiveAuctionStateDto.builder()
+                .auctionId(auction.getId())
+                .status(auction.getStatus())
+                .currentBid(auction.getCurrentBid())
+                .highestBidderId(auction.getHighestBidderId())
+                .highestBidderUsername(auction.getHighestBidderUsernameSnapshot())
+                .nextBidAmount(nextBidAmount)
+                .endTime(auction.getEndTime())
+                .reserveMet(auction.isReserveMet())
+                .winnerId(auction.getStatus() == AuctionStatus.SOLD ? auction.getWinnerId() : null)
+                .winningBid(auction.getStatus() == AuctionStatus.SOLD ? auction.getWinningBid() : null)
+                .build();
+    }
+
+    // --- Mapping for the state update event (RabbitMQ) to the DTO clients expect ---
+    public LiveAuctionStateDto mapToLiveAuctionStateDto(AuctionStateUpdateEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return LiveAuctionStateDto.builder()
+                .auctionId(event.getAuctionId())
+                .status(event.getStatus())
+                .currentBid(event.getCurrentBid())
+                .highestBidderId(event.getHighestBidderId())
+                .highestBidderUsername(event.getHighestBidderUsername())
+                .nextBidAmount(event.getNextBidAmount())
+                .timeLeftMs(event.getTimeLeftMs())
+                .endTime(event.getEndTime())
+                .reserveMet(event.isReserveMet())
+                .newBid(event.getNewBid())
+                .winnerId(event.getWinnerId())
+                .winningBid(event.getWinningBid())
+                .build();
+    }
+}
@@ -20,4 +20,7 @@ public interface BidRepository extends JpaRepository<Bid, Long> { // Entity is B
     @Query("SELECT DISTINCT b.bidderId FROM Bid b WHERE b.liveAuctionId = :liveAuctionId")
     Set<String> findDistinctBidderIdsByLiveAuctionId(@Param("liveAuctionId") UUID liveAuctionId);
 
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM Bid b")
+    long findMaxId();
+
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.liveauctions.repository;
+
+import com.example.liveauctions.entity.BidderStanding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BidderStandingRepository extends JpaRepository<BidderStanding, Long> {
+
+    /** Inserts the bidder's standing or raises it; a lower amount leaves the row untouched. Username first, it compares the old max. */
+    @Modifying
+    @Query(value = """
+       INSERT INTO auction_schema.bidder_standings (live_auction_id, bidder_id, bidder_username_snapshot, max_bid)
+       VALUES (:auctionId, :bidderId, :username, :amount)
+       ON DUPLICATE KEY UPDATE
+           bidder_username_snapshot = IF(VALUES(max_bid) > max_bid, VALUES(bidder_username_snapshot), bidder_username_snapshot),
+           max_bid = GREATEST(max_bid, VALUES(max_bid))
+       """, nativeQuery = true)
+    int raise(@Param("auctionId") UUID auctionId, @Param("bidderId") String bidderId,
+              @Param("username") String username, @Param("amount") BigDecimal amount);
+
+    /**
+     * Rebuilds the standings of every ACTIVE auction from its bid history. Idempotent; it fills in bids written
+     * before standings were tracked, which would otherwise leave a partial set that hides older, higher bidders.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO auction_schema.bidder_standings (live_auction_id, bidder_id, bidder_username_snapshot, max_bid)
+       SELECT b.live_auction_id, b.bidder_id, ANY_VALUE(b.bidder_username_snapshot), MAX(b.amount)
+         FROM auction_schema.bids b
+         JOIN auction_schema.live_auctions a ON a.id = b.live_auction_id
+        WHERE a.status = 'ACTIVE'
+        GROUP BY b.live_auction_id, b.bidder_id
+       ON DUPLICATE KEY UPDATE max_bid = GREATEST(max_bid, VALUES(max_bid))
+       """, nativeQuery = true)
+    int backfillActive();
+
+    // Winner plus the two runners-up (uses idx_standing_auction_max)
+    List<BidderStanding> findTop3ByLiveAuctionIdOrderByMaxBidDesc(UUID liveAuctionId);
+}
@@ -0,0 +1,32 @@
+package com.example.liveauctions.repository;
+
+import com.example.liveauctions.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    /** Newest first, strictly older than the (ms, seq) cursor */
+    @Query("SELECT c FROM ChatMessage c WHERE c.liveAuctionId = :auctionId " +
+            "AND (c.streamMs < :ms OR (c.streamMs = :ms AND c.streamSeq < :seq)) " +
+            "ORDER BY c.streamMs DESC, c.streamSeq DESC")
+    List<ChatMessage> findOlderThan(@Param("auctionId") UUID auctionId, @Param("ms") long ms,
+                                    @Param("seq") long seq, Pageable pageable);
+
+    /** Oldest first, strictly newer than the (ms, seq) cursor */
+    @Query("SELECT c FROM ChatMessage c WHERE c.liveAuctionId = :auctionId " +
+            "AND (c.streamMs > :ms OR (c.streamMs = :ms AND c.streamSeq > :seq)) " +
+            "ORDER BY c.streamMs ASC, c.streamSeq ASC")
+    List<ChatMessage> findNewerThan(@Param("auctionId") UUID auctionId, @Param("ms") long ms,
+                                    @Param("seq") long seq, Pageable pageable);
+
+    Optional<ChatMessage> findFirstByLiveAuctionIdOrderByStreamMsDescStreamSeqDesc(UUID liveAuctionId);
+}
@@ -4,13 +4,16 @@ import com.example.liveauctions.entity.AuctionStatus;
 import com.example.liveauctions.entity.LiveAuction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock; // For Pessimistic Lock option
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query; // If complex queries needed
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime; // If querying by time
 import java.util.List; // If needed
 import java.util.Optional;
@@ -25,6 +28,26 @@ public interface LiveAuctionRepository extends JpaRepository<LiveAuction, UUID>
 
     Page<LiveAuction> findByStatus(AuctionStatus status, Pageable pageable);
 
+    // --- Keyset listings: a Slice reads one row past the page instead of running a COUNT ---
+
+    Slice<LiveAuction> findByStatusOrderByEndTimeAscIdAsc(AuctionStatus status, Pageable pageable);
+
+    @Query("""
+       SELECT a FROM LiveAuction a
+        WHERE a.status = :status
+          AND (a.endTime > :afterEndTime OR (a.endTime = :afterEndTime AND a.id > :afterId))
+        ORDER BY a.endTime ASC, a.id ASC
+       """)
+    Slice<LiveAuction> findByStatusAfter(@Param("status") AuctionStatus status,
+                                         @Param("afterEndTime") LocalDateTime afterEndTime,
+                                         @Param("afterId") UUID afterId,
+                                         Pageable pageable);
+
+    long countByStatus(AuctionStatus status);
+
+    // Walks every auction in id order, for republishing listings to the catalog
+    List<LiveAuction> findTop500ByIdGreaterThanOrderByIdAsc(UUID id);
+
 
     @Query("""
        SELECT a
@@ -46,7 +69,159 @@ public interface LiveAuctionRepository extends JpaRepository<LiveAuction, UUID>
                                                    @Param("catIdsEmpty") boolean catIdsEmpty,
                                                    Pageable pageable);
 
+    /** Keyset twin of findSellerAuctionsBySnapshot, newest end first; a null afterEndTime starts at the top. */
+    @Query("""
+       SELECT a
+         FROM LiveAuction a
+        WHERE a.sellerId = :sellerId
+          AND (:status   IS NULL OR a.status = :status)
+          AND (:from     IS NULL OR a.startTime >= :from OR a.endTime >= :from)
+          AND ( :catIdsEmpty = TRUE
+                OR EXISTS (
+                     SELECT 1
+                       FROM a.productCategoryIdsSnapshot c
+                      WHERE c IN :catIds)
+              )
+          AND (:afterEndTime IS NULL
+               OR a.endTime < :afterEndTime
+               OR (a.endTime = :afterEndTime AND a.id < :afterId))
+        ORDER BY a.endTime DESC, a.id DESC
+       """)
+    Slice<LiveAuction> findSellerAuctionsAfter(@Param("sellerId") String sellerId,
+                                               @Param("status") AuctionStatus status,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("catIds") Set<Long> catIds,
+                                               @Param("catIdsEmpty") boolean catIdsEmpty,
+                                               @Param("afterEndTime") LocalDateTime afterEndTime,
+                                               @Param("afterId") UUID afterId,
+                                               Pageable pageable);
+
+    @Query("""
+       SELECT COUNT(a)
+         FROM LiveAuction a
+        WHERE a.sellerId = :sellerId
+          AND (:status   IS NULL OR a.status = :status)
+          AND (:from     IS NULL OR a.startTime >= :from OR a.endTime >= :from)
+          AND ( :catIdsEmpty = TRUE
+                OR EXISTS (
+                     SELECT 1
+                       FROM a.productCategoryIdsSnapshot c
+                      WHERE c IN :catIds)
+              )
+       """)
+    long countSellerAuctions(@Param("sellerId") String sellerId,
+                             @Param("status") AuctionStatus status,
+                             @Param("from") LocalDateTime from,
+                             @Param("catIds") Set<Long> catIds,
+                             @Param("catIdsEmpty") boolean catIdsEmpty);
+
     boolean existsByIdAndSellerId(UUID id, String sellerId);
 
     Page<LiveAuction> findAll(Specification<LiveAuction> spec, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Write-behind update from the bid engine. Only applies while the auction is still ACTIVE and
+     * the stored price is lower, so a late flush can never overwrite a newer price or a final status.
+     */
+    @Modifying
+    @Query("""
+       UPDATE LiveAuction a
+          SET a.currentBid = :currentBid,
+              a.currentBidIncrement = :currentBidIncrement,
+              a.highestBidderId = :highestBidderId,
+              a.highestBidderUsernameSnapshot = :highestBidderUsername,
+              a.bidCount = :bidCount,
+              a.endTime = :endTime,
+              a.reserveMet = :reserveMet,
+              a.version = a.version + 1
+        WHERE a.id = :id
+          AND a.status = com.example.liveauctions.entity.AuctionStatus.ACTIVE
+          AND (a.currentBid IS NULL OR a.currentBid < :currentBid)
+       """)
+    int applyBidState(@Param("id") UUID id,
+                      @Param("currentBid") BigDecimal currentBid,
+                      @Param("currentBidIncrement") BigDecimal currentBidIncrement,
+                      @Param("highestBidderId") String highestBidderId,
+                      @Param("highestBidderUsername") String highestBidderUsername,
+                      @Param("bidCount") int bidCount,
+                      @Param("endTime") LocalDateTime endTime,
+                      @Param("reserveMet") boolean reserveMet);
+
+    /**
+     * Optimistic bid path: applies the bid only if nobody has written the auction since it was read
+     * (same version) and the price still moves up. 0 rows means a conflict; re-read and retry.
+     */
+    @Modifying
+    @Query("""
+       UPDATE LiveAuction a
+          SET a.currentBid = :amount,
+              a.currentBidIncrement = :currentBidIncrement,
+              a.highestBidderId = :bidderId,
+              a.highestBidderUsernameSnapshot = :bidderUsername,
+              a.bidCount = a.bidCount + 1,
+              a.endTime = :endTime,
+              a.reserveMet = :reserveMet,
+              a.version = a.version + 1
+        WHERE a.id = :id
+          AND a.version = :version
+          AND a.status = com.example.liveauctions.entity.AuctionStatus.ACTIVE
+          AND (a.currentBid IS NULL OR a.currentBid < :amount)
+       """)
+    int compareAndSetBid(@Param("id") UUID id,
+                         @Param("version") Long version,
+                         @Param("amount") BigDecimal amount,
+                         @Param("currentBidIncrement") BigDecimal currentBidIncrement,
+                         @Param("bidderId") String bidderId,
+                         @Param("bidderUsername") String bidderUsername,
+                         @Param("endTime") LocalDateTime endTime,
+                         @Param("reserveMet") boolean reserveMet);
+
+    boolean existsByStatusAndEndTimeLessThanEqual(AuctionStatus status, LocalDateTime time);
+
+    /**
+     * Expired ACTIVE auctions, row-locked for closing. Rows another closer already holds are skipped rather
+     * than waited on, so several nodes can close the same end-time cluster in parallel.
+     */
+    @Query(value = """
+       SELECT * FROM auction_schema.live_auctions
+        WHERE status = 'ACTIVE' AND end_time <= :now
+        ORDER BY end_time
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+       """, nativeQuery = true)
+    List<LiveAuction> lockExpiredForClosing(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Bulk close, part 1: auctions with a winning bid that met the reserve (or had none) */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+       UPDATE LiveAuction a
+          SET a.status = com.example.liveauctions.entity.AuctionStatus.SOLD,
+              a.winnerId = a.highestBidderId,
+              a.winningBid = a.currentBid,
+              a.actualEndTime = :endedAt,
+              a.updatedAt = :endedAt,
+              a.version = a.version + 1
+        WHERE a.id IN :ids
+          AND a.status = com.example.liveauctions.entity.AuctionStatus.ACTIVE
+          AND a.highestBidderId IS NOT NULL
+          AND (a.reserveMet = TRUE OR a.reservePrice IS NULL)
+       """)
+    int closeAsSold(@Param("ids") List<UUID> ids, @Param("endedAt") LocalDateTime endedAt);
+
+    /** Bulk close, part 2: everything in the batch that did not sell */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+       UPDATE LiveAuction a
+          SET a.status = com.example.liveauctions.entity.AuctionStatus.RESERVE_NOT_MET,
+              a.actualEndTime = :endedAt,
+              a.updatedAt = :endedAt,
+              a.version = a.version + 1
+        WHERE a.id IN :ids
+          AND a.status = com.example.liveauctions.entity.AuctionStatus.ACTIVE
+       """)
+    int closeAsReserveNotMet(@Param("ids") List<UUID> ids, @Param("endedAt") LocalDateTime endedAt);
+
+    /** Category snapshot of one auction, for callers holding a copy whose lazy collection cannot load */
+    @Query("SELECT c FROM LiveAuction a JOIN a.productCategoryIdsSnapshot c WHERE a.id = :id")
+    Set<Long> findCategoryIds(@Param("id") UUID id);
+}
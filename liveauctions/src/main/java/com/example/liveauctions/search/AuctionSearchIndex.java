@@ -0,0 +1,49 @@
+package com.example.liveauctions.search;
+
+import com.example.commons.search.AbstractAuctionSearchIndex;
+import com.example.liveauctions.config.SearchProperties;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+
+/** Full-text search over live auctions, backed by live_auction_search. */
+@Component
+public class AuctionSearchIndex extends AbstractAuctionSearchIndex<LiveAuction> {
+
+    private final LiveAuctionRepository auctionRepository;
+
+    public AuctionSearchIndex(LiveAuctionRepository auctionRepository,
+                              JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        super(jdbcTemplate, namedJdbcTemplate, transactionManager, properties, meterRegistry,
+                "auction_schema", "live_auction_search", "auction_schema.live_auctions", "auction_categories");
+        this.auctionRepository = auctionRepository;
+    }
+
+    @Override
+    protected IndexedState stateOf(LiveAuction auction) {
+        return new IndexedState(auction.getId(), auction.getStatus().name(), auction.getStartTime());
+    }
+
+    @Override
+    protected String titleOf(LiveAuction auction) {
+        return auction.getProductTitleSnapshot();
+    }
+
+    /** The snapshot is lazy; copies held outside a session (bid engine, closer) read it from the table instead. */
+    @Override
+    protected Set<Long> categoryIdsOf(LiveAuction auction) {
+        Set<Long> snapshot = auction.getProductCategoryIdsSnapshot();
+        return Hibernate.isInitialized(snapshot) ? snapshot : auctionRepository.findCategoryIds(auction.getId());
+    }
+}
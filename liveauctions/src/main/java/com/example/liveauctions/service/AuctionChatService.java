@@ -7,9 +7,15 @@ import java.util.UUID;
 
 public interface AuctionChatService {
 
+    /** Queues the message; it is stored and broadcast (as part of a batch array) within a batch interval */
     void processIncoming(UUID auctionId,
+                         String sessionId,
                          String userId,
                          ChatMessageDto payload);
 
-    List<ChatMessageDto> loadHistory(UUID auctionId, int limit);
+    /** Minimum seconds between messages per sender in this auction's chat (0 turns slow mode off); seller only */
+    void setSlowMode(UUID auctionId, String sellerId, int seconds);
+
+    /** Chronological page: latest messages, or strictly before / after a message id (see ChatHistoryStore) */
+    List<ChatMessageDto> loadHistory(UUID auctionId, String before, String after, int limit);
 }
@@ -0,0 +1,12 @@
+package com.example.liveauctions.service;
+
+import com.example.liveauctions.dto.LiveAuctionStateDto;
+
+public interface AuctionStateBroadcaster {
+
+    /**
+     * Pushes the state to /topic/auctions.{id} (rate-limited, latest state wins)
+     * and, if it carries a bid, that bid to /topic/auctions.{id}.bids (every bid, unthrottled).
+     */
+    void broadcast(LiveAuctionStateDto state);
+}
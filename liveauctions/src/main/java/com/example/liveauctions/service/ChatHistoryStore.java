@@ -0,0 +1,20 @@
+package com.example.liveauctions.service;
+
+import com.example.liveauctions.dto.ChatMessageDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** Where chat history lives. Message ids are opaque, ordered cursors assigned by the store. */
+public interface ChatHistoryStore {
+
+    /** Appends every room's batch (one round trip) and sets each message's id */
+    void appendAll(Map<UUID, List<ChatMessageDto>> batches);
+
+    /**
+     * Up to {@code limit} messages in chronological order: the latest ones, those strictly before
+     * {@code beforeId} (paging back), or those strictly after {@code afterId} (catching up after a reconnect).
+     */
+    List<ChatMessageDto> load(UUID auctionId, String beforeId, String afterId, int limit);
+}
@@ -5,9 +5,9 @@ import java.util.UUID;
 
 public interface LiveAuctionSchedulingService {
 
-    /** Schedules the auction start command via delayed queue. */
+    /** Schedules the auction start command on a durable timer. */
     void scheduleAuctionStart(LiveAuction auction);
 
-    /** Schedules the auction end command via delayed queue. */
+    /** Schedules (or moves) the auction's single end timer; extensions are coalesced. */
     void scheduleAuctionEnd(LiveAuction auction);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.liveauctions.service;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.liveauctions.dto.*;
 import com.example.liveauctions.entity.AuctionStatus;
 import org.springframework.data.domain.Page;
@@ -20,23 +21,35 @@ public interface LiveAuctionService {
 
     Page<LiveAuctionSummaryDto> getActiveAuctions(Pageable pageable);
 
+    CursorPageDto<LiveAuctionSummaryDto> getActiveAuctions(String cursor, int size, boolean withTotal);
+
     Page<LiveAuctionSummaryDto> getSellerAuctions(String sellerId,
                                                   AuctionStatus status,
                                                   Set<Long> categoryIds,
                                                   LocalDateTime from,
                                                   Pageable pageable);
 
+    CursorPageDto<LiveAuctionSummaryDto> getSellerAuctions(String sellerId,
+                                                           AuctionStatus status,
+                                                           Set<Long> categoryIds,
+                                                           LocalDateTime from,
+                                                           String cursor,
+                                                           int size,
+                                                           boolean withTotal);
+
     void hammerDownNow(UUID auctionId, String sellerId);
 
     void cancelAuction(UUID auctionId, String sellerId);
 
-    Page<LiveAuctionSummaryDto> searchAuctions(
+    /** Full-text search over this service's auctions; pages continue from the previous page's nextCursor. */
+    CursorPageDto<LiveAuctionSummaryDto> searchAuctions(
             String query,
             Set<Long> categoryIds,
             AuctionStatus status,
-            Boolean ended, // --- ADD THIS ---
+            Boolean ended,
             LocalDateTime from,
-            Pageable pageable
+            String cursor,
+            int size
     );
 
     /** Fetches summary details for a list of auction IDs. */
@@ -0,0 +1,21 @@
+package com.example.liveauctions.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Sequenced, in-memory bid acceptance. Each auction belongs to one shard, and each shard
+// is processed by a single thread on a single node, so no lock is needed around the state.
+public interface LiveBidEngine {
+
+    /** Routes the bid to the owning shard and waits for the verdict; throws the same exceptions as placeBid. */
+    void submitBid(UUID auctionId, String bidderId, String bidderUsername, BigDecimal amount);
+
+    /** Drops the in-memory state so the next bid reloads it from the database. */
+    void evict(UUID auctionId);
+
+    /**
+     * Waits until every bid any shard has accepted so far is in the database, wherever the shard runs.
+     * Bids are acked before the journal writes them, so anything about to finalize auctions calls this first.
+     */
+    void awaitJournal();
+}
@@ -0,0 +1,19 @@
+package com.example.liveauctions.service;
+
+import java.util.UUID;
+
+public interface ViewerCountService {
+
+    /** A local session subscribed to the auction's state topic */
+    void joined(String sessionId, String subscriptionId, UUID auctionId);
+
+    void left(String sessionId, String subscriptionId);
+
+    void sessionClosed(String sessionId);
+
+    /** Someone subscribed to /topic/auctions.{id}.viewers; send the count on the next tick even if unchanged */
+    void requestBroadcast(UUID auctionId);
+
+    /** Platform-wide count as of the last sync (0 for auctions not watched on this node) */
+    long getViewerCount(UUID auctionId);
+}
@@ -1,71 +1,146 @@
 package com.example.liveauctions.service.impl;
 
-import com.example.liveauctions.client.UserServiceClient;
-import com.example.liveauctions.client.dto.UserBasicInfoDto;
+import com.example.liveauctions.config.ChatProperties;
+import com.example.liveauctions.config.StompTopics;
 import com.example.liveauctions.dto.ChatMessageDto;
+import com.example.liveauctions.exception.InvalidAuctionStateException;
 import com.example.liveauctions.repository.LiveAuctionRepository;
 import com.example.liveauctions.service.AuctionChatService;
+import com.example.liveauctions.service.ChatHistoryStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Chat pipeline: rate limits first ({@link ChatRateLimiter}), then the sender comes from {@link ChatSenderRegistry} (resolved at subscribe time), and messages
+ * are micro-batched per auction. Every batchIntervalMs all rooms' batches are appended to the history store
+ * in one round trip (which assigns the message ids), then each room gets a single frame holding its batch.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuctionChatServiceImpl implements AuctionChatService {
 
-    private final LiveAuctionRepository auctionRepository;        // DAO lives here
-    private final RedisTemplate<String, ChatMessageDto> redis;
-    private final SimpMessagingTemplate broker;
-    private final UserServiceClient userServiceClient;
+    private final ChatHistoryStore historyStore;
+    private final PreEncodedStompSender stompSender;
+    private final ChatSenderRegistry senderRegistry;
+    private final ChatProperties properties;
+    private final ChatRateLimiter rateLimiter;
+    private final LiveAuctionRepository auctionRepository;
 
-    private static final int MAX_MSGS = 200;
+    private final Map<UUID, Queue<ChatMessageDto>> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chat-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, properties.getBatchIntervalMs(),
+                properties.getBatchIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flush(); // don't lose what was accepted
+    }
 
     @Override
     public void processIncoming(UUID auctionId,
+                                String sessionId,
                                 String userId,
                                 ChatMessageDto payload) {
 
-        boolean seller = userId != null &&
-                auctionRepository.existsByIdAndSellerId(auctionId, userId);
+        long delayMs = rateLimiter.acquire(auctionId, userId != null ? userId : "session:" + sessionId);
+        if (delayMs == ChatRateLimiter.DROP) {
+            log.debug("Dropped chat message for auction {} from {} (rate limited)", auctionId, userId);
+            return;
+        }
+
+        ChatSenderRegistry.ChatSender sender = senderRegistry.resolve(sessionId, userId, auctionId);
         payload.setAuctionId(auctionId);
-        payload.setSeller(seller);
-        payload.setTimestamp(LocalDateTime.now());
+        payload.setSeller(sender.seller());
+        payload.setUsername(sender.username());
+        payload.setAvatarUrl(sender.avatarUrl());
 
-        if (userId != null) {
-            Map<String, UserBasicInfoDto> infos =
-                    userServiceClient.getUsersBasicInfoByIds(List.of(userId));
-            UserBasicInfoDto info = infos.get(userId);
-            payload.setUsername(
-                    info != null
-                            ? info.getUsername()
-                            : "Unknown"
-            );
-
-            payload.setAvatarUrl(info != null ? info.getAvatarUrl() : null);
+        if (delayMs > 0) {
+            flusher.schedule(() -> enqueue(auctionId, payload), delayMs, TimeUnit.MILLISECONDS);
         } else {
-            payload.setUsername("Anonymous");
+            enqueue(auctionId, payload);
+        }
+    }
+
+    @Override
+    public void setSlowMode(UUID auctionId, String sellerId, int seconds) {
+        if (!auctionRepository.existsByIdAndSellerId(auctionId, sellerId)) {
+            throw new InvalidAuctionStateException("Only the seller may change chat slow mode");
         }
+        rateLimiter.setSlowModeSeconds(auctionId, seconds);
+        log.info("Chat slow mode for auction {} set to {}s by seller {}", auctionId, seconds, sellerId);
+    }
 
-        String key = "chat:" + auctionId;
-        redis.opsForList().rightPush(key, payload);
-        redis.opsForList().trim(key, -MAX_MSGS, -1);
+    private void enqueue(UUID auctionId, ChatMessageDto payload) {
+        payload.setTimestamp(LocalDateTime.now());
+        pending.compute(auctionId, (id, queue) -> {
+            Queue<ChatMessageDto> q = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            q.add(payload);
+            return q;
+        });
+    }
 
-        broker.convertAndSend("/topic/chat." + auctionId, payload);
+    private synchronized void flush() {
+        try {
+            Map<UUID, List<ChatMessageDto>> batches = new HashMap<>();
+            pending.forEach((auctionId, queue) -> {
+                List<ChatMessageDto> batch = new ArrayList<>();
+                ChatMessageDto next;
+                while (batch.size() < properties.getMaxBatchSize() && (next = queue.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    pending.computeIfPresent(auctionId, (id, q) -> q.isEmpty() ? null : q); // idle room
+                } else {
+                    batches.put(auctionId, batch);
+                }
+            });
+            if (batches.isEmpty()) {
+                return;
+            }
+
+            try {
+                historyStore.appendAll(batches);
+            } catch (Exception e) {
+                // Live delivery matters more than history; broadcast anyway (messages go out without ids)
+                log.error("Failed to append {} chat batches to history: {}", batches.size(), e.getMessage(), e);
+            }
+
+            batches.forEach((auctionId, batch) -> stompSender.send(StompTopics.chat(auctionId), batch));
+        } catch (Exception e) {
+            log.error("Chat flush failed: {}", e.getMessage(), e);
+        }
     }
 
     /** history API */
     @Override
-    public List<ChatMessageDto> loadHistory(UUID auctionId, int limit) {
-        String key = "chat:" + auctionId;
-        long size = redis.opsForList().size(key);
-        return redis.opsForList().range(key,
-                Math.max(0, size - limit), size - 1);
+    public List<ChatMessageDto> loadHistory(UUID auctionId, String before, String after, int limit) {
+        return historyStore.load(auctionId, before, after, limit);
     }
 }
-
@@ -0,0 +1,27 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.commons.scheduling.AbstractEndTimerRegistry;
+import com.example.commons.scheduling.DurableTimerScheduler;
+import com.example.liveauctions.commands.AuctionLifecycleCommands;
+import com.example.liveauctions.config.RabbitMqConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** One end timer per live auction; see {@link AbstractEndTimerRegistry}. */
+@Component
+public class AuctionEndTimerRegistry extends AbstractEndTimerRegistry {
+
+    public AuctionEndTimerRegistry(DurableTimerScheduler timerScheduler, MeterRegistry meterRegistry) {
+        super(timerScheduler, meterRegistry, "live-auction:end:",
+                RabbitMqConfig.AUCTION_SCHEDULE_EXCHANGE, RabbitMqConfig.END_ROUTING_KEY);
+    }
+
+    @Override
+    protected Object endCommand(UUID auctionId, LocalDateTime endTime) {
+        // fireAt travels with the command so the listener can tell whether the end time has moved since
+        return new AuctionLifecycleCommands.EndAuctionCommand(auctionId, endTime);
+    }
+}
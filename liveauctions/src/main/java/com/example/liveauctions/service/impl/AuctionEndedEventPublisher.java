@@ -0,0 +1,118 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.commons.bidding.RunnerUpSelection;
+import com.example.commons.bidding.RunnerUpSelection.EligibleBidderInfo;
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.dto.event.NotificationEvents;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.example.liveauctions.entity.BidderStanding;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.repository.BidRepository;
+import com.example.liveauctions.repository.BidderStandingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the enriched AuctionEndedEvent (winner plus next eligible bidders) for every way a live auction
+ * can end: timer close, cancel, hammer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionEndedEventPublisher {
+
+    private final BidRepository bidRepository;
+    private final BidderStandingRepository standingRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    /* ------------------------------------------------------------------
+     *  ENRICHED “auction ended” publisher – LIVE edition
+     * ------------------------------------------------------------------*/
+    public void publish(LiveAuction auction) {
+        if (auction == null) return;
+
+        final String auctionType = "LIVE";
+
+        // ---------- Base fields ----------
+        NotificationEvents.AuctionEndedEvent.AuctionEndedEventBuilder eventBuilder =
+                NotificationEvents.AuctionEndedEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventTimestamp(LocalDateTime.now())
+                        .auctionId(auction.getId())
+                        .productId(auction.getProductId())
+                        .productTitleSnapshot(auction.getProductTitleSnapshot())
+                        .productImageUrlSnapshot(auction.getProductImageUrlSnapshot())
+                        .auctionType(auctionType)
+                        .sellerId(auction.getSellerId())
+                        .sellerUsernameSnapshot(auction.getSellerUsernameSnapshot())
+                        .finalStatus(auction.getStatus())
+                        .actualEndTime(auction.getActualEndTime());
+
+        // ---------- SOLD-only enrichment ----------
+        if (auction.getStatus() == AuctionStatus.SOLD) {
+            eventBuilder
+                    .winnerId(auction.getWinnerId())
+                    .winnerUsernameSnapshot(auction.getHighestBidderUsernameSnapshot())
+                    .winningBid(auction.getWinningBid())
+                    .reservePrice(auction.getReservePrice());
+
+            // Second / third eligible bidders
+            List<EligibleBidderInfo> nextBidders = findEligibleNextRawBidders(auction);
+            if (!nextBidders.isEmpty()) {
+                EligibleBidderInfo second = nextBidders.get(0);
+                eventBuilder
+                        .secondHighestBidderId(second.getBidderId())
+                        .secondHighestBidAmount(second.getMaxBidAmount())
+                        .secondHighestBidderUsernameSnapshot(second.getUsernameSnapshot());
+
+                if (nextBidders.size() > 1) {
+                    EligibleBidderInfo third = nextBidders.get(1);
+                    eventBuilder
+                            .thirdHighestBidderId(third.getBidderId())
+                            .thirdHighestBidAmount(third.getMaxBidAmount())
+                            .thirdHighestBidderUsernameSnapshot(third.getUsernameSnapshot());
+                }
+            }
+        }
+
+        // ---------- Publish ----------
+        try {
+            NotificationEvents.AuctionEndedEvent event = eventBuilder.build();
+            String routingKey = RabbitMqConfig.AUCTION_ROUTING_KEY_PREFIX + "live.ended"; // unchanged
+            rabbitTemplate.convertAndSend(RabbitMqConfig.NOTIFICATIONS_EXCHANGE, routingKey, event);
+            log.info("[Publisher - Live] Published ENRICHED AuctionEndedEvent (Status: {}) for auction {}",
+                    event.getFinalStatus(), event.getAuctionId());
+        } catch (Exception e) {
+            log.error("[Publisher - Live] Failed to publish ENRICHED AuctionEndedEvent for live auction {}: {}",
+                    auction.getId(), e.getMessage(), e);
+        }
+    }
+
+    private List<EligibleBidderInfo> findEligibleNextRawBidders(LiveAuction auction) {
+        if (auction.getWinnerId() == null || auction.getStatus() != AuctionStatus.SOLD) {
+            return Collections.emptyList();
+        }
+
+        // Winner plus two runners-up, straight off the standings index
+        List<BidderStanding> top = standingRepository.findTop3ByLiveAuctionIdOrderByMaxBidDesc(auction.getId());
+        if (top.isEmpty()) {
+            // Standings are backfilled once on deploy, so this is an auction with no bids recorded there at all
+            List<EligibleBidderInfo> history = bidRepository.findByLiveAuctionId(auction.getId(), Pageable.unpaged())
+                    .stream()
+                    .map(b -> new EligibleBidderInfo(b.getBidderId(), b.getBidderUsernameSnapshot(), b.getAmount()))
+                    .collect(Collectors.toList());
+            return RunnerUpSelection.eligibleAfterWinner(RunnerUpSelection.maxBidPerBidder(history),
+                    auction.getWinnerId(), auction.getReservePrice());
+        }
+        return RunnerUpSelection.eligibleAfterWinner(top.stream()
+                .map(s -> new EligibleBidderInfo(s.getBidderId(), s.getBidderUsernameSnapshot(), s.getMaxBid()))
+                .collect(Collectors.toList()), auction.getWinnerId(), auction.getReservePrice());
+    }
+}
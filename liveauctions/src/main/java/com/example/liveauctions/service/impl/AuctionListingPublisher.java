@@ -0,0 +1,159 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.config.SearchProperties;
+import com.example.liveauctions.dto.event.AuctionListingEventDto;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds the cross-type auction catalog in ProductsService. Every creation and state publish hands over the
+ * auction's current listing; listings are coalesced per auction and flushed on one channel every
+ * {@code catalog-flush-interval-ms}, so a bidding war costs one catalog update per flush instead of one per bid.
+ * The catalog merges updates monotonically (status only moves forward, price and bid count only rise), so
+ * flushes from different nodes may arrive in any order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionListingPublisher {
+
+    private static final String AUCTION_TYPE = "LIVE";
+    private static final int REPLAY_CHUNK = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final LiveAuctionRepository auctionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchProperties properties;
+
+    private final Map<UUID, AuctionListingEventDto> pending = new ConcurrentHashMap<>();
+    // Category snapshots never change; the engine's copies cannot load them lazily, so they are read once per auction
+    private final Cache<UUID, Set<Long>> categoryIds = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "listing-publisher");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = properties.getCatalogFlushIntervalMs();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Queues the auction's listing as it is now; a newer call for the same auction before the flush replaces it. */
+    public void changed(LiveAuction auction) {
+        if (auction == null || auction.getId() == null) return;
+        pending.put(auction.getId(), toEvent(auction));
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) return;
+        List<UUID> ids = List.copyOf(pending.keySet());
+        List<AuctionListingEventDto> batch = ids.stream().map(pending::remove).filter(Objects::nonNull).toList();
+        try {
+            rabbitTemplate.invoke(ops -> {
+                batch.forEach(event -> ops.convertAndSend(RabbitMqConfig.AUCTION_LISTING_EVENTS_EXCHANGE,
+                        RabbitMqConfig.LIVE_LISTING_ROUTING_KEY, event));
+                return null;
+            });
+            log.debug("[Listings] Published {} listing updates.", batch.size());
+        } catch (Exception e) {
+            // Put them back unless a newer listing arrived meanwhile; the next flush retries
+            batch.forEach(event -> pending.putIfAbsent(event.getAuctionId(), event));
+            log.warn("[Listings] Could not publish {} listing updates, retrying on the next flush: {}",
+                    batch.size(), e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayIfRequested() {
+        if (properties.isCatalogReplayOnStartup()) replayAll();
+    }
+
+    /**
+     * Republishes every auction on the flush thread. An empty catalog asks for this itself through
+     * CatalogReplayListener; the returned future completes once the last chunk has been published.
+     */
+    public Future<?> replayAll() {
+        return flusher.submit(() -> {
+            UUID after = new UUID(0L, 0L);
+            int replayed = 0;
+            List<LiveAuction> chunk;
+            do {
+                UUID from = after;
+                chunk = transactionTemplate.execute(tx -> {
+                    List<LiveAuction> auctions = auctionRepository.findTop500ByIdGreaterThanOrderByIdAsc(from);
+                    auctions.forEach(this::changed);
+                    return auctions;
+                });
+                if (!chunk.isEmpty()) after = chunk.get(chunk.size() - 1).getId();
+                replayed += chunk.size();
+                flush();
+            } while (chunk.size() == REPLAY_CHUNK);
+            log.info("[Listings] Replayed {} live auctions to the catalog.", replayed);
+        });
+    }
+
+    private AuctionListingEventDto toEvent(LiveAuction auction) {
+        return AuctionListingEventDto.builder()
+                .auctionId(auction.getId())
+                .auctionType(AUCTION_TYPE)
+                .productId(auction.getProductId())
+                .sellerId(auction.getSellerId())
+                .sellerUsername(auction.getSellerUsernameSnapshot())
+                .title(auction.getProductTitleSnapshot())
+                .imageUrl(auction.getProductImageUrlSnapshot())
+                .categoryIds(categoryIdsOf(auction))
+                .status(auction.getStatus().name())
+                .startTime(auction.getStartTime())
+                .endTime(auction.getEndTime())
+                .startPrice(auction.getStartPrice())
+                .currentBid(auction.getCurrentBid())
+                .bidCount(auction.getBidCount())
+                .build();
+    }
+
+    private Set<Long> categoryIdsOf(LiveAuction auction) {
+        Set<Long> snapshot = auction.getProductCategoryIdsSnapshot();
+        if (snapshot != null && Hibernate.isInitialized(snapshot)) {
+            return new HashSet<>(snapshot);
+        }
+        return categoryIds.get(auction.getId(), auctionRepository::findCategoryIds);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flush(); // Whatever is still pending goes out before the channel closes
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.BroadcastProperties;
+import com.example.liveauctions.config.StompTopics;
+import com.example.liveauctions.dto.LiveAuctionStateDto;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.example.liveauctions.service.AuctionStateBroadcaster;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-auction coalescing broadcaster. With the simple broker each node fans out to its own sessions, so the
+ * cost of a hot auction is (frames per second x local viewers) instead of (bids per second x local viewers);
+ * with the broker relay one node sends each frame once and RabbitMQ does the fan-out.
+ * Lifecycle frames (anything not ACTIVE) bypass the rate limit and close the auction's slot.
+ * State frames are delta-encoded (see {@link AuctionStateDeltaEncoder}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionStateBroadcasterImpl implements AuctionStateBroadcaster {
+
+    private final PreEncodedStompSender stompSender;
+    private final BroadcastProperties properties;
+    private final AuctionStateDeltaEncoder deltaEncoder;
+
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private long intervalNanos;
+
+    private static final class Slot {
+        final AtomicReference<LiveAuctionStateDto> pending = new AtomicReference<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile long lastSentNanos;
+        boolean closed; // guarded by the slot's monitor
+    }
+
+    @PostConstruct
+    void init() {
+        intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, properties.getMaxFramesPerSecond());
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auction-state-broadcast");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void broadcast(LiveAuctionStateDto state) {
+        UUID auctionId = state.getAuctionId();
+        if (state.getNewBid() != null) {
+            send(StompTopics.auctionBids(auctionId), state.getNewBid());
+        }
+
+        if (state.getStatus() != AuctionStatus.ACTIVE) {
+            Slot slot = slots.remove(auctionId);
+            if (slot == null) {
+                sendFinal(state);
+                return;
+            }
+            synchronized (slot) {
+                slot.closed = true;
+                slot.pending.set(null);
+                sendFinal(state);
+            }
+            return;
+        }
+
+        Slot slot = slots.computeIfAbsent(auctionId, id -> new Slot());
+        slot.pending.set(state);
+        schedule(auctionId, slot);
+    }
+
+    private void schedule(UUID auctionId, Slot slot) {
+        if (!slot.scheduled.compareAndSet(false, true)) {
+            return; // A flush is already due and will pick up the latest pending state
+        }
+        long delay = Math.max(0, slot.lastSentNanos + intervalNanos - System.nanoTime());
+        scheduler.schedule(() -> flush(auctionId, slot), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void flush(UUID auctionId, Slot slot) {
+        synchronized (slot) {
+            slot.lastSentNanos = System.nanoTime();
+            LiveAuctionStateDto latest = slot.pending.getAndSet(null);
+            slot.scheduled.set(false);
+            if (slot.closed || latest == null) {
+                return;
+            }
+            send(StompTopics.auctionState(auctionId), deltaEncoder.nextFrame(latest));
+        }
+        // A state that arrived after getAndSet but before scheduled was cleared would otherwise wait for the next bid
+        if (slot.pending.get() != null) {
+            schedule(auctionId, slot);
+        }
+    }
+
+    private void sendFinal(LiveAuctionStateDto state) {
+        send(StompTopics.auctionState(state.getAuctionId()), deltaEncoder.nextFrame(state));
+        deltaEncoder.forget(state.getAuctionId());
+    }
+
+    private void send(String destination, Object payload) {
+        try {
+            stompSender.send(destination, payload);
+            log.debug("Broadcasted via STOMP to destination '{}'", destination);
+        } catch (Exception e) {
+            log.error("Failed to broadcast STOMP message to destination {}: {}", destination, e.getMessage(), e);
+        }
+    }
+}
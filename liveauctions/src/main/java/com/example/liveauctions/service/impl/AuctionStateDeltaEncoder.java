@@ -0,0 +1,184 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.WebSocketBrokerProperties;
+import com.example.liveauctions.dto.LiveAuctionStateDto;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Delta protocol for /topic/auctions.{id}. Frames use short keys; "t" is "s" (snapshot) or "d" (delta),
+ * "q" is a per-auction sequence number and "g" the epoch of the node producing it. A delta carries only
+ * fields that changed since the previous frame (null = cleared). Clients take a snapshot from
+ * /app/auctions/{id}/state, apply deltas with the same epoch and q == last + 1, and re-request the
+ * snapshot when they see a gap or a new epoch.
+ * With the broker relay only one node produces frames, so it also keeps the latest snapshot in Redis
+ * for the snapshot requests that reach the other nodes.
+ * Keep the keys in sync with STATE_FIELDS in the frontend's LiveAuctionDetailPage.
+ */
+@Component
+@Slf4j
+public class AuctionStateDeltaEncoder {
+
+    static final String TYPE = "t";
+    static final String SEQ = "q";
+    static final String EPOCH = "g";
+    static final String STATUS = "s";
+    static final String CURRENT_BID = "p";
+    static final String LEADER_ID = "h";
+    static final String LEADER_USERNAME = "u";
+    static final String NEXT_BID = "n";
+    static final String END_TIME = "e";
+    static final String RESERVE_MET = "r";
+    static final String WINNER_ID = "w";
+    static final String WINNING_BID = "wb";
+
+    private static final String SNAPSHOT_KEY_PREFIX = "auction:state:";
+
+    private final Map<UUID, Stream> streams = new ConcurrentHashMap<>();
+    // Sequences restart when the producing node changes; the epoch tells clients to resync instead of waiting
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final WebSocketBrokerProperties brokerProperties;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader frameReader;
+
+    public AuctionStateDeltaEncoder(WebSocketBrokerProperties brokerProperties,
+                                    @Qualifier("viewerCountRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                    ObjectMapper objectMapper) {
+        this.brokerProperties = brokerProperties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.frameReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {})
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    private static final class Stream {
+        long seq;
+        Map<String, Object> fields = Map.of();
+    }
+
+    /** Encodes the next frame for the auction's topic and advances its sequence. */
+    public Map<String, Object> nextFrame(LiveAuctionStateDto state) {
+        Map<String, Object> fields = fieldsOf(state);
+        Stream stream = streams.computeIfAbsent(state.getAuctionId(), id -> new Stream());
+        synchronized (stream) {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put(TYPE, "d");
+            frame.put(SEQ, ++stream.seq);
+            frame.put(EPOCH, epoch);
+            fields.forEach((key, value) -> {
+                if (!stream.fields.containsKey(key) || !Objects.equals(stream.fields.get(key), value)) {
+                    frame.put(key, value);
+                }
+            });
+            stream.fields = fields;
+            if (brokerProperties.isRelay()) {
+                storeSnapshot(state.getAuctionId(), snapshotFrame(epoch, stream.seq, fields));
+            }
+            return frame;
+        }
+    }
+
+    /**
+     * Full state at the current sequence. If this node has not broadcast the auction yet, the state is
+     * loaded via {@code ifUnknown}; only ACTIVE auctions start a stream (others will not get more frames).
+     * In relay mode the snapshot comes from Redis; without one, the loaded state is returned at sequence 0
+     * with no epoch, which the producing node's first frame (q = 1, every field) follows on from.
+     */
+    public Map<String, Object> snapshot(UUID auctionId, Supplier<LiveAuctionStateDto> ifUnknown) {
+        if (brokerProperties.isRelay()) {
+            Map<String, Object> stored = loadSnapshot(auctionId);
+            return stored != null ? stored : snapshotFrame(null, 0, fieldsOf(ifUnknown.get()));
+        }
+        Stream stream = streams.get(auctionId);
+        if (stream == null) {
+            LiveAuctionStateDto state = ifUnknown.get();
+            if (state.getStatus() != AuctionStatus.ACTIVE) {
+                return snapshotFrame(epoch, 0, fieldsOf(state));
+            }
+            stream = streams.computeIfAbsent(auctionId, id -> new Stream());
+            synchronized (stream) {
+                if (stream.seq == 0) {
+                    stream.fields = fieldsOf(state);
+                }
+            }
+        }
+        synchronized (stream) {
+            return snapshotFrame(epoch, stream.seq, stream.fields);
+        }
+    }
+
+    /** Drops the auction's stream once its final frame has been sent. */
+    public void forget(UUID auctionId) {
+        streams.remove(auctionId);
+        if (brokerProperties.isRelay()) {
+            try {
+                redisTemplate.delete(SNAPSHOT_KEY_PREFIX + auctionId);
+            } catch (Exception e) {
+                log.warn("Could not drop stored state snapshot for auction {}: {}", auctionId, e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> snapshotFrame(String epoch, long seq, Map<String, Object> fields) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put(TYPE, "s");
+        frame.put(SEQ, seq);
+        frame.put(EPOCH, epoch);
+        frame.putAll(fields);
+        return frame;
+    }
+
+    private void storeSnapshot(UUID auctionId, Map<String, Object> frame) {
+        try {
+            redisTemplate.opsForValue().set(SNAPSHOT_KEY_PREFIX + auctionId, objectMapper.writeValueAsString(frame),
+                    Duration.ofSeconds(brokerProperties.getSnapshotTtlSeconds()));
+        } catch (Exception e) {
+            // Clients that resync meanwhile get an older frame, see the gap again and retry
+            log.warn("Could not store state snapshot for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> loadSnapshot(UUID auctionId) {
+        try {
+            String json = redisTemplate.opsForValue().get(SNAPSHOT_KEY_PREFIX + auctionId);
+            return json == null ? null : frameReader.readValue(json);
+        } catch (Exception e) {
+            log.warn("Could not load state snapshot for auction {}: {}", auctionId, e.getMessage());
+            return null;
+        }
+    }
+
+    // timeLeftMs is deliberately left out: it changes on every frame and clients derive it from endTime
+    private static Map<String, Object> fieldsOf(LiveAuctionStateDto state) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(STATUS, state.getStatus());
+        fields.put(CURRENT_BID, state.getCurrentBid());
+        fields.put(LEADER_ID, state.getHighestBidderId());
+        fields.put(LEADER_USERNAME, state.getHighestBidderUsername());
+        fields.put(NEXT_BID, state.getNextBidAmount());
+        fields.put(END_TIME, state.getEndTime());
+        fields.put(RESERVE_MET, state.isReserveMet());
+        fields.put(WINNER_ID, state.getWinnerId());
+        fields.put(WINNING_BID, state.getWinningBid());
+        return fields;
+    }
+}
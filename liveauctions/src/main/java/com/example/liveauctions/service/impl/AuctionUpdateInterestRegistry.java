@@ -0,0 +1,157 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.BroadcastProperties;
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.config.WebSocketBrokerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local subscription registry that drives this node's auction update bindings. The node's update queue is
+ * bound to auction.update.{id} only while at least one local session subscribes to that auction's state or
+ * bid topic, so update processing scales with locally watched auctions rather than with platform traffic.
+ * Fed by AuctionViewerCountListener. Not used with the broker relay, where one node broadcasts for everyone.
+ */
+@Component
+@Slf4j
+public class AuctionUpdateInterestRegistry {
+
+    private final AmqpAdmin amqpAdmin;
+    private final ConnectionFactory connectionFactory;
+    private final Queue auctionUpdatesQueue;
+    private final AuctionStateDeltaEncoder deltaEncoder;
+    private final BroadcastProperties broadcastProperties;
+    private final WebSocketBrokerProperties brokerProperties;
+
+    // sessionId -> (subscriptionId -> auctionId)
+    private final Map<String, Map<String, UUID>> sessions = new ConcurrentHashMap<>();
+    // guarded by this
+    private final Map<UUID, Integer> interest = new HashMap<>();
+    private final Map<UUID, ScheduledFuture<?>> pendingUnbinds = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public AuctionUpdateInterestRegistry(AmqpAdmin amqpAdmin,
+                                         ConnectionFactory connectionFactory,
+                                         @Qualifier("auctionUpdatesQueue") Queue auctionUpdatesQueue,
+                                         AuctionStateDeltaEncoder deltaEncoder,
+                                         BroadcastProperties broadcastProperties,
+                                         WebSocketBrokerProperties brokerProperties) {
+        this.amqpAdmin = amqpAdmin;
+        this.connectionFactory = connectionFactory;
+        this.auctionUpdatesQueue = auctionUpdatesQueue;
+        this.deltaEncoder = deltaEncoder;
+        this.broadcastProperties = broadcastProperties;
+        this.brokerProperties = brokerProperties;
+    }
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auction-update-interest");
+            t.setDaemon(true);
+            return t;
+        });
+        // The anonymous queue is re-declared after a reconnect, but only with its static bindings
+        connectionFactory.addConnectionListener(connection -> scheduler.execute(this::rebindAll));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void subscribed(String sessionId, String subscriptionId, UUID auctionId) {
+        if (brokerProperties.isRelay()) {
+            return;
+        }
+        UUID previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, auctionId);
+        if (previous == null) {
+            acquire(auctionId);
+        } else if (!previous.equals(auctionId)) {
+            acquire(auctionId);
+            release(previous);
+        }
+    }
+
+    public void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, UUID> subscriptions = sessions.get(sessionId);
+        UUID auctionId = subscriptions == null ? null : subscriptions.remove(subscriptionId);
+        if (auctionId != null) {
+            release(auctionId);
+        }
+    }
+
+    public void sessionClosed(String sessionId) {
+        Map<String, UUID> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private synchronized void acquire(UUID auctionId) {
+        ScheduledFuture<?> pendingUnbind = pendingUnbinds.remove(auctionId);
+        if (pendingUnbind != null) {
+            pendingUnbind.cancel(false);
+        }
+        if (interest.merge(auctionId, 1, Integer::sum) == 1 && pendingUnbind == null) {
+            bind(auctionId);
+        }
+    }
+
+    private synchronized void release(UUID auctionId) {
+        Integer remaining = interest.computeIfPresent(auctionId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            pendingUnbinds.put(auctionId, scheduler.schedule(() -> unbindIfIdle(auctionId),
+                    broadcastProperties.getUnbindDelaySeconds(), TimeUnit.SECONDS));
+        }
+    }
+
+    private synchronized void unbindIfIdle(UUID auctionId) {
+        if (interest.containsKey(auctionId) || pendingUnbinds.remove(auctionId) == null) {
+            return;
+        }
+        try {
+            amqpAdmin.removeBinding(bindingFor(auctionId));
+            log.debug("Unbound updates for auction {} (no local subscribers)", auctionId);
+        } catch (Exception e) {
+            log.warn("Failed to unbind updates for auction {}: {}", auctionId, e.getMessage());
+        }
+        // Updates missed from now on would make this node's stream stale; start over from a fresh snapshot
+        deltaEncoder.forget(auctionId);
+    }
+
+    private void bind(UUID auctionId) {
+        try {
+            amqpAdmin.declareBinding(bindingFor(auctionId));
+            log.debug("Bound updates for auction {}", auctionId);
+        } catch (Exception e) {
+            log.warn("Failed to bind updates for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    private synchronized void rebindAll() {
+        interest.keySet().forEach(this::bind);
+        pendingUnbinds.keySet().forEach(this::bind);
+    }
+
+    private Binding bindingFor(UUID auctionId) {
+        return new Binding(auctionUpdatesQueue.getName(), Binding.DestinationType.QUEUE,
+                RabbitMqConfig.AUCTION_EVENTS_EXCHANGE, RabbitMqConfig.UPDATE_ROUTING_KEY_PREFIX + auctionId, null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.BidConcurrencyProperties.Mode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for comparing the LOCK and OPTIMISTIC bid paths (all tagged with mode):
+ * auction.bid.lock.wait (time to acquire the auction lock), auction.bid.retries (optimistic conflicts)
+ * and auction.bid.processed (end-to-end time per bid, tagged by outcome; its rate is the throughput).
+ */
+@Component
+@RequiredArgsConstructor
+public class BidConcurrencyMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, Mode mode, String outcome) {
+        sample.stop(Timer.builder("auction.bid.processed")
+                .tag("mode", mode.name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void recordLockWait(Mode mode, long nanos) {
+        Timer.builder("auction.bid.lock.wait")
+                .tag("mode", mode.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void retry(Mode mode) {
+        Counter.builder("auction.bid.retries")
+                .tag("mode", mode.name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
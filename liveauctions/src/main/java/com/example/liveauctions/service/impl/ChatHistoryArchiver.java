@@ -0,0 +1,142 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.ChatProperties;
+import com.example.liveauctions.dto.ChatMessageDto;
+import com.example.liveauctions.entity.ChatMessage;
+import com.example.liveauctions.repository.ChatMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies chat streams to MySQL in bulk, then trims each stream up to what was copied, so no message is trimmed
+ * before it is archived. The last archived entry in MySQL is the resume point, so a failed run is simply retried. One node archives at a time (Redisson lock).
+ * Streams that went quiet are dropped from the active set and expire after streamRetentionHours.
+ */
+@Component
+@Slf4j
+public class ChatHistoryArchiver {
+
+    private static final String LOCK_NAME = "chat:archive:lock";
+
+    private final RedisStreamChatHistoryStore store;
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ChatProperties properties;
+
+    private ScheduledExecutorService scheduler;
+
+    public ChatHistoryArchiver(RedisStreamChatHistoryStore store,
+                               ChatMessageRepository chatMessageRepository,
+                               TransactionTemplate transactionTemplate,
+                               RedissonClient redissonClient,
+                               @Qualifier("viewerCountRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                               ChatProperties properties) {
+        this.store = store;
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.redissonClient = redissonClient;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chat-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveAll, properties.getArchiveIntervalMs(),
+                properties.getArchiveIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void archiveAll() {
+        RLock lock = redissonClient.getLock(LOCK_NAME);
+        if (!lock.tryLock()) {
+            return; // another node is on it
+        }
+        try {
+            Set<String> active = redisTemplate.opsForSet().members(RedisStreamChatHistoryStore.ACTIVE_STREAMS_KEY);
+            if (active == null) {
+                return;
+            }
+            for (String auctionId : active) {
+                try {
+                    archive(UUID.fromString(auctionId));
+                } catch (Exception e) {
+                    log.warn("[ChatArchive] Failed to archive chat of auction {}: {}", auctionId, e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void archive(UUID auctionId) {
+        String cursor = chatMessageRepository.findFirstByLiveAuctionIdOrderByStreamMsDescStreamSeqDesc(auctionId)
+                .map(m -> new RedisStreamChatHistoryStore.Cursor(m.getStreamMs(), m.getStreamSeq()).toString())
+                .orElse(null);
+        int archived = 0;
+        while (true) {
+            List<ChatMessageDto> batch = store.readStream(auctionId, cursor, properties.getArchiveBatchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<ChatMessage> rows = batch.stream().map(m -> toEntity(auctionId, m)).toList();
+            transactionTemplate.executeWithoutResult(tx -> chatMessageRepository.saveAll(rows));
+            archived += rows.size();
+            cursor = batch.get(batch.size() - 1).getId();
+            if (batch.size() < properties.getArchiveBatchSize()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.debug("[ChatArchive] Archived {} chat messages of auction {}", archived, auctionId);
+            store.trimArchived(auctionId, cursor);
+            return;
+        }
+        long idleSinceMs = cursor == null ? 0 : RedisStreamChatHistoryStore.Cursor.parse(cursor).ms();
+        if (System.currentTimeMillis() - idleSinceMs > TimeUnit.MINUTES.toMillis(properties.getArchiveIdleMinutes())) {
+            // Everything is in MySQL; keep the stream around for a while for cheap reads, then let it go
+            redisTemplate.opsForSet().remove(RedisStreamChatHistoryStore.ACTIVE_STREAMS_KEY, auctionId.toString());
+            redisTemplate.expire(RedisStreamChatHistoryStore.streamKey(auctionId),
+                    Duration.ofHours(properties.getStreamRetentionHours()));
+        }
+    }
+
+    private static ChatMessage toEntity(UUID auctionId, ChatMessageDto message) {
+        RedisStreamChatHistoryStore.Cursor id = RedisStreamChatHistoryStore.Cursor.parse(message.getId());
+        return ChatMessage.builder()
+                .liveAuctionId(auctionId)
+                .streamMs(id.ms())
+                .streamSeq(id.seq())
+                .text(message.getText())
+                .username(message.getUsername())
+                .avatarUrl(message.getAvatarUrl())
+                .seller(message.isSeller())
+                .sentAt(message.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.ChatProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flood control for /app/chat.send.{auctionId}, checked before a message costs anything else.
+ * Three limits: a token bucket per sender, a per-auction slow mode (minimum gap per sender, set by the seller)
+ * and a token bucket per room. Buckets live in memory; every syncIntervalMs each node adds its accepted count
+ * per room to a Redis counter and, if the room as a whole went over its rate, scales its local refill rate
+ * down to its share of the traffic. Over-limit messages are dropped or queued per the overflow policy.
+ * Meters: auction.chat.dropped{reason}, auction.chat.delayed.
+ */
+@Component
+@Slf4j
+public class ChatRateLimiter {
+
+    /** Returned by {@link #acquire} when the message must be dropped */
+    public static final long DROP = -1;
+
+    private static final String USAGE_KEY_PREFIX = "chat:rate:";
+    private static final String SLOW_MODE_KEY = "chat:slow-mode";
+
+    private final ChatProperties.RateLimit properties;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, TokenBucket> senderBuckets;
+    private final Cache<String, Long> lastSentAt;
+    private final Cache<UUID, Integer> slowModes;
+    private final Map<UUID, RoomLimit> rooms = new ConcurrentHashMap<>();
+    private final Timer delayed;
+    private ScheduledExecutorService syncer;
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        TokenBucket(double burst) {
+            this.tokens = burst;
+        }
+
+        /**
+         * Takes a token, borrowing from the future if allowed; returns the wait in ms until that token
+         * exists, or DROP (nothing taken) if the wait would exceed maxWaitMs.
+         */
+        synchronized long reserve(double ratePerSecond, double burst, long maxWaitMs) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * ratePerSecond);
+            lastRefillNanos = now;
+            long waitMs = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / ratePerSecond * 1000);
+            if (waitMs > maxWaitMs) {
+                return DROP;
+            }
+            tokens -= 1;
+            return waitMs;
+        }
+
+        synchronized void refund() {
+            tokens += 1;
+        }
+    }
+
+    private static final class RoomLimit {
+        final TokenBucket bucket;
+        final AtomicLong accepted = new AtomicLong();
+        volatile double share = 1.0; // fraction of the room rate this node may use
+
+        RoomLimit(double burst) {
+            this.bucket = new TokenBucket(burst);
+        }
+    }
+
+    public ChatRateLimiter(ChatProperties chatProperties,
+                           @Qualifier("viewerCountRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                           MeterRegistry meterRegistry) {
+        this.properties = chatProperties.getRateLimit();
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.senderBuckets = Caffeine.newBuilder().expireAfterAccess(Duration.ofMinutes(10)).maximumSize(100_000).build();
+        this.lastSentAt = Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(10)).maximumSize(100_000).build();
+        this.slowModes = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(5)).maximumSize(10_000).build();
+        this.delayed = Timer.builder("auction.chat.delayed")
+                .description("Chat messages held back by rate limiting, and for how long")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chat-rate-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::syncRoomUsage, properties.getSyncIntervalMs(),
+                properties.getSyncIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        syncer.shutdownNow();
+    }
+
+    /**
+     * @param senderKey userId, or a session-scoped key for anonymous senders
+     * @return 0 to send now, a delay in ms to send later (QUEUE policy), or {@link #DROP}
+     */
+    public long acquire(UUID auctionId, String senderKey) {
+        long maxWaitMs = properties.getOverflowPolicy() == ChatProperties.OverflowPolicy.QUEUE
+                ? properties.getMaxQueueDelayMs() : 0;
+
+        int slowModeSeconds = getSlowModeSeconds(auctionId);
+        String slowModeKey = senderKey + "|" + auctionId;
+        long now = System.currentTimeMillis();
+        if (slowModeSeconds > 0) {
+            Long last = lastSentAt.getIfPresent(slowModeKey);
+            if (last != null && now - last < TimeUnit.SECONDS.toMillis(slowModeSeconds)) {
+                return dropped("slow_mode");
+            }
+        }
+
+        TokenBucket sender = senderBuckets.get(senderKey, k -> new TokenBucket(properties.getUserBurst()));
+        long senderWait = sender.reserve(properties.getUserRatePerSecond(), properties.getUserBurst(), maxWaitMs);
+        if (senderWait == DROP) {
+            return dropped("user_rate");
+        }
+
+        RoomLimit room = rooms.computeIfAbsent(auctionId, id -> new RoomLimit(properties.getAuctionBurst()));
+        long roomWait = room.bucket.reserve(properties.getAuctionRatePerSecond() * room.share,
+                properties.getAuctionBurst() * room.share, maxWaitMs);
+        if (roomWait == DROP) {
+            sender.refund();
+            return dropped("auction_rate");
+        }
+
+        room.accepted.incrementAndGet();
+        if (slowModeSeconds > 0) {
+            lastSentAt.put(slowModeKey, now);
+        }
+        long wait = Math.max(senderWait, roomWait);
+        if (wait > 0) {
+            delayed.record(wait, TimeUnit.MILLISECONDS);
+        }
+        return wait;
+    }
+
+    public int getSlowModeSeconds(UUID auctionId) {
+        return slowModes.get(auctionId, id -> {
+            try {
+                Object value = redisTemplate.opsForHash().get(SLOW_MODE_KEY, id.toString());
+                return value == null ? 0 : Integer.parseInt(value.toString());
+            } catch (Exception e) {
+                log.warn("Could not read chat slow mode for auction {}: {}", id, e.getMessage());
+                return 0;
+            }
+        });
+    }
+
+    public void setSlowModeSeconds(UUID auctionId, int seconds) {
+        if (seconds > 0) {
+            redisTemplate.opsForHash().put(SLOW_MODE_KEY, auctionId.toString(), String.valueOf(seconds));
+        } else {
+            redisTemplate.opsForHash().delete(SLOW_MODE_KEY, auctionId.toString());
+        }
+        slowModes.put(auctionId, Math.max(0, seconds)); // other nodes pick it up within the cache TTL
+    }
+
+    private long dropped(String reason) {
+        Counter.builder("auction.chat.dropped")
+                .description("Chat messages rejected by rate limiting")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return DROP;
+    }
+
+    /** One pipeline per interval: INCRBY each active room's counter for this window and read back the total. */
+    private void syncRoomUsage() {
+        try {
+            long window = System.currentTimeMillis() / properties.getSyncIntervalMs();
+            List<UUID> active = new ArrayList<>();
+            Map<UUID, Long> localCounts = new HashMap<>();
+            rooms.forEach((auctionId, room) -> {
+                long count = room.accepted.getAndSet(0);
+                if (count == 0 && room.share >= 1.0) {
+                    rooms.remove(auctionId, room); // quiet room, start from a full bucket next time
+                } else {
+                    active.add(auctionId);
+                    localCounts.put(auctionId, count);
+                }
+            });
+            if (active.isEmpty()) {
+                return;
+            }
+            List<Object> totals = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    for (UUID auctionId : active) {
+                        String key = USAGE_KEY_PREFIX + auctionId + ":" + window;
+                        operations.opsForValue().increment(key, localCounts.get(auctionId));
+                        operations.expire(key, Duration.ofMillis(properties.getSyncIntervalMs() * 3));
+                    }
+                    return null;
+                }
+            });
+            double allowedPerWindow = properties.getAuctionRatePerSecond() * properties.getSyncIntervalMs() / 1000.0;
+            for (int i = 0; i < active.size(); i++) {
+                RoomLimit room = rooms.get(active.get(i));
+                Object total = totals.get(i * 2);
+                if (room == null || !(total instanceof Number roomTotal)) continue;
+                long local = localCounts.get(active.get(i));
+                // Over the room rate across nodes: keep only this node's proportional share; otherwise relax back
+                room.share = roomTotal.longValue() > allowedPerWindow && roomTotal.longValue() > 0
+                        ? Math.max(0.05, (double) local / roomTotal.longValue())
+                        : Math.min(1.0, room.share * 2);
+            }
+        } catch (Exception e) {
+            log.warn("Chat rate usage sync failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.client.UserInfoCache;
+import com.example.liveauctions.client.dto.UserBasicInfoDto;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who is behind a chat session, resolved once per (session, auction) - normally when the session subscribes
+ * to the auction's chat topic - so sending a message needs no SQL query or UsersService call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatSenderRegistry {
+
+    private final LiveAuctionRepository auctionRepository;
+    private final UserInfoCache userInfoCache;
+
+    private final Map<String, Map<UUID, ChatSender>> sessions = new ConcurrentHashMap<>();
+
+    private static final String UNKNOWN_USERNAME = "Unknown";
+
+    public record ChatSender(String username, String avatarUrl, boolean seller) {
+        static final ChatSender ANONYMOUS = new ChatSender("Anonymous", null, false);
+    }
+
+    /** Resolves and caches the sender; called on subscribe, and lazily for sessions that send without subscribing. */
+    public ChatSender resolve(String sessionId, String userId, UUID auctionId) {
+        if (sessionId == null) {
+            return lookup(userId, auctionId);
+        }
+        Map<UUID, ChatSender> senders = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        ChatSender cached = senders.get(auctionId);
+        if (cached != null) {
+            return cached;
+        }
+        ChatSender sender = lookup(userId, auctionId);
+        if (!UNKNOWN_USERNAME.equals(sender.username())) {
+            senders.put(auctionId, sender); // a failed profile lookup is retried on the next message
+        }
+        return sender;
+    }
+
+    public void forget(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    private ChatSender lookup(String userId, UUID auctionId) {
+        if (userId == null) {
+            return ChatSender.ANONYMOUS;
+        }
+        boolean seller = auctionRepository.existsByIdAndSellerId(auctionId, userId);
+        UserBasicInfoDto info = null;
+        try {
+            info = userInfoCache.getBasicInfo(userId);
+        } catch (Exception e) {
+            log.warn("Could not fetch chat sender info for user {}: {}", userId, e.getMessage());
+        }
+        return new ChatSender(info != null ? info.getUsername() : UNKNOWN_USERNAME,
+                info != null ? info.getAvatarUrl() : null, seller);
+    }
+}
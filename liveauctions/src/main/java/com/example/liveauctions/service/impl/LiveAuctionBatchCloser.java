@@ -0,0 +1,179 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.AuctionTimingProperties;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import com.example.liveauctions.service.LiveBidEngine;
+import com.example.liveauctions.service.WebSocketEventPublisher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closes live auctions in batches. An end timer only nudges the closer; after a short window it claims every
+ * ACTIVE auction whose end time has passed ({@code FOR UPDATE SKIP LOCKED}), finalizes them with two bulk
+ * updates in one transaction and announces them after commit on a single channel. A cluster of round end
+ * times costs a few statements instead of a findById, a save and several publishes per auction, and nodes
+ * closing at the same moment split the work instead of queueing on each other's rows.
+ * <p>
+ * The bid engine acks bids before its journal writes them, so each pass first waits for every shard's journal;
+ * otherwise a bid accepted just before the end could land after the close and be dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveAuctionBatchCloser {
+
+    private static final long RETRY_DELAY_MS = 1_000;
+
+    private final LiveAuctionRepository auctionRepository;
+    private final LiveBidEngine bidEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final WebSocketEventPublisher webSocketEventPublisher;
+    private final AuctionEndedEventPublisher endedEventPublisher;
+    private final AuctionEndTimerRegistry endTimerRegistry;
+    private final AuctionTimingProperties timingProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<UUID> requested = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private ScheduledExecutorService closer;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    void start() {
+        batchSizes = DistributionSummary.builder("auction.close.batch.size")
+                .description("Auctions finalized per closing transaction")
+                .register(meterRegistry);
+        closer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auction-closer");
+            t.setDaemon(true);
+            return t;
+        });
+        long sweepMs = timingProperties.getClosing().getSweepIntervalMs();
+        closer.scheduleWithFixedDelay(this::flush, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Called for each fired end timer; the auction is closed together with whatever else is due in the window. */
+    public void request(UUID auctionId) {
+        requested.add(auctionId);
+        if (flushScheduled.compareAndSet(false, true)) {
+            closer.schedule(this::flush, timingProperties.getClosing().getWindowMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        Set<UUID> nudged = new HashSet<>();
+        for (Iterator<UUID> it = requested.iterator(); it.hasNext(); ) {
+            nudged.add(it.next());
+            it.remove();
+        }
+        try {
+            // Only auctions that ended before the barrier: their last accepted bids are all queued ahead of it
+            LocalDateTime cutoff = LocalDateTime.now();
+            if (auctionRepository.existsByStatusAndEndTimeLessThanEqual(AuctionStatus.ACTIVE, cutoff)) {
+                bidEngine.awaitJournal();
+            }
+            int batchSize = timingProperties.getClosing().getBatchSize();
+            List<LiveAuction> batch;
+            do {
+                batch = closeBatch(cutoff, batchSize);
+                batch.forEach(a -> nudged.remove(a.getId()));
+                announce(batch);
+            } while (batch.size() == batchSize);
+            if (!nudged.isEmpty()) {
+                settle(nudged);
+            }
+        } catch (Exception e) {
+            log.error("[Closer] Closing pass failed, retrying {} requested auctions in {} ms: {}",
+                    nudged.size(), RETRY_DELAY_MS, e.getMessage(), e);
+            closer.schedule(() -> nudged.forEach(this::request), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private List<LiveAuction> closeBatch(LocalDateTime cutoff, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(tx -> {
+            List<LiveAuction> expired = auctionRepository.lockExpiredForClosing(cutoff, batchSize);
+            if (expired.isEmpty()) return expired;
+            List<UUID> ids = expired.stream().map(LiveAuction::getId).toList();
+            // Both updates clear the persistence context, so the in-memory copies below are never flushed back
+            int sold = auctionRepository.closeAsSold(ids, now);
+            int unsold = auctionRepository.closeAsReserveNotMet(ids, now);
+            if (sold + unsold != ids.size()) {
+                log.warn("[Closer] Claimed {} auctions but closed {} (sold {}, not sold {}).", ids.size(), sold + unsold, sold, unsold);
+            }
+            expired.forEach(a -> applyFinalState(a, now));
+            return expired;
+        });
+    }
+
+    /** Same rules as the two bulk updates, applied to the claimed rows so the events carry the final state. */
+    private void applyFinalState(LiveAuction auction, LocalDateTime endedAt) {
+        auction.setActualEndTime(endedAt);
+        boolean reserveSatisfied = auction.isReserveMet() || auction.getReservePrice() == null;
+        if (auction.getHighestBidderId() != null && reserveSatisfied) {
+            auction.setStatus(AuctionStatus.SOLD);
+            auction.setWinnerId(auction.getHighestBidderId());
+            auction.setWinningBid(auction.getCurrentBid());
+        } else {
+            auction.setStatus(AuctionStatus.RESERVE_NOT_MET);
+        }
+    }
+
+    private void announce(List<LiveAuction> closed) {
+        if (closed.isEmpty()) return;
+        // One channel for the whole batch instead of a checkout per publish
+        rabbitTemplate.invoke(ops -> {
+            for (LiveAuction auction : closed) {
+                webSocketEventPublisher.publishAuctionStateUpdate(auction, null);
+                endedEventPublisher.publish(auction);
+            }
+            return null;
+        });
+        batchSizes.record(closed.size());
+        log.info("[Closer] Closed {} live auctions.", closed.size());
+    }
+
+    /** Requested auctions this pass did not close: extended, already closed, or held by another node's closer. */
+    private void settle(Set<UUID> leftovers) {
+        LocalDateTime now = LocalDateTime.now();
+        for (LiveAuction auction : auctionRepository.findAllById(leftovers)) {
+            if (auction.getStatus() != AuctionStatus.ACTIVE) continue;
+            if (auction.getEndTime().isAfter(now)) {
+                // Extensions move the timer themselves; this only happens if one fired before its move committed
+                log.info("[Closer] End of auction {} moved to {}. Re-arming end timer.", auction.getId(), auction.getEndTime());
+                endTimerRegistry.arm(auction.getId(), auction.getEndTime());
+            } else {
+                // Claimed by another node's closer; check again shortly in case that transaction rolls back
+                closer.schedule(() -> request(auction.getId()), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        closer.shutdown();
+    }
+}
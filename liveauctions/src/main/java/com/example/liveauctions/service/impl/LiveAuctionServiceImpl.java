@@ -1,13 +1,20 @@
 package com.example.liveauctions.service.impl;
 
+import com.example.commons.paging.CursorPageDto;
+import com.example.commons.paging.KeysetCursor;
+import com.example.liveauctions.client.ProductInfoCache;
 import com.example.liveauctions.client.ProductServiceClient; // Feign Client for Products
 import com.example.liveauctions.client.UserServiceClient; // Feign Client for Users
+import com.example.liveauctions.client.UserInfoCache;
 import com.example.liveauctions.client.dto.CategoryDto;
 import com.example.liveauctions.client.dto.ProductDto; // DTO from Products service
 import com.example.liveauctions.client.dto.UserBanStatusDto;
 import com.example.liveauctions.client.dto.UserBasicInfoDto; // DTO from Users service
 import com.example.liveauctions.commands.AuctionLifecycleCommands;
 import com.example.liveauctions.config.AuctionTimingProperties;
+import com.example.liveauctions.config.BidConcurrencyProperties;
+import com.example.liveauctions.config.BidConcurrencyProperties.Mode;
+import com.example.liveauctions.config.BidEngineProperties;
 import com.example.liveauctions.config.RabbitMqConfig; // Constants for RabbitMQ
 import com.example.liveauctions.dto.*;
 import com.example.liveauctions.dto.event.NewLiveAuctionFromReopenedOrderEventDto;
@@ -18,13 +25,16 @@ import com.example.liveauctions.exception.*;
 import com.example.liveauctions.mapper.AuctionMapper;
 import com.example.liveauctions.repository.BidRepository;
 import com.example.liveauctions.repository.LiveAuctionRepository;
+import com.example.liveauctions.search.AuctionSearchIndex;
 import com.example.liveauctions.service.LiveAuctionSchedulingService;
 import com.example.liveauctions.service.LiveAuctionService;
+import com.example.liveauctions.service.LiveBidEngine;
 import com.example.liveauctions.service.WebSocketEventPublisher; // For WebSocket events
+import com.example.liveauctions.utils.BidIncrementUtil;
 import com.example.liveauctions.utils.DateTimeUtil;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.SetJoin;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
@@ -33,10 +43,10 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Import Transactional
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -50,17 +60,35 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LiveAuctionServiceImpl implements LiveAuctionService {
 
+    private static final int MAX_LISTING_PAGE_SIZE = 100;
+
     private final LiveAuctionRepository liveAuctionRepository;
     private final ProductServiceClient productServiceClient; // Feign client
+    private final ProductInfoCache productInfoCache; // Near-cache over productServiceClient for the details page
+    private final RecentBidsBuffer recentBidsBuffer;
     private final UserServiceClient userServiceClient;     // Feign client
+    private final UserInfoCache userInfoCache;     // Near-cache over userServiceClient for the bid path
     private final RabbitTemplate rabbitTemplate;
     private final AuctionMapper auctionMapper;
 
     private final BidRepository bidRepository; // Add BidRepository dependency
+    private final BidderStandingTracker standingTracker;
     private final RedissonClient redissonClient; // Add RedissonClient dependency
     private final WebSocketEventPublisher webSocketEventPublisher; // For publishing events
     private final AuctionTimingProperties timing;
     private final LiveAuctionSchedulingService schedulingService;
+    private final LiveBidEngine liveBidEngine;
+    private final BidEngineProperties bidEngineProperties;
+    private final BidConcurrencyProperties bidConcurrency;
+    private final BidConcurrencyMetrics bidMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionListingPublisher listingPublisher;
+    // Total of the public ACTIVE listing for cursor pages that ask for one; shared by every visitor, so counted
+    // at most once per TTL
+    private final Cache<AuctionStatus, Long> listingTotals = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
 
 
     @Override
@@ -112,6 +140,9 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
         // 6. Save the Auction Entity
         LiveAuction savedAuction = liveAuctionRepository.save(auction);
         log.info("Auction entity saved with ID: {} and status: {}", savedAuction.getId(), savedAuction.getStatus());
+        // Scheduled auctions are searchable, and in the catalog, before their first state update
+        searchIndex.index(savedAuction);
+        listingPublisher.changed(savedAuction);
 
         // --- 7. Schedule Start or Handle Immediate Start ---
         if (savedAuction.getStatus() == AuctionStatus.SCHEDULED) {
@@ -190,41 +221,7 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
     }
 
     private BigDecimal getIncrement(BigDecimal currentBid) {
-        // If no bids yet, treat as 0 so we pick the first tier
-        if (currentBid == null || currentBid.compareTo(BigDecimal.ZERO) <= 0) {
-            currentBid = BigDecimal.ZERO;
-        }
-
-        // Tiers (descending)
-        if (currentBid.compareTo(new BigDecimal("50000000")) >= 0) {  // > 50 000 000
-            return new BigDecimal("2000000");
-        }
-        if (currentBid.compareTo(new BigDecimal("20000000")) >= 0) {  // 20 000 000–50 000 000
-            return new BigDecimal("1000000");
-        }
-        if (currentBid.compareTo(new BigDecimal("10000000")) >= 0) {  // 10 000 000–20 000 000
-            return new BigDecimal("500000");
-        }
-        if (currentBid.compareTo(new BigDecimal("5000000")) >= 0) {   // 5 000 000–10 000 000
-            return new BigDecimal("200000");
-        }
-        if (currentBid.compareTo(new BigDecimal("3000000")) >= 0) {   // 3 000 000–5 000 000
-            return new BigDecimal("100000");
-        }
-        if (currentBid.compareTo(new BigDecimal("1000000")) >= 0) {   // 1 000 000–3 000 000
-            return new BigDecimal("50000");
-        }
-        if (currentBid.compareTo(new BigDecimal("300000")) >= 0) {    // 300 000–1 000 000
-            return new BigDecimal("10000");
-        }
-        if (currentBid.compareTo(new BigDecimal("100000")) >= 0) {    // 100 000–300 000
-            return new BigDecimal("5000");
-        }
-        if (currentBid.compareTo(new BigDecimal("50000")) >= 0) {     // 50 000–100 000
-            return new BigDecimal("1000");
-        }
-        // below 50 000
-        return new BigDecimal("500");
+        return BidIncrementUtil.getIncrement(currentBid);
     }
 
 
@@ -235,10 +232,10 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
         LiveAuction auction = liveAuctionRepository.findById(auctionId)
                 .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId));
 
-        // Fetch Product Details (Direct Blocking Call)
+        // Fetch Product Details (near-cache, evicted by product events)
         ProductDto productDto = null;
         try {
-            productDto = fetchProductDetails(auction.getProductId());
+            productDto = productInfoCache.getProduct(auction.getProductId());
         } catch (ProductNotFoundException e) {
             log.warn("Product details not found for product ID {} (auction {}).", auction.getProductId(), auctionId);
             // Continue without product details
@@ -247,10 +244,8 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
             // Continue without product details
         }
 
-        // Fetch Recent Bids (Blocking JPA call)
-        Pageable bidPageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "bidTime"));
-        Page<Bid> recentBidsPage = bidRepository.findByLiveAuctionId(auctionId, bidPageable);
-        List<BidDto> recentBidDtos = auctionMapper.mapToBidDtoList(recentBidsPage.getContent());
+        // Recent Bids from the shared ring buffer, warmed from the table on a miss
+        List<BidDto> recentBidDtos = recentBidsBuffer.recent(auctionId);
 
         // 4. Calculate Dynamic State (Time Left, Next Bid Amount)
         long timeLeftMs = 0;
@@ -286,104 +281,222 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
     }
 
     @Override
-    @Transactional
     public void placeBid(UUID auctionId, String bidderId, PlaceBidDto bidDto) {
+        if (!bidEngineProperties.isEnabled()) {
+            if (bidConcurrency.getMode() == Mode.OPTIMISTIC) {
+                placeBidOptimistic(auctionId, bidderId, bidDto);
+            } else {
+                placeBidWithLock(auctionId, bidderId, bidDto);
+            }
+            return;
+        }
+        // Remote checks happen here, before the bid is sequenced, so they never hold up other bidders
+        checkNotBanned(auctionId, bidderId);
+        String bidderUsername = fetchBidderUsername(bidderId);
+        liveBidEngine.submitBid(auctionId, bidderId, bidderUsername, bidDto.getAmount());
+    }
+
+    private void placeBidWithLock(UUID auctionId, String bidderId, PlaceBidDto bidDto) {
         String lockKey = "auction_lock:" + auctionId;
         RLock lock = redissonClient.getLock(lockKey);
         boolean lockAcquired = false;
+        Timer.Sample sample = bidMetrics.start();
+        String outcome = "rejected";
         try {
+            long waitStart = System.nanoTime();
             lockAcquired = lock.tryLock(5, 10, TimeUnit.SECONDS);
-            if (!lockAcquired) throw new IllegalStateException("Could not process bid, please retry.");
-
-            // --- BAN CHECK ---
-            // Placed early after acquiring lock and before extensive processing.
-            try {
-                log.debug("Checking ban status for bidder {} for auction {}", bidderId, auctionId);
-                UserBanStatusDto banStatus = userServiceClient.getUserBanStatus(bidderId);
-                if (banStatus.isBanned()) {
-                    log.warn("User {} is banned from bidding until {}. Bid rejected for auction {}.",
-                            bidderId, banStatus.getBanEndsAt(), auctionId);
-                    throw new UserBannedException("You are currently banned from bidding. Ban ends at: " + banStatus.getBanEndsAt());
-                }
-                log.debug("User {} is not banned. Proceeding with bid.", bidderId);
-            } catch (UserBannedException e) {
-                throw e; // Re-throw to be caught by controller advice
-            } catch (Exception e) {
-                // Handle Feign client errors (e.g., UsersService down)
-                log.error("Failed to check ban status for user {}: {}. Applying fail-strict policy: Bid rejected.",
-                        bidderId, e.getMessage());
-                // Fail-strict: If ban status cannot be verified, reject the bid.
-                throw new IllegalStateException("Could not verify bidding eligibility at this time. Please try again later.");
+            bidMetrics.recordLockWait(Mode.LOCK, System.nanoTime() - waitStart);
+            if (!lockAcquired) {
+                outcome = "contended";
+                throw new IllegalStateException("Could not process bid, please retry.");
             }
-            // --- END BAN CHECK ---
 
-            LiveAuction auction = liveAuctionRepository.findById(auctionId)
-                    .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId));
-            LocalDateTime originalEndTime = auction.getEndTime(); // Store original end time before potential changes
+            checkNotBanned(auctionId, bidderId);
 
-            // 1. Validations
-            validateAuctionStateForBidding(auction); // Uses local helper
-            validateNotSeller(auction, bidderId);    // Uses local helper
-            // ... validate bid amount ...
-            BigDecimal currentBid = auction.getCurrentBid() == null ? BigDecimal.ZERO : auction.getCurrentBid();
-            BigDecimal requiredAmount = (auction.getHighestBidderId() == null) ? auction.getStartPrice() : currentBid.add(auction.getCurrentBidIncrement());
-            if (bidDto.getAmount().compareTo(requiredAmount) < 0) throw new InvalidBidException("Bid too low. Minimum required: " + requiredAmount);
-
-
-            // 2. Persist new bid
-            String bidderUsername = fetchBidderUsername(bidderId);
-            Bid newBid = bidRepository.save(Bid.builder().liveAuctionId(auctionId).bidderId(bidderId)
-                    .bidderUsernameSnapshot(bidderUsername).amount(bidDto.getAmount()).build());
-
-            auction.setBidCount(auction.getBidCount() + 1);
-
-            // 3. Update auction financials
-            auction.setCurrentBid(bidDto.getAmount());
-            auction.setHighestBidderId(bidderId);
-            auction.setHighestBidderUsernameSnapshot(bidderUsername);
-            auction.setCurrentBidIncrement(getIncrement(auction.getCurrentBid()));
-
-            // 4. Reserve-met & timing rules
-            boolean reserveJustMet = !auction.isReserveMet() && auction.getReservePrice() != null && auction.getCurrentBid().compareTo(auction.getReservePrice()) >= 0;
-            AuctionTimingProperties.SoftClose sc = timing.getSoftClose();
-            LocalDateTime roundedNow = DateTimeUtil.roundToMicrosecond(LocalDateTime.now());
-            long millisLeft = Duration.between(roundedNow, auction.getEndTime()).toMillis();
-            boolean endTimeChanged = false;
-
-
-            // 4-a Soft-close anti-sniping
-            if (sc.isEnabled() && millisLeft > 0 && millisLeft <= sc.getThresholdSeconds() * 1_000L) {
-                // CORRECT WAY: Extend from the auction's CURRENT end time
-                LocalDateTime potentialNewEndTime = auction.getEndTime().plusSeconds(sc.getExtensionSeconds());
-                // Update the auction's end time directly
-                auction.setEndTime(potentialNewEndTime);
-                endTimeChanged = true; // Mark for rescheduling
-                log.info("Anti-sniping: extended auction {} by {}s to {}", auctionId, sc.getExtensionSeconds(), potentialNewEndTime);
-            }
+            // Commit before the lock is released so the next bidder reads this bid; publish once committed
+            AppliedBid applied = transactionTemplate.execute(tx -> applyBidLocked(auctionId, bidderId, bidDto));
+            outcome = "accepted";
+            webSocketEventPublisher.publishAuctionStateUpdate(applied.auction(), applied.bid());
+            recentBidsBuffer.push(applied.bid());
 
-            // 4-b Reserve met (fast-finish logic removed)
-            if (reserveJustMet) {
-                auction.setReserveMet(true);
-                log.info("Reserve price met for auction {}", auctionId);
-            }
-
-            // ---: Reschedule end if necessary ---
-            if (endTimeChanged) {
-                // Use scheduling service to schedule/reschedule the end task
-                schedulingService.scheduleAuctionEnd(auction);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bid processing interrupted.");
+        } finally {
+            if (lockAcquired && lock.isHeldByCurrentThread()) {
+                lock.unlock();
             }
+            bidMetrics.stop(sample, Mode.LOCK, outcome);
+        }
+    }
 
-            // 5. Persist auction & publish event
-            LiveAuction updatedAuction = liveAuctionRepository.save(auction); // Save potentially updated auction
-            webSocketEventPublisher.publishAuctionStateUpdate(updatedAuction, newBid);
+    private void placeBidOptimistic(UUID auctionId, String bidderId, PlaceBidDto bidDto) {
+        // Remote checks first; nothing is held while they run
+        checkNotBanned(auctionId, bidderId);
+        String bidderUsername = fetchBidderUsername(bidderId);
 
+        Timer.Sample sample = bidMetrics.start();
+        String outcome = "rejected";
+        try {
+            for (int attempt = 1; attempt <= bidConcurrency.getMaxAttempts(); attempt++) {
+                AppliedBid applied = transactionTemplate.execute(tx ->
+                        tryApplyBid(auctionId, bidderId, bidderUsername, bidDto.getAmount()));
+                if (applied != null) {
+                    outcome = "accepted";
+                    if (applied.endTimeChanged()) {
+                        schedulingService.scheduleAuctionEnd(applied.auction());
+                    }
+                    webSocketEventPublisher.publishAuctionStateUpdate(applied.auction(), applied.bid());
+                    recentBidsBuffer.push(applied.bid());
+                    return;
+                }
+                bidMetrics.retry(Mode.OPTIMISTIC);
+                log.debug("Optimistic bid conflict on auction {} (attempt {}), retrying", auctionId, attempt);
+                Thread.sleep(bidConcurrency.getRetryBackoffMs() * attempt);
+            }
+            outcome = "contended";
+            throw new IllegalStateException("Could not process bid, please retry.");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Bid processing interrupted.");
         } finally {
-            if (lockAcquired && lock.isHeldByCurrentThread()) {
-                lock.unlock();
+            bidMetrics.stop(sample, Mode.OPTIMISTIC, outcome);
+        }
+    }
+
+    private record AppliedBid(LiveAuction auction, Bid bid, boolean endTimeChanged) {}
+
+    /**
+     * One optimistic attempt: validate against a plain read, then write with a versioned conditional update.
+     * Returns null when another bid got there first. The loaded entity is never modified (a dirty managed
+     * entity would be flushed with the stale version); the broadcast uses a detached copy instead.
+     */
+    private AppliedBid tryApplyBid(UUID auctionId, String bidderId, String bidderUsername, BigDecimal amount) {
+        LiveAuction read = liveAuctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId));
+
+        validateAuctionStateForBidding(read);
+        validateNotSeller(read, bidderId);
+        BigDecimal currentBid = read.getCurrentBid() == null ? BigDecimal.ZERO : read.getCurrentBid();
+        BigDecimal requiredAmount = (read.getHighestBidderId() == null) ? read.getStartPrice() : currentBid.add(read.getCurrentBidIncrement());
+        if (amount.compareTo(requiredAmount) < 0) throw new InvalidBidException("Bid too low. Minimum required: " + requiredAmount);
+
+        LiveAuction auction = read.toBuilder().build();
+        auction.setBidCount(read.getBidCount() + 1);
+        auction.setCurrentBid(amount);
+        auction.setHighestBidderId(bidderId);
+        auction.setHighestBidderUsernameSnapshot(bidderUsername);
+        auction.setCurrentBidIncrement(getIncrement(amount));
+        if (!auction.isReserveMet() && auction.getReservePrice() != null && amount.compareTo(auction.getReservePrice()) >= 0) {
+            auction.setReserveMet(true);
+        }
+        boolean endTimeChanged = false;
+        AuctionTimingProperties.SoftClose sc = timing.getSoftClose();
+        long millisLeft = Duration.between(DateTimeUtil.roundToMicrosecond(LocalDateTime.now()), auction.getEndTime()).toMillis();
+        if (sc.isEnabled() && millisLeft > 0 && millisLeft <= sc.getThresholdSeconds() * 1_000L) {
+            auction.setEndTime(auction.getEndTime().plusSeconds(sc.getExtensionSeconds()));
+            endTimeChanged = true;
+        }
+
+        int updated = liveAuctionRepository.compareAndSetBid(auctionId, read.getVersion(), amount,
+                auction.getCurrentBidIncrement(), bidderId, bidderUsername, auction.getEndTime(), auction.isReserveMet());
+        if (updated == 0) {
+            return null;
+        }
+        auction.setVersion(read.getVersion() + 1);
+        if (endTimeChanged) {
+            log.info("Anti-sniping: extended auction {} by {}s to {}", auctionId, sc.getExtensionSeconds(), auction.getEndTime());
+        }
+        if (auction.isReserveMet() && !read.isReserveMet()) {
+            log.info("Reserve price met for auction {}", auctionId);
+        }
+
+        Bid newBid = bidRepository.save(Bid.builder().liveAuctionId(auctionId).bidderId(bidderId)
+                .bidderUsernameSnapshot(bidderUsername).amount(amount).build());
+        standingTracker.record(List.of(newBid));
+        return new AppliedBid(auction, newBid, endTimeChanged);
+    }
+
+    private AppliedBid applyBidLocked(UUID auctionId, String bidderId, PlaceBidDto bidDto) {
+        LiveAuction auction = liveAuctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId));
+
+        // 1. Validations
+        validateAuctionStateForBidding(auction); // Uses local helper
+        validateNotSeller(auction, bidderId);    // Uses local helper
+        // ... validate bid amount ...
+        BigDecimal currentBid = auction.getCurrentBid() == null ? BigDecimal.ZERO : auction.getCurrentBid();
+        BigDecimal requiredAmount = (auction.getHighestBidderId() == null) ? auction.getStartPrice() : currentBid.add(auction.getCurrentBidIncrement());
+        if (bidDto.getAmount().compareTo(requiredAmount) < 0) throw new InvalidBidException("Bid too low. Minimum required: " + requiredAmount);
+
+
+        // 2. Persist new bid
+        String bidderUsername = fetchBidderUsername(bidderId);
+        Bid newBid = bidRepository.save(Bid.builder().liveAuctionId(auctionId).bidderId(bidderId)
+                .bidderUsernameSnapshot(bidderUsername).amount(bidDto.getAmount()).build());
+        standingTracker.record(List.of(newBid));
+
+        auction.setBidCount(auction.getBidCount() + 1);
+
+        // 3. Update auction financials
+        auction.setCurrentBid(bidDto.getAmount());
+        auction.setHighestBidderId(bidderId);
+        auction.setHighestBidderUsernameSnapshot(bidderUsername);
+        auction.setCurrentBidIncrement(getIncrement(auction.getCurrentBid()));
+
+        // 4. Reserve-met & timing rules
+        boolean reserveJustMet = !auction.isReserveMet() && auction.getReservePrice() != null && auction.getCurrentBid().compareTo(auction.getReservePrice()) >= 0;
+        AuctionTimingProperties.SoftClose sc = timing.getSoftClose();
+        LocalDateTime roundedNow = DateTimeUtil.roundToMicrosecond(LocalDateTime.now());
+        long millisLeft = Duration.between(roundedNow, auction.getEndTime()).toMillis();
+        boolean endTimeChanged = false;
+
+
+        // 4-a Soft-close anti-sniping
+        if (sc.isEnabled() && millisLeft > 0 && millisLeft <= sc.getThresholdSeconds() * 1_000L) {
+            // CORRECT WAY: Extend from the auction's CURRENT end time
+            LocalDateTime potentialNewEndTime = auction.getEndTime().plusSeconds(sc.getExtensionSeconds());
+            // Update the auction's end time directly
+            auction.setEndTime(potentialNewEndTime);
+            endTimeChanged = true; // Mark for rescheduling
+            log.info("Anti-sniping: extended auction {} by {}s to {}", auctionId, sc.getExtensionSeconds(), potentialNewEndTime);
+        }
+
+        // 4-b Reserve met (fast-finish logic removed)
+        if (reserveJustMet) {
+            auction.setReserveMet(true);
+            log.info("Reserve price met for auction {}", auctionId);
+        }
+
+        // ---: Reschedule end if necessary ---
+        if (endTimeChanged) {
+            // Use scheduling service to schedule/reschedule the end task
+            schedulingService.scheduleAuctionEnd(auction);
+        }
+
+        // 5. Persist auction; the caller publishes after commit
+        LiveAuction updatedAuction = liveAuctionRepository.save(auction); // Save potentially updated auction
+        return new AppliedBid(updatedAuction, newBid, endTimeChanged);
+    }
+
+    private void checkNotBanned(UUID auctionId, String bidderId) {
+        try {
+            log.debug("Checking ban status for bidder {} for auction {}", bidderId, auctionId);
+            UserBanStatusDto banStatus = userInfoCache.getBanStatus(bidderId);
+            if (banStatus.isBanned()) {
+                log.warn("User {} is banned from bidding until {}. Bid rejected for auction {}.",
+                        bidderId, banStatus.getBanEndsAt(), auctionId);
+                throw new UserBannedException("You are currently banned from bidding. Ban ends at: " + banStatus.getBanEndsAt());
             }
+            log.debug("User {} is not banned. Proceeding with bid.", bidderId);
+        } catch (UserBannedException e) {
+            throw e; // Re-throw to be caught by controller advice
+        } catch (Exception e) {
+            // Handle Feign client errors (e.g., UsersService down)
+            log.error("Failed to check ban status for user {}: {}. Applying fail-strict policy: Bid rejected.",
+                    bidderId, e.getMessage());
+            // Fail-strict: If ban status cannot be verified, reject the bid.
+            throw new IllegalStateException("Could not verify bidding eligibility at this time. Please try again later.");
         }
     }
 
@@ -391,8 +504,7 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
     private String fetchBidderUsername(String bidderId) {
         try {
             log.debug("Fetching username for bidder ID: {}", bidderId);
-            Map<String, UserBasicInfoDto> users = userServiceClient.getUsersBasicInfoByIds(Collections.singletonList(bidderId));
-            UserBasicInfoDto bidderInfo = users.get(bidderId);
+            UserBasicInfoDto bidderInfo = userInfoCache.getBasicInfo(bidderId);
             if (bidderInfo == null) { throw new UserNotFoundException("Bidder not found: " + bidderId); }
             return bidderInfo.getUsername();
         } catch (Exception e) {
@@ -428,6 +540,26 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
         return auctionPage.map(auctionMapper::mapToLiveAuctionSummaryDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<LiveAuctionSummaryDto> getActiveAuctions(String cursor, int size, boolean withTotal) {
+        log.debug("Fetching active auctions after cursor {} (size={})", cursor, size);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE));
+        Slice<LiveAuction> slice;
+        Long total = null;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            slice = liveAuctionRepository.findByStatusOrderByEndTimeAscIdAsc(AuctionStatus.ACTIVE, limit);
+            if (withTotal) {
+                total = listingTotals.get(AuctionStatus.ACTIVE, liveAuctionRepository::countByStatus);
+            }
+        } else {
+            KeysetCursor.Position<UUID> after = KeysetCursor.decode(cursor, UUID::fromString);
+            slice = liveAuctionRepository.findByStatusAfter(AuctionStatus.ACTIVE, after.sortKey(), after.id(), limit);
+        }
+        return KeysetCursor.toPage(slice, auctionMapper::mapToLiveAuctionSummaryDto,
+                LiveAuction::getEndTime, LiveAuction::getId, total);
+    }
+
     // LiveAuctionServiceImpl.java   (add below getActiveAuctions)
     @Override
     @Transactional(readOnly = true)
@@ -448,6 +580,36 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
         return page.map(auctionMapper::mapToLiveAuctionSummaryDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<LiveAuctionSummaryDto> getSellerAuctions(String sellerId,
+                                                                  AuctionStatus status,
+                                                                  Set<Long> categoryIds,
+                                                                  LocalDateTime from,
+                                                                  String cursor,
+                                                                  int size,
+                                                                  boolean withTotal) {
+        Set<Long> catIds = categoryIds == null ? Set.of() : categoryIds;
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+        KeysetCursor.Position<UUID> after = firstPage ? null : KeysetCursor.decode(cursor, UUID::fromString);
+
+        Slice<LiveAuction> slice = liveAuctionRepository.findSellerAuctionsAfter(
+                sellerId,
+                status,
+                from,
+                catIds,
+                catIds.isEmpty(),
+                after == null ? null : after.sortKey(),
+                after == null ? null : after.id(),
+                PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE)));
+
+        Long total = firstPage && withTotal
+                ? liveAuctionRepository.countSellerAuctions(sellerId, status, from, catIds, catIds.isEmpty())
+                : null;
+        return KeysetCursor.toPage(slice, auctionMapper::mapToLiveAuctionSummaryDto,
+                LiveAuction::getEndTime, LiveAuction::getId, total);
+    }
+
     @Override
     @Transactional
     public void hammerDownNow(UUID auctionId, String sellerId) {
@@ -482,55 +644,41 @@ public class LiveAuctionServiceImpl implements LiveAuctionService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<LiveAuctionSummaryDto> searchAuctions(
+    public CursorPageDto<LiveAuctionSummaryDto> searchAuctions(
             String queryText,
             Set<Long> categoryIds,
             AuctionStatus status, // This will be ACTIVE or SCHEDULED if 'ended' is not true
             Boolean ended,
             LocalDateTime from,
-            Pageable pageable) {
-
-        log.debug("Service searching live auctions: query='{}', categories={}, status={}, ended={}, from={}, pageable={}",
-                queryText, categoryIds, status, ended, from, pageable);
-
-        Specification<LiveAuction> spec = (root, jpaQuery, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            // Text Search Predicate
-            if (queryText != null && !queryText.isBlank()) {
-                String lowercaseQuery = "%" + queryText.toLowerCase().trim() + "%";
-                predicates.add(cb.like(cb.lower(root.get("productTitleSnapshot")), lowercaseQuery));
-            }
-
-            // Handle status and ended flag
-            if (Boolean.TRUE.equals(ended)) {
-                // If frontend filter is "Ended", query for terminal states for Live Auctions
-                predicates.add(root.get("status").in(
-                        AuctionStatus.SOLD,
-                        AuctionStatus.CANCELLED,
-                        AuctionStatus.RESERVE_NOT_MET
-                ));
-                // If 'ended' is true, any 'status' parameter for ACTIVE/SCHEDULED is ignored
-            } else if (status != null) {
-                // If a specific non-terminal status (ACTIVE, SCHEDULED) is provided
-                predicates.add(cb.equal(root.get("status"), status));
-            }
-
-            if (from != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), from));
-            }
-
-            if (categoryIds != null && !categoryIds.isEmpty()) {
-                SetJoin<LiveAuction, Long> categoryJoin = root.joinSet("productCategoryIdsSnapshot", JoinType.INNER);
-                predicates.add(categoryJoin.in(categoryIds));
-                jpaQuery.distinct(true);
-            }
+            String cursor,
+            int size) {
+
+        log.debug("Service searching live auctions: query='{}', categories={}, status={}, ended={}, from={}, cursor={}, size={}",
+                queryText, categoryIds, status, ended, from, cursor, size);
+
+        Set<AuctionStatus> statuses = Set.of();
+        if (Boolean.TRUE.equals(ended)) {
+            // If frontend filter is "Ended", query for terminal states; any ACTIVE/SCHEDULED status is ignored
+            statuses = EnumSet.of(AuctionStatus.SOLD, AuctionStatus.CANCELLED, AuctionStatus.RESERVE_NOT_MET);
+        } else if (status != null) {
+            statuses = EnumSet.of(status);
+        }
 
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+        AuctionSearchIndex.Hits hits = searchIndex.search(queryText, categoryIds,
+                statuses.stream().map(Enum::name).toList(), from, cursor, size);
 
-        Page<LiveAuction> auctionPage = liveAuctionRepository.findAll(spec, pageable);
-        return auctionPage.map(auctionMapper::mapToLiveAuctionSummaryDto);
+        // The index only ranks; the page itself is loaded by primary key and put back in ranked order
+        Map<UUID, LiveAuction> byId = liveAuctionRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(LiveAuction::getId, a -> a));
+        List<LiveAuctionSummaryDto> content = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(auctionMapper::mapToLiveAuctionSummaryDto)
+                .collect(Collectors.toList());
+        return CursorPageDto.<LiveAuctionSummaryDto>builder()
+                .content(content)
+                .nextCursor(hits.nextCursor())
+                .build();
     }
 
     @Override
@@ -0,0 +1,410 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.commands.BidEngineCommands.AuctionLoadedCommand;
+import com.example.liveauctions.commands.BidEngineCommands.AwaitJournalCommand;
+import com.example.liveauctions.commands.BidEngineCommands.BidRejection;
+import com.example.liveauctions.commands.BidEngineCommands.PlaceBidCommand;
+import com.example.liveauctions.commands.BidEngineCommands.PlaceBidReply;
+import com.example.liveauctions.commands.BidEngineCommands.ReloadAuctionCommand;
+import com.example.liveauctions.config.AuctionTimingProperties;
+import com.example.liveauctions.config.BidEngineProperties;
+import com.example.liveauctions.config.BidJournalProperties;
+import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.example.liveauctions.entity.Bid;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.exception.AuctionNotFoundException;
+import com.example.liveauctions.exception.InvalidAuctionStateException;
+import com.example.liveauctions.exception.InvalidBidException;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import com.example.liveauctions.service.LiveAuctionSchedulingService;
+import com.example.liveauctions.service.LiveBidEngine;
+import com.example.liveauctions.service.WebSocketEventPublisher;
+import com.example.liveauctions.utils.BidIncrementUtil;
+import com.example.liveauctions.utils.DateTimeUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.ListenerContainerConsumerFailedEvent;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveBidEngineImpl implements LiveBidEngine, RabbitListenerConfigurer {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final LiveAuctionRepository liveAuctionRepository;
+    private final LiveBidJournal bidJournal;
+    private final LiveAuctionSchedulingService schedulingService;
+    private final WebSocketEventPublisher webSocketEventPublisher;
+    private final RecentBidsBuffer recentBidsBuffer;
+    private final AuctionTimingProperties timing;
+    private final BidEngineProperties properties;
+    private final BidJournalProperties journalProperties;
+
+    private final Jackson2JsonMessageConverter commandConverter = new Jackson2JsonMessageConverter("com.example.liveauctions.*");
+
+    private static final long LOAD_TIMEOUT_SECONDS = 5;
+
+    // Only ACTIVE auctions are kept. Each entry is touched by exactly one shard thread.
+    private final Map<UUID, LiveAuction> books = new ConcurrentHashMap<>();
+    // Auctions being read from the DB, with the bids parked until they are in; also owned by the shard thread
+    private final Map<UUID, PendingLoad> loading = new ConcurrentHashMap<>();
+    // Finished loads, handed back to the shard thread by an AuctionLoadedCommand
+    private final Map<UUID, CompletableFuture<LiveAuction>> loaded = new ConcurrentHashMap<>();
+    private ExecutorService loader;
+
+    private record QueuedBid(PlaceBidCommand command, CompletableFuture<PlaceBidReply> reply) {}
+
+    private static final class PendingLoad {
+        private final List<QueuedBid> bids = new ArrayList<>();
+        private boolean publishOnLoad; // a journal write failed: viewers need the DB state
+    }
+
+    @PostConstruct
+    void start() {
+        loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "live-bid-engine-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        loader.shutdownNow();
+    }
+
+    // --- Submitting side (any node) ---
+
+    @Override
+    public void submitBid(UUID auctionId, String bidderId, String bidderUsername, BigDecimal amount) {
+        PlaceBidCommand command = new PlaceBidCommand(auctionId, bidderId, bidderUsername, amount);
+        PlaceBidReply reply = rabbitTemplate.convertSendAndReceiveAsType(
+                RabbitMqConfig.LIVE_BID_ENGINE_EXCHANGE,
+                RabbitMqConfig.LIVE_BID_ENGINE_ROUTING_KEY_PREFIX + shardOf(auctionId),
+                command,
+                new ParameterizedTypeReference<PlaceBidReply>() {});
+
+        if (reply == null) {
+            log.warn("[BidEngine] No reply from shard {} for bid on auction {}", shardOf(auctionId), auctionId);
+            throw new IllegalStateException("Could not process bid, please retry.");
+        }
+        if (reply.accepted()) {
+            return;
+        }
+        switch (reply.rejection()) {
+            case AUCTION_NOT_FOUND -> throw new AuctionNotFoundException(reply.message());
+            case INVALID_STATE -> throw new InvalidAuctionStateException(reply.message());
+            case INVALID_BID -> throw new InvalidBidException(reply.message());
+            default -> throw new IllegalStateException("Could not process bid, please retry.");
+        }
+    }
+
+    @Override
+    public void evict(UUID auctionId) {
+        if (books.remove(auctionId) != null) {
+            log.debug("[BidEngine] Evicted in-memory state for auction {}", auctionId);
+        }
+    }
+
+    @Override
+    public void awaitJournal() {
+        if (!properties.isEnabled()) {
+            return; // the lock paths write bids before acking them
+        }
+        // Queued behind the shard's earlier bids, so the owner barriers its journal only after accepting them
+        for (int shard = 0; shard < properties.getShards(); shard++) {
+            PlaceBidReply reply = rabbitTemplate.convertSendAndReceiveAsType(
+                    RabbitMqConfig.LIVE_BID_ENGINE_EXCHANGE,
+                    RabbitMqConfig.LIVE_BID_ENGINE_ROUTING_KEY_PREFIX + shard,
+                    new AwaitJournalCommand(),
+                    new ParameterizedTypeReference<PlaceBidReply>() {});
+            if (reply == null || !reply.accepted()) {
+                throw new IllegalStateException("Bid journal of shard " + shard + " did not confirm its pending bids");
+            }
+        }
+    }
+
+    private int shardOf(UUID auctionId) {
+        return Math.floorMod(auctionId.hashCode(), properties.getShards());
+    }
+
+    // --- Owning side (the node holding the shard's single active consumer) ---
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int shard = 0; shard < properties.getShards(); shard++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("live-bid-engine-shard-" + shard);
+            endpoint.setQueueNames(RabbitMqConfig.LIVE_BID_ENGINE_QUEUE_PREFIX + shard);
+            endpoint.setConcurrency("1"); // single writer per shard
+            endpoint.setMessageListener(this::onShardMessage);
+            registrar.registerEndpoint(endpoint);
+        }
+    }
+
+    /**
+     * Runs on the shard thread. The reply is sent when the future completes rather than on return,
+     * so in durable mode the shard keeps accepting bids while earlier ones wait for their batch.
+     */
+    private void onShardMessage(Message message) {
+        Object command = commandConverter.fromMessage(message);
+        if (command instanceof AuctionLoadedCommand loadedCommand) {
+            onAuctionLoaded(loadedCommand.auctionId());
+            return;
+        }
+        if (command instanceof ReloadAuctionCommand reload) {
+            onReload(reload.auctionId());
+            return;
+        }
+        MessageProperties request = message.getMessageProperties();
+        String replyTo = request.getReplyTo();
+        String correlationId = request.getCorrelationId() != null ? request.getCorrelationId() : request.getMessageId();
+
+        CompletableFuture<PlaceBidReply> result = command instanceof AwaitJournalCommand
+                ? bidJournal.barrier().handle((v, ex) -> ex == null
+                        ? PlaceBidReply.ok()
+                        : PlaceBidReply.rejected(BidRejection.ERROR, ex.getMessage()))
+                : handle((PlaceBidCommand) command);
+        result.thenAccept(reply -> {
+            if (replyTo == null) return;
+            MessageProperties props = new MessageProperties();
+            props.setCorrelationId(correlationId);
+            rabbitTemplate.send("", replyTo, commandConverter.toMessage(reply, props));
+        });
+    }
+
+    CompletableFuture<PlaceBidReply> handle(PlaceBidCommand command) {
+        LiveAuction auction = books.get(command.auctionId());
+        if (auction != null) {
+            return apply(command, auction);
+        }
+        // Cold auction: park the bid and load off the shard thread, so the shard's other auctions are not held up
+        CompletableFuture<PlaceBidReply> reply = new CompletableFuture<>();
+        pendingLoad(command.auctionId()).bids.add(new QueuedBid(command, reply));
+        return reply;
+    }
+
+    private CompletableFuture<PlaceBidReply> apply(PlaceBidCommand command, LiveAuction auction) {
+        try {
+            CompletableFuture<Void> persisted = accept(command, auction);
+            if (!journalProperties.isDurable()) {
+                return CompletableFuture.completedFuture(PlaceBidReply.ok());
+            }
+            return persisted.handle((v, ex) -> ex == null
+                    ? PlaceBidReply.ok()
+                    : PlaceBidReply.rejected(BidRejection.ERROR, "Bid could not be saved, please retry."));
+        } catch (AuctionNotFoundException e) {
+            return CompletableFuture.completedFuture(PlaceBidReply.rejected(BidRejection.AUCTION_NOT_FOUND, e.getMessage()));
+        } catch (InvalidAuctionStateException e) {
+            return CompletableFuture.completedFuture(PlaceBidReply.rejected(BidRejection.INVALID_STATE, e.getMessage()));
+        } catch (InvalidBidException e) {
+            return CompletableFuture.completedFuture(PlaceBidReply.rejected(BidRejection.INVALID_BID, e.getMessage()));
+        } catch (Exception e) {
+            log.error("[BidEngine] Unexpected failure handling bid on auction {}", command.auctionId(), e);
+            return CompletableFuture.completedFuture(PlaceBidReply.rejected(BidRejection.ERROR, e.getMessage()));
+        }
+    }
+
+    private CompletableFuture<Void> accept(PlaceBidCommand command, LiveAuction auction) {
+        UUID auctionId = command.auctionId();
+
+        // 1. Validations (same rules as the locked path)
+        if (auction.getStatus() != AuctionStatus.ACTIVE) {
+            throw new InvalidAuctionStateException("Auction is not active. Status: " + auction.getStatus());
+        }
+        if (LocalDateTime.now().isAfter(auction.getEndTime())) {
+            throw new InvalidAuctionStateException("Auction has already ended.");
+        }
+        if (auction.getSellerId().equals(command.bidderId())) {
+            throw new InvalidBidException("Seller cannot bid on their own auction.");
+        }
+        BigDecimal currentBid = auction.getCurrentBid() == null ? BigDecimal.ZERO : auction.getCurrentBid();
+        BigDecimal requiredAmount = (auction.getHighestBidderId() == null) ? auction.getStartPrice() : currentBid.add(auction.getCurrentBidIncrement());
+        if (command.amount().compareTo(requiredAmount) < 0) throw new InvalidBidException("Bid too low. Minimum required: " + requiredAmount);
+
+        // 2. Apply to in-memory state
+        Bid newBid = Bid.builder().liveAuctionId(auctionId).bidderId(command.bidderId())
+                .bidderUsernameSnapshot(command.bidderUsername()).amount(command.amount())
+                .bidTime(LocalDateTime.now()).build();
+
+        auction.setBidCount(auction.getBidCount() + 1);
+        auction.setCurrentBid(command.amount());
+        auction.setHighestBidderId(command.bidderId());
+        auction.setHighestBidderUsernameSnapshot(command.bidderUsername());
+        auction.setCurrentBidIncrement(BidIncrementUtil.getIncrement(auction.getCurrentBid()));
+
+        if (!auction.isReserveMet() && auction.getReservePrice() != null && auction.getCurrentBid().compareTo(auction.getReservePrice()) >= 0) {
+            auction.setReserveMet(true);
+            log.info("[BidEngine] Reserve price met for auction {}", auctionId);
+        }
+
+        boolean endTimeChanged = false;
+        AuctionTimingProperties.SoftClose sc = timing.getSoftClose();
+        long millisLeft = Duration.between(DateTimeUtil.roundToMicrosecond(LocalDateTime.now()), auction.getEndTime()).toMillis();
+        if (sc.isEnabled() && millisLeft > 0 && millisLeft <= sc.getThresholdSeconds() * 1_000L) {
+            auction.setEndTime(auction.getEndTime().plusSeconds(sc.getExtensionSeconds()));
+            endTimeChanged = true;
+            log.info("[BidEngine] Anti-sniping: extended auction {} by {}s to {}", auctionId, sc.getExtensionSeconds(), auction.getEndTime());
+        }
+
+        // 3. Hand off to the write-behind journal
+        CompletableFuture<Void> persisted = bidJournal.append(newBid, auction);
+        persisted.whenComplete((v, ex) -> {
+            if (ex != null) onJournalFailure(auctionId);
+        });
+        if (endTimeChanged) {
+            // The end listener's stale check reads endTime from the DB, so reschedule only once it is written
+            LiveAuction extended = copyOf(auction);
+            persisted.thenRun(() -> schedulingService.scheduleAuctionEnd(extended))
+                    .exceptionally(ex -> {
+                        log.error("[BidEngine] Could not reschedule end of auction {}: {}", auctionId, ex.getMessage());
+                        return null;
+                    });
+        }
+
+        // 4. Broadcast (durable mode: only once the bid is actually committed). The recent-bids ring is read by
+        // the details page as history, so it only ever gets written bids, in both modes.
+        if (journalProperties.isDurable()) {
+            LiveAuction snapshot = copyOf(auction);
+            persisted.thenRun(() -> webSocketEventPublisher.publishAuctionStateUpdate(snapshot, newBid));
+        } else {
+            webSocketEventPublisher.publishAuctionStateUpdate(auction, newBid);
+        }
+        persisted.thenRun(() -> recentBidsBuffer.push(newBid));
+        return persisted;
+    }
+
+    /** The broadcast runs later on the journal thread, so it must not see the shard's further mutations. */
+    private static LiveAuction copyOf(LiveAuction auction) {
+        return auction.toBuilder().build();
+    }
+
+    /** Shard thread: the load already running for the auction, or a new one. */
+    private PendingLoad pendingLoad(UUID auctionId) {
+        PendingLoad pending = loading.get(auctionId);
+        if (pending == null) {
+            pending = new PendingLoad();
+            loading.put(auctionId, pending);
+            startLoad(auctionId);
+        }
+        return pending;
+    }
+
+    private void startLoad(UUID auctionId) {
+        // A previous owner (possibly this node) may still have queued writes for this auction
+        CompletableFuture<LiveAuction> load = bidJournal.barrier()
+                .orTimeout(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .thenApplyAsync(v -> liveAuctionRepository.findById(auctionId)
+                        .orElseThrow(() -> new AuctionNotFoundException("Auction not found: " + auctionId)), loader);
+        load.whenComplete((auction, ex) -> {
+            loaded.put(auctionId, load);
+            try {
+                rabbitTemplate.convertAndSend(RabbitMqConfig.LIVE_BID_ENGINE_EXCHANGE,
+                        RabbitMqConfig.LIVE_BID_ENGINE_ROUTING_KEY_PREFIX + shardOf(auctionId),
+                        new AuctionLoadedCommand(auctionId));
+            } catch (Exception e) {
+                log.error("[BidEngine] Could not hand loaded auction {} back to its shard: {}", auctionId, e.getMessage());
+            }
+        });
+    }
+
+    /** Shard thread: the auction is read, so apply the bids parked for it in arrival order. */
+    private void onAuctionLoaded(UUID auctionId) {
+        CompletableFuture<LiveAuction> load = loaded.remove(auctionId);
+        PendingLoad pending = loading.remove(auctionId);
+        if (load == null || pending == null) {
+            return; // the shard changed hands while loading; the parked bids were already failed
+        }
+        LiveAuction auction;
+        try {
+            auction = load.join();
+        } catch (CompletionException e) {
+            PlaceBidReply reply = e.getCause() instanceof AuctionNotFoundException
+                    ? PlaceBidReply.rejected(BidRejection.AUCTION_NOT_FOUND, e.getCause().getMessage())
+                    : PlaceBidReply.rejected(BidRejection.ERROR, "Could not process bid, please retry.");
+            log.warn("[BidEngine] Loading auction {} failed: {}", auctionId, e.getCause().getMessage());
+            pending.bids.forEach(queued -> queued.reply().complete(reply));
+            return;
+        }
+        if (auction.getStatus() == AuctionStatus.ACTIVE) {
+            books.put(auctionId, auction);
+            log.debug("[BidEngine] Loaded auction {} into shard {}", auctionId, shardOf(auctionId));
+        }
+        if (pending.publishOnLoad) {
+            // Replaces what viewers were shown for bids that never reached the DB, ahead of any newer bid
+            webSocketEventPublisher.publishAuctionStateUpdate(auction, null);
+        }
+        for (QueuedBid queued : pending.bids) {
+            apply(queued.command(), auction).thenAccept(queued.reply()::complete);
+        }
+    }
+
+    /**
+     * Journal thread. The in-memory state is now ahead of the DB, so drop it and let the next bid reload it.
+     * In non-durable mode the bid was already acked and broadcast, so the shard also reloads right away and
+     * publishes the state the DB actually holds.
+     */
+    private void onJournalFailure(UUID auctionId) {
+        evict(auctionId);
+        if (journalProperties.isDurable()) {
+            return; // nothing was broadcast before the write
+        }
+        try {
+            rabbitTemplate.convertAndSend(RabbitMqConfig.LIVE_BID_ENGINE_EXCHANGE,
+                    RabbitMqConfig.LIVE_BID_ENGINE_ROUTING_KEY_PREFIX + shardOf(auctionId),
+                    new ReloadAuctionCommand(auctionId));
+        } catch (Exception e) {
+            log.error("[BidEngine] Could not request a reload of auction {} after a failed write: {}", auctionId, e.getMessage());
+        }
+    }
+
+    /** Shard thread. */
+    private void onReload(UUID auctionId) {
+        books.remove(auctionId);
+        pendingLoad(auctionId).publishOnLoad = true;
+    }
+
+    /** A lost consumer means a shard may have moved to another node; anything cached could now be stale. */
+    @EventListener(ListenerContainerConsumerFailedEvent.class)
+    public void onConsumerFailed() {
+        if (!books.isEmpty()) {
+            log.warn("[BidEngine] Listener consumer failed; dropping {} cached auctions", books.size());
+            books.clear();
+        }
+        // Bids parked on a load would otherwise wait for a hand-back this node may no longer receive
+        PlaceBidReply retry = PlaceBidReply.rejected(BidRejection.ERROR, "Could not process bid, please retry.");
+        loading.values().forEach(pending -> pending.bids.forEach(queued -> queued.reply().complete(retry)));
+        loading.clear();
+        loaded.clear();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.BidJournalProperties;
+import com.example.liveauctions.entity.Bid;
+import com.example.liveauctions.entity.LiveAuction;
+import com.example.liveauctions.repository.BidRepository;
+import com.example.liveauctions.repository.LiveAuctionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal for bids accepted by the in-memory bid engine.
+ * The engine appends and moves on; a single writer thread drains the bounded queue in batches
+ * (size or time threshold, whichever comes first) and commits each batch in one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveBidJournal {
+
+    private final BidRepository bidRepository;
+    private final BidderStandingTracker standingTracker;
+    private final LiveAuctionRepository liveAuctionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final BidJournalProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<Entry> queue;
+    private DistributionSummary batchSizes;
+    private Thread writer;
+    private volatile boolean running;
+
+    /** Auction fields as they were when the bid was accepted (the engine keeps mutating its copy). */
+    record AuctionState(UUID auctionId, BigDecimal currentBid, BigDecimal currentBidIncrement,
+                        String highestBidderId, String highestBidderUsername, int bidCount,
+                        LocalDateTime endTime, boolean reserveMet) {
+
+        static AuctionState of(LiveAuction auction) {
+            return new AuctionState(auction.getId(), auction.getCurrentBid(), auction.getCurrentBidIncrement(),
+                    auction.getHighestBidderId(), auction.getHighestBidderUsernameSnapshot(), auction.getBidCount(),
+                    auction.getEndTime(), auction.isReserveMet());
+        }
+    }
+
+    /** bid == null marks a barrier entry used only to wait for everything queued before it. */
+    private record Entry(Bid bid, AuctionState state, CompletableFuture<Void> persisted) {}
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        batchSizes = DistributionSummary.builder("auction.bid.journal.batch.size")
+                .description("Bids committed per journal flush")
+                .register(meterRegistry);
+        meterRegistry.gauge("auction.bid.journal.depth", queue, BlockingQueue::size);
+        alignIdGenerator();
+
+        running = true;
+        writer = new Thread(this::drainLoop, "live-bid-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the bid and the resulting auction state; the future completes once both are committed.
+     * Blocks the caller while the queue is full so a burst slows the engine instead of exhausting memory.
+     */
+    public CompletableFuture<Void> append(Bid bid, LiveAuction auction) {
+        CompletableFuture<Void> persisted = new CompletableFuture<>();
+        enqueue(new Entry(bid, AuctionState.of(auction), persisted));
+        return persisted;
+    }
+
+    /** Completes once every entry appended before this call has been persisted. */
+    public CompletableFuture<Void> barrier() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(new Entry(null, null, done));
+        return done;
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bid journal capacity", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[Journal] Unexpected error in writer loop: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** Keeps collecting until the batch is full or the oldest entry has waited flushIntervalMs. */
+    private void fillBatch(List<Entry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0) return;
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        List<Entry> writes = batch.stream().filter(e -> e.bid() != null).toList();
+        if (!writes.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> persist(writes));
+                writes.forEach(e -> e.persisted().complete(null));
+                batchSizes.record(writes.size());
+            } catch (Exception e) {
+                log.warn("[Journal] Batch of {} bids failed ({}), retrying one by one.", writes.size(), e.getMessage());
+                writes.forEach(this::persistSingle);
+            }
+        }
+        // Barriers complete only after everything queued ahead of them in this batch
+        batch.stream().filter(e -> e.bid() == null).forEach(e -> e.persisted().complete(null));
+    }
+
+    private void persist(List<Entry> writes) {
+        List<Bid> bids = writes.stream().map(Entry::bid).toList();
+        bidRepository.saveAll(bids);
+        standingTracker.record(bids);
+        // Only the last state per auction matters; the conditional update ignores anything older anyway
+        Map<UUID, AuctionState> latest = new LinkedHashMap<>();
+        writes.forEach(e -> latest.put(e.state().auctionId(), e.state()));
+        latest.values().forEach(s -> {
+            int updated = liveAuctionRepository.applyBidState(s.auctionId(), s.currentBid(), s.currentBidIncrement(),
+                    s.highestBidderId(), s.highestBidderUsername(), s.bidCount(), s.endTime(), s.reserveMet());
+            if (updated == 0) {
+                log.warn("[Journal] Auction {} was no longer ACTIVE (or already past {}) when bid state was flushed.",
+                        s.auctionId(), s.currentBid());
+            }
+        });
+    }
+
+    private void persistSingle(Entry entry) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> persist(List.of(entry)));
+            entry.persisted().complete(null);
+        } catch (Exception e) {
+            log.error("[Journal] Failed to persist bid {} on auction {}: {}",
+                    entry.bid().getAmount(), entry.state().auctionId(), e.getMessage(), e);
+            entry.persisted().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Bids used to be keyed by AUTO_INCREMENT; make sure the pooled generator starts above
+     * whatever is already in the table (pooled-lo: the stored value is the next block's first id).
+     */
+    private void alignIdGenerator() {
+        try {
+            long next = bidRepository.findMaxId() + 1;
+            jdbcTemplate.update("INSERT INTO bid_id_sequence (sequence_name, next_val) VALUES (?, ?) " +
+                    "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))", "bids", next);
+        } catch (Exception e) {
+            log.warn("[Journal] Could not align bid id generator: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(10_000);
+        // Anything the writer did not get to before the join timed out
+        List<Entry> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            flush(leftover);
+        }
+    }
+}
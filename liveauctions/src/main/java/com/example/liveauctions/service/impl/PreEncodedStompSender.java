@@ -0,0 +1,66 @@
+package com.example.liveauctions.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcast path for hot topics: the payload is encoded to JSON exactly once per node and the resulting
+ * byte[] is handed to the broker as-is (no message converter in between). The simple broker then shares
+ * that buffer across every subscriber message; only the per-session STOMP framing remains.
+ * Meters: stomp.broadcast.encode (time per encode) and stomp.broadcast.payload.bytes.
+ */
+@Component
+public class PreEncodedStompSender {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer encodeTimer;
+    private final DistributionSummary payloadBytes;
+
+    public PreEncodedStompSender(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper; // Boot's mapper, so dates etc. look the same as converter output
+        this.encodeTimer = Timer.builder("stomp.broadcast.encode")
+                .description("Time to JSON-encode one broadcast frame")
+                .register(meterRegistry);
+        this.payloadBytes = DistributionSummary.builder("stomp.broadcast.payload.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void send(String destination, Object payload) {
+        send(destination, encode(payload));
+    }
+
+    public void send(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true); // lets the template set the destination header without copying
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+
+    public byte[] encode(Object payload) {
+        long start = System.nanoTime();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            payloadBytes.record(json.length);
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not encode broadcast payload " + payload.getClass().getSimpleName(), e);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
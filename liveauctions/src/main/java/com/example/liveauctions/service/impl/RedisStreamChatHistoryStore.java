@@ -0,0 +1,227 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.ChatProperties;
+import com.example.liveauctions.dto.ChatMessageDto;
+import com.example.liveauctions.entity.ChatMessage;
+import com.example.liveauctions.repository.ChatMessageRepository;
+import com.example.liveauctions.service.ChatHistoryStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Chat history as one Redis stream per auction (chat:stream:{id}, one JSON field per entry). The archiver trims
+ * it to about historySize entries, but only ever entries it has already copied, so a busy room may run longer
+ * between runs. The entry id is the message id and the paging cursor; pages that reach past the trimmed head
+ * continue in the MySQL archive written by {@link ChatHistoryArchiver}.
+ */
+@Component
+@Slf4j
+public class RedisStreamChatHistoryStore implements ChatHistoryStore {
+
+    static final String STREAM_KEY_PREFIX = "chat:stream:";
+    static final String ACTIVE_STREAMS_KEY = "chat:streams";
+    private static final String FIELD = "m";
+    private static final int MAX_PAGE = 200;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatMessageRepository archive;
+    private final ChatProperties properties;
+
+    /** Parsed stream entry id, ordered like the stream */
+    record Cursor(long ms, long seq) implements Comparable<Cursor> {
+        static Cursor parse(String id) {
+            int dash = id.indexOf('-');
+            return dash < 0 ? new Cursor(Long.parseLong(id), 0)
+                    : new Cursor(Long.parseLong(id.substring(0, dash)), Long.parseLong(id.substring(dash + 1)));
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Comparator.comparingLong(Cursor::ms).thenComparingLong(Cursor::seq).compare(this, other);
+        }
+
+        @Override
+        public String toString() {
+            return ms + "-" + seq;
+        }
+    }
+
+    public RedisStreamChatHistoryStore(@Qualifier("viewerCountRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                       ObjectMapper objectMapper,
+                                       ChatMessageRepository archive,
+                                       ChatProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.archive = archive;
+        this.properties = properties;
+    }
+
+    static String streamKey(UUID auctionId) {
+        return STREAM_KEY_PREFIX + auctionId;
+    }
+
+    @Override
+    public void appendAll(Map<UUID, List<ChatMessageDto>> batches) {
+        List<Map.Entry<UUID, List<ChatMessageDto>>> rooms = new ArrayList<>(batches.entrySet());
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (Map.Entry<UUID, List<ChatMessageDto>> room : rooms) {
+                    String key = streamKey(room.getKey());
+                    for (ChatMessageDto message : room.getValue()) {
+                        operations.opsForStream().add(StreamRecords.newRecord().in(key).ofMap(Map.of(FIELD, toJson(message))));
+                    }
+                    operations.persist(key); // may have been left to expire when the room went quiet
+                    operations.opsForSet().add(ACTIVE_STREAMS_KEY, room.getKey().toString());
+                }
+                return null;
+            }
+        });
+        // Results come back in command order: one XADD per message, then PERSIST, SADD per room
+        int i = 0;
+        for (Map.Entry<UUID, List<ChatMessageDto>> room : rooms) {
+            for (ChatMessageDto message : room.getValue()) {
+                if (results.get(i++) instanceof RecordId id) {
+                    message.setId(id.getValue());
+                }
+            }
+            i += 2;
+        }
+    }
+
+    @Override
+    public List<ChatMessageDto> load(UUID auctionId, String beforeId, String afterId, int limit) {
+        int count = Math.min(Math.max(1, limit), MAX_PAGE);
+        if (afterId != null) {
+            return loadAfter(auctionId, Cursor.parse(afterId), count);
+        }
+        Range<String> range = beforeId == null ? Range.unbounded()
+                : Range.of(Range.Bound.unbounded(), Range.Bound.exclusive(Cursor.parse(beforeId).toString()));
+        List<ChatMessageDto> page = new ArrayList<>(toMessages(redisTemplate.opsForStream()
+                .reverseRange(streamKey(auctionId), range, Limit.limit().count(count))));
+        Collections.reverse(page);
+
+        if (page.size() < count) {
+            // The stream does not reach back far enough (trimmed or expired); continue in the archive
+            Cursor oldest = !page.isEmpty() ? Cursor.parse(page.get(0).getId())
+                    : beforeId != null ? Cursor.parse(beforeId) : new Cursor(Long.MAX_VALUE, Long.MAX_VALUE);
+            List<ChatMessageDto> older = archive.findOlderThan(auctionId, oldest.ms(), oldest.seq(),
+                            PageRequest.of(0, count - page.size())).stream()
+                    .map(this::fromArchive)
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+            Collections.reverse(older);
+            older.addAll(page);
+            page = older;
+        }
+        return page;
+    }
+
+    private List<ChatMessageDto> loadAfter(UUID auctionId, Cursor after, int count) {
+        List<ChatMessageDto> fromStream = readStream(auctionId, after.toString(), count);
+        List<MapRecord<String, Object, Object>> head = redisTemplate.opsForStream()
+                .range(streamKey(auctionId), Range.unbounded(), Limit.limit().count(1));
+        boolean streamCoversCursor = head != null && !head.isEmpty()
+                && Cursor.parse(head.get(0).getId().getValue()).compareTo(after) <= 0;
+        if (streamCoversCursor) {
+            return fromStream;
+        }
+        // Some of what the client missed was trimmed from the stream; merge with the archive
+        TreeMap<Cursor, ChatMessageDto> merged = new TreeMap<>();
+        archive.findNewerThan(auctionId, after.ms(), after.seq(), PageRequest.of(0, count))
+                .forEach(m -> merged.put(new Cursor(m.getStreamMs(), m.getStreamSeq()), fromArchive(m)));
+        fromStream.forEach(m -> merged.put(Cursor.parse(m.getId()), m));
+        return merged.values().stream().limit(count).toList();
+    }
+
+    /**
+     * Drops entries beyond the newest historySize, but none after {@code archivedUpTo}: anything the archiver
+     * has not copied yet stays in the stream however many messages arrived since its last run.
+     */
+    void trimArchived(UUID auctionId, String archivedUpTo) {
+        String key = streamKey(auctionId);
+        Long length = redisTemplate.opsForStream().size(key);
+        if (length == null || length <= properties.getHistorySize()) {
+            return;
+        }
+        List<MapRecord<String, Object, Object>> newest = redisTemplate.opsForStream()
+                .reverseRange(key, Range.unbounded(), Limit.limit().count(properties.getHistorySize()));
+        if (newest == null || newest.isEmpty()) {
+            return;
+        }
+        Cursor oldestKept = Cursor.parse(newest.get(newest.size() - 1).getId().getValue());
+        Cursor archived = Cursor.parse(archivedUpTo);
+        String minId = (oldestKept.compareTo(archived) < 0 ? oldestKept : archived).toString();
+        // XTRIM MINID removes only ids below minId; the typed API only offers MAXLEN
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM",
+                key.getBytes(StandardCharsets.UTF_8), "MINID".getBytes(StandardCharsets.UTF_8),
+                "~".getBytes(StandardCharsets.UTF_8), minId.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Entries strictly after {@code afterId} (or from the start when null), oldest first */
+    List<ChatMessageDto> readStream(UUID auctionId, String afterId, int count) {
+        Range<String> range = afterId == null ? Range.unbounded()
+                : Range.of(Range.Bound.exclusive(afterId), Range.Bound.unbounded());
+        return toMessages(redisTemplate.opsForStream().range(streamKey(auctionId), range, Limit.limit().count(count)));
+    }
+
+    private List<ChatMessageDto> toMessages(List<MapRecord<String, Object, Object>> records) {
+        if (records == null) {
+            return List.of();
+        }
+        List<ChatMessageDto> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                ChatMessageDto message = objectMapper.readValue(String.valueOf(record.getValue().get(FIELD)), ChatMessageDto.class);
+                message.setId(record.getId().getValue());
+                messages.add(message);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable chat entry {}: {}", record.getId(), e.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    private ChatMessageDto fromArchive(ChatMessage m) {
+        ChatMessageDto dto = new ChatMessageDto();
+        dto.setId(new Cursor(m.getStreamMs(), m.getStreamSeq()).toString());
+        dto.setAuctionId(m.getLiveAuctionId());
+        dto.setText(m.getText());
+        dto.setUsername(m.getUsername());
+        dto.setAvatarUrl(m.getAvatarUrl());
+        dto.setSeller(m.isSeller());
+        dto.setTimestamp(m.getSentAt());
+        return dto;
+    }
+
+    private String toJson(ChatMessageDto message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize chat message", e);
+        }
+    }
+}
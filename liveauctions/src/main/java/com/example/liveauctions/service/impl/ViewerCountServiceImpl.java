@@ -0,0 +1,284 @@
+package com.example.liveauctions.service.impl;
+
+import com.example.liveauctions.config.StompTopics;
+import com.example.liveauctions.config.ViewerCountProperties;
+import com.example.liveauctions.config.WebSocketBrokerProperties;
+import com.example.liveauctions.service.ViewerCountService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Viewer counting without a Redis round trip per join/leave. Each node counts its own sessions in memory and,
+ * once per sync interval, writes them to its hash viewers:node:{nodeId} (auctionId -> count) and reads the
+ * other live nodes' counts for the auctions it has viewers of, all in two pipelined round trips.
+ * Session ids are unique per node, so the per-node counts add up exactly (no HyperLogLog needed).
+ * Counts are broadcast at that cadence and only when they changed. A crashed node's hash expires and its
+ * entry in viewers:nodes is pruned, so its viewers drop out without any per-session cleanup.
+ */
+@Service
+@Slf4j
+public class ViewerCountServiceImpl implements ViewerCountService {
+
+    private static final String NODES_KEY = "viewers:nodes";
+    private static final String NODE_KEY_PREFIX = "viewers:node:";
+    private static final String BROADCAST_LOCK_PREFIX = "viewers:broadcast:";
+    // Keys of the previous per-session scheme; whatever a crashed node left behind is removed on startup
+    private static final List<String> LEGACY_KEY_PATTERNS = List.of("session:auctions:*", "viewers:auction:*");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PreEncodedStompSender stompSender;
+    private final ViewerCountProperties properties;
+    private final WebSocketBrokerProperties brokerProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // sessionId -> (subscriptionId -> auctionId)
+    private final Map<String, Map<String, UUID>> sessions = new ConcurrentHashMap<>();
+    // auctionId -> local sessions watching it
+    private final Map<UUID, Set<String>> localViewers = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> totals = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastBroadcast = new ConcurrentHashMap<>();
+    private final Set<UUID> forced = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+
+    public ViewerCountServiceImpl(@Qualifier("viewerCountRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                  PreEncodedStompSender stompSender,
+                                  ViewerCountProperties properties,
+                                  WebSocketBrokerProperties brokerProperties) {
+        this.redisTemplate = redisTemplate;
+        this.stompSender = stompSender;
+        this.properties = properties;
+        this.brokerProperties = brokerProperties;
+    }
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "viewer-count-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::removeLegacyKeys);
+        scheduler.scheduleWithFixedDelay(this::sync, properties.getSyncIntervalMs(),
+                properties.getSyncIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Viewer counting started for node {}", nodeId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            redisTemplate.delete(NODE_KEY_PREFIX + nodeId);
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+        } catch (Exception e) {
+            log.warn("Could not remove viewer counts of node {} on shutdown: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void joined(String sessionId, String subscriptionId, UUID auctionId) {
+        Map<String, UUID> subscriptions = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        synchronized (subscriptions) {
+            subscriptions.put(subscriptionId, auctionId);
+            localViewers.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        }
+    }
+
+    @Override
+    public void left(String sessionId, String subscriptionId) {
+        Map<String, UUID> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        synchronized (subscriptions) {
+            UUID auctionId = subscriptions.remove(subscriptionId);
+            if (auctionId != null && !subscriptions.containsValue(auctionId)) {
+                removeViewer(auctionId, sessionId);
+            }
+        }
+    }
+
+    @Override
+    public void sessionClosed(String sessionId) {
+        Map<String, UUID> subscriptions = sessions.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        synchronized (subscriptions) {
+            subscriptions.values().forEach(auctionId -> removeViewer(auctionId, sessionId));
+        }
+    }
+
+    @Override
+    public void requestBroadcast(UUID auctionId) {
+        forced.add(auctionId);
+    }
+
+    @Override
+    public long getViewerCount(UUID auctionId) {
+        return totals.getOrDefault(auctionId, 0L);
+    }
+
+    private void removeViewer(UUID auctionId, String sessionId) {
+        Set<String> viewers = localViewers.get(auctionId);
+        if (viewers != null) {
+            viewers.remove(sessionId);
+        }
+    }
+
+    private void sync() {
+        try {
+            Map<String, String> localCounts = new HashMap<>();
+            List<String> dropped = new ArrayList<>();
+            localViewers.forEach((auctionId, viewers) -> {
+                if (viewers.isEmpty()) {
+                    dropped.add(auctionId.toString());
+                } else {
+                    localCounts.put(auctionId.toString(), String.valueOf(viewers.size()));
+                }
+            });
+            List<String> watched = new ArrayList<>(localCounts.keySet());
+            forced.forEach(id -> {
+                if (!localCounts.containsKey(id.toString())) watched.add(id.toString());
+            });
+
+            List<String> liveNodes = publishLocalCounts(localCounts, dropped);
+            Map<UUID, Long> merged = readTotals(liveNodes, watched);
+            merged.forEach(this::broadcastIfChanged);
+
+            dropped.forEach(id -> {
+                UUID auctionId = UUID.fromString(id);
+                localViewers.computeIfPresent(auctionId, (k, viewers) -> viewers.isEmpty() ? null : viewers);
+                if (!localViewers.containsKey(auctionId)) {
+                    totals.remove(auctionId);
+                    lastBroadcast.remove(auctionId);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Viewer count sync failed: {}", e.getMessage());
+        }
+    }
+
+    /** One pipeline: this node's counts + heartbeat, pruning of dead nodes, and the list of live ones. */
+    @SuppressWarnings("unchecked")
+    private List<String> publishLocalCounts(Map<String, String> localCounts, List<String> dropped) {
+        long now = System.currentTimeMillis();
+        long staleBefore = now - TimeUnit.SECONDS.toMillis(properties.getNodeTtlSeconds());
+        String nodeKey = NODE_KEY_PREFIX + nodeId;
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                if (!localCounts.isEmpty()) {
+                    operations.opsForHash().putAll(nodeKey, localCounts);
+                }
+                if (!dropped.isEmpty()) {
+                    operations.opsForHash().delete(nodeKey, dropped.toArray());
+                }
+                operations.expire(nodeKey, Duration.ofSeconds(properties.getNodeTtlSeconds()));
+                operations.opsForZSet().add(NODES_KEY, nodeId, now);
+                operations.opsForZSet().removeRangeByScore(NODES_KEY, 0, staleBefore);
+                operations.opsForZSet().rangeByScore(NODES_KEY, staleBefore, Double.MAX_VALUE);
+                return null;
+            }
+        });
+        Object live = results.get(results.size() - 1);
+        return live instanceof Set<?> nodes ? new ArrayList<>((Set<String>) nodes) : List.of(nodeId);
+    }
+
+    /** One pipeline: HMGET of the watched auctions from every live node's hash, summed per auction. */
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Long> readTotals(List<String> liveNodes, List<String> watched) {
+        Map<UUID, Long> merged = new HashMap<>();
+        if (watched.isEmpty()) {
+            return merged;
+        }
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                liveNodes.forEach(node -> operations.opsForHash().multiGet(NODE_KEY_PREFIX + node, new ArrayList<>(watched)));
+                return null;
+            }
+        });
+        watched.forEach(id -> merged.put(UUID.fromString(id), 0L));
+        for (Object result : results) {
+            List<Object> counts = (List<Object>) result;
+            for (int i = 0; i < watched.size(); i++) {
+                Object count = counts.get(i);
+                if (count != null) {
+                    merged.merge(UUID.fromString(watched.get(i)), Long.parseLong(count.toString()), Long::sum);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private void broadcastIfChanged(UUID auctionId, long total) {
+        totals.put(auctionId, total);
+        boolean force = forced.remove(auctionId);
+        if (!force && Objects.equals(lastBroadcast.get(auctionId), total)) {
+            return;
+        }
+        lastBroadcast.put(auctionId, total);
+        // With the relay every node's send reaches every subscriber; let one node per interval do it
+        if (brokerProperties.isRelay() && !force && !Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(
+                BROADCAST_LOCK_PREFIX + auctionId, nodeId, Duration.ofMillis(properties.getSyncIntervalMs())))) {
+            return;
+        }
+        try {
+            stompSender.send(StompTopics.auctionViewers(auctionId), Map.of("count", total));
+        } catch (Exception e) {
+            log.error("Failed to broadcast viewer count for auction {}: {}", auctionId, e.getMessage(), e);
+        }
+    }
+
+    private void removeLegacyKeys() {
+        try {
+            long removed = 0;
+            for (String pattern : LEGACY_KEY_PATTERNS) {
+                List<String> keys = new ArrayList<>();
+                redisTemplate.execute((RedisCallback<Void>) connection -> {
+                    scanKeys(connection, pattern, keys);
+                    return null;
+                });
+                if (!keys.isEmpty()) {
+                    removed += Objects.requireNonNullElse(redisTemplate.delete(keys), 0L);
+                }
+            }
+            if (removed > 0) {
+                log.info("Removed {} stale viewer tracking keys from the per-session scheme", removed);
+            }
+        } catch (Exception e) {
+            log.warn("Could not remove stale viewer tracking keys: {}", e.getMessage());
+        }
+    }
+
+    private static void scanKeys(RedisConnection connection, String pattern, List<String> into) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            cursor.forEachRemaining(key -> into.add(new String(key, StandardCharsets.UTF_8)));
+        }
+    }
+}
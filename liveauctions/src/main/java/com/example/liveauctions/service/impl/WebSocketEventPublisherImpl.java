@@ -1,11 +1,13 @@
 package com.example.liveauctions.service.impl; // Or a dedicated publisher package
 
 import com.example.liveauctions.config.RabbitMqConfig;
+import com.example.liveauctions.config.WebSocketBrokerProperties;
 import com.example.liveauctions.entity.AuctionStatus;
 import com.example.liveauctions.entity.Bid;
 import com.example.liveauctions.dto.event.AuctionStateUpdateEvent;
 import com.example.liveauctions.entity.LiveAuction;
 import com.example.liveauctions.mapper.AuctionMapper;
+import com.example.liveauctions.search.AuctionSearchIndex;
 import com.example.liveauctions.service.WebSocketEventPublisher;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +27,9 @@ public class WebSocketEventPublisherImpl implements WebSocketEventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
     private final AuctionMapper auctionMapper;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionListingPublisher listingPublisher;
+    private final WebSocketBrokerProperties brokerProperties;
 
     @Override
     public void publishAuctionStateUpdate(LiveAuction auction, @Nullable Bid newBidEntity) {
@@ -31,6 +37,9 @@ public class WebSocketEventPublisherImpl implements WebSocketEventPublisher {
             log.warn("Attempted to publish state update for null auction.");
             return;
         }
+        // Every status change and accepted bid passes through here
+        searchIndex.index(auction);
+        listingPublisher.changed(auction);
 
         try {
             // Calculate dynamic fields needed for the state DTO
@@ -71,21 +80,36 @@ public class WebSocketEventPublisherImpl implements WebSocketEventPublisher {
                     .winningBid(auction.getStatus() == AuctionStatus.SOLD ? auction.getWinningBid() : null)
                     .build();
 
-            log.info("EVENT: {}", event);
+            boolean lifecycle = auction.getStatus() != AuctionStatus.ACTIVE;
+            // Lifecycle updates go to every node; plain bid updates only to nodes watching the auction
+            String routingKey = RabbitMqConfig.UPDATE_ROUTING_KEY_PREFIX + auction.getId()
+                    + (lifecycle ? RabbitMqConfig.UPDATE_LIFECYCLE_SUFFIX : "");
 
-            String routingKey = RabbitMqConfig.UPDATE_ROUTING_KEY_PREFIX + auction.getId();
-
-            rabbitTemplate.convertAndSend(
-                    RabbitMqConfig.AUCTION_EVENTS_EXCHANGE,
-                    routingKey,
-                    event
-            );
+            if (brokerProperties.isRelay()) {
+                // The auction's relay shard turns it into frames; no node watches plain updates in relay mode
+                rabbitTemplate.convertAndSend(
+                        RabbitMqConfig.AUCTION_STATE_RELAY_EXCHANGE,
+                        RabbitMqConfig.AUCTION_STATE_RELAY_ROUTING_KEY_PREFIX + relayShardOf(auction.getId()),
+                        event
+                );
+            }
+            if (lifecycle || !brokerProperties.isRelay()) {
+                rabbitTemplate.convertAndSend(
+                        RabbitMqConfig.AUCTION_EVENTS_EXCHANGE,
+                        routingKey,
+                        event
+                );
+            }
 
-            log.info("Published state update event for auction {} to exchange {} with key {}",
-                    auction.getId(), RabbitMqConfig.AUCTION_EVENTS_EXCHANGE, routingKey);
+            log.debug("Published state update event for auction {} (bid {}) with key {}",
+                    auction.getId(), auction.getCurrentBid(), routingKey);
 
         } catch (Exception e) {
             log.error("Failed to publish auction state update event for auction {}", auction.getId(), e);
         }
     }
+
+    private int relayShardOf(UUID auctionId) {
+        return Math.floorMod(auctionId.hashCode(), brokerProperties.getRelayShards());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.liveauctions.utils;
+
+import java.math.BigDecimal;
+
+public class BidIncrementUtil {
+
+    private static final BigDecimal[][] TIERS = {
+            // { lower bound (inclusive), increment } – descending
+            { new BigDecimal("50000000"), new BigDecimal("2000000") },
+            { new BigDecimal("20000000"), new BigDecimal("1000000") },
+            { new BigDecimal("10000000"), new BigDecimal("500000") },
+            { new BigDecimal("5000000"),  new BigDecimal("200000") },
+            { new BigDecimal("3000000"),  new BigDecimal("100000") },
+            { new BigDecimal("1000000"),  new BigDecimal("50000") },
+            { new BigDecimal("300000"),   new BigDecimal("10000") },
+            { new BigDecimal("100000"),   new BigDecimal("5000") },
+            { new BigDecimal("50000"),    new BigDecimal("1000") },
+    };
+
+    private static final BigDecimal LOWEST_INCREMENT = new BigDecimal("500"); // below 50 000
+
+    public static BigDecimal getIncrement(BigDecimal currentBid) {
+        // If no bids yet, treat as 0 so we pick the first tier
+        if (currentBid == null || currentBid.compareTo(BigDecimal.ZERO) <= 0) {
+            return LOWEST_INCREMENT;
+        }
+        for (BigDecimal[] tier : TIERS) {
+            if (currentBid.compareTo(tier[0]) >= 0) {
+                return tier[1];
+            }
+        }
+        return LOWEST_INCREMENT;
+    }
+}
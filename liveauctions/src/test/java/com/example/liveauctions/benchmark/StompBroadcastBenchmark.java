@@ -0,0 +1,154 @@
+package com.example.liveauctions.benchmark;
+
+import com.example.liveauctions.dto.LiveAuctionStateDto;
+import com.example.liveauctions.entity.AuctionStatus;
+import com.example.liveauctions.service.impl.PreEncodedStompSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one auction state broadcast against the number of subscribers, through the simple broker as the
+ * service runs it in SIMPLE mode. Each subscriber message is STOMP-framed the way the session handler does it,
+ * so the score covers encode, fan-out and framing; the socket write is left out.
+ * <ul>
+ *     <li>{@code converter}: SimpMessagingTemplate with the Jackson message converter, the path before
+ *     PreEncodedStompSender</li>
+ *     <li>{@code preEncoded}: PreEncodedStompSender, encode once and hand the broker a byte[]</li>
+ * </ul>
+ * Both encode once per send; the difference per subscriber is what framing allocates, which the GC profiler
+ * reports as gc.alloc.rate.norm. Not run by surefire. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.liveauctions.benchmark.StompBroadcastBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StompBroadcastBenchmark {
+
+    private static final String DESTINATION = "/topic/auctions.3f1b6a52-8a2d-4c43-9a4e-0b3b4f7d9e11";
+
+    @Param({"1", "10", "100", "1000"})
+    public int subscribers;
+
+    private final StompEncoder stompEncoder = new StompEncoder();
+    private SimpleBrokerMessageHandler broker;
+    private SimpMessagingTemplate converterTemplate;
+    private PreEncodedStompSender preEncodedSender;
+    private LiveAuctionStateDto state;
+    private long framedBytes;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // Stands in for the session handlers: frames every subscriber message like StompSubProtocolHandler
+        MessageChannel clientOutbound = (message, timeout) -> {
+            frame(message);
+            return true;
+        };
+        broker = new SimpleBrokerMessageHandler(new ExecutorSubscribableChannel(), clientOutbound,
+                new ExecutorSubscribableChannel(), List.of("/topic", "/queue"));
+        broker.start();
+        for (int i = 0; i < subscribers; i++) {
+            String sessionId = "session-" + i;
+            broker.handleMessage(control(SimpMessageType.CONNECT, sessionId, null));
+            broker.handleMessage(control(SimpMessageType.SUBSCRIBE, sessionId, DESTINATION));
+        }
+
+        MessageChannel toBroker = (message, timeout) -> {
+            broker.handleMessage(message);
+            return true;
+        };
+        converterTemplate = new SimpMessagingTemplate(toBroker);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        converterTemplate.setMessageConverter(converter);
+        preEncodedSender = new PreEncodedStompSender(new SimpMessagingTemplate(toBroker), objectMapper,
+                new SimpleMeterRegistry());
+
+        state = LiveAuctionStateDto.builder()
+                .auctionId(UUID.fromString("3f1b6a52-8a2d-4c43-9a4e-0b3b4f7d9e11"))
+                .status(AuctionStatus.ACTIVE)
+                .currentBid(new BigDecimal("1250000.00"))
+                .highestBidderId("7c9e6679-7425-40de-944b-e07fc1f90ae7")
+                .highestBidderUsername("collector42")
+                .nextBidAmount(new BigDecimal("1300000.00"))
+                .timeLeftMs(184_000)
+                .endTime(LocalDateTime.of(2026, 1, 1, 20, 0))
+                .reserveMet(true)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Benchmark
+    public long converter() {
+        converterTemplate.convertAndSend(DESTINATION, state);
+        return framedBytes;
+    }
+
+    @Benchmark
+    public long preEncoded() {
+        preEncodedSender.send(DESTINATION, state);
+        return framedBytes;
+    }
+
+    private void frame(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return; // CONNECT_ACK from setUp
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        accessor.updateStompCommandAsServerMessage();
+        Message<byte[]> stompMessage = MessageBuilder.createMessage((byte[]) message.getPayload(),
+                accessor.getMessageHeaders());
+        framedBytes += stompEncoder.encode(stompMessage).length;
+    }
+
+    private static Message<byte[]> control(SimpMessageType type, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (destination != null) {
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StompBroadcastBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.liveauctions.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Type;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes in relay mode against one RabbitMQ with the STOMP plugin: a frame sent by one node must reach a
+ * viewer connected to the other, which is what the relay is for. Only the STOMP configuration is started, not
+ * the whole service. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class StompBrokerRelayIntegrationTest {
+
+    private static final int STOMP_PORT = 61613;
+
+    private static RabbitMQContainer rabbit;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(WebSocketBrokerProperties.class)
+    @Import(WebSocketStompConfig.class)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    static class RelayNode {
+    }
+
+    @BeforeAll
+    static void startBrokerAndNodes() {
+        rabbit = new RabbitMQContainer("rabbitmq:3.13-management")
+                .withCopyToContainer(Transferable.of("[rabbitmq_management,rabbitmq_stomp]."),
+                        "/etc/rabbitmq/enabled_plugins");
+        rabbit.addExposedPort(STOMP_PORT);
+        rabbit.start();
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopAll() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+        if (rabbit != null) rabbit.stop();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(RelayNode.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.config.name=stomp-relay-test", // Not the service's application.yml
+                        "server.port=0",
+                        "FRONTEND_ORIGIN_URL=http://localhost",
+                        "websocket.broker.mode=relay",
+                        "websocket.broker.relay-host=" + rabbit.getHost(),
+                        "websocket.broker.relay-port=" + rabbit.getMappedPort(STOMP_PORT),
+                        "websocket.broker.client-login=" + rabbit.getAdminUsername(),
+                        "websocket.broker.client-passcode=" + rabbit.getAdminPassword(),
+                        "websocket.broker.system-login=" + rabbit.getAdminUsername(),
+                        "websocket.broker.system-passcode=" + rabbit.getAdminPassword())
+                .run();
+    }
+
+    @Test
+    void frameSentOnOneNodeReachesViewerOnAnother() throws Exception {
+        String destination = StompTopics.auctionState(UUID.randomUUID());
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new StringMessageConverter());
+        int portA = ((ServletWebServerApplicationContext) nodeA).getWebServer().getPort();
+        StompSession session = client.connectAsync("ws://localhost:" + portA + "/ws/websocket",
+                new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+        try {
+            session.subscribe(destination, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.add((String) payload);
+                }
+            });
+
+            // The subscription reaches RabbitMQ asynchronously, and the system connection of node B may still be
+            // coming up, so keep sending until the first frame arrives
+            SimpMessagingTemplate templateB = nodeB.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+            String frame = null;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (frame == null && System.nanoTime() < deadline) {
+                templateB.convertAndSend(destination, "state-from-node-b");
+                frame = received.poll(250, TimeUnit.MILLISECONDS);
+            }
+            assertThat(frame).isEqualTo("state-from-node-b");
+        } finally {
+            session.disconnect();
+            client.stop();
+        }
+    }
+}
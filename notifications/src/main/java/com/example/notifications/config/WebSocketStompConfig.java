@@ -1,5 +1,6 @@
 package com.example.notifications.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -9,8 +10,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 
 @Configuration
 @EnableWebSocketMessageBroker // Enables WebSocket message handling
+@RequiredArgsConstructor
 public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketBrokerProperties brokerProperties;
+
     @Value("${FRONTEND_ORIGIN_URL}")
     private String allowedOrigin;
 
@@ -31,7 +35,22 @@ public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
         // Use /user for user-specific messages (Spring targets specific sessions)
         // Use /queue as an alternative convention for point-to-point
         // Use /topic for broadcasts (less likely needed for direct notifications)
-        registry.enableSimpleBroker("/queue", "/user"); // Enable broker for user destinations
+        if (brokerProperties.isRelay()) {
+            // Per-session queues live in RabbitMQ (/user/queue/x -> /queue/x-user{sessionId}), so any node can deliver
+            registry.enableStompBrokerRelay("/queue", "/topic")
+                    .setRelayHost(brokerProperties.getRelayHost())
+                    .setRelayPort(brokerProperties.getRelayPort())
+                    .setVirtualHost(brokerProperties.getVirtualHost())
+                    .setClientLogin(brokerProperties.getClientLogin())
+                    .setClientPasscode(brokerProperties.getClientPasscode())
+                    .setSystemLogin(brokerProperties.getSystemLogin())
+                    .setSystemPasscode(brokerProperties.getSystemPasscode())
+                    // Only messages for users this node has no session for are re-broadcast to the other nodes
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            registry.enableSimpleBroker("/queue", "/user"); // Enable broker for user destinations
+        }
 
         // Prefix for messages sent FROM client TO server (e.g., if client sends a "mark as read" message)
         registry.setApplicationDestinationPrefixes("/app");
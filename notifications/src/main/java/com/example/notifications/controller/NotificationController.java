@@ -1,5 +1,6 @@
 package com.example.notifications.controller;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.notifications.dto.FollowingAuctionSummaryDto;
 import com.example.notifications.dto.NotificationDto; // DTO for response
 import com.example.notifications.dto.PagedResultDto;
@@ -36,6 +37,18 @@ public class NotificationController {
         return ResponseEntity.ok(notificationPage);
     }
 
+    // Keyset variant, picked when the request carries a cursor parameter (empty for the first page)
+    @GetMapping(value = "/my-notifications", params = "cursor")
+    public ResponseEntity<CursorPageDto<NotificationDto>> getUserNotificationsByCursor(
+            @RequestHeader(USER_ID_HEADER) String userId,
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        log.info("Fetching notifications for user {} by cursor (size={}, withTotal={})", userId, size, withTotal);
+        return ResponseEntity.ok(notificationService.getUserNotifications(userId, cursor, size, withTotal));
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<Map<String, Long>> getUnreadCount(
             @RequestHeader(USER_ID_HEADER) String userId
@@ -11,7 +11,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "user_notifications", schema = "notifications_schema", indexes = { // Use dedicated schema
         // Index for fetching user's notifications, prioritizing unread and newest
-        @Index(name = "idx_notification_user_read_time", columnList = "userId, isRead, createdAt DESC")
+        @Index(name = "idx_notification_user_read_time", columnList = "userId, isRead, createdAt DESC"),
+        // Index for the full history by cursor, read or not
+        @Index(name = "idx_notification_user_time", columnList = "userId, createdAt")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Notification {
@@ -3,12 +3,14 @@ package com.example.notifications.repository;
 import com.example.notifications.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -21,6 +23,31 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     Page<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
 
+    /**
+     * First page of the same history for keyset pagination. A Slice reads one row past the page
+     * instead of running a COUNT; the id breaks ties between notifications created in the same instant.
+     */
+    Slice<Notification> findByUserIdOrderByCreatedAtDescIdDesc(String userId, Pageable pageable);
+
+    /**
+     * Next page of the history, strictly after the last notification the client has seen.
+     */
+    @Query("""
+       SELECT n FROM Notification n
+        WHERE n.userId = :userId
+          AND (n.createdAt < :afterCreatedAt OR (n.createdAt = :afterCreatedAt AND n.id < :afterId))
+        ORDER BY n.createdAt DESC, n.id DESC
+       """)
+    Slice<Notification> findByUserIdAfter(@Param("userId") String userId,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    /**
+     * Counts all notifications of a user, for cursor pages that ask for a total.
+     */
+    long countByUserId(String userId);
+
     /**
      * Finds *unread* notifications for a specific user, ordered by creation date descending.
      * Useful for notification indicators or dropdowns.
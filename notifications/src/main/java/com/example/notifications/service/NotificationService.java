@@ -1,5 +1,6 @@
 package com.example.notifications.service;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.notifications.dto.FollowingAuctionSummaryDto;
 import com.example.notifications.dto.NotificationDto;
 import com.example.notifications.entity.AuctionStatus;
@@ -52,6 +53,8 @@ public interface NotificationService {
 
     Page<NotificationDto> getUserNotifications(String userId, Pageable pageable);
 
+    CursorPageDto<NotificationDto> getUserNotifications(String userId, String cursor, int size, boolean withTotal);
+
 
     long getUnreadNotificationCount(String userId);
 
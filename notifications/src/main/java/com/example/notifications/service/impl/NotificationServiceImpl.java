@@ -1,5 +1,7 @@
 package com.example.notifications.service.impl;
 
+import com.example.commons.paging.CursorPageDto;
+import com.example.commons.paging.KeysetCursor;
 import com.example.notifications.client.LiveAuctionServiceClient;
 import com.example.notifications.client.TimedAuctionServiceClient;
 import com.example.notifications.client.UserServiceClient;
@@ -22,7 +24,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.messaging.simp.SimpMessagingTemplate; // For WebSocket messages
 import org.springframework.stereotype.Service;
@@ -52,6 +56,8 @@ public class NotificationServiceImpl implements NotificationService {
     private final TimedAuctionServiceClient timedAuctionServiceClient;
     private final LiveAuctionServiceClient liveAuctionServiceClient;
 
+    private static final int MAX_NOTIFICATION_PAGE_SIZE = 100;
+
     private static final String TYPE_AUCTION_STARTED = "AUCTION_STARTED"; // Added for consistency
     private static final String TYPE_AUCTION_ENDED = "AUCTION_ENDED";
     private static final String TYPE_OUTBID = "AUCTION_OUTBID";
@@ -657,6 +663,36 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationPage.map(notificationMapper::mapEntityToDto); // Use a helper mapping function
     }
 
+    /**
+     * Retrieves one page of a user's notifications by keyset cursor, newest first.
+     * Each page costs the same however deep the client has scrolled, and no COUNT runs unless asked for.
+     *
+     * @param userId    The ID of the user whose notifications are being fetched.
+     * @param cursor    The nextCursor of the previous page; null or blank for the first page.
+     * @param size      Number of notifications per page.
+     * @param withTotal Whether to count the user's notifications along with the first page.
+     * @return The page, with a cursor for the next one (null on the last page).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<NotificationDto> getUserNotifications(String userId, String cursor, int size, boolean withTotal) {
+        log.debug("Service fetching notifications for user {} after cursor {} (size={})", userId, cursor, size);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size, MAX_NOTIFICATION_PAGE_SIZE));
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+
+        Slice<Notification> slice;
+        if (firstPage) {
+            slice = notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit);
+        } else {
+            KeysetCursor.Position<Long> after = KeysetCursor.decode(cursor, Long::valueOf);
+            slice = notificationRepository.findByUserIdAfter(userId, after.sortKey(), after.id(), limit);
+        }
+
+        Long total = firstPage && withTotal ? notificationRepository.countByUserId(userId) : null;
+        return KeysetCursor.toPage(slice, notificationMapper::mapEntityToDto,
+                Notification::getCreatedAt, Notification::getId, total);
+    }
+
     /**
      * Gets the count of unread notifications for a user.
      *
@@ -1,5 +1,6 @@
 package com.example.orders.controller;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.orders.dto.request.SellerDecisionDto;
 import com.example.orders.dto.response.OrderDetailDto;
 import com.example.orders.dto.response.OrderSummaryDto;
@@ -45,6 +46,18 @@ public class OrdersController {
         return ResponseEntity.ok(myOrders);
     }
 
+    // Keyset variant, picked when the request carries a cursor parameter (empty for the first page)
+    @GetMapping(value = "/my", params = "cursor")
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> getMyOrdersByCursor(
+            @RequestHeader(USER_ID_HEADER) String userId,
+            @RequestParam(name = "status", required = false) String statusFilter,
+            @RequestParam(name = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.info("User {} fetching their orders by cursor. Filter: {}, size: {}", userId, statusFilter, size);
+        return ResponseEntity.ok(orderService.getMyOrders(userId, statusFilter, cursor, size, withTotal));
+    }
+
     @GetMapping("/my-sales")
     public ResponseEntity<Page<OrderSummaryDto>> getMySales(
             @RequestHeader(USER_ID_HEADER) String sellerId, // This header now represents the sellerId
@@ -55,6 +68,17 @@ public class OrdersController {
         return ResponseEntity.ok(mySales);
     }
 
+    @GetMapping(value = "/my-sales", params = "cursor")
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> getMySalesByCursor(
+            @RequestHeader(USER_ID_HEADER) String sellerId,
+            @RequestParam(name = "status", required = false) String statusFilter,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.info("Seller {} fetching their sales by cursor. Filter: {}, size: {}", sellerId, statusFilter, size);
+        return ResponseEntity.ok(orderService.getMySales(sellerId, statusFilter, cursor, size, withTotal));
+    }
+
     @PostMapping("/my-sales/{orderId}/cancel")
     public ResponseEntity<Void> sellerCancelOrder(
             @PathVariable UUID orderId,
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders", schema = "order_service_schema")
+@Table(name = "orders", schema = "order_service_schema", indexes = {
+        // Keyset listings: the buyer's orders and the seller's sales, newest first
+        @Index(name = "idx_order_bidder_created", columnList = "currentBidderId, createdAt"),
+        @Index(name = "idx_order_seller_created", columnList = "sellerId, createdAt")
+})
 @Getter
 @Setter
 @NoArgsConstructor
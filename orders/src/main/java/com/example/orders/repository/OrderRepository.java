@@ -4,6 +4,7 @@ import com.example.orders.entity.Order;
 import com.example.orders.entity.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // For complex queries
 import org.springframework.data.jpa.repository.Modifying;
@@ -35,6 +36,59 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
 
     Page<Order> findByCurrentBidderId(String currentBidderId, Pageable pageable);
 
+    // --- Keyset listings, newest first: a Slice reads one row past the page instead of running a COUNT.
+    // A null afterCreatedAt starts at the top. ---
+
+    @Query("""
+       SELECT o FROM Order o
+        WHERE o.currentBidderId = :userId
+          AND (:statusesEmpty = TRUE OR o.orderStatus IN :statuses)
+          AND (:afterCreatedAt IS NULL
+               OR o.createdAt < :afterCreatedAt
+               OR (o.createdAt = :afterCreatedAt AND o.id < :afterId))
+        ORDER BY o.createdAt DESC, o.id DESC
+       """)
+    Slice<Order> findBuyerOrdersAfter(@Param("userId") String userId,
+                                      @Param("statuses") List<OrderStatus> statuses,
+                                      @Param("statusesEmpty") boolean statusesEmpty,
+                                      @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                      @Param("afterId") UUID afterId,
+                                      Pageable pageable);
+
+    @Query("""
+       SELECT COUNT(o) FROM Order o
+        WHERE o.currentBidderId = :userId
+          AND (:statusesEmpty = TRUE OR o.orderStatus IN :statuses)
+       """)
+    long countBuyerOrders(@Param("userId") String userId,
+                          @Param("statuses") List<OrderStatus> statuses,
+                          @Param("statusesEmpty") boolean statusesEmpty);
+
+    @Query("""
+       SELECT o FROM Order o
+        WHERE o.sellerId = :sellerId
+          AND (:statusesEmpty = TRUE OR o.orderStatus IN :statuses)
+          AND (:afterCreatedAt IS NULL
+               OR o.createdAt < :afterCreatedAt
+               OR (o.createdAt = :afterCreatedAt AND o.id < :afterId))
+        ORDER BY o.createdAt DESC, o.id DESC
+       """)
+    Slice<Order> findSellerOrdersAfter(@Param("sellerId") String sellerId,
+                                       @Param("statuses") List<OrderStatus> statuses,
+                                       @Param("statusesEmpty") boolean statusesEmpty,
+                                       @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
+    @Query("""
+       SELECT COUNT(o) FROM Order o
+        WHERE o.sellerId = :sellerId
+          AND (:statusesEmpty = TRUE OR o.orderStatus IN :statuses)
+       """)
+    long countSellerOrders(@Param("sellerId") String sellerId,
+                           @Param("statuses") List<OrderStatus> statuses,
+                           @Param("statusesEmpty") boolean statusesEmpty);
+
     @Modifying
     @Query("UPDATE Order o SET o.sellerUsernameSnapshot = :newUsername WHERE o.sellerId = :sellerId")
     int updateSellerUsernameSnapshot(@Param("sellerId") String sellerId, @Param("newUsername") String newUsername);
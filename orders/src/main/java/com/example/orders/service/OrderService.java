@@ -1,5 +1,6 @@
 package com.example.orders.service; // Suggested package
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.orders.dto.event.*;
 import com.example.orders.dto.request.SellerDecisionDto;
 import com.example.orders.dto.response.OrderDetailDto;
@@ -24,12 +25,16 @@ public interface OrderService {
 
     Page<OrderSummaryDto> getMyOrders(String userId, String statusFilter, Pageable pageable);
 
+    CursorPageDto<OrderSummaryDto> getMyOrders(String userId, String statusFilter, String cursor, int size, boolean withTotal);
+
     OrderDetailDto getOrderDetailsForUser(UUID orderId, String userId);
 
     void processBuyerCancelPaymentAttempt(UUID orderId, String buyerId);
 
     Page<OrderSummaryDto> getMySales(String sellerId, String statusFilter, Pageable pageable);
 
+    CursorPageDto<OrderSummaryDto> getMySales(String sellerId, String statusFilter, String cursor, int size, boolean withTotal);
+
     void processSellerInitiatedCancellation(UUID orderId, String sellerId, String reason);
 
     void confirmOrderFulfillment(UUID orderId, String sellerId);
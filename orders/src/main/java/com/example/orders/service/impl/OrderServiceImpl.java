@@ -1,5 +1,8 @@
 package com.example.orders.service.impl;
 
+import com.example.commons.paging.CursorPageDto;
+import com.example.commons.paging.KeysetCursor;
+import com.example.commons.scheduling.DurableTimerScheduler;
 import com.example.orders.client.UserServiceClient;
 import com.example.orders.client.dto.UserBasicInfoDto;
 import com.example.orders.commands.OrderWorkflowCommands.CheckPaymentTimeoutCommand;
@@ -20,7 +23,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,13 +40,17 @@ import java.util.*;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_LISTING_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderPaymentProperties paymentProperties;
     private final RabbitTemplate rabbitTemplate;
     private final OrderMapper orderMapper;
     private final UserServiceClient userServiceClient;
+    private final DurableTimerScheduler timerScheduler;
 
     private static final BigDecimal BUYER_PREMIUM_RATE = new BigDecimal("0.10");
+    private static final String PAYMENT_TIMEOUT_TIMER_PREFIX = "order:payment-timeout:";
 
     @Override
     @Transactional
@@ -451,56 +460,63 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public Page<OrderSummaryDto> getMyOrders(String userId, String statusFilterString, Pageable pageable) {
         log.debug("Fetching orders for user: {} with status filter string: {}", userId, statusFilterString);
-        Page<Order> ordersPage;
-
-        if (statusFilterString != null && !statusFilterString.equalsIgnoreCase("ALL") && !statusFilterString.isEmpty()) {
-            List<OrderStatus> targetStatuses = new ArrayList<>();
-            String filterKey = statusFilterString.toUpperCase(); // Match against uppercase keys
-
-            switch (filterKey) {
-                case "PENDING_PAYMENT": // Key from buyerOrderStatusFilters
-                    targetStatuses.add(OrderStatus.AWAITING_WINNER_PAYMENT);
-                    targetStatuses.add(OrderStatus.AWAITING_NEXT_BIDDER_PAYMENT);
-                    break;
-                case "PAYMENT_SUCCESSFUL":
-                    targetStatuses.add(OrderStatus.PAYMENT_SUCCESSFUL);
-                    break;
-                case "AWAITING_SHIPMENT": // Key from buyerOrderStatusFilters
-                    targetStatuses.add(OrderStatus.AWAITING_FULFILLMENT_CONFIRMATION);
-                    targetStatuses.add(OrderStatus.AWAITING_SHIPMENT);
-                    break;
-                case "COMPLETED":
-                    targetStatuses.add(OrderStatus.COMPLETED);
-                    break;
-                case "CANCELLED": // Key from buyerOrderStatusFilters
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_BY_SELLER);
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_NO_PAYMENT_FINAL);
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_SYSTEM);
-                    break;
-                default:
-                    // If it's not one of the special keys, try to parse as a direct OrderStatus enum
-                    try {
-                        targetStatuses.add(OrderStatus.valueOf(filterKey));
-                    } catch (IllegalArgumentException e) {
-                        log.warn("Invalid or unhandled status filter for getMyOrders: '{}'. Fetching all orders for user.", statusFilterString);
-                        ordersPage = orderRepository.findByCurrentBidderId(userId, pageable);
-                        return ordersPage.map(orderMapper::toOrderSummaryDto);
-                    }
-            }
-
-            if (!targetStatuses.isEmpty()) {
-                ordersPage = orderRepository.findByCurrentBidderIdAndOrderStatusIn(userId, targetStatuses, pageable);
-            } else {
-                log.warn("No target statuses determined for filter: '{}'. Fetching all orders for user.", statusFilterString);
-                ordersPage = orderRepository.findByCurrentBidderId(userId, pageable);
-            }
-        } else { // "ALL" or empty filter
-            ordersPage = orderRepository.findByCurrentBidderId(userId, pageable);
-        }
+        List<OrderStatus> targetStatuses = buyerStatusesFor(statusFilterString);
+        Page<Order> ordersPage = targetStatuses.isEmpty()
+                ? orderRepository.findByCurrentBidderId(userId, pageable)
+                : orderRepository.findByCurrentBidderIdAndOrderStatusIn(userId, targetStatuses, pageable);
         log.info("Fetched {} orders for user {} with filter '{}'", ordersPage.getTotalElements(), userId, statusFilterString);
         return ordersPage.map(orderMapper::toOrderSummaryDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderSummaryDto> getMyOrders(String userId, String statusFilterString,
+                                                      String cursor, int size, boolean withTotal) {
+        log.debug("Fetching orders for user: {} with status filter string: {} after cursor {}", userId, statusFilterString, cursor);
+        List<OrderStatus> targetStatuses = buyerStatusesFor(statusFilterString);
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+        KeysetCursor.Position<UUID> after = firstPage ? null : KeysetCursor.decode(cursor, UUID::fromString);
+        Slice<Order> slice = orderRepository.findBuyerOrdersAfter(
+                userId, targetStatuses, targetStatuses.isEmpty(),
+                after == null ? null : after.sortKey(),
+                after == null ? null : after.id(),
+                PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE)));
+        Long total = firstPage && withTotal
+                ? orderRepository.countBuyerOrders(userId, targetStatuses, targetStatuses.isEmpty())
+                : null;
+        return KeysetCursor.toPage(slice, orderMapper::toOrderSummaryDto, Order::getCreatedAt, Order::getId, total);
+    }
+
+    /** Buyer-side filter keys (buyerOrderStatusFilters) to order statuses; empty means every order. */
+    private List<OrderStatus> buyerStatusesFor(String statusFilterString) {
+        if (statusFilterString == null || statusFilterString.equalsIgnoreCase("ALL") || statusFilterString.isEmpty()) {
+            return List.of(); // "ALL" or empty filter
+        }
+        String filterKey = statusFilterString.toUpperCase(); // Match against uppercase keys
+        switch (filterKey) {
+            case "PENDING_PAYMENT": // Key from buyerOrderStatusFilters
+                return List.of(OrderStatus.AWAITING_WINNER_PAYMENT, OrderStatus.AWAITING_NEXT_BIDDER_PAYMENT);
+            case "PAYMENT_SUCCESSFUL":
+                return List.of(OrderStatus.PAYMENT_SUCCESSFUL);
+            case "AWAITING_SHIPMENT": // Key from buyerOrderStatusFilters
+                return List.of(OrderStatus.AWAITING_FULFILLMENT_CONFIRMATION, OrderStatus.AWAITING_SHIPMENT);
+            case "COMPLETED":
+                return List.of(OrderStatus.COMPLETED);
+            case "CANCELLED": // Key from buyerOrderStatusFilters
+                return List.of(OrderStatus.ORDER_CANCELLED_BY_SELLER,
+                        OrderStatus.ORDER_CANCELLED_NO_PAYMENT_FINAL,
+                        OrderStatus.ORDER_CANCELLED_SYSTEM);
+            default:
+                // If it's not one of the special keys, try to parse as a direct OrderStatus enum
+                try {
+                    return List.of(OrderStatus.valueOf(filterKey));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Invalid or unhandled status filter for getMyOrders: '{}'. Fetching all orders for user.", statusFilterString);
+                    return List.of();
+                }
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderDetailDto getOrderDetailsForUser(UUID orderId, String userId) {
@@ -577,61 +593,66 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public Page<OrderSummaryDto> getMySales(String sellerId, String statusFilterString, Pageable pageable) {
         log.debug("Fetching sales for seller: {} with status filter string: {}", sellerId, statusFilterString);
-        Page<Order> salesPage;
-
-        if (statusFilterString != null && !statusFilterString.equalsIgnoreCase("ALL") && !statusFilterString.isEmpty()) {
-            List<OrderStatus> targetStatuses = new ArrayList<>();
-            String filterKey = statusFilterString.toUpperCase(); // Match against uppercase keys
-
-            switch (filterKey) {
-                case "AWAITING_PAYMENT": // Key from sellerOrderStatusFilters
-                    targetStatuses.add(OrderStatus.AWAITING_WINNER_PAYMENT);
-                    targetStatuses.add(OrderStatus.AWAITING_NEXT_BIDDER_PAYMENT);
-                    break;
-                case "AWAITING_SELLER_DECISION":
-                    targetStatuses.add(OrderStatus.AWAITING_SELLER_DECISION);
-                    break;
-                case "PAYMENT_SUCCESSFUL": // Seller sees as "Khách Đã Thanh Toán"
-                    targetStatuses.add(OrderStatus.PAYMENT_SUCCESSFUL);
-                    break;
-                case "AWAITING_SHIPMENT": // Seller sees as "Chờ Giao Đi"
-                    targetStatuses.add(OrderStatus.AWAITING_FULFILLMENT_CONFIRMATION);
-                    targetStatuses.add(OrderStatus.AWAITING_SHIPMENT);
-                    break;
-                case "COMPLETED":
-                    targetStatuses.add(OrderStatus.COMPLETED);
-                    break;
-                case "ORDER_SUPERSEDED_BY_REOPEN": // Filter for this new status
-                    targetStatuses.add(OrderStatus.ORDER_SUPERSEDED_BY_REOPEN);
-                    break;
-                case "CANCELLED": // Key from sellerOrderStatusFilters
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_BY_SELLER);
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_NO_PAYMENT_FINAL);
-                    targetStatuses.add(OrderStatus.ORDER_CANCELLED_SYSTEM);
-                    break;
-
-                default:
-                    try {
-                        targetStatuses.add(OrderStatus.valueOf(filterKey));
-                    } catch (IllegalArgumentException e) {
-                        log.warn("Invalid or unhandled status filter for getMySales: '{}'. Fetching all sales for seller.", statusFilterString);
-                        salesPage = orderRepository.findBySellerId(sellerId, pageable);
-                        return salesPage.map(orderMapper::toOrderSummaryDto);
-                    }
-            }
-            if (!targetStatuses.isEmpty()) {
-                salesPage = orderRepository.findBySellerIdAndOrderStatusIn(sellerId, targetStatuses, pageable);
-            } else {
-                log.warn("No target statuses determined for filter: '{}'. Fetching all sales for seller.", statusFilterString);
-                salesPage = orderRepository.findBySellerId(sellerId, pageable);
-            }
-        } else { // "ALL" or empty filter
-            salesPage = orderRepository.findBySellerId(sellerId, pageable);
-        }
+        List<OrderStatus> targetStatuses = sellerStatusesFor(statusFilterString);
+        Page<Order> salesPage = targetStatuses.isEmpty()
+                ? orderRepository.findBySellerId(sellerId, pageable)
+                : orderRepository.findBySellerIdAndOrderStatusIn(sellerId, targetStatuses, pageable);
         log.info("Fetched {} sales for seller {} with filter '{}'", salesPage.getTotalElements(), sellerId, statusFilterString);
         return salesPage.map(orderMapper::toOrderSummaryDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderSummaryDto> getMySales(String sellerId, String statusFilterString,
+                                                     String cursor, int size, boolean withTotal) {
+        log.debug("Fetching sales for seller: {} with status filter string: {} after cursor {}", sellerId, statusFilterString, cursor);
+        List<OrderStatus> targetStatuses = sellerStatusesFor(statusFilterString);
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+        KeysetCursor.Position<UUID> after = firstPage ? null : KeysetCursor.decode(cursor, UUID::fromString);
+        Slice<Order> slice = orderRepository.findSellerOrdersAfter(
+                sellerId, targetStatuses, targetStatuses.isEmpty(),
+                after == null ? null : after.sortKey(),
+                after == null ? null : after.id(),
+                PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE)));
+        Long total = firstPage && withTotal
+                ? orderRepository.countSellerOrders(sellerId, targetStatuses, targetStatuses.isEmpty())
+                : null;
+        return KeysetCursor.toPage(slice, orderMapper::toOrderSummaryDto, Order::getCreatedAt, Order::getId, total);
+    }
+
+    /** Seller-side filter keys (sellerOrderStatusFilters) to order statuses; empty means every sale. */
+    private List<OrderStatus> sellerStatusesFor(String statusFilterString) {
+        if (statusFilterString == null || statusFilterString.equalsIgnoreCase("ALL") || statusFilterString.isEmpty()) {
+            return List.of(); // "ALL" or empty filter
+        }
+        String filterKey = statusFilterString.toUpperCase(); // Match against uppercase keys
+        switch (filterKey) {
+            case "AWAITING_PAYMENT": // Key from sellerOrderStatusFilters
+                return List.of(OrderStatus.AWAITING_WINNER_PAYMENT, OrderStatus.AWAITING_NEXT_BIDDER_PAYMENT);
+            case "AWAITING_SELLER_DECISION":
+                return List.of(OrderStatus.AWAITING_SELLER_DECISION);
+            case "PAYMENT_SUCCESSFUL": // Seller sees as "Khách Đã Thanh Toán"
+                return List.of(OrderStatus.PAYMENT_SUCCESSFUL);
+            case "AWAITING_SHIPMENT": // Seller sees as "Chờ Giao Đi"
+                return List.of(OrderStatus.AWAITING_FULFILLMENT_CONFIRMATION, OrderStatus.AWAITING_SHIPMENT);
+            case "COMPLETED":
+                return List.of(OrderStatus.COMPLETED);
+            case "ORDER_SUPERSEDED_BY_REOPEN": // Filter for this new status
+                return List.of(OrderStatus.ORDER_SUPERSEDED_BY_REOPEN);
+            case "CANCELLED": // Key from sellerOrderStatusFilters
+                return List.of(OrderStatus.ORDER_CANCELLED_BY_SELLER,
+                        OrderStatus.ORDER_CANCELLED_NO_PAYMENT_FINAL,
+                        OrderStatus.ORDER_CANCELLED_SYSTEM);
+            default:
+                try {
+                    return List.of(OrderStatus.valueOf(filterKey));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Invalid or unhandled status filter for getMySales: '{}'. Fetching all sales for seller.", statusFilterString);
+                    return List.of();
+                }
+        }
+    }
+
 
     @Override
     @Transactional
@@ -771,31 +792,17 @@ public class OrderServiceImpl implements OrderService {
     // --- Private Helper Methods for Publishing Events and Scheduling ---
 
     private void schedulePaymentTimeoutCheck(UUID orderId, LocalDateTime deadline, int attemptNumber) {
-        LocalDateTime roundedNow = DateTimeUtil.roundToMicrosecond(LocalDateTime.now());
-        long delayMillis = Duration.between(roundedNow, deadline).toMillis();
-
-        if (delayMillis > 0) {
-            CheckPaymentTimeoutCommand timeoutCommand = new CheckPaymentTimeoutCommand(orderId, deadline, attemptNumber);
-            log.info("Scheduling payment timeout check for order {} (attempt {}) in {} ms. Deadline: {}",
-                    orderId, attemptNumber, delayMillis, deadline);
-            try {
-                rabbitTemplate.convertAndSend(
-                        RabbitMqConfig.ORDERS_SCHEDULE_EXCHANGE,
-                        RabbitMqConfig.ORDER_PAYMENT_TIMEOUT_SCHEDULE_ROUTING_KEY,
-                        timeoutCommand,
-                        message -> {
-                            message.getMessageProperties().setHeader("x-delay", (int) Math.min(delayMillis, Integer.MAX_VALUE));
-                            return message;
-                        }
-                );
-            } catch (Exception e) {
-                log.error("Error scheduling payment timeout check for order {}: {}", orderId, e.getMessage(), e);
-            }
-        } else {
-            log.warn("Calculated payment timeout delay for order {} (attempt {}) was not positive ({}ms). Deadline: {}. Consider immediate check or error.",
-                    orderId, attemptNumber, delayMillis, deadline);
-            // TODO: Implement immediate timeout processing if deadline is already past.
+        CheckPaymentTimeoutCommand timeoutCommand = new CheckPaymentTimeoutCommand(orderId, deadline, attemptNumber);
+        log.info("Scheduling payment timeout check for order {} (attempt {}). Deadline: {}", orderId, attemptNumber, deadline);
+        if (!deadline.isAfter(LocalDateTime.now())) {
+            log.warn("Payment deadline for order {} (attempt {}) has already passed ({}). The timeout check will run immediately.",
+                    orderId, attemptNumber, deadline);
         }
+        // One timer per order: the next bidder's deadline replaces the previous attempt's timer in place
+        timerScheduler.schedule(PAYMENT_TIMEOUT_TIMER_PREFIX + orderId, deadline,
+                RabbitMqConfig.ORDERS_SCHEDULE_EXCHANGE,
+                RabbitMqConfig.ORDER_PAYMENT_TIMEOUT_SCHEDULE_ROUTING_KEY,
+                timeoutCommand);
     }
 
     // Called after initial order creation
@@ -14,6 +14,27 @@ public class RabbitMqConfig {
     public static final String ORDER_COMPLETED_ROUTING_KEY = "order.event.completed"; // Must match the publisher's routing key
     public static final String PRODUCT_SERVICE_ORDER_COMPLETED_QUEUE = "product_service_order_completed_queue";
 
+    // --- Product events (consumed by the auction services to refresh their product snapshots) ---
+    public static final String PRODUCT_EVENTS_EXCHANGE = "product_events_exchange";
+    public static final String PRODUCT_UPDATED_ROUTING_KEY = "product.event.updated";
+    public static final String PRODUCT_DELETED_ROUTING_KEY = "product.event.deleted";
+
+    // --- Auction listing events (live and timed, feeding the cross-type auction catalog) ---
+    public static final String AUCTION_LISTING_EVENTS_EXCHANGE = "auction_listing_events_exchange";
+    public static final String AUCTION_LISTING_ROUTING_PATTERN = "listing.#"; // listing.live.updated, listing.timed.updated
+    public static final String PRODUCT_SERVICE_AUCTION_LISTING_QUEUE = "product_service_auction_listing_queue";
+    // Replay requests to the auction services; one durable queue per service so a single node answers each
+    public static final String CATALOG_REPLAY_ROUTING_KEY_PREFIX = "catalog.replay."; // + live / timed
+    public static final String LIVE_CATALOG_REPLAY_ROUTING_KEY = CATALOG_REPLAY_ROUTING_KEY_PREFIX + "live";
+    public static final String TIMED_CATALOG_REPLAY_ROUTING_KEY = CATALOG_REPLAY_ROUTING_KEY_PREFIX + "timed";
+    public static final String LIVE_CATALOG_REPLAY_QUEUE = "live_auction_catalog_replay_queue";
+    public static final String TIMED_CATALOG_REPLAY_QUEUE = "timed_auction_catalog_replay_queue";
+
+    // --- User events (seller renames, applied to the catalog) ---
+    public static final String USER_EVENTS_EXCHANGE = "user_events_exchange";
+    public static final String USER_UPDATED_ROUTING_KEY = "user.event.profile.updated";
+    public static final String PRODUCT_SERVICE_USER_UPDATED_QUEUE = "product_service_user_updated_queue";
+
     // --- Dead Letter Exchange and Queue ---
     public static final String MAIN_DLX_EXCHANGE = "dlx.main_exchange"; // Dead Letter Exchange
     public static final String MAIN_DEAD_LETTER_QUEUE = "q.main_dead_letter_queue"; // General Dead Letter Queue
@@ -24,6 +45,21 @@ public class RabbitMqConfig {
         return new TopicExchange(ORDERS_EVENTS_EXCHANGE);
     }
 
+    @Bean
+    TopicExchange productEventsExchange() {
+        return ExchangeBuilder.topicExchange(PRODUCT_EVENTS_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    TopicExchange auctionListingEventsExchange() {
+        return ExchangeBuilder.topicExchange(AUCTION_LISTING_EVENTS_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    TopicExchange userEventsExchange() {
+        return ExchangeBuilder.topicExchange(USER_EVENTS_EXCHANGE).durable(true).build();
+    }
+
     @Bean
     public DirectExchange mainDlxExchange() {
         return ExchangeBuilder.directExchange(MAIN_DLX_EXCHANGE)
@@ -39,6 +75,35 @@ public class RabbitMqConfig {
                 .build();
     }
 
+    @Bean
+    Queue productServiceAuctionListingQueue() {
+        return QueueBuilder.durable(PRODUCT_SERVICE_AUCTION_LISTING_QUEUE)
+                .withArgument("x-dead-letter-exchange", MAIN_DLX_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", MAIN_DLQ_ROUTING_KEY)
+                .build();
+    }
+
+    @Bean
+    Queue productServiceUserUpdatedQueue() {
+        return QueueBuilder.durable(PRODUCT_SERVICE_USER_UPDATED_QUEUE)
+                .withArgument("x-dead-letter-exchange", MAIN_DLX_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", MAIN_DLQ_ROUTING_KEY)
+                .build();
+    }
+
+    /**
+     * The auction services own these queues; declaring them here too (same arguments) keeps a replay request
+     * sent before the first deploy of a consumer instead of dropping it as unroutable.
+     */
+    @Bean
+    Declarables catalogReplayQueues(TopicExchange auctionListingEventsExchange) {
+        Queue live = QueueBuilder.durable(LIVE_CATALOG_REPLAY_QUEUE).build();
+        Queue timed = QueueBuilder.durable(TIMED_CATALOG_REPLAY_QUEUE).build();
+        return new Declarables(live, timed,
+                BindingBuilder.bind(live).to(auctionListingEventsExchange).with(LIVE_CATALOG_REPLAY_ROUTING_KEY),
+                BindingBuilder.bind(timed).to(auctionListingEventsExchange).with(TIMED_CATALOG_REPLAY_ROUTING_KEY));
+    }
+
     @Bean
     public Queue mainDeadLetterQueue() {
         return QueueBuilder.durable(MAIN_DEAD_LETTER_QUEUE)
@@ -52,6 +117,20 @@ public class RabbitMqConfig {
                 .with(ORDER_COMPLETED_ROUTING_KEY);
     }
 
+    @Bean
+    Binding bindingProductServiceAuctionListing(Queue productServiceAuctionListingQueue, TopicExchange auctionListingEventsExchange) {
+        return BindingBuilder.bind(productServiceAuctionListingQueue)
+                .to(auctionListingEventsExchange)
+                .with(AUCTION_LISTING_ROUTING_PATTERN);
+    }
+
+    @Bean
+    Binding bindingProductServiceUserUpdated(Queue productServiceUserUpdatedQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(productServiceUserUpdatedQueue)
+                .to(userEventsExchange)
+                .with(USER_UPDATED_ROUTING_KEY);
+    }
+
     @Bean
     public Binding mainDeadLetterBinding(Queue mainDeadLetterQueue, DirectExchange mainDlxExchange) {
         return BindingBuilder.bind(mainDeadLetterQueue)
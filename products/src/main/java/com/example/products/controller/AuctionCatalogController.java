@@ -0,0 +1,43 @@
+package com.example.products.controller;
+
+import com.example.products.dto.AuctionCatalogSort;
+import com.example.products.dto.AuctionListingPageDto;
+import com.example.products.entity.AuctionType;
+import com.example.products.service.AuctionCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionCatalogController {
+
+    private final AuctionCatalogService auctionCatalogService;
+
+    // Live and timed auctions in one result list
+    @GetMapping("/auctions/search") // Maps to GET /api/products/auctions/search (via Gateway)
+    public ResponseEntity<AuctionListingPageDto> searchAuctions(
+            @RequestParam(value = "query", required = false) String query,
+            @RequestParam(value = "categoryIds", required = false) Set<Long> categoryIds,
+            @RequestParam(value = "type", required = false) AuctionType type, // LIVE or TIMED; both when absent
+            @RequestParam(value = "status", required = false) String status, // ACTIVE or SCHEDULED
+            @RequestParam(value = "ended", required = false) Boolean ended,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "sort", defaultValue = "RELEVANCE") AuctionCatalogSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "12") int size) {
+        log.info("Received GET /api/products/auctions/search query='{}', categories={}, type={}, status={}, ended={}, from={}, sort={}",
+                query, categoryIds, type, status, ended, from, sort);
+        return ResponseEntity.ok(auctionCatalogService.search(
+                query, categoryIds, type, status, ended, from, sort, cursor, size));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.products.dto;
+
+// Orderings of the cross-type auction search; each is read from an index on auction_listings
+public enum AuctionCatalogSort {
+    RELEVANCE,        // Best text match first; same as NEWEST without a query. Paging is best-effort, see the service
+    NEWEST,           // Latest start time first
+    STARTING_SOONEST, // Earliest start time first; scheduled auctions only, unless a status is given
+    ENDING_SOONEST,   // Active auctions only, unless a status is given
+    PRICE_LOW,
+    PRICE_HIGH,
+    MOST_BIDS
+}
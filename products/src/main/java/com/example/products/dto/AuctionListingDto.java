@@ -0,0 +1,28 @@
+package com.example.products.dto;
+
+import com.example.products.entity.AuctionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+// Field names follow the auction services' summary DTOs so the same auction cards can render either type
+@Value
+@Builder
+public class AuctionListingDto {
+    UUID id;
+    AuctionType auctionType;
+    String productTitleSnapshot;
+    String productImageUrlSnapshot;
+    String sellerUsernameSnapshot;
+    BigDecimal currentBid; // Current bid, or the start price before the first bid
+    BigDecimal startPrice;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    String status;
+    int bidCount;
+    Set<Long> categoryIds;
+}
@@ -0,0 +1,17 @@
+package com.example.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuctionListingPageDto {
+    private List<AuctionListingDto> content;
+    private String nextCursor; // Pass back to get the next page; null on the last one
+}
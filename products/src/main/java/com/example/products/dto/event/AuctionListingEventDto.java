@@ -0,0 +1,35 @@
+package com.example.products.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+// Mirror of the listing DTO published by LiveAuctionsService and TimedAuctionsService
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuctionListingEventDto {
+    private LocalDateTime eventTimestamp;
+
+    private UUID auctionId;
+    private String auctionType; // LIVE or TIMED
+    private Long productId;
+    private String sellerId;
+    private String sellerUsername;
+    private String title;
+    private String imageUrl;
+    private Set<Long> categoryIds;
+    private String status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal startPrice;
+    private BigDecimal currentBid; // Null until the first bid
+    private int bidCount;
+}
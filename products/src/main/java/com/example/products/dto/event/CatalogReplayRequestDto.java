@@ -0,0 +1,20 @@
+package com.example.products.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Asks an auction service to republish every auction's listing; sent when the catalog has none of its type
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogReplayRequestDto {
+    @Builder.Default
+    private LocalDateTime requestedAt = LocalDateTime.now();
+
+    private String auctionType; // LIVE or TIMED
+}
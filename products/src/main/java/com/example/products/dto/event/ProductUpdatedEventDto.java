@@ -0,0 +1,24 @@
+package com.example.products.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Published when a product's details change or it is deleted; consumers drop their cached copy
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUpdatedEventDto {
+    @Builder.Default
+    private UUID eventId = UUID.randomUUID();
+    @Builder.Default
+    private LocalDateTime eventTimestamp = LocalDateTime.now();
+
+    private Long productId;
+    private boolean deleted;
+}
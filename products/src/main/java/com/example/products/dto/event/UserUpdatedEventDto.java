@@ -0,0 +1,32 @@
+package com.example.products.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Mirror of UsersService's profile update event; the catalog only needs the id and the new username
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserUpdatedEventDto {
+    private UUID eventId;
+    private LocalDateTime eventTimestamp;
+
+    private UpdatedUser updatedUser;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class UpdatedUser {
+        private String id;
+        private String username;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.products.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One live or timed auction in the cross-type catalog, kept up to date from the auction services' listing events.
+ * Each sort key has a (stage, key) index for searches filtered by status and a key-only index for the "all"
+ * tab, which has no stage predicate; ending and starting soonest always have a stage (active and scheduled). Both end in the
+ * primary key, which is the cursor's tie-breaker. Title and categories also have the FULLTEXT index
+ * ft_auction_listings, added at startup since JPA cannot declare it.
+ */
+@Entity
+@Table(name = "auction_listings", schema = "product_schema", indexes = {
+        @Index(name = "idx_listing_stage_end", columnList = "stage, endTime"),      // Ending soonest
+        @Index(name = "idx_listing_stage_start", columnList = "stage, startTime"),  // Newest, starting soonest
+        @Index(name = "idx_listing_stage_price", columnList = "stage, price"),      // Price, either way
+        @Index(name = "idx_listing_stage_bids", columnList = "stage, bidCount"),    // Most bids
+        @Index(name = "idx_listing_start", columnList = "startTime"),               // Newest, any stage; also the "from" range
+        @Index(name = "idx_listing_price", columnList = "price"),                   // Price, any stage
+        @Index(name = "idx_listing_bids", columnList = "bidCount"),                 // Most bids, any stage
+        @Index(name = "idx_listing_product", columnList = "productId"),             // Product edits
+        @Index(name = "idx_listing_seller", columnList = "sellerId")                // Seller renames
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AuctionListing {
+
+    public static final int STAGE_SCHEDULED = 0;
+    public static final int STAGE_ACTIVE = 1;
+    public static final int STAGE_ENDED = 2;
+
+    @Id
+    @Column(name = "auction_id", updatable = false, nullable = false)
+    private UUID auctionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AuctionType auctionType;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private String sellerId;
+
+    private String sellerUsername;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1024)
+    private String imageUrl;
+
+    @Column(nullable = false, length = 1024)
+    private String categoryTokens; // "cat3 cat17", matched by the FULLTEXT index
+
+    @Column(nullable = false, length = 20)
+    private String status; // Status name as published by the owning service
+
+    @Column(nullable = false)
+    private int stage; // STAGE_*: status order, so updates arriving late never move a listing backwards
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal startPrice;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal currentBid;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal price; // Current bid, or the start price before the first bid
+
+    @Column(nullable = false)
+    private int bidCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package com.example.products.entity;
+
+public enum AuctionType {
+    LIVE,
+    TIMED
+}
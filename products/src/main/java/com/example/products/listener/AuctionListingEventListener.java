@@ -0,0 +1,34 @@
+package com.example.products.listener;
+
+import com.example.products.config.RabbitMqConfig;
+import com.example.products.dto.event.AuctionListingEventDto;
+import com.example.products.service.AuctionCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionListingEventListener {
+
+    private final AuctionCatalogService auctionCatalogService;
+
+    @RabbitListener(queues = RabbitMqConfig.PRODUCT_SERVICE_AUCTION_LISTING_QUEUE)
+    public void handleListing(AuctionListingEventDto event) {
+        if (event.getAuctionId() == null || event.getAuctionType() == null || event.getStatus() == null) {
+            log.warn("Discarding incomplete auction listing event: {}", event);
+            return;
+        }
+        log.debug("Catalog received {} listing for auction {} (status {}, bids {})",
+                event.getAuctionType(), event.getAuctionId(), event.getStatus(), event.getBidCount());
+        try {
+            auctionCatalogService.applyListing(event);
+        } catch (IllegalArgumentException e) {
+            // Unknown auction type; retrying will not help
+            throw new AmqpRejectAndDontRequeueException("Malformed listing for auction " + event.getAuctionId(), e);
+        }
+    }
+}
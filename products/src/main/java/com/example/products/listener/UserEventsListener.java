@@ -0,0 +1,27 @@
+package com.example.products.listener;
+
+import com.example.products.config.RabbitMqConfig;
+import com.example.products.dto.event.UserUpdatedEventDto;
+import com.example.products.service.AuctionCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventsListener {
+
+    private final AuctionCatalogService auctionCatalogService;
+
+    @RabbitListener(queues = RabbitMqConfig.PRODUCT_SERVICE_USER_UPDATED_QUEUE)
+    public void handleUserUpdatedEvent(UserUpdatedEventDto event) {
+        if (event == null || event.getUpdatedUser() == null || event.getUpdatedUser().getId() == null) {
+            log.error("Received invalid UserUpdatedEventDto: {}", event);
+            return;
+        }
+        log.info("Received UserUpdatedEvent for userId={}", event.getUpdatedUser().getId());
+        auctionCatalogService.sellerRenamed(event.getUpdatedUser().getId(), event.getUpdatedUser().getUsername());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.products.repository;
+
+import com.example.products.entity.AuctionListing;
+import com.example.products.entity.AuctionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface AuctionListingRepository extends JpaRepository<AuctionListing, UUID> {
+
+    /**
+     * Inserts the listing or merges it into the stored one. Listing updates for one auction can come from
+     * several nodes in any order, so the merge is monotonic: status only moves to a later stage, price and bid
+     * count only rise, and an active auction's end time only moves out. Title, image and categories are taken
+     * from the incoming row, which applyListing reads from the product itself. The seller's username is only
+     * filled in when missing: renames arrive through {@link #renameSeller}, and an auction's own snapshot of the
+     * name may be older than that. Stage goes last; the assignments before it compare against the stored stage.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO product_schema.auction_listings
+              (auction_id, auction_type, product_id, seller_id, seller_username, title, image_url, category_tokens,
+               status, stage, start_time, end_time, start_price, current_bid, price, bid_count, updated_at)
+       VALUES (:auctionId, :auctionType, :productId, :sellerId, :sellerUsername, :title, :imageUrl, :categoryTokens,
+               :status, :stage, :startTime, :endTime, :startPrice, :currentBid, :price, :bidCount, :updatedAt)
+       ON DUPLICATE KEY UPDATE
+           status = IF(VALUES(stage) > stage, VALUES(status), status),
+           start_time = IF(VALUES(stage) >= stage, VALUES(start_time), start_time),
+           end_time = IF(VALUES(stage) > stage, VALUES(end_time), GREATEST(end_time, VALUES(end_time))),
+           current_bid = IF(current_bid IS NULL OR VALUES(current_bid) > current_bid, VALUES(current_bid), current_bid),
+           price = GREATEST(price, VALUES(price)),
+           bid_count = GREATEST(bid_count, VALUES(bid_count)),
+           title = VALUES(title),
+           image_url = VALUES(image_url),
+           category_tokens = VALUES(category_tokens),
+           seller_username = COALESCE(seller_username, VALUES(seller_username)),
+           updated_at = VALUES(updated_at),
+           stage = GREATEST(stage, VALUES(stage))
+       """, nativeQuery = true)
+    int merge(@Param("auctionId") UUID auctionId,
+              @Param("auctionType") String auctionType,
+              @Param("productId") Long productId,
+              @Param("sellerId") String sellerId,
+              @Param("sellerUsername") String sellerUsername,
+              @Param("title") String title,
+              @Param("imageUrl") String imageUrl,
+              @Param("categoryTokens") String categoryTokens,
+              @Param("status") String status,
+              @Param("stage") int stage,
+              @Param("startTime") LocalDateTime startTime,
+              @Param("endTime") LocalDateTime endTime,
+              @Param("startPrice") BigDecimal startPrice,
+              @Param("currentBid") BigDecimal currentBid,
+              @Param("price") BigDecimal price,
+              @Param("bidCount") int bidCount,
+              @Param("updatedAt") LocalDateTime updatedAt);
+
+    /** Copies an edited product's title, first image and categories onto all of its auctions' listings. */
+    @Modifying
+    @Query(value = """
+       UPDATE product_schema.auction_listings
+          SET title = :title, image_url = :imageUrl, category_tokens = :categoryTokens
+        WHERE product_id = :productId
+       """, nativeQuery = true)
+    int refreshProduct(@Param("productId") Long productId,
+                       @Param("title") String title,
+                       @Param("imageUrl") String imageUrl,
+                       @Param("categoryTokens") String categoryTokens);
+
+    @Modifying
+    @Query(value = """
+       UPDATE product_schema.auction_listings
+          SET seller_username = :username
+        WHERE seller_id = :sellerId
+       """, nativeQuery = true)
+    int renameSeller(@Param("sellerId") String sellerId, @Param("username") String username);
+
+    boolean existsByAuctionType(AuctionType auctionType);
+}
@@ -0,0 +1,18 @@
+package com.example.products.service;
+
+import com.example.products.dto.AuctionCatalogSort;
+import com.example.products.dto.AuctionListingPageDto;
+import com.example.products.dto.event.AuctionListingEventDto;
+import com.example.products.entity.AuctionType;
+import com.example.products.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public interface AuctionCatalogService {
+    void applyListing(AuctionListingEventDto event);
+    void productChanged(Product product);
+    void sellerRenamed(String sellerId, String username);
+    AuctionListingPageDto search(String query, Set<Long> categoryIds, AuctionType type, String status, Boolean ended,
+                                 LocalDateTime from, AuctionCatalogSort sort, String cursor, int size);
+}
@@ -0,0 +1,331 @@
+package com.example.products.service.impl;
+
+import com.example.commons.paging.InvalidCursorException;
+import com.example.commons.search.FullTextSearch;
+import com.example.products.dto.AuctionCatalogSort;
+import com.example.products.dto.AuctionListingDto;
+import com.example.products.dto.AuctionListingPageDto;
+import com.example.products.config.RabbitMqConfig;
+import com.example.products.dto.event.AuctionListingEventDto;
+import com.example.products.dto.event.CatalogReplayRequestDto;
+import com.example.products.entity.AuctionListing;
+import com.example.products.entity.AuctionType;
+import com.example.products.entity.Category;
+import com.example.products.entity.Product;
+import com.example.products.repository.AuctionListingRepository;
+import com.example.products.repository.ProductRepository;
+import com.example.products.service.AuctionCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-type auction search. Live and timed auctions are kept in one table, auction_listings, from the listing
+ * events both auction services publish, and every search is a single query over it. Pages continue from an
+ * opaque (sort key, id) cursor instead of an offset.
+ * <p>
+ * Without text or categories, a page is read in the order of the sort key's index: (stage, key) when a status
+ * or "ended" is given (ending soonest always gets the active stage, starting soonest the scheduled one), the
+ * key-only index otherwise. Type and
+ * "from" are checked while walking that index; for a narrow "from" MySQL may instead sort just the rows in that
+ * start-time range. Neither sorts the whole table. With
+ * text or categories, MATCH picks the rows from the FULLTEXT index and only those matches are sorted. The index,
+ * query words and category tokens are the auction services' own FULLTEXT search ({@link FullTextSearch}).
+ * <p>
+ * Relevance pages are best-effort. The score is recomputed on every request and shifts as listings are added
+ * or change (term frequencies are table-wide), so a listing can move across the cursor between pages and be
+ * skipped or shown twice. Every other sort key is a stored column and pages over it are exact.
+ * <p>
+ * Title, image and categories come from this service's own products, so edits reach the catalog directly;
+ * seller usernames follow the users service's profile events. A type with no listings at all asks its auction
+ * service to replay every auction at startup, which seeds the catalog on first deploy.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionCatalogServiceImpl implements AuctionCatalogService {
+
+    private static final int MIN_TERM_LENGTH = 3; // innodb_ft_min_token_size
+    private static final int MAX_TERMS = 8;
+    private static final int MAX_PAGE_SIZE = 60;
+    private static final String MATCH = "MATCH(l.title, l.category_tokens) AGAINST (:against IN BOOLEAN MODE)";
+
+    private final AuctionListingRepository listingRepository;
+    private final ProductRepository productRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * SQL for one sort order: the key expression, its direction, and how its values are read back from a cursor.
+     * SCORE is rounded to a fixed scale so the cursor compares equal to what the next query computes for an
+     * unchanged index; once the index changes, the comparison is approximate.
+     */
+    private enum SortKey {
+        SCORE("CAST(" + MATCH + " AS DECIMAL(16,6))", false),
+        START_TIME("l.start_time", false),
+        START_TIME_ASC("l.start_time", true),
+        END_TIME("l.end_time", true),
+        PRICE_ASC("l.price", true),
+        PRICE_DESC("l.price", false),
+        BID_COUNT("l.bid_count", false);
+
+        final String expression;
+        final boolean ascending;
+
+        SortKey(String expression, boolean ascending) {
+            this.expression = expression;
+            this.ascending = ascending;
+        }
+
+        static SortKey of(AuctionCatalogSort sort, boolean hasText) {
+            return switch (sort) {
+                case RELEVANCE -> hasText ? SCORE : START_TIME;
+                case NEWEST -> START_TIME;
+                case STARTING_SOONEST -> START_TIME_ASC;
+                case ENDING_SOONEST -> END_TIME;
+                case PRICE_LOW -> PRICE_ASC;
+                case PRICE_HIGH -> PRICE_DESC;
+                case MOST_BIDS -> BID_COUNT;
+            };
+        }
+
+        Object read(ResultSet rs) throws SQLException {
+            return switch (this) {
+                case START_TIME, START_TIME_ASC, END_TIME -> rs.getTimestamp("sort_key").toLocalDateTime();
+                case BID_COUNT -> rs.getInt("sort_key");
+                default -> rs.getBigDecimal("sort_key");
+            };
+        }
+
+        Object parse(String value) {
+            return switch (this) {
+                case START_TIME, START_TIME_ASC, END_TIME -> LocalDateTime.parse(value);
+                case BID_COUNT -> Integer.parseInt(value);
+                default -> new BigDecimal(value);
+            };
+        }
+    }
+
+    private record Row(AuctionListingDto listing, Object sortKey) {}
+
+    // --- Startup ---
+
+    /** The FULLTEXT index on (title, category_tokens), built the same way as the auction services' own. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureFullTextIndex() {
+        try {
+            FullTextSearch.ensureIndex(jdbcTemplate, "product_schema", "auction_listings");
+        } catch (DataAccessException e) {
+            log.error("Could not create FULLTEXT index ft_auction_listings; text search will fail until it exists: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requestSeedIfEmpty() {
+        for (AuctionType type : AuctionType.values()) {
+            if (listingRepository.existsByAuctionType(type)) continue;
+            String routingKey = RabbitMqConfig.CATALOG_REPLAY_ROUTING_KEY_PREFIX + type.name().toLowerCase(Locale.ROOT);
+            try {
+                rabbitTemplate.convertAndSend(RabbitMqConfig.AUCTION_LISTING_EVENTS_EXCHANGE, routingKey,
+                        CatalogReplayRequestDto.builder().auctionType(type.name()).build());
+                log.info("Catalog has no {} listings; requested a replay via {}", type, routingKey);
+            } catch (AmqpException e) {
+                log.error("Could not request a {} catalog replay: {}", type, e.getMessage(), e);
+            }
+        }
+    }
+
+    // --- Writes ---
+
+    @Override
+    @Transactional
+    public void applyListing(AuctionListingEventDto event) {
+        BigDecimal price = event.getCurrentBid() != null ? event.getCurrentBid() : event.getStartPrice();
+        // The auction's product snapshot is taken at creation; the product row has the current values
+        Product product = event.getProductId() != null ? productRepository.findById(event.getProductId()).orElse(null) : null;
+        listingRepository.merge(
+                event.getAuctionId(),
+                AuctionType.valueOf(event.getAuctionType()).name(),
+                event.getProductId(),
+                event.getSellerId(),
+                event.getSellerUsername(),
+                product != null ? product.getTitle() : event.getTitle(),
+                product != null ? firstImage(product) : event.getImageUrl(),
+                FullTextSearch.categoryTokens(product != null ? categoryIds(product) : event.getCategoryIds()),
+                event.getStatus(),
+                stageOf(event.getStatus()),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.getStartPrice(),
+                event.getCurrentBid(),
+                price,
+                event.getBidCount(),
+                event.getEventTimestamp() != null ? event.getEventTimestamp() : LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void productChanged(Product product) {
+        int updated = listingRepository.refreshProduct(product.getId(), product.getTitle(), firstImage(product),
+                FullTextSearch.categoryTokens(categoryIds(product)));
+        if (updated > 0) log.debug("Refreshed {} catalog listings for product {}", updated, product.getId());
+    }
+
+    @Override
+    @Transactional
+    public void sellerRenamed(String sellerId, String username) {
+        if (username == null || username.isBlank()) return;
+        int updated = listingRepository.renameSeller(sellerId, username);
+        if (updated > 0) log.debug("Renamed seller {} on {} catalog listings", sellerId, updated);
+    }
+
+    private static String firstImage(Product product) {
+        return product.getImageUrls() == null || product.getImageUrls().isEmpty() ? null : product.getImageUrls().get(0);
+    }
+
+    private static Set<Long> categoryIds(Product product) {
+        return product.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
+    }
+
+    private static int stageOf(String status) {
+        return switch (status) {
+            case "SCHEDULED" -> AuctionListing.STAGE_SCHEDULED;
+            case "ACTIVE" -> AuctionListing.STAGE_ACTIVE;
+            default -> AuctionListing.STAGE_ENDED; // SOLD, RESERVE_NOT_MET, CANCELLED
+        };
+    }
+
+    // --- Reads ---
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuctionListingPageDto search(String query, Set<Long> categoryIds, AuctionType type, String status, Boolean ended,
+                                        LocalDateTime from, AuctionCatalogSort sort, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<String> terms = FullTextSearch.terms(query, MIN_TERM_LENGTH, MAX_TERMS);
+        AuctionCatalogSort requested = sort != null ? sort : AuctionCatalogSort.RELEVANCE;
+        SortKey sortKey = SortKey.of(requested, !terms.isEmpty());
+
+        String against = FullTextSearch.against(terms, categoryIds);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> where = new ArrayList<>();
+        if (!against.isEmpty()) {
+            params.addValue("against", against);
+            where.add(MATCH);
+        }
+        if (terms.isEmpty() && query != null && !query.isBlank()) {
+            // Only words below the index's minimum token size; nothing to MATCH on, so scan the title
+            params.addValue("like", "%" + FullTextSearch.escapeLike(query.trim()) + "%");
+            where.add("l.title LIKE :like");
+        }
+        Integer stage = Boolean.TRUE.equals(ended) ? Integer.valueOf(AuctionListing.STAGE_ENDED)
+                : status != null ? Integer.valueOf(stageOf(status)) : null;
+        if (stage == null && sortKey == SortKey.END_TIME) {
+            stage = AuctionListing.STAGE_ACTIVE; // Ending soonest means still running
+        } else if (stage == null && sortKey == SortKey.START_TIME_ASC) {
+            stage = AuctionListing.STAGE_SCHEDULED; // Starting soonest means not started yet
+        }
+        if (stage != null) {
+            params.addValue("stage", stage);
+            where.add("l.stage = :stage");
+        }
+        if (type != null) {
+            params.addValue("type", type.name());
+            where.add("l.auction_type = :type");
+        }
+        if (from != null) {
+            params.addValue("from", from);
+            where.add("l.start_time >= :from");
+        }
+        String direction = sortKey.ascending ? "ASC" : "DESC";
+        if (cursor != null && !cursor.isBlank()) {
+            String[] after = decodeCursor(cursor, sortKey);
+            params.addValue("afterKey", sortKey.parse(after[1]));
+            params.addValue("afterId", FullTextSearch.toBytes(UUID.fromString(after[2])));
+            String beyond = sortKey.ascending ? ">" : "<";
+            where.add("(" + sortKey.expression + " " + beyond + " :afterKey OR (" + sortKey.expression
+                    + " = :afterKey AND l.auction_id " + beyond + " :afterId))");
+        }
+        params.addValue("limit", limit + 1);
+
+        String sql = """
+                SELECT l.auction_id, l.auction_type, l.title, l.image_url, l.seller_username, l.category_tokens,
+                       l.status, l.start_time, l.end_time, l.start_price, l.price, l.bid_count,
+                       %s AS sort_key
+                  FROM product_schema.auction_listings l
+                """.formatted(sortKey.expression)
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY sort_key " + direction + ", l.auction_id " + direction + " LIMIT :limit";
+
+        List<Row> rows = namedJdbcTemplate.query(sql, params, (rs, i) -> new Row(toListing(rs), sortKey.read(rs)));
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Row last = rows.get(limit - 1);
+            nextCursor = encodeCursor(sortKey, last.sortKey(), last.listing().getId());
+        }
+        log.debug("Catalog search query='{}' sort={} returned {} listings", query, sortKey, rows.size());
+        return AuctionListingPageDto.builder()
+                .content(rows.stream().map(Row::listing).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static AuctionListingDto toListing(ResultSet rs) throws SQLException {
+        return AuctionListingDto.builder()
+                .id(FullTextSearch.fromBytes(rs.getBytes("auction_id")))
+                .auctionType(AuctionType.valueOf(rs.getString("auction_type")))
+                .productTitleSnapshot(rs.getString("title"))
+                .productImageUrlSnapshot(rs.getString("image_url"))
+                .sellerUsernameSnapshot(rs.getString("seller_username"))
+                .currentBid(rs.getBigDecimal("price"))
+                .startPrice(rs.getBigDecimal("start_price"))
+                .startTime(rs.getTimestamp("start_time").toLocalDateTime())
+                .endTime(rs.getTimestamp("end_time").toLocalDateTime())
+                .status(rs.getString("status"))
+                .bidCount(rs.getInt("bid_count"))
+                .categoryIds(FullTextSearch.categoryIds(rs.getString("category_tokens")))
+                .build();
+    }
+
+    // Cursor: the sort it belongs to, the last row's sort key and its id
+    private static String encodeCursor(SortKey sortKey, Object key, UUID id) {
+        String raw = sortKey.name() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, SortKey sortKey) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sortKey.name())) {
+                throw new IllegalArgumentException("cursor belongs to a different sort");
+            }
+            sortKey.parse(parts[1]);
+            UUID.fromString(parts[2]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 // src/main/java/com/example/products/service/productsImpl.java
 package com.example.products.service.impl;
 
+import com.example.products.config.RabbitMqConfig;
 import com.example.products.dto.CategoryDto;
 import com.example.products.dto.CreateProductDto;
 import com.example.products.dto.ProductDto;
 import com.example.products.dto.UpdateProductDto;
+import com.example.products.dto.event.ProductUpdatedEventDto;
 import com.example.products.entity.Category;
 import com.example.products.entity.Product;
 import com.example.products.exception.ProductNotFoundException;
@@ -12,14 +14,18 @@ import com.example.products.mapper.CategoryMapper;
 import com.example.products.mapper.ProductMapper;
 import com.example.products.repository.CategoryRepository;
 import com.example.products.repository.ProductRepository;
+import com.example.products.service.AuctionCatalogService;
 import com.example.products.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -35,6 +41,8 @@ public class ProductServiceImpl implements ProductService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final ProductMapper productMapper;
+    private final RabbitTemplate rabbitTemplate;
+    private final AuctionCatalogService auctionCatalogService;
 
 
     @Override
@@ -106,6 +114,8 @@ public class ProductServiceImpl implements ProductService {
         // 6. Save the updated entity
         Product updatedProduct = productRepository.save(existingProduct);
         log.info("Product ID: {} updated successfully for seller ID: {}", productId, sellerId);
+        auctionCatalogService.productChanged(updatedProduct);
+        publishProductUpdatedEvent(productId, false);
 
         // 7. Map back to DTO and return
         return productMapper.toProductDto(updatedProduct);
@@ -130,6 +140,7 @@ public class ProductServiceImpl implements ProductService {
 
         productRepository.delete(product);
         log.info("Product ID: {} deleted successfully by seller ID: {}", productId, sellerId);
+        publishProductUpdatedEvent(productId, true);
     }
 
     @Override
@@ -200,4 +211,24 @@ public class ProductServiceImpl implements ProductService {
         Page<Product> productsPage = productRepository.findAll(spec, pageable);
         return productsPage.map(productMapper::toProductDto);
     }
-}
\ No newline at end of file
+
+    // Sent after commit so a consumer that re-fetches on the event never reads the old row
+    private void publishProductUpdatedEvent(Long productId, boolean deleted) {
+        ProductUpdatedEventDto event = ProductUpdatedEventDto.builder()
+                .productId(productId)
+                .deleted(deleted)
+                .build();
+        String routingKey = deleted ? RabbitMqConfig.PRODUCT_DELETED_ROUTING_KEY : RabbitMqConfig.PRODUCT_UPDATED_ROUTING_KEY;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    log.info("Publishing ProductUpdatedEvent for product ID: {} (deleted: {})", productId, deleted);
+                    rabbitTemplate.convertAndSend(RabbitMqConfig.PRODUCT_EVENTS_EXCHANGE, routingKey, event);
+                } catch (Exception e) {
+                    log.error("Failed to publish ProductUpdatedEvent for product {}: {}", productId, e.getMessage());
+                }
+            }
+        });
+    }
+}
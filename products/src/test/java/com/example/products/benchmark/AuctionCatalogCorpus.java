@@ -0,0 +1,172 @@
+package com.example.products.benchmark;
+
+import com.example.commons.search.FullTextSearch;
+import com.example.products.entity.AuctionListing;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Synthetic auction catalog for latency measurements: fills product_schema.auction_listings with {@code size}
+ * listings from a fixed seed, so every run searches the same data.
+ * <p>
+ * Titles are three to six words. A few dozen common words ("vintage", "camera", ...) make up most of them, and
+ * the rest come from a long tail of generated words, so text queries range from very broad to very narrow.
+ * Listings are 10% scheduled, 20% active and 70% ended, half live and half timed, in up to three of 200
+ * categories, starting over the last two years and the next month.
+ * <p>
+ * The table is created with the columns and indexes Hibernate derives from {@link AuctionListing}; keep the two
+ * in step. A table that already holds {@code size} rows is reused as it is. The FULLTEXT index is left to the
+ * catalog's own startup, which is much faster on a full table than indexing row by row.
+ */
+public class AuctionCatalogCorpus {
+
+    private static final long SEED = 20_240_601L;
+    private static final int BATCH = 5_000;
+    private static final int CATEGORIES = 200;
+    private static final int TAIL_WORDS = 50_000;
+    private static final String[] COMMON_WORDS = {
+            "vintage", "camera", "watch", "leather", "gold", "silver", "antique", "guitar", "vinyl", "record",
+            "lens", "bicycle", "jacket", "painting", "signed", "rare", "edition", "limited", "collector", "mint",
+            "wooden", "chair", "table", "lamp", "ceramic", "vase", "ring", "necklace", "sneakers", "console",
+            "laptop", "phone", "keyboard", "comic", "poster", "coin", "stamp", "toy", "model", "train",
+            "classic", "retro", "original", "handmade", "brass", "porcelain", "print", "bag", "boots", "set"
+    };
+    private static final String[] ENDED_STATUSES = {"SOLD", "RESERVE_NOT_MET", "CANCELLED"};
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS product_schema.auction_listings (
+                auction_id BINARY(16) NOT NULL,
+                auction_type VARCHAR(10) NOT NULL,
+                product_id BIGINT NOT NULL,
+                seller_id VARCHAR(255) NOT NULL,
+                seller_username VARCHAR(255),
+                title VARCHAR(255) NOT NULL,
+                image_url VARCHAR(1024),
+                category_tokens VARCHAR(1024) NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                stage INT NOT NULL,
+                start_time DATETIME(6) NOT NULL,
+                end_time DATETIME(6) NOT NULL,
+                start_price DECIMAL(19,2) NOT NULL,
+                current_bid DECIMAL(19,2),
+                price DECIMAL(19,2) NOT NULL,
+                bid_count INT NOT NULL,
+                updated_at DATETIME(6) NOT NULL,
+                PRIMARY KEY (auction_id),
+                INDEX idx_listing_stage_end (stage, end_time),
+                INDEX idx_listing_stage_start (stage, start_time),
+                INDEX idx_listing_stage_price (stage, price),
+                INDEX idx_listing_stage_bids (stage, bid_count),
+                INDEX idx_listing_start (start_time),
+                INDEX idx_listing_price (price),
+                INDEX idx_listing_bids (bid_count),
+                INDEX idx_listing_product (product_id),
+                INDEX idx_listing_seller (seller_id)
+            ) ENGINE = InnoDB
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO product_schema.auction_listings
+                   (auction_id, auction_type, product_id, seller_id, seller_username, title, image_url,
+                    category_tokens, status, stage, start_time, end_time, start_price, current_bid, price,
+                    bid_count, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, NULL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(SEED);
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    public AuctionCatalogCorpus(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Creates and fills the table unless it already holds {@code size} listings. */
+    public void ensure(int size) {
+        jdbcTemplate.execute("CREATE DATABASE IF NOT EXISTS product_schema");
+        jdbcTemplate.execute(CREATE_TABLE);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_schema.auction_listings", Long.class);
+        if (existing != null && existing >= size) return;
+        jdbcTemplate.execute("TRUNCATE TABLE product_schema.auction_listings");
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < size; i++) {
+            batch.add(listing(i));
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(INSERT, batch);
+        System.out.printf("Generated %,d listings in %d s%n", size, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private Object[] listing(int i) {
+        int roll = random.nextInt(10);
+        int stage = roll == 0 ? AuctionListing.STAGE_SCHEDULED
+                : roll <= 2 ? AuctionListing.STAGE_ACTIVE : AuctionListing.STAGE_ENDED;
+        String status = switch (stage) {
+            case AuctionListing.STAGE_SCHEDULED -> "SCHEDULED";
+            case AuctionListing.STAGE_ACTIVE -> "ACTIVE";
+            default -> ENDED_STATUSES[random.nextInt(ENDED_STATUSES.length)];
+        };
+        LocalDateTime start = switch (stage) {
+            case AuctionListing.STAGE_SCHEDULED -> now.plusMinutes(1 + random.nextInt(30 * 24 * 60));
+            case AuctionListing.STAGE_ACTIVE -> now.minusMinutes(1 + random.nextInt(60));
+            default -> now.minusMinutes(24 * 60 + random.nextInt(730 * 24 * 60));
+        };
+        LocalDateTime end = stage == AuctionListing.STAGE_ACTIVE
+                ? now.plusMinutes(1 + random.nextInt(7 * 24 * 60))
+                : start.plusMinutes(60 + random.nextInt(7 * 24 * 60));
+        BigDecimal startPrice = BigDecimal.valueOf(1 + random.nextInt(2_000)).setScale(2, RoundingMode.UNNECESSARY);
+        int bidCount = stage == AuctionListing.STAGE_SCHEDULED ? 0 : (int) Math.round(Math.abs(random.nextGaussian()) * 12);
+        BigDecimal currentBid = bidCount == 0 ? null
+                : startPrice.multiply(BigDecimal.valueOf(1 + bidCount * 0.05)).setScale(2, RoundingMode.HALF_UP);
+        return new Object[]{
+                FullTextSearch.toBytes(new UUID(random.nextLong(), random.nextLong())),
+                random.nextBoolean() ? "LIVE" : "TIMED",
+                (long) i + 1,
+                "seller-" + random.nextInt(20_000),
+                "seller" + random.nextInt(20_000),
+                title(),
+                FullTextSearch.categoryTokens(categories()),
+                status,
+                stage,
+                Timestamp.valueOf(start),
+                Timestamp.valueOf(end),
+                startPrice,
+                currentBid,
+                currentBid != null ? currentBid : startPrice,
+                bidCount,
+                Timestamp.valueOf(now)
+        };
+    }
+
+    private String title() {
+        int words = 3 + random.nextInt(4);
+        StringJoiner title = new StringJoiner(" ");
+        for (int w = 0; w < words; w++) {
+            // Two words in three from the common set; the rest skewed towards the front of the tail
+            if (random.nextInt(3) < 2) {
+                title.add(COMMON_WORDS[random.nextInt(COMMON_WORDS.length)]);
+            } else {
+                int rank = (int) Math.min(TAIL_WORDS - 1, Math.floor(Math.pow(TAIL_WORDS, random.nextDouble())));
+                title.add("item" + Integer.toString(rank, 36));
+            }
+        }
+        return title.toString();
+    }
+
+    private Set<Long> categories() {
+        int count = 1 + random.nextInt(3);
+        Set<Long> categories = new HashSet<>();
+        while (categories.size() < count) categories.add(1L + random.nextInt(CATEGORIES));
+        return categories;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.products.benchmark;
+
+import com.example.products.dto.AuctionCatalogSort;
+import com.example.products.dto.AuctionListingPageDto;
+import com.example.products.service.impl.AuctionCatalogServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the cross-type catalog search over {@link AuctionCatalogCorpus}, 1M listings by default. Each
+ * benchmark runs {@link AuctionCatalogServiceImpl#search} itself, so the SQL, the indexes it picks and the
+ * FULLTEXT index built by the service's startup are what production runs.
+ * <ul>
+ *     <li>{@code firstPage}: one page of 24 for each query and sort</li>
+ *     <li>{@code deepPage}: page 40 of the same, reached by cursor in setup; it should cost what the first does</li>
+ * </ul>
+ * Queries cover no text (index walk only), a common word, two common words, a rare tail word and a word below
+ * the minimum token size, which falls back to LIKE. Sample mode reports p50/p99 per combination.
+ * <p>
+ * A MySQL 8 container is started unless {@code -Dcatalog.bench.url} (with {@code .user} and {@code .password})
+ * points at a server; generating the corpus takes a few minutes the first time, and a server that already has it
+ * skips that. Set {@code -Dcatalog.bench.size} for another size. Not run by surefire. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.products.benchmark.AuctionCatalogSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuctionCatalogSearchBenchmark {
+
+    private static final int PAGE_SIZE = 24;
+    private static final int DEEP_PAGE = 40;
+
+    @Param({"", "vintage", "vintage camera", "item1z", "tv"})
+    public String query;
+
+    @Param({"RELEVANCE", "NEWEST", "ENDING_SOONEST", "PRICE_LOW", "MOST_BIDS"})
+    public AuctionCatalogSort sort;
+
+    private MySQLContainer<?> mysql;
+    private HikariDataSource dataSource;
+    private AuctionCatalogServiceImpl catalog;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("catalog.bench.url");
+        dataSource = new HikariDataSource();
+        if (url != null) {
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(System.getProperty("catalog.bench.user", "root"));
+            dataSource.setPassword(System.getProperty("catalog.bench.password", ""));
+        } else {
+            mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("product_schema");
+            mysql.start();
+            dataSource.setJdbcUrl(mysql.getJdbcUrl());
+            dataSource.setUsername("root");
+            dataSource.setPassword(mysql.getPassword());
+        }
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new AuctionCatalogCorpus(jdbcTemplate).ensure(Integer.getInteger("catalog.bench.size", 1_000_000));
+        // Only search and the FULLTEXT bootstrap run here; neither touches the repositories or RabbitMQ
+        catalog = new AuctionCatalogServiceImpl(null, null, null, jdbcTemplate, new NamedParameterJdbcTemplate(dataSource));
+        catalog.ensureFullTextIndex();
+
+        String cursor = null;
+        for (int page = 1; page < DEEP_PAGE; page++) {
+            cursor = search(cursor).getNextCursor();
+            if (cursor == null) break;
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        if (mysql != null) mysql.stop();
+    }
+
+    @Benchmark
+    public AuctionListingPageDto firstPage() {
+        return search(null);
+    }
+
+    @Benchmark
+    public AuctionListingPageDto deepPage() {
+        return search(deepCursor); // Repeats the first page when there are fewer than DEEP_PAGE pages
+    }
+
+    private AuctionListingPageDto search(String cursor) {
+        return catalog.search(query, null, null, null, null, null, sort, cursor, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuctionCatalogSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.timedauctions.client;
+
+import com.example.timedauctions.client.dto.UserBanStatusDto;
+import com.example.timedauctions.client.dto.UserBasicInfoDto;
+import com.example.timedauctions.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Local near-cache in front of {@link UserServiceClient} for the bid hot path.
+ * Entries are kept fresh by the user events (see UserEventsListener); the TTLs only bound staleness
+ * if an event is missed. Failed lookups are never cached, so callers keep their fail-strict handling.
+ */
+@Component
+@Slf4j
+public class UserInfoCache {
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<String, UserBanStatusDto> banStatuses;
+    private final Cache<String, UserBasicInfoDto> basicInfos;
+
+    public UserInfoCache(UserServiceClient userServiceClient, UserCacheProperties properties) {
+        this.userServiceClient = userServiceClient;
+        this.banStatuses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getBanStatusTtlSeconds()))
+                .build();
+        this.basicInfos = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getBasicInfoTtlSeconds()))
+                .build();
+    }
+
+    public UserBanStatusDto getBanStatus(String userId) {
+        UserBanStatusDto cached = banStatuses.getIfPresent(userId);
+        if (cached != null && cached.isBanned() && cached.getBanEndsAt() != null
+                && LocalDateTime.now().isAfter(cached.getBanEndsAt())) {
+            banStatuses.invalidate(userId); // Ban has run out since we cached it
+            cached = null;
+        }
+        if (cached != null) {
+            return cached;
+        }
+        return banStatuses.get(userId, userServiceClient::getUserBanStatus);
+    }
+
+    /** @return the user's basic info, or null if UsersService does not know the id */
+    public UserBasicInfoDto getBasicInfo(String userId) {
+        UserBasicInfoDto cached = basicInfos.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserBasicInfoDto info = userServiceClient.getUsersBasicInfoByIds(Collections.singletonList(userId)).get(userId);
+        if (info != null) {
+            basicInfos.put(userId, info);
+        }
+        return info;
+    }
+
+    public void onUserBanned(String userId, LocalDateTime banEndsAt) {
+        UserBanStatusDto status = new UserBanStatusDto();
+        status.setBanned(banEndsAt != null && LocalDateTime.now().isBefore(banEndsAt));
+        status.setBanEndsAt(status.isBanned() ? banEndsAt : null);
+        banStatuses.put(userId, status);
+        log.debug("Ban status cache updated for user {} (banned until {})", userId, banEndsAt);
+    }
+
+    public void onUserUpdated(UserBasicInfoDto updatedUser) {
+        basicInfos.put(updatedUser.getId(), updatedUser);
+        log.debug("Basic info cache updated for user {}", updatedUser.getId());
+    }
+}
@@ -23,4 +23,15 @@ public class AuctionTimingProperties {
 
     @Min(1)
     private int softCloseExtensionMinutes = 5;
+
+    // Batch closing: end timers firing within this window are closed together
+    @Min(0)
+    private long closingWindowMs = 100;
+
+    @Min(1)
+    private int closingBatchSize = 500;
+
+    // Safety sweep for expired auctions whose end timer never reached the closer
+    @Min(1000)
+    private long closingSweepIntervalMs = 5000;
 }
\ No newline at end of file
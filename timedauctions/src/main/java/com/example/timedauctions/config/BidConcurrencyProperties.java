@@ -0,0 +1,37 @@
+package com.example.timedauctions.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "auction.bid-concurrency")
+@Getter @Setter
+@Validated
+public class BidConcurrencyProperties {
+
+    public enum Mode {
+        LOCK,       // Redisson lock per auction around placeMaxBid
+        OPTIMISTIC  // No lock; version-checked commit, re-run on conflict
+    }
+
+    @NotNull
+    private Mode mode = Mode.LOCK;
+
+    @Min(1)
+    private int maxAttempts = 5;
+
+    @Min(0)
+    private long retryBackoffMs = 5; // Multiplied by the attempt number
+
+    // LOCK mode: the lock only covers the bid transaction, so the lease can stay short
+    @Min(0)
+    private long lockWaitMs = 10_000;
+
+    @Min(1000)
+    private long lockLeaseMs = 5_000;
+}
@@ -0,0 +1,26 @@
+package com.example.timedauctions.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "auction.bid-journal")
+@Getter @Setter
+@Validated
+public class BidJournalProperties {
+
+    @Min(1)
+    private int capacity = 10_000; // Bounded queue; placeMaxBid blocks once it is full
+
+    @Min(1)
+    private int batchSize = 200; // Flush as soon as this many bids are waiting...
+
+    @Min(1)
+    private long flushIntervalMs = 20; // ...or once the oldest one is this old
+
+    private boolean durable = false; // true = placeMaxBid returns only after the visible bid is committed
+}
@@ -0,0 +1,27 @@
+package com.example.timedauctions.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "auction.details-cache")
+@Getter @Setter
+@Validated
+public class DetailsCacheProperties {
+
+    @Min(1)
+    private long productMaxSize = 10_000;
+
+    @Min(1)
+    private long productTtlSeconds = 3600; // Safety net only; edits and deletes arrive via ProductUpdatedEvent
+
+    @Min(1)
+    private int recentBids = 20; // Ring buffer length per auction
+
+    @Min(1)
+    private long recentBidsTtlMinutes = 60; // Idle buffers are dropped and re-warmed from the DB on the next read
+}
@@ -41,9 +41,28 @@ public class RabbitMqConfig {
     public static final String COMMENT_REPLIED_ROUTING_KEY = "comment.timed.replied";
     public static final String AUCTION_TIMED_REOPENED_ORDER_CREATED_ROUTING_KEY = "auction.timed.reopened_order.created";
 
+    // State pushes (td.auction.update.{auctionId}); every node relays them to its own WebSocket sessions
+    public static final String TD_UPDATE_ROUTING_KEY_PREFIX = "td.auction.update.";
+
     public static final String AUCTION_ENDED_ROUTING_KEY_PREFIX = "auction.";
     public static final String AUCTION_STARTED_ROUTING_KEY_PREFIX = "auction.";
 
+    // --- User events (published by UsersService), consumed to keep the user info cache fresh ---
+    public static final String USER_EVENTS_EXCHANGE = "user_events_exchange";
+    public static final String USER_BANNED_ROUTING_KEY = "user.event.banned";
+    public static final String USER_UPDATED_ROUTING_KEY = "user.event.profile.updated";
+
+    // --- Product Events (published by ProductsService) ---
+    public static final String PRODUCT_EVENTS_EXCHANGE = "product_events_exchange";
+    public static final String PRODUCT_EVENTS_ROUTING_PATTERN = "product.event.*"; // updated and deleted
+
+    // --- Auction listing events (consumed by the cross-type auction catalog in ProductsService) ---
+    public static final String AUCTION_LISTING_EVENTS_EXCHANGE = "auction_listing_events_exchange";
+    public static final String TIMED_LISTING_ROUTING_KEY = "listing.timed.updated";
+    // Sent by the catalog when it has no timed listings yet; ProductsService declares the same queue
+    public static final String CATALOG_REPLAY_ROUTING_KEY = "catalog.replay.timed";
+    public static final String CATALOG_REPLAY_QUEUE = "timed_auction_catalog_replay_queue";
+
     // --- Dead Letter Exchange and Queue ---
     public static final String MAIN_DLX_EXCHANGE = "dlx.main_exchange"; // Dead Letter Exchange
     public static final String MAIN_DEAD_LETTER_QUEUE = "q.main_dead_letter_queue"; // General Dead Letter Queue
@@ -65,7 +84,7 @@ public class RabbitMqConfig {
 
     @Bean
     TopicExchange tdAuctionEventsExchange() {
-        // If publishing internal events
+        // Auction state updates, fanned out to every node for WebSocket delivery
         return new TopicExchange(TD_AUCTION_EVENTS_EXCHANGE);
     }
 
@@ -170,6 +189,73 @@ public class RabbitMqConfig {
                 .with(TD_END_ROUTING_KEY); // Reuse same routing key
     }
 
+    @Bean
+    TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    TopicExchange productEventsExchange() {
+        return new TopicExchange(PRODUCT_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    TopicExchange auctionListingEventsExchange() {
+        return new TopicExchange(AUCTION_LISTING_EVENTS_EXCHANGE);
+    }
+
+    // Durable and shared by all nodes, so one node answers each replay request
+    @Bean
+    Queue catalogReplayQueue() {
+        return QueueBuilder.durable(CATALOG_REPLAY_QUEUE).build();
+    }
+
+    @Bean
+    Binding catalogReplayBinding(Queue catalogReplayQueue, TopicExchange auctionListingEventsExchange) {
+        return BindingBuilder.bind(catalogReplayQueue).to(auctionListingEventsExchange).with(CATALOG_REPLAY_ROUTING_KEY);
+    }
+
+    // Anonymous (per-node, auto-delete) queues: every instance must invalidate its own cache
+    @Bean
+    Queue userBannedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Queue userUpdatedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Queue productUpdatedCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Queue tdAuctionUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    Binding tdAuctionUpdatesBinding(Queue tdAuctionUpdatesQueue, TopicExchange tdAuctionEventsExchange) {
+        return BindingBuilder.bind(tdAuctionUpdatesQueue).to(tdAuctionEventsExchange).with(TD_UPDATE_ROUTING_KEY_PREFIX + "*");
+    }
+
+    @Bean
+    Binding userBannedCacheBinding(Queue userBannedCacheQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userBannedCacheQueue).to(userEventsExchange).with(USER_BANNED_ROUTING_KEY);
+    }
+
+    @Bean
+    Binding userUpdatedCacheBinding(Queue userUpdatedCacheQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userUpdatedCacheQueue).to(userEventsExchange).with(USER_UPDATED_ROUTING_KEY);
+    }
+
+    @Bean
+    Binding productUpdatedCacheBinding(Queue productUpdatedCacheQueue, TopicExchange productEventsExchange) {
+        return BindingBuilder.bind(productUpdatedCacheQueue).to(productEventsExchange).with(PRODUCT_EVENTS_ROUTING_PATTERN);
+    }
+
     @Bean
     public Binding mainDeadLetterBinding(Queue mainDeadLetterQueue, DirectExchange mainDlxExchange) {
         return BindingBuilder.bind(mainDeadLetterQueue)
@@ -0,0 +1,33 @@
+package com.example.timedauctions.config;
+
+import com.example.commons.search.SearchIndexSettings;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "auction.search")
+@Getter @Setter
+@Validated
+public class SearchProperties implements SearchIndexSettings {
+
+    @Min(1)
+    private int minTermLength = 3; // Keep at innodb_ft_min_token_size; shorter words are not in the index
+
+    @Min(1)
+    private int maxTerms = 8; // Extra words in a query are dropped
+
+    @Min(1)
+    private int maxPageSize = 60;
+
+    @Min(1)
+    private long indexedStateCacheSize = 100_000; // Auctions whose last indexed state this node remembers
+
+    @Min(50)
+    private long catalogFlushIntervalMs = 500; // Listing updates are coalesced per auction for this long
+
+    private boolean catalogReplayOnStartup = false; // Force a full replay at startup; an empty catalog requests one itself
+}
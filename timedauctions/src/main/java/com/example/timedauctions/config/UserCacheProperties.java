@@ -0,0 +1,24 @@
+package com.example.timedauctions.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "auction.user-cache")
+@Getter @Setter
+@Validated
+public class UserCacheProperties {
+
+    @Min(1)
+    private long maxSize = 50_000;
+
+    @Min(1)
+    private long banStatusTtlSeconds = 60; // Safety net only; bans arrive via UserBannedEvent
+
+    @Min(1)
+    private long basicInfoTtlSeconds = 600; // Safety net only; profile changes arrive via UserUpdatedEvent
+}
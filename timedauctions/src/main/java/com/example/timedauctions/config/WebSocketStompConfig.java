@@ -17,7 +17,7 @@ public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
 
-        registry.addEndpoint("/ws")
+        registry.addEndpoint("/ws/timedauctions") // The gateway routes the bare /ws to liveauctions
                 .addInterceptors(new UserIdHandshakeInterceptor())
                 .setAllowedOrigins(allowedOrigin) // Your frontend origin
                 .withSockJS(); // Use SockJS fallback options
@@ -1,5 +1,6 @@
 package com.example.timedauctions.controller;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.timedauctions.dto.*;
 import com.example.timedauctions.entity.AuctionStatus;
 import com.example.timedauctions.service.TimedAuctionService;
@@ -55,6 +56,17 @@ public class TimedAuctionController {
         return ResponseEntity.ok(auctionPage);
     }
 
+    // Keyset variant, picked when the request carries a cursor parameter (empty for the first page)
+    @GetMapping(value = "/timed-auctions", params = "cursor")
+    public ResponseEntity<CursorPageDto<TimedAuctionSummaryDto>> getActiveTimedAuctionsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "12") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        log.info("Fetching active timed auctions by cursor (size={}, withTotal={})", size, withTotal);
+        return ResponseEntity.ok(timedAuctionService.getActiveAuctions(cursor, size, withTotal));
+    }
+
     @GetMapping("/my-auctions") // Maps to GET /api/timed-auctions/my-auctions
     public ResponseEntity<Page<TimedAuctionSummaryDto>> getSellerAuctions(
             @RequestHeader(USER_ID_HEADER) String sellerId,
@@ -88,6 +100,28 @@ public class TimedAuctionController {
         return ResponseEntity.ok(page);
     }
 
+    @GetMapping(value = "/my-auctions", params = "cursor")
+    public ResponseEntity<CursorPageDto<TimedAuctionSummaryDto>> getSellerAuctionsByCursor(
+            @RequestHeader(USER_ID_HEADER) String sellerId,
+            @RequestParam(value = "status", required = false) AuctionStatus status,
+            @RequestParam(value = "ended", required = false) Boolean ended,
+            @RequestParam(value = "categoryIds", required = false) Set<Long> categoryIds,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        log.info("Seller {} fetching their TIMED auctions by cursor (status={}, ended={}, cats={}, from={})",
+                sellerId, status, ended, categoryIds, from);
+        if (Boolean.TRUE.equals(ended) && status != null) {
+            log.warn("Both 'status' and 'ended=true' provided for seller auctions, ignoring 'status'.");
+            status = null;
+        }
+        return ResponseEntity.ok(timedAuctionService.getSellerAuctions(
+                sellerId, status, ended, categoryIds, from, cursor, size, withTotal));
+    }
+
     @GetMapping("/seller/{sellerId}/timed-auctions") // e.g., /api/timed-auctions/seller/{sellerId}
     public ResponseEntity<Page<TimedAuctionSummaryDto>> getPublicTimedAuctionsBySeller(
             @PathVariable String sellerId, // Seller's public ID or username (if service supports resolving username)
@@ -129,22 +163,23 @@ public class TimedAuctionController {
     }
 
     @GetMapping("/search") // Maps to GET /api/timed-auctions/search (via Gateway)
-    public ResponseEntity<Page<TimedAuctionSummaryDto>> searchTimedAuctions(
+    public ResponseEntity<CursorPageDto<TimedAuctionSummaryDto>> searchTimedAuctions(
             @RequestParam(value = "query", required = false) String query,
             @RequestParam(value = "categoryIds", required = false) Set<Long> categoryIds,
             @RequestParam(value = "status", required = false) AuctionStatus status,
             @RequestParam(value = "ended", required = false) Boolean ended, // To specifically get ended auctions
             @RequestParam(value = "from", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-            @PageableDefault(size = 12, sort = "startTime", direction = Sort.Direction.DESC) Pageable pageable // Default sort, adjust as needed
+            @RequestParam(value = "cursor", required = false) String cursor, // nextCursor of the previous page
+            @RequestParam(value = "size", defaultValue = "12") int size
     ) {
-        log.info("Searching timed auctions with query='{}', categories={}, status={}, ended={}, from={}, page={}",
-                query, categoryIds, status, ended, from, pageable);
+        log.info("Searching timed auctions with query='{}', categories={}, status={}, ended={}, from={}, cursor={}, size={}",
+                query, categoryIds, status, ended, from, cursor, size);
 
-        Page<TimedAuctionSummaryDto> auctionPage = timedAuctionService.searchAuctions(
-                query, categoryIds, status, ended, from, pageable
+        CursorPageDto<TimedAuctionSummaryDto> results = timedAuctionService.searchAuctions(
+                query, categoryIds, status, ended, from, cursor, size
         );
-        return ResponseEntity.ok(auctionPage);
+        return ResponseEntity.ok(results);
     }
 
     @GetMapping("/{auctionId}")
@@ -206,13 +241,26 @@ public class TimedAuctionController {
     }
 
     @GetMapping("/{auctionId}/comments") // Maps to GET /api/timed-auctions/{auctionId}/comments
-    public ResponseEntity<List<CommentDto>> getComments(
-            @PathVariable UUID auctionId) {
-        log.info("Fetching comments for auction {}", auctionId);
-        List<CommentDto> comments = timedAuctionService.getComments(auctionId);
+    public ResponseEntity<CommentPageDto> getComments(
+            @PathVariable UUID auctionId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        log.info("Fetching comments for auction {} (cursor={}, size={})", auctionId, cursor, size);
+        CommentPageDto comments = timedAuctionService.getComments(auctionId, cursor, size);
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/{auctionId}/comments/{commentId}/replies")
+    public ResponseEntity<CommentPageDto> getReplies(
+            @PathVariable UUID auctionId,
+            @PathVariable Long commentId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Fetching replies to comment {} for auction {} (cursor={}, size={})", commentId, auctionId, cursor, size);
+        CommentPageDto replies = timedAuctionService.getReplies(auctionId, commentId, cursor, size);
+        return ResponseEntity.ok(replies);
+    }
+
     @GetMapping("/batch-summary")
     public ResponseEntity<List<TimedAuctionSummaryDto>> getAuctionSummariesByIds(
             @RequestParam("ids") Set<UUID> auctionIds
@@ -1,12 +1,16 @@
 package com.example.timedauctions.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor // Travels inside TimedAuctionStateDto over RabbitMQ
 public class BidDto {
     private String bidderId;
     private String bidderUsernameSnapshot;
@@ -0,0 +1,17 @@
+package com.example.timedauctions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageDto {
+    private List<CommentDto> content;
+    private String nextCursor; // Pass back to get the next page; null on the last one
+}
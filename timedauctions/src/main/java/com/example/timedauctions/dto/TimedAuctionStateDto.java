@@ -0,0 +1,35 @@
+package com.example.timedauctions.dto;
+
+import com.example.timedauctions.entity.AuctionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Pushed on /topic/timed-auctions/{id}; field names match TimedAuctionDetailsDto so clients can merge it in place
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimedAuctionStateDto {
+
+    private UUID id;
+    private AuctionStatus status;
+    private BigDecimal currentBid; // Can be null
+    private String highestBidderId; // Can be null
+    private String highestBidderUsernameSnapshot; // Can be null
+    private BigDecimal nextBidAmount; // Calculated, null once bidding is over
+    private int bidCount;
+    private boolean reserveMet;
+    private LocalDateTime endTime; // Moves with soft-close
+    private long timeLeftMs;
+    private LocalDateTime actualEndTime;
+
+    private BidDto newBid;   // present only on "bid placed" updates
+    private String winnerId; // present when status = SOLD
+    private BigDecimal winningBid;
+}
@@ -0,0 +1,18 @@
+package com.example.timedauctions.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Mirror of the replay request ProductsService sends when its catalog has no listings of this type
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogReplayRequestDto {
+    private LocalDateTime requestedAt;
+    private String auctionType;
+}
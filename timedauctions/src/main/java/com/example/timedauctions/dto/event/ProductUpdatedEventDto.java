@@ -0,0 +1,20 @@
+package com.example.timedauctions.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUpdatedEventDto { // Mirror of the DTO published by ProductsService
+    private UUID eventId;
+    private LocalDateTime eventTimestamp;
+    private Long productId;
+    private boolean deleted;
+}
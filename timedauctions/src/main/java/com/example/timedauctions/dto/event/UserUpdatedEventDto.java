@@ -0,0 +1,20 @@
+package com.example.timedauctions.dto.event;
+
+import com.example.timedauctions.client.dto.UserBasicInfoDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpdatedEventDto { // Mirror of the DTO published by UsersService
+    private UUID eventId;
+    private LocalDateTime eventTimestamp;
+    private UserBasicInfoDto updatedUser;
+}
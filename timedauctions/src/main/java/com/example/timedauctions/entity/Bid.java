@@ -2,7 +2,6 @@ package com.example.timedauctions.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,8 +14,12 @@ import java.util.UUID;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Bid {
 
+    // Pooled table generator (MySQL has no sequences) so the journal's saveAll() can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "timed_bid_id_gen")
+    @TableGenerator(name = "timed_bid_id_gen", table = "timed_bid_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "timed_bids", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,7 +37,12 @@ public class Bid {
     @Column(nullable = false)
     private boolean isAutoBid = false; // Flag to indicate if system placed this visible bid
 
-    @CreationTimestamp
+    // Set when the bid is accepted; with write-behind the row is inserted later, so the insert must not restamp it
     @Column(nullable = false, updatable = false)
     private LocalDateTime bidTime;
+
+    @PrePersist
+    void defaultBidTime() {
+        if (bidTime == null) bidTime = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -13,7 +13,10 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "timed_auctions", schema = "timed_auction_schema")
+@Table(name = "timed_auctions", schema = "timed_auction_schema", indexes = {
+        @Index(name = "idx_timed_auction_status_end", columnList = "status, endTime"), // batch closer sweep
+        @Index(name = "idx_timed_auction_seller_end", columnList = "sellerId, endTime") // seller listings by cursor
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TimedAuction {
 
@@ -98,4 +101,13 @@ public class TimedAuction {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    // Bumped with every proxy bid write; tells ProxyBidBook whether its in-memory book is current
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long proxyRevision;
+
+    // Optimistic concurrency; the DEFAULT lets ddl-auto add the column to existing rows
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.timedauctions.listener;
+
+import com.example.timedauctions.client.ProductInfoCache;
+import com.example.timedauctions.dto.event.ProductUpdatedEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops this node's cached product details when ProductsService changes or deletes a product.
+ * Each node listens on its own anonymous queue, so every instance sees every event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventsListener {
+
+    private final ProductInfoCache productInfoCache;
+
+    @RabbitListener(queues = "#{productUpdatedCacheQueue.name}")
+    public void handleProductUpdatedEvent(ProductUpdatedEventDto event) {
+        if (event == null || event.getProductId() == null) {
+            log.error("Received invalid ProductUpdatedEventDto: {}", event);
+            return;
+        }
+        log.info("Received ProductUpdatedEvent for productId={} (deleted: {})", event.getProductId(), event.isDeleted());
+        productInfoCache.onProductUpdated(event.getProductId());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.timedauctions.listener;
+
+import com.example.timedauctions.dto.TimedAuctionStateDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimedAuctionStateListener {
+
+    public static final String STATE_TOPIC_PREFIX = "/topic/timed-auctions/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Anonymous queue for this instance: the simple broker only reaches sessions connected here
+    @RabbitListener(queues = "#{tdAuctionUpdatesQueue.name}")
+    public void handleStateUpdate(TimedAuctionStateDto state) {
+        if (state == null || state.getId() == null) {
+            log.warn("Received invalid timed auction state update: {}", state);
+            return;
+        }
+        messagingTemplate.convertAndSend(STATE_TOPIC_PREFIX + state.getId(), state);
+        log.debug("Pushed state update for auction {} to WebSocket subscribers", state.getId());
+    }
+}
@@ -4,6 +4,8 @@ import com.example.timedauctions.client.dto.ProductDto;
 import com.example.timedauctions.dto.BidDto;
 import com.example.timedauctions.dto.CommentDto;
 import com.example.timedauctions.dto.TimedAuctionDetailsDto;
+import com.example.timedauctions.dto.TimedAuctionStateDto;
+import com.example.timedauctions.entity.AuctionStatus;
 import com.example.timedauctions.dto.TimedAuctionSummaryDto; // Add if needed
 import com.example.timedauctions.entity.AuctionComment;
 import com.example.timedauctions.entity.Bid;
@@ -12,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -57,6 +61,41 @@ public class TimedAuctionMapper {
     }
 
 
+    // --- State push Mapping ---
+    public TimedAuctionStateDto mapToTimedAuctionStateDto(TimedAuction auction, Bid newBid) {
+        if (auction == null) return null;
+        boolean active = auction.getStatus() == AuctionStatus.ACTIVE;
+        boolean sold = auction.getStatus() == AuctionStatus.SOLD;
+
+        BigDecimal nextBidAmount = null;
+        if (active) {
+            // Same rule as the details endpoint: start price until the first bid, then current + increment
+            nextBidAmount = auction.getHighestBidderId() == null || auction.getCurrentBid() == null
+                    ? auction.getStartPrice()
+                    : auction.getCurrentBid().add(auction.getCurrentBidIncrement() != null ? auction.getCurrentBidIncrement() : BigDecimal.ZERO);
+        }
+        long timeLeftMs = active && auction.getEndTime() != null
+                ? Math.max(0, Duration.between(LocalDateTime.now(), auction.getEndTime()).toMillis())
+                : 0;
+
+        return TimedAuctionStateDto.builder()
+                .id(auction.getId())
+                .status(auction.getStatus())
+                .currentBid(auction.getCurrentBid())
+                .highestBidderId(auction.getHighestBidderId())
+                .highestBidderUsernameSnapshot(auction.getHighestBidderUsernameSnapshot())
+                .nextBidAmount(nextBidAmount)
+                .bidCount(auction.getBidCount())
+                .reserveMet(auction.isReserveMet())
+                .endTime(auction.getEndTime())
+                .timeLeftMs(timeLeftMs)
+                .actualEndTime(auction.getActualEndTime())
+                .newBid(mapToBidDto(newBid))
+                .winnerId(sold ? auction.getWinnerId() : null)
+                .winningBid(sold ? auction.getWinningBid() : null)
+                .build();
+    }
+
     // --- Details Mapping ---
     public TimedAuctionDetailsDto mapToTimedAuctionDetailsDto(
             TimedAuction auction,
@@ -125,52 +164,8 @@ public class TimedAuctionMapper {
                 .commentText(comment.getCommentText())
                 .createdAt(comment.getCreatedAt())
                 .parentId(comment.getParentId())
-                // replies and replyCount will be populated by the tree-building logic
+                // replyCount is filled in per page; replies are fetched lazily per thread
                 .replies(new ArrayList<>()) // Initialize replies list
                 .build();
     }
-
-    // Helper to map a flat list of comments into a nested DTO structure (up to one level deep for now)
-    public List<CommentDto> mapToNestedCommentDtoList(List<AuctionComment> allComments) {
-        if (allComments == null || allComments.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        // Map all comments to DTOs first, indexed by ID for easy lookup
-        Map<Long, CommentDto> dtoMap = allComments.stream()
-                .map(this::mapToCommentDto)
-                .collect(Collectors.toMap(CommentDto::getId, dto -> dto));
-
-        // List to hold the final top-level comments
-        List<CommentDto> topLevelDtos = new ArrayList<>();
-
-        // Iterate through the original entities to build the tree structure in the DTOs
-        for (AuctionComment comment : allComments) {
-            CommentDto currentDto = dtoMap.get(comment.getId());
-            if (comment.getParentId() == null) {
-                // This is a top-level comment
-                topLevelDtos.add(currentDto);
-            } else {
-                // This is a reply, find its parent DTO in the map
-                CommentDto parentDto = dtoMap.get(comment.getParentId());
-                if (parentDto != null) {
-                    parentDto.getReplies().add(currentDto);
-                } else {
-                    log.warn("Parent comment with ID {} not found for reply {}", comment.getParentId(), comment.getId());
-                }
-            }
-        }
-
-        // Sort top-level comments (e.g., by creation date)
-        topLevelDtos.sort(Comparator.comparing(CommentDto::getCreatedAt));
-
-        // Sort replies within each top-level comment
-        for (CommentDto dto : topLevelDtos) {
-            dto.getReplies().sort(Comparator.comparing(CommentDto::getCreatedAt));
-            dto.setReplyCount(dto.getReplies().size()); // Set the count based on direct replies
-        }
-
-
-        return topLevelDtos;
-    }
 }
\ No newline at end of file
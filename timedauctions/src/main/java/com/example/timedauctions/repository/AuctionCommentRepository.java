@@ -1,21 +1,43 @@
 package com.example.timedauctions.repository;
 
 import com.example.timedauctions.entity.AuctionComment;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AuctionCommentRepository extends JpaRepository<AuctionComment, Long> {
-    // Find top-level comments for an auction, ordered by time
-    Page<AuctionComment> findByTimedAuctionIdAndParentIdIsNullOrderByCreatedAtAsc(UUID timedAuctionId, Pageable pageable);
 
-    List<AuctionComment> findByTimedAuctionIdOrderByCreatedAtAsc(UUID timedAuctionId);
+    interface ReplyCount {
+        Long getParentId();
+        long getReplies();
+    }
+
+    // First page of top-level comments for an auction, ordered by time (uses idx_comment_auction_parent_time)
+    Slice<AuctionComment> findByTimedAuctionIdAndParentIdIsNullOrderByCreatedAtAscIdAsc(UUID timedAuctionId, Pageable pageable);
+
+    // Following pages: keyset on (createdAt, id) instead of OFFSET
+    @Query("SELECT c FROM AuctionComment c WHERE c.timedAuctionId = :auctionId AND c.parentId IS NULL " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<AuctionComment> findTopLevelAfter(@Param("auctionId") UUID auctionId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
 
     // Find replies to a specific comment, ordered by time
-    Page<AuctionComment> findByParentIdOrderByCreatedAtAsc(Long parentId, Pageable pageable);
-}
\ No newline at end of file
+    Slice<AuctionComment> findByParentIdOrderByCreatedAtAsc(Long parentId, Pageable pageable);
+
+    // Direct reply counts for one page of comments, in one aggregate
+    @Query("SELECT c.parentId AS parentId, COUNT(c) AS replies FROM AuctionComment c " +
+            "WHERE c.parentId IN :parentIds GROUP BY c.parentId")
+    List<ReplyCount> countRepliesByParentIdIn(@Param("parentIds") Collection<Long> parentIds);
+
+    boolean existsByIdAndTimedAuctionId(Long id, UUID timedAuctionId);
+}
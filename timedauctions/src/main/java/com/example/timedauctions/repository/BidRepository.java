@@ -18,4 +18,7 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
 
     @Query("SELECT DISTINCT b.bidderId FROM Bid b WHERE b.timedAuctionId = :timedAuctionId")
     Set<String> findDistinctBidderIdsByTimedAuctionId(@Param("timedAuctionId") UUID timedAuctionId);
+
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM Bid b")
+    long findMaxId();
 }
\ No newline at end of file
@@ -5,11 +5,19 @@ import com.example.timedauctions.entity.TimedAuction;
 import com.example.timedauctions.entity.AuctionStatus; // Assuming same package or import
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -17,5 +25,111 @@ import java.util.UUID;
 public interface TimedAuctionRepository extends JpaRepository<TimedAuction, UUID> {
     Page<TimedAuction> findByStatus(AuctionStatus status, Pageable pageable);
 
+    // --- Keyset listings: a Slice reads one row past the page instead of running a COUNT ---
+
+    Slice<TimedAuction> findByStatusOrderByEndTimeAscIdAsc(AuctionStatus status, Pageable pageable);
+
+    @Query("""
+       SELECT a FROM TimedAuction a
+        WHERE a.status = :status
+          AND (a.endTime > :afterEndTime OR (a.endTime = :afterEndTime AND a.id > :afterId))
+        ORDER BY a.endTime ASC, a.id ASC
+       """)
+    Slice<TimedAuction> findByStatusAfter(@Param("status") AuctionStatus status,
+                                          @Param("afterEndTime") LocalDateTime afterEndTime,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    long countByStatus(AuctionStatus status);
+
+    /** Seller listing newest end first; a null afterEndTime starts at the top. */
+    @Query("""
+       SELECT a FROM TimedAuction a
+        WHERE a.sellerId = :sellerId
+          AND (:statusesEmpty = TRUE OR a.status IN :statuses)
+          AND (:from IS NULL OR a.startTime >= :from)
+          AND (:catIdsEmpty = TRUE
+               OR EXISTS (SELECT 1 FROM a.productCategoryIdsSnapshot c WHERE c IN :catIds))
+          AND (:afterEndTime IS NULL
+               OR a.endTime < :afterEndTime
+               OR (a.endTime = :afterEndTime AND a.id < :afterId))
+        ORDER BY a.endTime DESC, a.id DESC
+       """)
+    Slice<TimedAuction> findSellerAuctionsAfter(@Param("sellerId") String sellerId,
+                                                @Param("statuses") Set<AuctionStatus> statuses,
+                                                @Param("statusesEmpty") boolean statusesEmpty,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("catIds") Set<Long> catIds,
+                                                @Param("catIdsEmpty") boolean catIdsEmpty,
+                                                @Param("afterEndTime") LocalDateTime afterEndTime,
+                                                @Param("afterId") UUID afterId,
+                                                Pageable pageable);
+
+    @Query("""
+       SELECT COUNT(a) FROM TimedAuction a
+        WHERE a.sellerId = :sellerId
+          AND (:statusesEmpty = TRUE OR a.status IN :statuses)
+          AND (:from IS NULL OR a.startTime >= :from)
+          AND (:catIdsEmpty = TRUE
+               OR EXISTS (SELECT 1 FROM a.productCategoryIdsSnapshot c WHERE c IN :catIds))
+       """)
+    long countSellerAuctions(@Param("sellerId") String sellerId,
+                             @Param("statuses") Set<AuctionStatus> statuses,
+                             @Param("statusesEmpty") boolean statusesEmpty,
+                             @Param("from") LocalDateTime from,
+                             @Param("catIds") Set<Long> catIds,
+                             @Param("catIdsEmpty") boolean catIdsEmpty);
+
+    // Walks every auction in id order, for republishing listings to the catalog
+    List<TimedAuction> findTop500ByIdGreaterThanOrderByIdAsc(UUID id);
+
     Page<TimedAuction> findAll(Specification<TimedAuction> spec, Pageable pageable);
-}
\ No newline at end of file
+
+    // Optimistic bid path: the version is bumped (and checked) at commit even if only proxy bids changed
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT a FROM TimedAuction a WHERE a.id = :id")
+    Optional<TimedAuction> findForBidById(@Param("id") UUID id);
+
+    /**
+     * Expired ACTIVE auctions, row-locked for closing. Rows another closer already holds are skipped rather
+     * than waited on, so several nodes can close the same end-time cluster in parallel.
+     */
+    @Query(value = """
+       SELECT * FROM timed_auction_schema.timed_auctions
+        WHERE status = 'ACTIVE' AND end_time <= :now
+        ORDER BY end_time
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+       """, nativeQuery = true)
+    List<TimedAuction> lockExpiredForClosing(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Bulk close, part 1: auctions with a winning bid that met the reserve */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+       UPDATE TimedAuction a
+          SET a.status = com.example.timedauctions.entity.AuctionStatus.SOLD,
+              a.winnerId = a.highestBidderId,
+              a.winningBid = a.currentBid,
+              a.actualEndTime = :endedAt,
+              a.updatedAt = :endedAt,
+              a.version = a.version + 1
+        WHERE a.id IN :ids
+          AND a.status = com.example.timedauctions.entity.AuctionStatus.ACTIVE
+          AND a.highestBidderId IS NOT NULL
+          AND a.reserveMet = TRUE
+       """)
+    int closeAsSold(@Param("ids") List<UUID> ids, @Param("endedAt") LocalDateTime endedAt);
+
+    /** Bulk close, part 2: everything in the batch that did not sell */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+       UPDATE TimedAuction a
+          SET a.status = com.example.timedauctions.entity.AuctionStatus.RESERVE_NOT_MET,
+              a.actualEndTime = :endedAt,
+              a.updatedAt = :endedAt,
+              a.version = a.version + 1
+        WHERE a.id IN :ids
+          AND a.status = com.example.timedauctions.entity.AuctionStatus.ACTIVE
+       """)
+    int closeAsReserveNotMet(@Param("ids") List<UUID> ids, @Param("endedAt") LocalDateTime endedAt);
+}
@@ -0,0 +1,39 @@
+package com.example.timedauctions.search;
+
+import com.example.timedauctions.entity.AuctionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Search row for one timed auction. Title and categories are matched through the FULLTEXT index
+ * ft_timed_auction_search (title, category_tokens), which {@link AuctionSearchIndex} adds at startup since
+ * JPA cannot declare it. Categories are stored as words ("cat12 cat40") so one MATCH covers both filters.
+ * The entity only declares the table; rows are written and read by the index in plain SQL.
+ */
+@Entity
+@Table(name = "timed_auction_search", schema = "timed_auction_schema", indexes = {
+        @Index(name = "idx_timed_search_status_start", columnList = "status, startTime") // Browse without a query
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AuctionSearchDocument {
+
+    @Id
+    @Column(name = "auction_id", updatable = false, nullable = false)
+    private UUID auctionId;
+
+    @Column(nullable = false, updatable = false)
+    private String title;
+
+    @Column(nullable = false, updatable = false, length = 1024)
+    private String categoryTokens;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuctionStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+}
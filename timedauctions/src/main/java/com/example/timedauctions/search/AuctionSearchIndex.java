@@ -0,0 +1,42 @@
+package com.example.timedauctions.search;
+
+import com.example.commons.search.AbstractAuctionSearchIndex;
+import com.example.timedauctions.config.SearchProperties;
+import com.example.timedauctions.entity.TimedAuction;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+
+/** Full-text search over timed auctions, backed by timed_auction_search. */
+@Component
+public class AuctionSearchIndex extends AbstractAuctionSearchIndex<TimedAuction> {
+
+    public AuctionSearchIndex(JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        super(jdbcTemplate, namedJdbcTemplate, transactionManager, properties, meterRegistry,
+                "timed_auction_schema", "timed_auction_search", "timed_auction_schema.timed_auctions",
+                "timed_auction_schema.timed_auction_categories");
+    }
+
+    @Override
+    protected IndexedState stateOf(TimedAuction auction) {
+        return new IndexedState(auction.getId(), auction.getStatus().name(), auction.getStartTime());
+    }
+
+    @Override
+    protected String titleOf(TimedAuction auction) {
+        return auction.getProductTitleSnapshot();
+    }
+
+    @Override
+    protected Set<Long> categoryIdsOf(TimedAuction auction) {
+        return auction.getProductCategoryIdsSnapshot(); // Eagerly fetched
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.timedauctions.service;
 
+import com.example.commons.paging.CursorPageDto;
 import com.example.timedauctions.dto.*;
 import com.example.timedauctions.entity.AuctionStatus; // If filtering by status needed
 import org.springframework.data.domain.Page;
@@ -19,10 +20,14 @@ public interface TimedAuctionService {
 
     CommentDto createComment(UUID auctionId, String userId, CreateCommentDto commentDto);
 
-    List<CommentDto> getComments(UUID auctionId);
+    CommentPageDto getComments(UUID auctionId, String cursor, int size);
+
+    CommentPageDto getReplies(UUID auctionId, Long commentId, String cursor, int size);
 
     Page<TimedAuctionSummaryDto> getActiveAuctions(Pageable pageable);
 
+    CursorPageDto<TimedAuctionSummaryDto> getActiveAuctions(String cursor, int size, boolean withTotal);
+
     void cancelAuction(UUID auctionId, String sellerId);
 
     MyMaxBidDto getMyMaxBidForAuction(UUID auctionId, String bidderId);
@@ -38,15 +43,27 @@ public interface TimedAuctionService {
             Pageable pageable
     );
 
+    CursorPageDto<TimedAuctionSummaryDto> getSellerAuctions(
+            String sellerId,
+            AuctionStatus status,
+            Boolean ended,
+            Set<Long> categoryIds,
+            LocalDateTime from,
+            String cursor,
+            int size,
+            boolean withTotal
+    );
+
     List<TimedAuctionSummaryDto> getAuctionSummariesByIds(Set<UUID> auctionIds);
 
-    Page<TimedAuctionSummaryDto> searchAuctions(
+    CursorPageDto<TimedAuctionSummaryDto> searchAuctions(
             String query,
             Set<Long> categoryIds,
             AuctionStatus status,
             Boolean ended,
             LocalDateTime from,
-            Pageable pageable
+            String cursor,
+            int size
     );
 
     CommentDto editComment(UUID auctionId, Long commentId, String userId, UpdateCommentDto updateDto);
@@ -0,0 +1,11 @@
+package com.example.timedauctions.service;
+
+import com.example.timedauctions.entity.Bid;
+import com.example.timedauctions.entity.TimedAuction;
+import jakarta.annotation.Nullable;
+
+// Publishes committed auction state so every node can push it to its WebSocket subscribers
+public interface TimedAuctionStatePublisher {
+
+    void publishStateUpdate(TimedAuction auction, @Nullable Bid newBid);
+}
@@ -0,0 +1,27 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.commons.scheduling.AbstractEndTimerRegistry;
+import com.example.commons.scheduling.DurableTimerScheduler;
+import com.example.timedauctions.commands.AuctionLifecycleCommands;
+import com.example.timedauctions.config.RabbitMqConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** One end timer per timed auction; see {@link AbstractEndTimerRegistry}. */
+@Component
+public class AuctionEndTimerRegistry extends AbstractEndTimerRegistry {
+
+    public AuctionEndTimerRegistry(DurableTimerScheduler timerScheduler, MeterRegistry meterRegistry) {
+        // The end queue is bound to the plain command exchange too; no delay is needed once the timer has fired
+        super(timerScheduler, meterRegistry, "timed-auction:end:",
+                RabbitMqConfig.TD_AUCTION_COMMAND_EXCHANGE, RabbitMqConfig.TD_END_ROUTING_KEY);
+    }
+
+    @Override
+    protected Object endCommand(UUID auctionId, LocalDateTime endTime) {
+        return new AuctionLifecycleCommands.EndAuctionCommand(auctionId);
+    }
+}
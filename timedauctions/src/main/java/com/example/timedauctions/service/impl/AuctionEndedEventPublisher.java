@@ -0,0 +1,114 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.commons.bidding.RunnerUpSelection;
+import com.example.commons.bidding.RunnerUpSelection.EligibleBidderInfo;
+import com.example.timedauctions.config.RabbitMqConfig;
+import com.example.timedauctions.entity.AuctionStatus;
+import com.example.timedauctions.entity.BidderStanding;
+import com.example.timedauctions.entity.TimedAuction;
+import com.example.timedauctions.event.NotificationEvents;
+import com.example.timedauctions.repository.BidRepository;
+import com.example.timedauctions.repository.BidderStandingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the enriched AuctionEndedEvent (winner plus next eligible bidders) for every way a timed auction
+ * can end: timer close, cancel, hammer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionEndedEventPublisher {
+
+    private final BidRepository bidRepository;
+    private final BidderStandingRepository standingRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    /* ------------------------------------------------------------------
+     *  ENRICHED “auction ended” publisher – TIMED edition
+     * ------------------------------------------------------------------*/
+    public void publish(TimedAuction auction) {
+        if (auction == null) return;
+
+        final String auctionType = "TIMED";
+
+        // ---------- Base fields ----------
+        NotificationEvents.AuctionEndedEvent.AuctionEndedEventBuilder builder =
+                NotificationEvents.AuctionEndedEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventTimestamp(LocalDateTime.now())
+                        .auctionId(auction.getId())
+                        .productId(auction.getProductId())
+                        .productTitleSnapshot(auction.getProductTitleSnapshot())
+                        .productImageUrlSnapshot(auction.getProductImageUrlSnapshot())
+                        .auctionType(auctionType)
+                        .sellerId(auction.getSellerId())
+                        .sellerUsernameSnapshot(auction.getSellerUsernameSnapshot())
+                        .finalStatus(auction.getStatus())
+                        .actualEndTime(auction.getActualEndTime());
+
+        // ---------- SOLD-only enrichment ----------
+        if (auction.getStatus() == AuctionStatus.SOLD) {
+            builder.winnerId(auction.getWinnerId())
+                    .winnerUsernameSnapshot(auction.getHighestBidderUsernameSnapshot())
+                    .winningBid(auction.getWinningBid())
+                    .reservePrice(auction.getReservePrice());
+
+            List<EligibleBidderInfo> next = findEligibleNextRawBidders(auction);
+            if (!next.isEmpty()) {
+                EligibleBidderInfo second = next.get(0);
+                builder.secondHighestBidderId(second.getBidderId())
+                        .secondHighestBidderUsernameSnapshot(second.getUsernameSnapshot())
+                        .secondHighestBidAmount(second.getMaxBidAmount());
+
+                if (next.size() > 1) {
+                    EligibleBidderInfo third = next.get(1);
+                    builder.thirdHighestBidderId(third.getBidderId())
+                            .thirdHighestBidderUsernameSnapshot(third.getUsernameSnapshot())
+                            .thirdHighestBidAmount(third.getMaxBidAmount());
+                }
+            }
+        }
+
+        // ---------- Publish ----------
+        try {
+            NotificationEvents.AuctionEndedEvent event = builder.build();
+            String routingKey = RabbitMqConfig.AUCTION_ENDED_ROUTING_KEY_PREFIX + "timed.ended";
+            rabbitTemplate.convertAndSend(RabbitMqConfig.NOTIFICATIONS_EXCHANGE, routingKey, event);
+            log.info("[Publisher - Timed] Published ENRICHED AuctionEndedEvent (Status: {}) for auction {}",
+                    event.getFinalStatus(), event.getAuctionId());
+        } catch (Exception e) {
+            log.error("[Publisher - Timed] Failed to publish ENRICHED AuctionEndedEvent for auction {}: {}",
+                    auction.getId(), e.getMessage(), e);
+        }
+    }
+
+    private List<EligibleBidderInfo> findEligibleNextRawBidders(TimedAuction auction) {
+        if (auction.getWinnerId() == null || auction.getStatus() != AuctionStatus.SOLD) {
+            return Collections.emptyList();
+        }
+
+        // Winner plus two runners-up, straight off the standings index
+        List<BidderStanding> top = standingRepository.findTop3ByTimedAuctionIdOrderByMaxBidDesc(auction.getId());
+        if (top.isEmpty()) {
+            // Standings are backfilled once on deploy, so this is an auction with no bids recorded there at all
+            List<EligibleBidderInfo> history = bidRepository.findByTimedAuctionId(auction.getId(), Pageable.unpaged())
+                    .stream()
+                    .map(b -> new EligibleBidderInfo(b.getBidderId(), b.getBidderUsernameSnapshot(), b.getAmount()))
+                    .collect(Collectors.toList());
+            return RunnerUpSelection.eligibleAfterWinner(RunnerUpSelection.maxBidPerBidder(history),
+                    auction.getWinnerId(), auction.getReservePrice());
+        }
+        return RunnerUpSelection.eligibleAfterWinner(top.stream()
+                .map(s -> new EligibleBidderInfo(s.getBidderId(), s.getBidderUsernameSnapshot(), s.getMaxBid()))
+                .collect(Collectors.toList()), auction.getWinnerId(), auction.getReservePrice());
+    }
+}
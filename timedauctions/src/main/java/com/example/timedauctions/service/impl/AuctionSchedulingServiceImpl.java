@@ -1,16 +1,15 @@
 // src/main/java/com/example/timedauctions/service/impl/AuctionSchedulingServiceImpl.java
 package com.example.timedauctions.service.impl;
 
+import com.example.commons.scheduling.DurableTimerScheduler;
 import com.example.timedauctions.commands.AuctionLifecycleCommands;
 import com.example.timedauctions.config.RabbitMqConfig;
 import com.example.timedauctions.entity.TimedAuction;
 import com.example.timedauctions.service.AuctionSchedulingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Service
@@ -18,26 +17,22 @@ import java.time.LocalDateTime;
 @Slf4j
 public class AuctionSchedulingServiceImpl implements AuctionSchedulingService {
 
-    private final RabbitTemplate rabbitTemplate;
+    // One start timer per auction; end timers are owned by the registry
+    private static final String START_TIMER_PREFIX = "timed-auction:start:";
+
+    private final DurableTimerScheduler timerScheduler;
+    private final AuctionEndTimerRegistry endTimerRegistry;
 
     @Override
     public void scheduleAuctionStart(TimedAuction auction) {
-        long delayMillis = Duration.between(LocalDateTime.now(), auction.getStartTime()).toMillis();
-        if (delayMillis > 0) {
-            log.info("[Scheduler] Scheduling start for auction {} in {} ms", auction.getId(), delayMillis);
-            AuctionLifecycleCommands.StartAuctionCommand command = new AuctionLifecycleCommands.StartAuctionCommand(auction.getId());
-            rabbitTemplate.convertAndSend(
-                    RabbitMqConfig.TD_AUCTION_SCHEDULE_EXCHANGE,
-                    RabbitMqConfig.TD_START_ROUTING_KEY,
-                    command,
-                    message -> {
-                        message.getMessageProperties().setHeader("x-delay", (int) Math.min(delayMillis, Integer.MAX_VALUE));
-                        return message;
-                    }
-            );
-        } else {
-            log.warn("[Scheduler] Attempted to schedule start for auction {} but delay was not positive.", auction.getId());
+        if (auction.getStartTime() == null || !auction.getStartTime().isAfter(LocalDateTime.now())) {
+            log.warn("[Scheduler] Attempted to schedule start for auction {} but start time was not in the future.", auction.getId());
+            return;
         }
+        log.info("[Scheduler] Scheduling start for auction {} at {}", auction.getId(), auction.getStartTime());
+        timerScheduler.schedule(START_TIMER_PREFIX + auction.getId(), auction.getStartTime(),
+                RabbitMqConfig.TD_AUCTION_SCHEDULE_EXCHANGE, RabbitMqConfig.TD_START_ROUTING_KEY,
+                new AuctionLifecycleCommands.StartAuctionCommand(auction.getId()));
     }
 
     @Override
@@ -47,31 +42,11 @@ public class AuctionSchedulingServiceImpl implements AuctionSchedulingService {
             log.error("[Scheduler] Cannot schedule end for auction {} because endTime is null.", auction.getId());
             return;
         }
-
-        long delayMillis = Duration.between(LocalDateTime.now(), auction.getEndTime()).toMillis();
-        if (delayMillis > 0) {
-            log.info("[Scheduler] Scheduling end for auction {} in {} ms", auction.getId(), delayMillis);
-            AuctionLifecycleCommands.EndAuctionCommand command = new AuctionLifecycleCommands.EndAuctionCommand(auction.getId());
-            rabbitTemplate.convertAndSend(
-                    RabbitMqConfig.TD_AUCTION_SCHEDULE_EXCHANGE,
-                    RabbitMqConfig.TD_END_ROUTING_KEY,
-                    command,
-                    message -> {
-                        int delayHeaderValue = (int) Math.min(delayMillis, Integer.MAX_VALUE);
-                        if (delayMillis > Integer.MAX_VALUE) {
-                            log.warn("[Scheduler] Auction {} end delay ({}) exceeds max RabbitMQ delay. Clamping.", auction.getId(), delayMillis);
-                        }
-                        message.getMessageProperties().setHeader("x-delay", delayHeaderValue);
-                        return message;
-                    }
-            );
-        } else {
-            log.warn("[Scheduler] Attempted to schedule end for auction {} but delay ({}) was not positive. It might end immediately or has passed.", auction.getId(), delayMillis);
-            if (delayMillis <= 0) {
-                log.info("[Scheduler] End time for auction {} is past. Sending immediate EndAuctionCommand.", auction.getId());
-                AuctionLifecycleCommands.EndAuctionCommand command = new AuctionLifecycleCommands.EndAuctionCommand(auction.getId());
-                rabbitTemplate.convertAndSend(RabbitMqConfig.TD_AUCTION_COMMAND_EXCHANGE, RabbitMqConfig.TD_END_ROUTING_KEY, command);
-            }
+        if (!auction.getEndTime().isAfter(LocalDateTime.now())) {
+            log.info("[Scheduler] End time for auction {} is past. It will fire on the next timer tick.", auction.getId());
         }
+        log.debug("[Scheduler] Requested end for auction {} at {}", auction.getId(), auction.getEndTime());
+        // Moves the auction's one end timer, so soft-close extensions never queue a second one
+        endTimerRegistry.arm(auction.getId(), auction.getEndTime());
     }
-}
\ No newline at end of file
+}
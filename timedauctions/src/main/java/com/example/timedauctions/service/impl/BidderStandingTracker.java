@@ -0,0 +1,58 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.timedauctions.entity.Bid;
+import com.example.timedauctions.repository.BidderStandingRepository;
+import com.example.commons.migration.OneOffMigrations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps timed_bidder_standings in step with the bid history. Must run in the transaction that writes the bids,
+ * so a standing never counts a bid that was rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BidderStandingTracker {
+
+    private record Key(UUID auctionId, String bidderId) {}
+
+    private final BidderStandingRepository standingRepository;
+    private final OneOffMigrations migrations;
+
+    public void record(Collection<Bid> bids) {
+        // One upsert per bidder per auction in the batch, with their highest amount in it
+        Map<Key, Bid> highest = new LinkedHashMap<>();
+        for (Bid bid : bids) {
+            highest.merge(new Key(bid.getTimedAuctionId(), bid.getBidderId()), bid,
+                    (a, b) -> b.getAmount().compareTo(a.getAmount()) > 0 ? b : a);
+        }
+        // Fixed order, so concurrent writers take the unique-key locks the same way round
+        highest.values().stream()
+                .sorted(Comparator.comparing(Bid::getTimedAuctionId).thenComparing(Bid::getBidderId))
+                .forEach(b -> standingRepository.raise(b.getTimedAuctionId(), b.getBidderId(),
+                        b.getBidderUsernameSnapshot(), b.getAmount()));
+    }
+
+    /**
+     * Auctions that were already running when standings were introduced only have rows for bidders who bid since.
+     * Filling them in from the bid history keeps the runner-up lookup complete without a history scan. It is a
+     * one-off migration: the first node to start after the deploy runs it, later starts only check its marker.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInFlight() {
+        migrations.runOnce("bidder-standings-backfill", () -> {
+            int rows = standingRepository.backfillActive();
+            log.info("[Standings] Backfilled standings of active auctions ({} rows affected)", rows);
+        });
+    }
+}
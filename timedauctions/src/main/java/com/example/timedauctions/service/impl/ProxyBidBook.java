@@ -0,0 +1,145 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.timedauctions.entity.AuctionProxyBid;
+import com.example.timedauctions.repository.AuctionProxyBidRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory proxy-bid books, one per auction, ordered like idx_proxy_bid_auction_max
+ * (maxBid desc, submissionTime asc). Placing a max bid costs a sorted insert and a look at the first few
+ * entries, instead of loading every proxy row of the auction to read the top two.
+ * <p>
+ * timed_auction_proxy_bids stays the source of truth and is still written on every bid. Each book records the
+ * auction's {@code proxyRevision} it mirrors. A bid only ranks against the book when that matches the auction
+ * row it loaded (under the auction lock or the version check); otherwise the proxies are reloaded once from the
+ * table. Committed writes are applied only on top of the revision they followed, so a book that missed a write
+ * (rolled-back attempt, bid taken on another node) is dropped instead of drifting.
+ */
+@Component
+@Slf4j
+public class ProxyBidBook {
+
+    private static final Comparator<Entry> RANKING = Comparator.comparing(Entry::maxBid, Comparator.reverseOrder())
+            .thenComparing(Entry::submissionTime)
+            .thenComparing(Entry::proxyId);
+
+    private final AuctionProxyBidRepository proxyBidRepository;
+    private final Cache<UUID, Book> books;
+    private final Counter hitCount;
+    private final Counter rebuildCount;
+
+    public ProxyBidBook(AuctionProxyBidRepository proxyBidRepository, MeterRegistry meterRegistry) {
+        this.proxyBidRepository = proxyBidRepository;
+        this.books = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(30)) // ended or idle auctions fall out on their own
+                .build();
+        this.hitCount = lookups(meterRegistry, "hit");
+        this.rebuildCount = lookups(meterRegistry, "rebuild");
+    }
+
+    public record Entry(Long proxyId, String bidderId, BigDecimal maxBid, LocalDateTime submissionTime) {
+        static Entry of(AuctionProxyBid proxy) {
+            return new Entry(proxy.getId(), proxy.getBidderId(), proxy.getMaxBid(), proxy.getSubmissionTime());
+        }
+    }
+
+    /** Leader and runner-up once this bid's proxy is in, plus what to apply to the book when the bid commits. */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Standing {
+        @Getter private final Entry leader;
+        @Getter private final Entry runnerUp; // null while only one bidder has a proxy
+        private final Entry written;
+        private final Book rebuilt;           // set when the book had to be reloaded for this bid
+    }
+
+    /**
+     * Ranks the auction's proxies with {@code written} (this bid's proxy row, already flushed) in place of
+     * the bidder's previous entry. The book itself is only changed by {@link #committed}.
+     *
+     * @param revision the auction's proxyRevision as loaded by this bid, before it is incremented
+     */
+    public Standing rank(UUID auctionId, long revision, AuctionProxyBid written) {
+        Entry entry = Entry.of(written);
+        Book book = books.getIfPresent(auctionId);
+        if (book != null) {
+            synchronized (book) {
+                if (book.revision == revision) {
+                    hitCount.increment();
+                    return book.standingWith(entry, null);
+                }
+            }
+        }
+        rebuildCount.increment();
+        log.debug("Proxy book for auction {} missing or stale (want revision {}), reloading from table", auctionId, revision);
+        Book rebuilt = new Book(revision + 1);
+        proxyBidRepository.findByTimedAuctionIdOrderByMaxBidDescSubmissionTimeAsc(auctionId)
+                .forEach(p -> rebuilt.put(Entry.of(p)));
+        rebuilt.put(entry);
+        return rebuilt.standingWith(entry, rebuilt);
+    }
+
+    /** Write-through after commit: the auction row now carries {@code revision + 1}. */
+    public void committed(UUID auctionId, long revision, Standing standing) {
+        books.asMap().compute(auctionId, (id, book) -> {
+            if (standing.rebuilt != null) {
+                return book != null && book.revision > standing.rebuilt.revision ? book : standing.rebuilt;
+            }
+            if (book == null) return null;
+            synchronized (book) {
+                if (book.revision != revision) return null; // missed a write somewhere; reload on the next bid
+                book.put(standing.written);
+                book.revision = revision + 1;
+                return book;
+            }
+        });
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auction.proxy.book")
+                .description("Max bids ranked against the in-memory proxy book, by whether it had to be reloaded")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Book {
+        private final NavigableSet<Entry> ranked = new TreeSet<>(RANKING);
+        private final Map<String, Entry> byBidder = new HashMap<>();
+        private long revision;
+
+        Book(long revision) {
+            this.revision = revision;
+        }
+
+        void put(Entry entry) {
+            Entry previous = byBidder.put(entry.bidderId(), entry);
+            if (previous != null) ranked.remove(previous);
+            ranked.add(entry);
+        }
+
+        /** Top two with {@code written} standing in for its bidder; walks at most three entries. */
+        Standing standingWith(Entry written, Book rebuilt) {
+            List<Entry> top = new ArrayList<>(3);
+            top.add(written);
+            for (Entry e : ranked) {
+                if (top.size() == 3) break;
+                if (!e.bidderId().equals(written.bidderId())) top.add(e);
+            }
+            top.sort(RANKING);
+            return new Standing(top.get(0), top.size() > 1 ? top.get(1) : null, written, rebuilt);
+        }
+    }
+}
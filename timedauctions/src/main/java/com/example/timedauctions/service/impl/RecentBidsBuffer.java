@@ -0,0 +1,56 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.commons.cache.AbstractRecentBidsBuffer;
+import com.example.timedauctions.config.DetailsCacheProperties;
+import com.example.timedauctions.dto.BidDto;
+import com.example.timedauctions.entity.Bid;
+import com.example.timedauctions.mapper.TimedAuctionMapper;
+import com.example.timedauctions.repository.BidRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** Recent-bids buffer of timed auctions; see {@link AbstractRecentBidsBuffer}. */
+@Component
+public class RecentBidsBuffer extends AbstractRecentBidsBuffer<Bid, BidDto> {
+
+    private final BidRepository bidRepository;
+    private final TimedAuctionMapper auctionMapper;
+
+    public RecentBidsBuffer(RedissonClient redissonClient, BidRepository bidRepository, TimedAuctionMapper auctionMapper,
+                            ObjectMapper objectMapper, DetailsCacheProperties properties, MeterRegistry meterRegistry) {
+        super(redissonClient, objectMapper, meterRegistry, "timed-auction:recent-bids:", BidDto.class,
+                properties.getRecentBids(), Duration.ofMinutes(properties.getRecentBidsTtlMinutes()));
+        this.bidRepository = bidRepository;
+        this.auctionMapper = auctionMapper;
+    }
+
+    @Override
+    protected UUID auctionIdOf(Bid bid) {
+        return bid.getTimedAuctionId();
+    }
+
+    @Override
+    protected BidDto toDto(Bid bid) {
+        return auctionMapper.mapToBidDto(bid);
+    }
+
+    @Override
+    protected LocalDateTime bidTimeOf(BidDto bid) {
+        return bid.getBidTime();
+    }
+
+    @Override
+    protected List<BidDto> loadNewest(UUID auctionId, int limit) {
+        PageRequest page = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "bidTime"));
+        return auctionMapper.mapToBidDtoList(bidRepository.findByTimedAuctionId(auctionId, page).getContent());
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.timedauctions.service.impl;
 
 // --- Necessary Imports ---
+import com.example.commons.paging.CursorPageDto;
+import com.example.commons.paging.InvalidCursorException;
+import com.example.commons.paging.KeysetCursor;
+import com.example.timedauctions.client.ProductInfoCache;
 import com.example.timedauctions.client.ProductServiceClient; // Assuming Feign client exists
 import com.example.timedauctions.client.UserServiceClient;   // Assuming Feign client exists
+import com.example.timedauctions.client.UserInfoCache;
 import com.example.timedauctions.client.dto.CategoryDto;
 import com.example.timedauctions.client.dto.ProductDto;
 import com.example.timedauctions.client.dto.UserBanStatusDto;
 import com.example.timedauctions.client.dto.UserBasicInfoDto;
 import com.example.timedauctions.commands.AuctionLifecycleCommands; // Create this package/classes
 import com.example.timedauctions.config.AuctionTimingProperties;
+import com.example.timedauctions.config.BidConcurrencyProperties;
+import com.example.timedauctions.config.BidConcurrencyProperties.Mode;
+import com.example.timedauctions.config.BidJournalProperties;
 import com.example.timedauctions.config.RabbitMqConfig;
 import com.example.timedauctions.dto.*;
 import com.example.timedauctions.dto.event.NewTimedAuctionFromReopenedOrderEventDto;
@@ -20,9 +28,14 @@ import com.example.timedauctions.repository.AuctionCommentRepository;
 import com.example.timedauctions.repository.AuctionProxyBidRepository; // Add later
 import com.example.timedauctions.repository.BidRepository;
 import com.example.timedauctions.repository.TimedAuctionRepository;
+import com.example.timedauctions.search.AuctionSearchIndex;
 import com.example.timedauctions.service.AuctionSchedulingService;
 import com.example.timedauctions.service.TimedAuctionService;
+import com.example.timedauctions.service.TimedAuctionStatePublisher;
 import com.example.timedauctions.utils.DateTimeUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.SetJoin;
@@ -31,18 +44,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient; // Add later for locking
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -52,19 +71,46 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TimedAuctionServiceImpl implements TimedAuctionService {
 
+    private static final int FIRST_COMMENT_PAGE_SIZE = 20; // What the detail page asks for; only this page is cached
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+    private static final int MAX_LISTING_PAGE_SIZE = 100;
+
     private final TimedAuctionRepository timedAuctionRepository;
     private final BidRepository bidRepository;
     private final AuctionSchedulingService auctionSchedulingService;
 
     private final ProductServiceClient productServiceClient;
+    private final ProductInfoCache productInfoCache;
+    private final RecentBidsBuffer recentBidsBuffer;
     private final UserServiceClient userServiceClient;
+    private final UserInfoCache userInfoCache;
     private final AuctionProxyBidRepository auctionProxyBidRepository;
+    private final ProxyBidBook proxyBidBook;
+    private final TimedAuctionStatePublisher statePublisher;
     private final AuctionCommentRepository auctionCommentRepository;
+    // First comment page per auction; absorbs the detail page's polling. Writes on this node evict it,
+    // other nodes serve it for at most the TTL.
+    private final Cache<UUID, CommentPageDto> firstCommentPages = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(5))
+            .build();
+    // Total of the public ACTIVE listing for cursor pages that ask for one; shared by every visitor, so counted
+    // at most once per TTL
+    private final Cache<AuctionStatus, Long> listingTotals = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
     private final RedissonClient redissonClient;
 
     private final RabbitTemplate rabbitTemplate;
     private final TimedAuctionMapper auctionMapper;
     private final AuctionTimingProperties timingProperties;
+    private final TimedBidJournal bidJournal;
+    private final BidJournalProperties bidJournalProperties;
+    private final BidConcurrencyProperties bidConcurrency;
+    private final BidConcurrencyMetrics bidMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionListingPublisher listingPublisher;
 
 
     @Override
@@ -142,6 +188,11 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         // 6. Save the Auction Entity
         TimedAuction savedAuction = timedAuctionRepository.save(auction);
         log.info("Timed Auction entity saved with ID: {} and status: {}", savedAuction.getId(), savedAuction.getStatus());
+        // Scheduled auctions are searchable, and in the catalog, before their first state update
+        afterCommit(() -> {
+            searchIndex.index(savedAuction);
+            listingPublisher.changed(savedAuction);
+        });
 
         // 7. Schedule Start/End via RabbitMQ Delayed Messages
         if (savedAuction.getStatus() == AuctionStatus.SCHEDULED) {
@@ -149,8 +200,7 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         } else if (savedAuction.getStatus() == AuctionStatus.ACTIVE) {
             // Auction starts immediately, schedule the end
             auctionSchedulingService.scheduleAuctionEnd(savedAuction);
-            // Potentially publish an 'AuctionStarted' internal event
-            publishInternalEvent(savedAuction, "STARTED");
+            afterCommit(() -> statePublisher.publishStateUpdate(savedAuction, null));
         }
 
         if (createDto.getOriginalOrderId() != null) {
@@ -199,21 +249,18 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         TimedAuction auction = timedAuctionRepository.findById(auctionId)
                 .orElseThrow(() -> new AuctionNotFoundException("Timed auction not found: " + auctionId));
 
-        // 1. Fetch Product Details (Handle Not Found Gracefully)
+        // 1. Product Details from the near-cache (Handle Not Found Gracefully)
         ProductDto productDto = null;
         try {
-            productDto = fetchProductDetails(auction.getProductId());
+            productDto = productInfoCache.getProduct(auction.getProductId());
         } catch (ProductNotFoundException e) {
             log.warn("Product details not found for product ID {} (auction {}).", auction.getProductId(), auctionId);
         } catch (Exception e) {
             log.error("Error fetching product details for auction {}.", auctionId, e);
         }
 
-        // 2. Fetch Recent Bids (Visible Bids)
-        // Fetch last ~20 visible bids for display
-        Pageable bidPageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "bidTime"));
-        Page<Bid> recentBidsPage = bidRepository.findByTimedAuctionId(auctionId, bidPageable);
-        List<BidDto> recentBidDtos = auctionMapper.mapToBidDtoList(recentBidsPage.getContent());
+        // 2. Recent Bids (Visible Bids) from the shared ring buffer, warmed from the table on a miss
+        List<BidDto> recentBidDtos = recentBidsBuffer.recent(auctionId);
 
         // 3. Calculate Dynamic State
         long timeLeftMs = calculateTimeLeftMs(auction);
@@ -241,6 +288,26 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         return auctionPage.map(auctionMapper::mapToTimedAuctionSummaryDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TimedAuctionSummaryDto> getActiveAuctions(String cursor, int size, boolean withTotal) {
+        log.debug("Service fetching ACTIVE timed auctions after cursor {} (size={})", cursor, size);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE));
+        Slice<TimedAuction> slice;
+        Long total = null;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            slice = timedAuctionRepository.findByStatusOrderByEndTimeAscIdAsc(AuctionStatus.ACTIVE, limit);
+            if (withTotal) {
+                total = listingTotals.get(AuctionStatus.ACTIVE, timedAuctionRepository::countByStatus);
+            }
+        } else {
+            KeysetCursor.Position<UUID> after = KeysetCursor.decode(cursor, UUID::fromString);
+            slice = timedAuctionRepository.findByStatusAfter(AuctionStatus.ACTIVE, after.sortKey(), after.id(), limit);
+        }
+        return KeysetCursor.toPage(slice, auctionMapper::mapToTimedAuctionSummaryDto,
+                TimedAuction::getEndTime, TimedAuction::getId, total);
+    }
+
     @Override
     public void cancelAuction(UUID auctionId, String sellerId) {
         log.info("User {} attempting to cancel auction {}", sellerId, auctionId);
@@ -329,80 +396,166 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         log.info("Processing max bid for auction {} from bidder {} with max {}",
                 auctionId, bidderId, bidDto.getMaxBid());
 
+        if (bidConcurrency.getMode() == Mode.OPTIMISTIC) {
+            placeMaxBidOptimistic(auctionId, bidderId, bidDto);
+            return;
+        }
+
+        // --- Pre-lock: everything that does not need the auction (remote calls included) ---
+        validateMaxBidAmount(bidDto);
+        checkNotBanned(auctionId, bidderId);
+        String bidderUsername = fetchUserDetails(bidderId).getUsername();
+
         // Use Redisson distributed lock to prevent race conditions on this specific auction
         RLock lock = redissonClient.getLock("timed_auction_lock:" + auctionId.toString());
         boolean lockAcquired = false;
+        Timer.Sample sample = bidMetrics.start();
+        String outcome = "rejected";
         try {
-            // Try to acquire lock for 10 seconds, lease time 30 seconds (adjust as needed)
-            lockAcquired = lock.tryLock(10, 30, TimeUnit.SECONDS);
+            long waitStart = System.nanoTime();
+            lockAcquired = lock.tryLock(bidConcurrency.getLockWaitMs(), bidConcurrency.getLockLeaseMs(), TimeUnit.MILLISECONDS);
+            bidMetrics.recordLockWait(Mode.LOCK, System.nanoTime() - waitStart);
             if (!lockAcquired) {
                 log.warn("Could not acquire lock for auction {} to place bid", auctionId);
+                outcome = "contended";
                 throw new IllegalStateException("Could not process bid at this time, please try again shortly.");
             }
-
-            // --- BAN CHECK ---
-            // Placed early after acquiring lock and before extensive processing.
-            try {
-                log.debug("Checking ban status for bidder {} for timed auction {}", bidderId, auctionId);
-                UserBanStatusDto banStatus = userServiceClient.getUserBanStatus(bidderId);
-                if (banStatus.isBanned()) {
-                    log.warn("User {} is banned from bidding until {}. Max bid rejected for timed auction {}.",
-                            bidderId, banStatus.getBanEndsAt(), auctionId);
-                    throw new UserBannedException("You are currently banned from bidding. Ban ends at: " + banStatus.getBanEndsAt());
-                }
-                log.debug("User {} is not banned. Proceeding with max bid.", bidderId);
-            } catch (UserBannedException e) {
-                throw e; // Re-throw to be caught by controller advice
-            } catch (Exception e) {
-                // Handle Feign client errors (e.g., UsersService down)
-                log.error("Failed to check ban status for user {}: {}. Applying fail-strict policy: Max bid rejected.",
-                        bidderId, e.getMessage());
-                // Fail-strict: If ban status cannot be verified, reject the bid.
-                throw new IllegalStateException("Could not verify bidding eligibility at this time. Please try again later.");
+            long heldFrom = System.nanoTime();
+
+            // --- Locked: read, compute and persist in one transaction ---
+            transactionTemplate.executeWithoutResult(tx -> {
+                // Release the lock as soon as the commit lands, ahead of the post-commit work registered below
+                releaseOnCommit(lock, auctionId, heldFrom);
+                TimedAuction auction = timedAuctionRepository.findById(auctionId)
+                        .orElseThrow(() -> new AuctionNotFoundException("Timed auction not found: " + auctionId));
+                validateMaxBid(auction, bidderId, bidDto);
+                handleNewMaxBid(auction, bidderId, bidderUsername, bidDto.getMaxBid());
+            });
+            outcome = "accepted";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Bid processing interrupted for auction {}", auctionId, e);
+            throw new IllegalStateException("Bid processing was interrupted.");
+        } finally {
+            // Rolled back (or never started): the lock is still ours
+            if (lockAcquired && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+                log.debug("Released lock for auction {}", auctionId);
             }
-            // --- END BAN CHECK ---
-
-            // Fetch basic auction info first (read-only, outside main transaction potentially)
-            TimedAuction auction = timedAuctionRepository.findById(auctionId)
-                    .orElseThrow(() -> new AuctionNotFoundException("Timed auction not found: " + auctionId));
+            bidMetrics.stop(sample, Mode.LOCK, outcome);
+        }
+    }
 
-            // --- Initial Validations ---
-            validateAuctionStateForBidding(auction); // Checks ACTIVE status and not ended
-            validateNotSeller(auction, bidderId); // Checks bidder is not seller
-            if (bidDto.getMaxBid() == null || bidDto.getMaxBid().compareTo(BigDecimal.ZERO) <= 0) {
-                throw new InvalidBidException("Max bid amount must be positive.");
-            }
-            // Optional: Check if max bid is at least the required next bid amount
-            BigDecimal requiredNext = calculateNextBidAmount(auction);
-            if (requiredNext != null && bidDto.getMaxBid().compareTo(requiredNext) < 0) {
-                throw new InvalidBidException("Your maximum bid must be at least the next required bid amount: " + requiredNext);
+    /**
+     * Unlocks at the front of afterCommit, so the lock covers the transaction but none of the
+     * events, rescheduling or journal writes that follow it. Hold time is recorded either way.
+     */
+    private void releaseOnCommit(RLock lock, UUID auctionId, long heldFrom) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE + 1; // right after the proxy book write-through
             }
 
-            // --- Call Core Proxy Bid Handling Logic ---
-            // This internal method will handle its own transaction
-            handleNewMaxBid(auction, bidderId, bidDto.getMaxBid());
+            @Override
+            public void afterCommit() {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                    log.debug("Released lock for auction {} on commit", auctionId);
+                }
+            }
 
-            // Optional: If state changed, maybe trigger soft close rescheduling check here?
-            // Soft close logic needs careful placement - should it be inside handleNewMaxBid? Yes.
+            @Override
+            public void afterCompletion(int status) {
+                bidMetrics.recordLockHold(Mode.LOCK, System.nanoTime() - heldFrom);
+            }
+        });
+    }
 
+    /**
+     * Lock-free variant: each attempt runs handleNewMaxBid in one transaction against an auction loaded with
+     * OPTIMISTIC_FORCE_INCREMENT, so the commit is a version-checked UPDATE even when only proxy rows changed.
+     * A concurrent max bid makes that UPDATE match 0 rows; the attempt rolls back and is re-run on fresh state.
+     */
+    private void placeMaxBidOptimistic(UUID auctionId, String bidderId, PlaceMaxBidDto bidDto) {
+        validateMaxBidAmount(bidDto);
+        checkNotBanned(auctionId, bidderId);
+        String bidderUsername = fetchUserDetails(bidderId).getUsername();
+
+        Timer.Sample sample = bidMetrics.start();
+        String outcome = "rejected";
+        try {
+            for (int attempt = 1; attempt <= bidConcurrency.getMaxAttempts(); attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> {
+                        TimedAuction auction = timedAuctionRepository.findForBidById(auctionId)
+                                .orElseThrow(() -> new AuctionNotFoundException("Timed auction not found: " + auctionId));
+                        validateMaxBid(auction, bidderId, bidDto);
+                        handleNewMaxBid(auction, bidderId, bidderUsername, bidDto.getMaxBid());
+                    });
+                    outcome = "accepted";
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    bidMetrics.retry(Mode.OPTIMISTIC);
+                    log.debug("Optimistic max bid conflict on auction {} (attempt {}), retrying", auctionId, attempt);
+                    Thread.sleep(bidConcurrency.getRetryBackoffMs() * attempt);
+                }
+            }
+            outcome = "contended";
+            throw new IllegalStateException("Could not process bid at this time, please try again shortly.");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            log.error("Bid processing interrupted for auction {}", auctionId, e);
             throw new IllegalStateException("Bid processing was interrupted.");
         } finally {
-            if (lockAcquired && lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("Released lock for auction {}", auctionId);
+            bidMetrics.stop(sample, Mode.OPTIMISTIC, outcome);
+        }
+    }
+
+    private void checkNotBanned(UUID auctionId, String bidderId) {
+        try {
+            log.debug("Checking ban status for bidder {} for timed auction {}", bidderId, auctionId);
+            UserBanStatusDto banStatus = userInfoCache.getBanStatus(bidderId);
+            if (banStatus.isBanned()) {
+                log.warn("User {} is banned from bidding until {}. Max bid rejected for timed auction {}.",
+                        bidderId, banStatus.getBanEndsAt(), auctionId);
+                throw new UserBannedException("You are currently banned from bidding. Ban ends at: " + banStatus.getBanEndsAt());
             }
+            log.debug("User {} is not banned. Proceeding with max bid.", bidderId);
+        } catch (UserBannedException e) {
+            throw e; // Re-throw to be caught by controller advice
+        } catch (Exception e) {
+            // Handle Feign client errors (e.g., UsersService down)
+            log.error("Failed to check ban status for user {}: {}. Applying fail-strict policy: Max bid rejected.",
+                    bidderId, e.getMessage());
+            // Fail-strict: If ban status cannot be verified, reject the bid.
+            throw new IllegalStateException("Could not verify bidding eligibility at this time. Please try again later.");
         }
     }
 
-    void handleNewMaxBid(TimedAuction auction, String bidderId, BigDecimal newMaxBid) {
+    private void validateMaxBidAmount(PlaceMaxBidDto bidDto) {
+        if (bidDto.getMaxBid() == null || bidDto.getMaxBid().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidBidException("Max bid amount must be positive.");
+        }
+    }
+
+    private void validateMaxBid(TimedAuction auction, String bidderId, PlaceMaxBidDto bidDto) {
+        validateAuctionStateForBidding(auction); // Checks ACTIVE status and not ended
+        validateNotSeller(auction, bidderId); // Checks bidder is not seller
+        // Optional: Check if max bid is at least the required next bid amount
+        BigDecimal requiredNext = calculateNextBidAmount(auction);
+        if (requiredNext != null && bidDto.getMaxBid().compareTo(requiredNext) < 0) {
+            throw new InvalidBidException("Your maximum bid must be at least the next required bid amount: " + requiredNext);
+        }
+    }
+
+    /** Runs inside the bid transaction; bidderUsername is looked up before it so no remote call happens here. */
+    void handleNewMaxBid(TimedAuction auction, String bidderId, String bidderUsername, BigDecimal newMaxBid) {
         log.debug("Handling new max bid logic for auction {}, bidder {}, max {}", auction.getId(), bidderId, newMaxBid);
 
         // --- Track original state ---
         BigDecimal originalVisibleBid = auction.getCurrentBid();
         String originalLeaderId = auction.getHighestBidderId();
+        String originalLeaderUsername = auction.getHighestBidderUsernameSnapshot();
         LocalDateTime originalEndTime = auction.getEndTime(); // For soft-close check
         LocalDateTime roundedNow = DateTimeUtil.roundToMicrosecond(LocalDateTime.now());
 
@@ -437,19 +590,18 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
                         newMaxBid, currentProxy.getMaxBid(), bidderId);
             }
         }
-        auctionProxyBidRepository.save(currentProxy); // Save new or updated proxy
+        // Flushed so the row carries its final submissionTime before it is ranked
+        AuctionProxyBid savedProxy = auctionProxyBidRepository.saveAndFlush(currentProxy); // Save new or updated proxy
 
-        // --- 2. Get All Proxies and Determine Winner/Runner-Up ---
-        List<AuctionProxyBid> allProxies = auctionProxyBidRepository
-                .findByTimedAuctionIdOrderByMaxBidDescSubmissionTimeAsc(auction.getId());
+        // --- 2. Determine Winner/Runner-Up from the proxy book ---
+        long proxyRevision = auction.getProxyRevision();
+        ProxyBidBook.Standing standing = proxyBidBook.rank(auction.getId(), proxyRevision, savedProxy);
+        auction.setProxyRevision(proxyRevision + 1);
+        // Ahead of the lock release, so the next bid on this node finds the book current
+        afterCommit(Ordered.HIGHEST_PRECEDENCE, () -> proxyBidBook.committed(auction.getId(), proxyRevision, standing));
 
-        if (allProxies.isEmpty()) {
-            // Should not happen if we just saved one, but defensive check
-            log.error("No proxy bids found for auction {} after saving one!", auction.getId());
-        }
-
-        AuctionProxyBid winnerProxy = allProxies.get(0);
-        AuctionProxyBid runnerUpProxy = allProxies.size() > 1 ? allProxies.get(1) : null;
+        ProxyBidBook.Entry winnerProxy = standing.getLeader();
+        ProxyBidBook.Entry runnerUpProxy = standing.getRunnerUp();
 
         // --- 3. Calculate New Visible Price ---
         BigDecimal newVisiblePrice;
@@ -462,47 +614,55 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
             // Visible price is the start price, but cannot exceed winner's max bid.
             // Ensure it's at least start price.
             newVisiblePrice = startPrice.max(currentVisibleBid); // Should start at startPrice
-            newVisiblePrice = newVisiblePrice.min(winnerProxy.getMaxBid()); // Clamp at winner's max
+            newVisiblePrice = newVisiblePrice.min(winnerProxy.maxBid()); // Clamp at winner's max
 
         } else {
             // Two or more bidders
-            BigDecimal runnerUpMax = runnerUpProxy.getMaxBid();
+            BigDecimal runnerUpMax = runnerUpProxy.maxBid();
             BigDecimal increment = getIncrement(runnerUpMax); // Increment based on RUNNER-UP's max
             BigDecimal requiredToBeatRunnerUp = runnerUpMax.add(increment);
 
             // Floor price must be at least start price AND beat runner-up
             BigDecimal floorPrice = requiredToBeatRunnerUp.max(startPrice);
 
-            newVisiblePrice = floorPrice.min(winnerProxy.getMaxBid()); // Final price is the floor, clamped by winner's max
+            newVisiblePrice = floorPrice.min(winnerProxy.maxBid()); // Final price is the floor, clamped by winner's max
         }
 
         BigDecimal reserve = auction.getReservePrice();
         if (!auction.isReserveMet()
                 && reserve != null
-                && winnerProxy.getMaxBid().compareTo(reserve) >= 0
+                && winnerProxy.maxBid().compareTo(reserve) >= 0
                 && newVisiblePrice.compareTo(reserve) < 0) {
             newVisiblePrice = reserve;
         }
 
         // --- 4. Check for Change ---
         // Check if winner ID changed OR visible price increased
-        boolean winnerChanged = !winnerProxy.getBidderId().equals(originalLeaderId);
+        boolean winnerChanged = !winnerProxy.bidderId().equals(originalLeaderId);
         boolean priceIncreased = originalVisibleBid == null || newVisiblePrice.compareTo(originalVisibleBid) > 0;
         boolean stateChanged = winnerChanged || priceIncreased;
 
         log.debug("Auction {}: Original Leader={}, Original Bid={}, New Leader={}, New Visible Bid={}, StateChanged={}",
-                auction.getId(), originalLeaderId, originalVisibleBid, winnerProxy.getBidderId(), newVisiblePrice, stateChanged);
+                auction.getId(), originalLeaderId, originalVisibleBid, winnerProxy.bidderId(), newVisiblePrice, stateChanged);
 
         // --- 5. If State Changed, Update Auction & Record Bid ---
         if (stateChanged) {
             log.info("Auction {} state changed. New Leader: {}, New Visible Bid: {}",
-                    auction.getId(), winnerProxy.getBidderId(), newVisiblePrice);
-
-            String winnerUsername = fetchUserDetails(winnerProxy.getBidderId()).getUsername();
+                    auction.getId(), winnerProxy.bidderId(), newVisiblePrice);
+
+            // Only this bidder's proxy changed, so the leader is either them or the previous leader
+            String winnerUsername;
+            if (winnerProxy.bidderId().equals(bidderId)) {
+                winnerUsername = bidderUsername;
+            } else if (winnerProxy.bidderId().equals(originalLeaderId) && originalLeaderUsername != null) {
+                winnerUsername = originalLeaderUsername;
+            } else {
+                winnerUsername = fetchUserDetails(winnerProxy.bidderId()).getUsername();
+            }
             // Check if someone was outbid
             // winnerChanged boolean was calculated earlier based on originalLeaderId
             if (originalLeaderId != null && winnerChanged) {
-                log.info("User {} was outbid on auction {} by user {}", originalLeaderId, auction.getId(), winnerProxy.getBidderId());
+                log.info("User {} was outbid on auction {} by user {}", originalLeaderId, auction.getId(), winnerProxy.bidderId());
 
                 // Build the OutbidEvent
                 NotificationEvents.OutbidEvent event = NotificationEvents.OutbidEvent.builder()
@@ -510,18 +670,20 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
                         .productTitleSnapshot(auction.getProductTitleSnapshot()) // Ensure this is available
                         .outbidUserId(originalLeaderId)
                         .newCurrentBid(newVisiblePrice) // The new visible price
-                        .newHighestBidderId(winnerProxy.getBidderId())
+                        .newHighestBidderId(winnerProxy.bidderId())
                         .newHighestBidderUsernameSnapshot(winnerUsername) // Winner username fetched earlier
                         .build();
 
-                try {
-                    // RabbitTemplate needs to be injected in this service
-                    rabbitTemplate.convertAndSend(RabbitMqConfig.NOTIFICATIONS_EXCHANGE, RabbitMqConfig.AUCTION_OUTBID_ROUTING_KEY, event);
-                    log.info("Published OutbidEvent for auction {}, user {}", auction.getId(), originalLeaderId);
-                } catch (Exception e) {
-                    log.error("Failed to publish OutbidEvent for auction {}: {}", auction.getId(), e.getMessage(), e);
-                    // Log only, don't rollback transaction for notification failure?
-                }
+                afterCommit(() -> {
+                    try {
+                        // RabbitTemplate needs to be injected in this service
+                        rabbitTemplate.convertAndSend(RabbitMqConfig.NOTIFICATIONS_EXCHANGE, RabbitMqConfig.AUCTION_OUTBID_ROUTING_KEY, event);
+                        log.info("Published OutbidEvent for auction {}, user {}", auction.getId(), originalLeaderId);
+                    } catch (Exception e) {
+                        log.error("Failed to publish OutbidEvent for auction {}: {}", auction.getId(), e.getMessage(), e);
+                        // Log only, don't rollback transaction for notification failure?
+                    }
+                });
             }
 
             // Create a new *visible* Bid record
@@ -529,20 +691,18 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
             // For simplicity now, mark all system-generated bids as auto=true
             Bid visibleBid = Bid.builder()
                     .timedAuctionId(auction.getId())
-                    .bidderId(winnerProxy.getBidderId())
+                    .bidderId(winnerProxy.bidderId())
                     .bidderUsernameSnapshot(winnerUsername)
                     .amount(newVisiblePrice)
                     .isAutoBid(true) // Mark as system-generated for now
                     .bidTime(LocalDateTime.now()) // Timestamp of this calculation
                     .build();
-            bidRepository.save(visibleBid);
-            log.debug("Saved new visible bid record for auction {}", auction.getId());
 
             auction.setBidCount(auction.getBidCount() + 1);
 
             // Update the main Auction entity
             auction.setCurrentBid(newVisiblePrice);
-            auction.setHighestBidderId(winnerProxy.getBidderId());
+            auction.setHighestBidderId(winnerProxy.bidderId());
             auction.setHighestBidderUsernameSnapshot(winnerUsername);
             auction.setCurrentBidIncrement(getIncrement(newVisiblePrice)); // Increment needed for NEXT bid
             boolean reserveNowMet = auction.getReservePrice() != null && newVisiblePrice.compareTo(auction.getReservePrice()) >= 0;
@@ -572,6 +732,8 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
                     if (newEndTimeRounded.isAfter(originalEndTime)) { // Compare rounded with (already rounded) original
                         auction.setEndTime(newEndTimeRounded);
                         log.info("Soft-close triggered for auction {}. New end time: {}", auction.getId(), auction.getEndTime());
+                        // Inside the bid transaction, not afterCommit: the timer upsert has to commit (or roll back)
+                        // with the new end time, and after commit there is no transaction left to write it in
                         auctionSchedulingService.scheduleAuctionEnd(auction); // Will use the new rounded endTime
                     }
                 }
@@ -581,8 +743,12 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
             timedAuctionRepository.save(auction);
             log.debug("Updated auction {} state in DB.", auction.getId());
 
-            // Optional: Publish internal event
-            publishInternalEvent(auction, "BID_PLACED");
+            // Push the new price/leader/end time to viewers instead of having them poll the details endpoint.
+            // Registered first: the auction row is committed either way, and a durable journal failure below
+            // throws out of the commit and would skip anything after it.
+            afterCommit(() -> statePublisher.publishStateUpdate(auction, visibleBid));
+
+            afterCommit(() -> appendVisibleBid(visibleBid));
 
 
         } else {
@@ -593,6 +759,56 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
 
     // --- Helper Methods ---
 
+    /**
+     * Hands the visible bid to the journal; the recent-bids ring only gets it once it is written. In durable mode
+     * placeMaxBid must not report success before that, so a failed or timed-out flush is thrown to the caller.
+     */
+    private void appendVisibleBid(Bid visibleBid) {
+        CompletableFuture<Void> bidPersisted = bidJournal.append(visibleBid);
+        log.debug("Queued new visible bid record for auction {}", visibleBid.getTimedAuctionId());
+        bidPersisted.thenRun(() -> recentBidsBuffer.push(visibleBid));
+        if (bidJournalProperties.isDurable()) {
+            try {
+                bidPersisted.get(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bid processing was interrupted.");
+            } catch (Exception e) {
+                // The auction row is committed; only the bid history row is in doubt, so don't invite a blind retry
+                log.error("Visible bid for auction {} not confirmed by journal: {}", visibleBid.getTimedAuctionId(), e.getMessage());
+                throw new IllegalStateException("Your bid could not be confirmed. Please check the auction before bidding again.");
+            }
+        }
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, or right away if there is none.
+     * handleNewMaxBid runs inside a transaction that may be rolled back (and, in OPTIMISTIC mode, retried),
+     * so notifications, rescheduling and the bid journal must not fire for a losing attempt. State publishes
+     * from createAuction go through here for the same reason.
+     */
+    private void afterCommit(Runnable action) {
+        afterCommit(Ordered.LOWEST_PRECEDENCE, action);
+    }
+
+    private void afterCommit(int order, Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return order;
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private ProductDto fetchProductDetails(Long productId) {
         try {
             log.debug("Fetching product details for ID: {}", productId);
@@ -606,9 +822,7 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
     private UserBasicInfoDto fetchUserDetails(String userId) {
         try {
             log.debug("Fetching username for user ID: {}", userId);
-            // Assuming Feign client returns a Map<String, UserBasicInfoDto>
-            Map<String, UserBasicInfoDto> users = userServiceClient.getUsersBasicInfoByIds(Collections.singletonList(userId)); // Replace with actual method
-            UserBasicInfoDto userInfo = users.get(userId);
+            UserBasicInfoDto userInfo = userInfoCache.getBasicInfo(userId); // Near-cache over userServiceClient
             if (userInfo == null) {
                 throw new UserNotFoundException("User info not found for ID: " + userId);
             }
@@ -621,9 +835,6 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
     }
 
     // Placeholder for internal event publishing (e.g., to different queues for background tasks)
-    private void publishInternalEvent(TimedAuction auction, String eventType) {
-        log.debug("Placeholder: Publishing internal event '{}' for auction {}", eventType, auction.getId());
-    }
 
 
     private long calculateTimeLeftMs(TimedAuction auction, LocalDateTime roundedNow) {
@@ -757,6 +968,7 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
 
         AuctionComment savedComment = auctionCommentRepository.save(comment);
         log.info("Saved comment with ID {} for auction {}", savedComment.getId(), auctionId);
+        afterCommit(() -> firstCommentPages.invalidate(auctionId)); // New comment or a reply count changed
 
         if (savedComment.getParentId() != null) {
             // Fetch parent comment to get original commenter ID
@@ -799,23 +1011,85 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentDto> getComments(UUID auctionId) {
-        log.debug("Fetching comments for auction {}", auctionId);
+    public CommentPageDto getComments(UUID auctionId, String cursor, int size) {
+        log.debug("Fetching comments for auction {} (cursor={}, size={})", auctionId, cursor, size);
+        int pageSize = commentPageSize(size);
+        boolean firstPage = cursor == null && pageSize == FIRST_COMMENT_PAGE_SIZE;
+        if (firstPage) {
+            CommentPageDto cached = firstCommentPages.getIfPresent(auctionId);
+            if (cached != null) return cached;
+        }
 
         // 1. Validate Auction Exists (Optional check)
         if (!timedAuctionRepository.existsById(auctionId)) {
             throw new AuctionNotFoundException("Cannot get comments, auction not found: " + auctionId);
         }
 
-        // 2. Fetch ALL comments for the auction (Strategy 2: Fetch All, Build Tree)
-        // Sort by creation time to maintain order when building tree
-        List<AuctionComment> allComments = auctionCommentRepository.findByTimedAuctionIdOrderByCreatedAtAsc(auctionId); // Need this repo method
+        // 2. One page of top-level comments; later pages continue after the cursor instead of using OFFSET
+        Slice<AuctionComment> slice;
+        if (cursor == null) {
+            slice = auctionCommentRepository.findByTimedAuctionIdAndParentIdIsNullOrderByCreatedAtAscIdAsc(
+                    auctionId, PageRequest.of(0, pageSize));
+        } else {
+            KeysetCursor.Position<Long> after = KeysetCursor.decode(cursor, Long::valueOf);
+            slice = auctionCommentRepository.findTopLevelAfter(
+                    auctionId, after.sortKey(), after.id(), PageRequest.of(0, pageSize));
+        }
 
-        // 3. Use Mapper to build the nested DTO structure
-        List<CommentDto> nestedCommentDtos = auctionMapper.mapToNestedCommentDtoList(allComments);
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            AuctionComment last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        CommentPageDto page = new CommentPageDto(withReplyCounts(slice.getContent()), nextCursor);
+        if (firstPage) {
+            firstCommentPages.put(auctionId, page);
+        }
+        return page;
+    }
 
-        log.debug("Returning {} top-level comments for auction {}", nestedCommentDtos.size(), auctionId);
-        return nestedCommentDtos;
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getReplies(UUID auctionId, Long commentId, String cursor, int size) {
+        log.debug("Fetching replies to comment {} for auction {} (cursor={}, size={})", commentId, auctionId, cursor, size);
+        if (!auctionCommentRepository.existsByIdAndTimedAuctionId(commentId, auctionId)) {
+            throw new CommentNotFoundException("Comment not found: " + commentId);
+        }
+        // Threads are short, so replies page by number; the cursor is just the next page's index
+        int pageNumber;
+        try {
+            pageNumber = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+        if (pageNumber < 0) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+        Slice<AuctionComment> slice = auctionCommentRepository.findByParentIdOrderByCreatedAtAsc(
+                commentId, PageRequest.of(pageNumber, commentPageSize(size)));
+        return new CommentPageDto(withReplyCounts(slice.getContent()),
+                slice.hasNext() ? String.valueOf(pageNumber + 1) : null);
+    }
+
+    private static int commentPageSize(int requested) {
+        return Math.min(Math.max(requested, 1), MAX_COMMENT_PAGE_SIZE);
+    }
+
+    private List<CommentDto> withReplyCounts(List<AuctionComment> comments) {
+        if (comments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Long> replyCounts = auctionCommentRepository
+                .countRepliesByParentIdIn(comments.stream().map(AuctionComment::getId).toList()).stream()
+                .collect(Collectors.toMap(AuctionCommentRepository.ReplyCount::getParentId,
+                        AuctionCommentRepository.ReplyCount::getReplies));
+        return comments.stream()
+                .map(comment -> {
+                    CommentDto dto = auctionMapper.mapToCommentDto(comment);
+                    dto.setReplyCount(replyCounts.getOrDefault(comment.getId(), 0L).intValue());
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -879,69 +1153,91 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TimedAuctionSummaryDto> getAuctionSummariesByIds(Set<UUID> auctionIds) {
-        if (auctionIds == null || auctionIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-        log.debug("Fetching timed auction summaries for IDs: {}", auctionIds);
-        List<TimedAuction> auctions = timedAuctionRepository.findAllById(auctionIds);
-        return auctions.stream()
-                .map(auctionMapper::mapToTimedAuctionSummaryDto) // Ensure mapper exists
-                .collect(Collectors.toList());
+    public CursorPageDto<TimedAuctionSummaryDto> getSellerAuctions(
+            String sellerId,
+            AuctionStatus status,
+            Boolean ended,
+            Set<Long> categoryIds,
+            LocalDateTime from,
+            String cursor,
+            int size,
+            boolean withTotal
+    ) {
+        log.debug("Service fetching seller {} auctions: status={}, ended={}, cats={}, from={}, cursor={}",
+                sellerId, status, ended, categoryIds, from, cursor);
+
+        // Same filters as the paged variant
+        Set<AuctionStatus> statuses = Boolean.TRUE.equals(ended)
+                ? EnumSet.of(AuctionStatus.SOLD, AuctionStatus.RESERVE_NOT_MET, AuctionStatus.CANCELLED)
+                : status != null ? EnumSet.of(status) : Set.of();
+        Set<Long> catIds = categoryIds == null ? Set.of() : categoryIds;
+
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+        KeysetCursor.Position<UUID> after = firstPage ? null : KeysetCursor.decode(cursor, UUID::fromString);
+        Slice<TimedAuction> slice = timedAuctionRepository.findSellerAuctionsAfter(
+                sellerId, statuses, statuses.isEmpty(), from, catIds, catIds.isEmpty(),
+                after == null ? null : after.sortKey(),
+                after == null ? null : after.id(),
+                PageRequest.of(0, KeysetCursor.pageSize(size, MAX_LISTING_PAGE_SIZE)));
+
+        Long total = firstPage && withTotal
+                ? timedAuctionRepository.countSellerAuctions(
+                        sellerId, statuses, statuses.isEmpty(), from, catIds, catIds.isEmpty())
+                : null;
+        return KeysetCursor.toPage(slice, auctionMapper::mapToTimedAuctionSummaryDto,
+                TimedAuction::getEndTime, TimedAuction::getId, total);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TimedAuctionSummaryDto> searchAuctions(
+    public CursorPageDto<TimedAuctionSummaryDto> searchAuctions(
             String queryText,
             Set<Long> categoryIds,
             AuctionStatus status, // This will be ACTIVE or SCHEDULED if 'ended' is not true
             Boolean ended,
             LocalDateTime from,
-            Pageable pageable) {
-
-        log.debug("Service searching timed auctions: query='{}', categories={}, status={}, ended={}, from={}, pageable={}",
-                queryText, categoryIds, status, ended, from, pageable);
-
-        Specification<TimedAuction> spec = (root, jpaQuery, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            // Text Search Predicate
-            if (queryText != null && !queryText.isBlank()) {
-                String lowercaseQuery = "%" + queryText.toLowerCase().trim() + "%";
-                predicates.add(cb.like(cb.lower(root.get("productTitleSnapshot")), lowercaseQuery));
-                // Add cb.or(...) for more text fields if needed
-            }
-
-            // Handle status and ended flag
-            if (Boolean.TRUE.equals(ended)) {
-                // If frontend filter is "Ended", query for all terminal states
-                predicates.add(root.get("status").in(
-                        AuctionStatus.SOLD,
-                        AuctionStatus.RESERVE_NOT_MET,
-                        AuctionStatus.CANCELLED
-                ));
-                // If 'ended' is true, any 'status' parameter for ACTIVE/SCHEDULED is ignored
-            } else if (status != null) {
-                // If a specific non-terminal status (ACTIVE, SCHEDULED) is provided
-                predicates.add(cb.equal(root.get("status"), status));
-            }
-
-            if (from != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), from));
-            }
+            String cursor,
+            int size) {
+
+        log.debug("Service searching timed auctions: query='{}', categories={}, status={}, ended={}, from={}, cursor={}, size={}",
+                queryText, categoryIds, status, ended, from, cursor, size);
+
+        Set<AuctionStatus> statuses = Set.of();
+        if (Boolean.TRUE.equals(ended)) {
+            // If frontend filter is "Ended", query for all terminal states; any ACTIVE/SCHEDULED status is ignored
+            statuses = EnumSet.of(AuctionStatus.SOLD, AuctionStatus.RESERVE_NOT_MET, AuctionStatus.CANCELLED);
+        } else if (status != null) {
+            statuses = EnumSet.of(status);
+        }
 
-            if (categoryIds != null && !categoryIds.isEmpty()) {
-                SetJoin<TimedAuction, Long> categoryJoin = root.joinSet("productCategoryIdsSnapshot", JoinType.INNER);
-                predicates.add(categoryJoin.in(categoryIds));
-                jpaQuery.distinct(true);
-            }
+        AuctionSearchIndex.Hits hits = searchIndex.search(queryText, categoryIds,
+                statuses.stream().map(Enum::name).toList(), from, cursor, size);
 
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+        // The index only ranks; the page itself is loaded by primary key and put back in ranked order
+        Map<UUID, TimedAuction> byId = timedAuctionRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(TimedAuction::getId, a -> a));
+        List<TimedAuctionSummaryDto> content = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(auctionMapper::mapToTimedAuctionSummaryDto)
+                .collect(Collectors.toList());
+        return CursorPageDto.<TimedAuctionSummaryDto>builder()
+                .content(content)
+                .nextCursor(hits.nextCursor())
+                .build();
+    }
 
-        Page<TimedAuction> auctionPage = timedAuctionRepository.findAll(spec, pageable);
-        return auctionPage.map(auctionMapper::mapToTimedAuctionSummaryDto);
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimedAuctionSummaryDto> getAuctionSummariesByIds(Set<UUID> auctionIds) {
+        if (auctionIds == null || auctionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.debug("Fetching timed auction summaries for IDs: {}", auctionIds);
+        List<TimedAuction> auctions = timedAuctionRepository.findAllById(auctionIds);
+        return auctions.stream()
+                .map(auctionMapper::mapToTimedAuctionSummaryDto) // Ensure mapper exists
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -964,6 +1260,7 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         comment.setCommentText(updateDto.getCommentText());
         AuctionComment updatedComment = auctionCommentRepository.save(comment);
         log.info("Comment {} updated successfully by user {}", commentId, userId);
+        afterCommit(() -> firstCommentPages.invalidate(auctionId));
 
         return auctionMapper.mapToCommentDto(updatedComment);
     }
@@ -986,6 +1283,7 @@ public class TimedAuctionServiceImpl implements TimedAuctionService {
         }
 
         auctionCommentRepository.delete(comment);
+        afterCommit(() -> firstCommentPages.invalidate(auctionId));
         log.info("Comment {} and its replies (if any) deleted successfully by user {}", commentId, userId);
     }
 }
\ No newline at end of file
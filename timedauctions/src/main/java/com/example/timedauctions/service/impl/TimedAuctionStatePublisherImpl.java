@@ -0,0 +1,47 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.timedauctions.config.RabbitMqConfig;
+import com.example.timedauctions.dto.TimedAuctionStateDto;
+import com.example.timedauctions.entity.Bid;
+import com.example.timedauctions.entity.TimedAuction;
+import com.example.timedauctions.mapper.TimedAuctionMapper;
+import com.example.timedauctions.search.AuctionSearchIndex;
+import com.example.timedauctions.service.TimedAuctionStatePublisher;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimedAuctionStatePublisherImpl implements TimedAuctionStatePublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TimedAuctionMapper auctionMapper;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionListingPublisher listingPublisher;
+
+    @Override
+    public void publishStateUpdate(TimedAuction auction, @Nullable Bid newBid) {
+        if (auction == null) {
+            log.warn("Attempted to publish state update for null auction.");
+            return;
+        }
+        // Every status change and visible bid passes through here
+        searchIndex.index(auction);
+        listingPublisher.changed(auction);
+        try {
+            TimedAuctionStateDto state = auctionMapper.mapToTimedAuctionStateDto(auction, newBid);
+            // Fanned out through the events exchange: the viewer may be connected to any node
+            rabbitTemplate.convertAndSend(RabbitMqConfig.TD_AUCTION_EVENTS_EXCHANGE,
+                    RabbitMqConfig.TD_UPDATE_ROUTING_KEY_PREFIX + auction.getId(), state);
+            log.debug("Published state update for auction {} (status {}, bid {})",
+                    auction.getId(), auction.getStatus(), auction.getCurrentBid());
+        } catch (Exception e) {
+            // Callers publish after commit, so the state stands; viewers catch up on their next update or reconnect
+            log.error("Failed to publish state update for auction {}", auction.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.timedauctions.service.impl;
+
+import com.example.timedauctions.config.BidJournalProperties;
+import com.example.timedauctions.entity.Bid;
+import com.example.timedauctions.repository.BidRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal for the visible bid history rows.
+ * The auction row itself is still saved under the bid lock; only the append-only history is deferred,
+ * drained by a single writer thread in batches (size or time threshold) and committed per batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimedBidJournal {
+
+    private final BidRepository bidRepository;
+    private final BidderStandingTracker standingTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final BidJournalProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<Entry> queue;
+    private DistributionSummary batchSizes;
+    private Thread writer;
+    private volatile boolean running;
+
+    private record Entry(Bid bid, CompletableFuture<Void> persisted) {}
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        batchSizes = DistributionSummary.builder("auction.bid.journal.batch.size")
+                .description("Bids committed per journal flush")
+                .register(meterRegistry);
+        meterRegistry.gauge("auction.bid.journal.depth", queue, BlockingQueue::size);
+        alignIdGenerator();
+
+        running = true;
+        writer = new Thread(this::drainLoop, "timed-bid-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Queues the bid; blocks while the queue is full. The future completes once the row is committed. */
+    public CompletableFuture<Void> append(Bid bid) {
+        CompletableFuture<Void> persisted = new CompletableFuture<>();
+        try {
+            queue.put(new Entry(bid, persisted));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bid journal capacity", e);
+        }
+        return persisted;
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[Journal] Unexpected error in writer loop: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<Entry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0) return;
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> persist(batch.stream().map(Entry::bid).toList()));
+            batch.forEach(e -> e.persisted().complete(null));
+            batchSizes.record(batch.size());
+        } catch (Exception e) {
+            log.warn("[Journal] Batch of {} bids failed ({}), retrying one by one.", batch.size(), e.getMessage());
+            for (Entry entry : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> persist(List.of(entry.bid())));
+                    entry.persisted().complete(null);
+                } catch (Exception single) {
+                    log.error("[Journal] Failed to persist bid {} on auction {}: {}",
+                            entry.bid().getAmount(), entry.bid().getTimedAuctionId(), single.getMessage(), single);
+                    entry.persisted().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private void persist(List<Bid> bids) {
+        bidRepository.saveAll(bids);
+        standingTracker.record(bids);
+    }
+
+    /** Start the pooled generator above any ids handed out by the old AUTO_INCREMENT column (pooled-lo). */
+    private void alignIdGenerator() {
+        try {
+            long next = bidRepository.findMaxId() + 1;
+            jdbcTemplate.update("INSERT INTO timed_bid_id_sequence (sequence_name, next_val) VALUES (?, ?) " +
+                    "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))", "timed_bids", next);
+        } catch (Exception e) {
+            log.warn("[Journal] Could not align bid id generator: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(10_000);
+        List<Entry> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            flush(leftover);
+        }
+    }
+}